@@ -231,7 +231,14 @@ public class OpenAiModel implements EmbedModel, ChatModel, ImageModel, RerankMod
                 .filter(str -> !StringUtils.equals(str, "[DONE]"))
                 .map(str -> this.serializer.<OpenAiChatCompletionResponse>deserialize(str,
                         OpenAiChatCompletionResponse.class))
-                .map(response -> getChatMessage(response, modelProcessingState));
+                .map(response -> {
+                    if (response.error() != null) {
+                        throw new FitException(StringUtils.format("The model stream failed. [type={0}, message={1}]",
+                                response.error().type(),
+                                response.error().message()));
+                    }
+                    return getChatMessage(response, modelProcessingState);
+                });
     }
 
     private ChatMessage getChatMessage(OpenAiChatCompletionResponse response,
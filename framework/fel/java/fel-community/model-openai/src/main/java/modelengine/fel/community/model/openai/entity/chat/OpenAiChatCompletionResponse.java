@@ -30,6 +30,7 @@ public class OpenAiChatCompletionResponse {
     private static final ChatMessage EMPTY_RESPONSE = new AiMessage(StringUtils.EMPTY);
 
     private List<OpenAiChatCompletionChoice> choices;
+    private OpenAiChatCompletionError error;
 
     /**
      * 获取响应中的消息。
@@ -49,6 +50,15 @@ public class OpenAiChatCompletionResponse {
         return extractMessage(OpenAiChatMessage::reasoningContent, OpenAiChatMessage::toolCalls);
     }
 
+    /**
+     * 获取流式响应中的错误事件。
+     *
+     * @return 表示错误事件的 {@link OpenAiChatCompletionError}，不是错误事件时为 {@code null}。
+     */
+    public OpenAiChatCompletionError error() {
+        return this.error;
+    }
+
     private ChatMessage extractMessage(
             Function<OpenAiChatMessage, Object> contentExtractor,
             Function<OpenAiChatMessage, List<ToolCall>> toolCallsExtractor) {
@@ -78,4 +88,30 @@ public class OpenAiChatCompletionResponse {
         @Aliases(@Alias("delta"))
         private OpenAiChatMessage message;
     }
+
+    /**
+     * 模型在流式响应中途返回的错误。
+     */
+    public static class OpenAiChatCompletionError {
+        private String message;
+        private String type;
+
+        /**
+         * 获取错误信息。
+         *
+         * @return 表示错误信息的 {@link String}。
+         */
+        public String message() {
+            return this.message;
+        }
+
+        /**
+         * 获取错误类型。
+         *
+         * @return 表示错误类型的 {@link String}。
+         */
+        public String type() {
+            return this.type;
+        }
+    }
 }
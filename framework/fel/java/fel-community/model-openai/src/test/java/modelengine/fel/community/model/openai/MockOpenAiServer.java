@@ -0,0 +1,234 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.community.model.openai;
+
+import static modelengine.fel.community.model.openai.api.OpenAiApi.CHAT_ENDPOINT;
+import static modelengine.fel.community.model.openai.api.OpenAiApi.EMBEDDING_ENDPOINT;
+
+import modelengine.fit.http.annotation.PostMapping;
+import modelengine.fit.http.annotation.RequestBody;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.flowable.Choir;
+import modelengine.fitframework.flowable.Emitter;
+import modelengine.fitframework.util.ObjectUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 表示兼容 OpenAI 接口的本地模拟服务，运行在测试启动的 Netty 服务器上。
+ * <p>
+ * 输出完全由 {@link Scenario} 决定：第 {@code i} 个分词固定为 {@code " t<i>"}，可以设置分词速率、每个分块包含的分词数、
+ * 工具调用增量的数量以及在第几个分块之后失败，便于在没有网络的情况下稳定地衡量客户端的解析开销。限速时分块由定时线程发送，
+ * 不占用服务端的 I/O 线程；失败时与 OpenAI 一样发送一个错误事件后结束流。
+ * </p>
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+@Component
+public class MockOpenAiServer {
+    private static final ScheduledExecutorService TIMER =
+            Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable, "mock-openai-timer");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private volatile Scenario scenario = new Scenario();
+
+    /**
+     * 设置后续请求使用的场景。
+     *
+     * @param scenario 表示场景的 {@link Scenario}。
+     */
+    public void scenario(Scenario scenario) {
+        this.scenario = scenario;
+    }
+
+    /**
+     * 模拟流式聊天接口。
+     *
+     * @return 表示流式返回结果的 {@link Choir}{@code <}{@link String}{@code >}。
+     */
+    @PostMapping(CHAT_ENDPOINT)
+    public Choir<String> chat() {
+        Scenario current = this.scenario;
+        return Choir.create(emitter -> this.stream(current, emitter));
+    }
+
+    /**
+     * 模拟嵌入接口，为每个输入返回一个固定维度的向量。
+     *
+     * @param request 表示嵌入请求的 {@link Map}{@code <}{@link String}{@code , }{@link Object}{@code >}。
+     * @return 表示嵌入响应的 {@link Map}{@code <}{@link String}{@code , }{@link Object}{@code >}。
+     */
+    @PostMapping(EMBEDDING_ENDPOINT)
+    public Map<String, Object> embed(@RequestBody Map<String, Object> request) {
+        List<String> inputs = ObjectUtils.cast(request.get("input"));
+        int dimension = this.scenario.dimension;
+        List<Map<String, Object>> data = new ArrayList<>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            List<Float> vector = new ArrayList<>(dimension);
+            int seed = inputs.get(i).hashCode();
+            for (int j = 0; j < dimension; j++) {
+                vector.add((float) ((seed >>> (j % 32)) & 0xFF) / 255F);
+            }
+            Map<String, Object> embedding = new LinkedHashMap<>();
+            embedding.put("index", i);
+            embedding.put("object", "embedding");
+            embedding.put("embedding", vector);
+            data.add(embedding);
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("object", "list");
+        response.put("data", data);
+        response.put("usage", Collections.singletonMap("total_tokens", inputs.size()));
+        return response;
+    }
+
+    private void stream(Scenario scenario, Emitter<String> emitter) {
+        List<String> chunks = new ArrayList<>();
+        List<String> tail = new ArrayList<>();
+        for (int token = 0; token < scenario.tokens; token += scenario.chunkSize) {
+            if (chunks.size() == scenario.failAfter) {
+                tail.add("{\"error\":{\"message\":\"Mock stream failure.\",\"type\":\"server_error\"}}");
+                break;
+            }
+            StringBuilder content = new StringBuilder();
+            for (int i = token; i < Math.min(token + scenario.chunkSize, scenario.tokens); i++) {
+                content.append(" t").append(i);
+            }
+            chunks.add(chunk("{\"content\":\"" + content + "\"}"));
+        }
+        if (tail.isEmpty()) {
+            for (int i = 0; i < scenario.toolCalls; i++) {
+                tail.add(chunk("{\"tool_calls\":[{\"index\":" + i + ",\"id\":\"call_" + i
+                        + "\",\"type\":\"function\",\"function\":{\"name\":\"tool_" + i
+                        + "\",\"arguments\":\"\"}}]}"));
+                tail.add(chunk("{\"tool_calls\":[{\"index\":" + i
+                        + ",\"function\":{\"arguments\":\"{\\\"id\\\":" + i + "}\"}}]}"));
+            }
+            tail.add("[DONE]");
+        }
+        long interval =
+                scenario.tokensPerSecond > 0 ? 1_000_000_000L * scenario.chunkSize / scenario.tokensPerSecond : 0;
+        if (interval == 0) {
+            chunks.forEach(emitter::emit);
+            finish(tail, emitter);
+            return;
+        }
+        schedule(chunks.iterator(), tail, interval, System.nanoTime() + interval, emitter);
+    }
+
+    private static void schedule(Iterator<String> chunks, List<String> tail, long interval, long next,
+            Emitter<String> emitter) {
+        TIMER.schedule(() -> {
+            if (!chunks.hasNext()) {
+                finish(tail, emitter);
+                return;
+            }
+            emitter.emit(chunks.next());
+            schedule(chunks, tail, interval, next + interval, emitter);
+        }, next - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    private static void finish(List<String> tail, Emitter<String> emitter) {
+        tail.forEach(emitter::emit);
+        emitter.complete();
+    }
+
+    private static String chunk(String delta) {
+        return "{\"id\":\"0\",\"object\":\"chat.completion.chunk\",\"created\":0,\"model\":\"mock\","
+                + "\"choices\":[{\"index\":0,\"delta\":" + delta + ",\"finish_reason\":null}]}";
+    }
+
+    /**
+     * 表示模拟服务的输出场景。
+     */
+    public static class Scenario {
+        private int tokens = 16;
+        private int chunkSize = 1;
+        private int tokensPerSecond;
+        private int toolCalls;
+        private int failAfter = -1;
+        private int dimension = 8;
+
+        /**
+         * 设置回答的分词数量。
+         *
+         * @param tokens 表示分词数量的 {@code int}。
+         * @return 表示当前场景的 {@link Scenario}。
+         */
+        public Scenario tokens(int tokens) {
+            this.tokens = tokens;
+            return this;
+        }
+
+        /**
+         * 设置每个分块包含的分词数量。
+         *
+         * @param chunkSize 表示分词数量的 {@code int}。
+         * @return 表示当前场景的 {@link Scenario}。
+         */
+        public Scenario chunkSize(int chunkSize) {
+            this.chunkSize = Math.max(1, chunkSize);
+            return this;
+        }
+
+        /**
+         * 设置每秒输出的分词数量，为 {@code 0} 时不限速。
+         *
+         * @param tokensPerSecond 表示分词速率的 {@code int}。
+         * @return 表示当前场景的 {@link Scenario}。
+         */
+        public Scenario tokensPerSecond(int tokensPerSecond) {
+            this.tokensPerSecond = tokensPerSecond;
+            return this;
+        }
+
+        /**
+         * 设置回答末尾的工具调用数量，每个工具调用拆成名称和参数两个增量。
+         *
+         * @param toolCalls 表示工具调用数量的 {@code int}。
+         * @return 表示当前场景的 {@link Scenario}。
+         */
+        public Scenario toolCalls(int toolCalls) {
+            this.toolCalls = toolCalls;
+            return this;
+        }
+
+        /**
+         * 设置输出指定数量的分块后以失败结束，为负数时正常结束。
+         *
+         * @param failAfter 表示失败前的分块数量的 {@code int}。
+         * @return 表示当前场景的 {@link Scenario}。
+         */
+        public Scenario failAfter(int failAfter) {
+            this.failAfter = failAfter;
+            return this;
+        }
+
+        /**
+         * 设置嵌入向量的维度。
+         *
+         * @param dimension 表示向量维度的 {@code int}。
+         * @return 表示当前场景的 {@link Scenario}。
+         */
+        public Scenario dimension(int dimension) {
+            this.dimension = dimension;
+            return this;
+        }
+    }
+}
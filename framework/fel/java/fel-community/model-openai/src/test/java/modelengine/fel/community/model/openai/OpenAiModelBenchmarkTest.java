@@ -0,0 +1,297 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.community.model.openai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import modelengine.fel.community.model.openai.config.OpenAiConfig;
+import modelengine.fel.core.chat.ChatMessage;
+import modelengine.fel.core.chat.ChatOption;
+import modelengine.fel.core.chat.support.ChatMessages;
+import modelengine.fel.core.chat.support.HumanMessage;
+import modelengine.fel.core.embed.EmbedOption;
+import modelengine.fel.core.embed.Embedding;
+import modelengine.fel.core.tool.ToolCall;
+import modelengine.fit.http.client.HttpClassicClientFactory;
+import modelengine.fitframework.annotation.Fit;
+import modelengine.fitframework.conf.Config;
+import modelengine.fitframework.exception.FitException;
+import modelengine.fitframework.flowable.Choir;
+import modelengine.fitframework.flowable.FlowableException;
+import modelengine.fitframework.ioc.BeanContainer;
+import modelengine.fitframework.serialization.ObjectSerializer;
+import modelengine.fitframework.test.annotation.MvcTest;
+import modelengine.fitframework.test.domain.mvc.MockMvc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 基于 {@link MockOpenAiServer} 的 {@link OpenAiModel} 流式解析测试和吞吐基准。
+ * <p>
+ * 基准默认不执行，通过 {@code -Dfel.benchmark.sessions=<并发会话数>} 开启，可以使用 {@code fel.benchmark.tokens}、
+ * {@code fel.benchmark.chunk} 和 {@code fel.benchmark.rounds} 调整每次回答的分词数、分块大小和每个会话的请求次数。
+ * 解析的 CPU 时间和内存分配只统计向订阅者交付分块的客户端线程，不包含模拟服务端的线程。
+ * </p>
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+@MvcTest(classes = MockOpenAiServer.class)
+@DisplayName("测试 OpenAiModel 流式解析性能")
+public class OpenAiModelBenchmarkTest {
+    private final Set<Long> consumers = ConcurrentHashMap.newKeySet();
+
+    private OpenAiModel openAiModel;
+
+    @Fit
+    private HttpClassicClientFactory httpClientFactory;
+
+    @Fit
+    private ObjectSerializer serializer;
+
+    @Fit
+    private Config config;
+
+    @Fit
+    private BeanContainer container;
+
+    @Fit
+    private MockMvc mockMvc;
+
+    @Fit
+    private MockOpenAiServer server;
+
+    @BeforeEach
+    void setUp() {
+        OpenAiConfig openAiConfig = new OpenAiConfig();
+        openAiConfig.setApiBase("http://localhost:" + this.mockMvc.getPort());
+        this.openAiModel =
+                new OpenAiModel(this.httpClientFactory, openAiConfig, this.serializer, this.config, this.container);
+        this.server.scenario(new MockOpenAiServer.Scenario());
+    }
+
+    @Test
+    @DisplayName("按分块流式返回时，拼接后的文本与服务端分词一致")
+    void shouldReassembleTokensWhenChunked() {
+        this.server.scenario(new MockOpenAiServer.Scenario().tokens(50).chunkSize(3));
+        List<ChatMessage> messages = this.chat().blockAll();
+        assertThat(messages).hasSize(17);
+        assertThat(messages.stream().map(ChatMessage::text).collect(Collectors.joining())).isEqualTo(
+                IntStream.range(0, 50).mapToObj(i -> " t" + i).collect(Collectors.joining()));
+    }
+
+    @Test
+    @DisplayName("工具调用增量按序号返回名称和参数")
+    void shouldEmitToolCallDeltas() {
+        this.server.scenario(new MockOpenAiServer.Scenario().tokens(2).toolCalls(2));
+        List<ToolCall> toolCalls = this.chat()
+                .blockAll()
+                .stream()
+                .flatMap(message -> message.toolCalls().stream())
+                .collect(Collectors.toList());
+        assertThat(toolCalls).hasSize(4);
+        assertThat(toolCalls).filteredOn(toolCall -> toolCall.name() != null)
+                .extracting(ToolCall::name)
+                .containsExactly("tool_0", "tool_1");
+        assertThat(toolCalls.stream()
+                .filter(toolCall -> toolCall.index() == 1)
+                .map(ToolCall::arguments)
+                .collect(Collectors.joining())).isEqualTo("{\"id\":1}");
+    }
+
+    @Test
+    @DisplayName("服务端中途发送错误事件时，客户端以包含错误信息的异常结束")
+    void shouldFailWhenStreamBroken() throws InterruptedException {
+        this.server.scenario(new MockOpenAiServer.Scenario().tokens(10).failAfter(3));
+        assertThatThrownBy(() -> this.chat().blockAll()).isInstanceOf(FlowableException.class)
+                .hasCauseInstanceOf(FitException.class)
+                .rootCause()
+                .hasMessageContaining("server_error")
+                .hasMessageContaining("Mock stream failure.");
+        List<ChatMessage> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch failed = new CountDownLatch(1);
+        this.chat().subscribe(null, (subscription, message) -> received.add(message), null,
+                (subscription, exception) -> failed.countDown());
+        assertThat(failed.await(1, TimeUnit.MINUTES)).isTrue();
+        assertThat(received).extracting(ChatMessage::text).containsExactly(" t0", " t1", " t2");
+    }
+
+    @Test
+    @DisplayName("限速输出时，分块按分词速率送达，期间服务端仍能处理其他请求")
+    void shouldThrottleWithoutBlockingServer() throws InterruptedException {
+        this.server.scenario(new MockOpenAiServer.Scenario().tokens(10).tokensPerSecond(20));
+        long start = System.nanoTime();
+        CompletableFuture<List<ChatMessage>> slow = CompletableFuture.supplyAsync(() -> this.chat().blockAll());
+        Thread.sleep(100);
+        List<Embedding> embeddings =
+                this.openAiModel.generate(Collections.singletonList("a"), EmbedOption.custom().model("mock").build());
+        assertThat(embeddings).hasSize(1);
+        assertThat(slow).isNotDone();
+        assertThat(slow.join()).hasSize(10);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(450);
+    }
+
+    @Test
+    @DisplayName("嵌入接口为每个输入返回指定维度的向量")
+    void shouldEmbedEachInput() {
+        this.server.scenario(new MockOpenAiServer.Scenario().dimension(16));
+        List<Embedding> embeddings =
+                this.openAiModel.generate(Arrays.asList("a", "b", "c"), EmbedOption.custom().model("mock").build());
+        assertThat(embeddings).hasSize(3).allSatisfy(embedding -> assertThat(embedding.embedding()).hasSize(16));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "fel.benchmark.sessions", matches = "\\d+")
+    @DisplayName("并发会话下的首字时延、分块解析耗时和每个分词的内存分配")
+    void benchmarkStreaming() throws Exception {
+        int sessions = Integer.getInteger("fel.benchmark.sessions");
+        int tokens = Integer.getInteger("fel.benchmark.tokens", 1000);
+        int chunkSize = Integer.getInteger("fel.benchmark.chunk", 1);
+        int rounds = Integer.getInteger("fel.benchmark.rounds", 10);
+        this.server.scenario(new MockOpenAiServer.Scenario().tokens(tokens).chunkSize(chunkSize));
+        ExecutorService executor = Executors.newFixedThreadPool(sessions);
+        List<long[]> samples;
+        long elapsed;
+        long[] usage;
+        try {
+            this.runSessions(executor, sessions, 2);
+            Map<Long, long[]> before = this.consumerUsage();
+            long start = System.nanoTime();
+            samples = this.runSessions(executor, sessions, rounds);
+            elapsed = System.nanoTime() - start;
+            usage = usageSince(before, this.consumerUsage());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long[] firstTokens = samples.stream().mapToLong(sample -> sample[0]).sorted().toArray();
+        long totalChunks = samples.stream().mapToLong(sample -> sample[1]).sum();
+        long totalTokens = (long) tokens * samples.size();
+        System.out.printf(Locale.ROOT,
+                "chat: sessions=%d, requests=%d, tokens=%d, chunk=%d, throughput=%.0f tokens/s%n",
+                sessions, samples.size(), tokens, chunkSize, totalTokens * 1e9 / elapsed);
+        System.out.printf(Locale.ROOT, "chat: ttft p50=%.3f ms, p99=%.3f ms%n",
+                percentile(firstTokens, 0.5) / 1e6, percentile(firstTokens, 0.99) / 1e6);
+        System.out.printf(Locale.ROOT,
+                "chat: consumer threads=%d, cpu=%.2f us/chunk, allocation=%.0f bytes/token%n",
+                this.consumers.size(), usage[0] / 1e3 / totalChunks, (double) usage[1] / totalTokens);
+
+        this.server.scenario(new MockOpenAiServer.Scenario().dimension(1536));
+        EmbedOption option = EmbedOption.custom().model("mock").build();
+        List<String> inputs = Collections.nCopies(16, "benchmark");
+        long[] latencies = new long[rounds * 10];
+        for (int i = 0; i < latencies.length; i++) {
+            long begin = System.nanoTime();
+            this.openAiModel.generate(inputs, option);
+            latencies[i] = System.nanoTime() - begin;
+        }
+        Arrays.sort(latencies);
+        System.out.printf(Locale.ROOT, "embed: batch=%d, dimension=1536, p50=%.3f ms, p99=%.3f ms%n",
+                inputs.size(), percentile(latencies, 0.5) / 1e6, percentile(latencies, 0.99) / 1e6);
+        assertThat(samples).hasSize(sessions * rounds);
+    }
+
+    private List<long[]> runSessions(ExecutorService executor, int sessions, int rounds) throws Exception {
+        List<Future<List<long[]>>> futures = new ArrayList<>(sessions);
+        for (int i = 0; i < sessions; i++) {
+            futures.add(executor.submit(() -> {
+                List<long[]> samples = new ArrayList<>(rounds);
+                for (int round = 0; round < rounds; round++) {
+                    samples.add(this.measure());
+                }
+                return samples;
+            }));
+        }
+        List<long[]> samples = new ArrayList<>(sessions * rounds);
+        for (Future<List<long[]>> future : futures) {
+            samples.addAll(future.get());
+        }
+        return samples;
+    }
+
+    /**
+     * 执行一次流式请求，返回以纳秒为单位的首字时延和收到的分块数量，并记录交付分块的客户端线程。
+     */
+    private long[] measure() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicLong first = new AtomicLong();
+        AtomicLong chunks = new AtomicLong();
+        AtomicReference<Exception> error = new AtomicReference<>();
+        long start = System.nanoTime();
+        this.chat().subscribe(null, (subscription, message) -> {
+            if (chunks.getAndIncrement() == 0) {
+                first.set(System.nanoTime());
+            }
+            this.consumers.add(Thread.currentThread().getId());
+        }, subscription -> latch.countDown(), (subscription, exception) -> {
+            error.set(exception);
+            latch.countDown();
+        });
+        assertThat(latch.await(1, TimeUnit.MINUTES)).isTrue();
+        assertThat(error.get()).isNull();
+        return new long[] {first.get() - start, chunks.get()};
+    }
+
+    private Choir<ChatMessage> chat() {
+        return this.openAiModel.generate(ChatMessages.from(new HumanMessage("hello")),
+                ChatOption.custom().model("mock").stream(true).build());
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    /**
+     * 获取客户端线程已经使用的 CPU 时间和分配的内存，键为线程标识，值依次为纳秒和字节。
+     */
+    private Map<Long, long[]> consumerUsage() {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Map<Long, long[]> usage = new HashMap<>();
+        for (long id : this.consumers) {
+            usage.put(id, new long[] {bean.getThreadCpuTime(id), bean.getThreadAllocatedBytes(id)});
+        }
+        return usage;
+    }
+
+    private static long[] usageSince(Map<Long, long[]> before, Map<Long, long[]> after) {
+        long[] total = new long[2];
+        after.forEach((id, current) -> {
+            long[] base = before.getOrDefault(id, new long[2]);
+            for (int i = 0; i < total.length; i++) {
+                if (current[i] > 0) {
+                    total[i] += current[i] - Math.max(0, base[i]);
+                }
+            }
+        });
+        return total;
+    }
+}
@@ -0,0 +1,485 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.chat.support;
+
+import static modelengine.fitframework.inspection.Validation.greaterThan;
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fel.core.chat.ChatMessage;
+import modelengine.fel.core.chat.ChatModel;
+import modelengine.fel.core.chat.ChatOption;
+import modelengine.fel.core.chat.Prompt;
+import modelengine.fel.core.document.Document;
+import modelengine.fel.core.document.MeasurableDocument;
+import modelengine.fel.core.tool.ToolCall;
+import modelengine.fel.core.tool.ToolInfo;
+import modelengine.fel.core.vectorstore.SearchOption;
+import modelengine.fel.core.vectorstore.VectorStore;
+import modelengine.fitframework.flowable.Choir;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.resource.web.Media;
+import modelengine.fitframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 表示带响应缓存的 {@link ChatModel} 装饰器。
+ * <p>
+ * 精确缓存以消息、工具和模型参数（不含密钥和安全配置）的规范化摘要为键，命中时不再调用模型。
+ * 设置向量存储后启用语义缓存：精确缓存未命中时，在向量存储中检索提示词文本相近且模型参数相同的历史请求，
+ * 相似度不低于阈值时复用其回答。缓存按写入时间过期，超过容量时淘汰最久未使用的记录。
+ * </p>
+ * <p>
+ * 模型的输出流完整结束后才写入缓存，命中时按原始分块顺序重放为 {@link Choir}，流式调用方仍然逐块接收。
+ * 是否流式输出属于缓存键的一部分。
+ * </p>
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+public class CachedChatModel implements ChatModel {
+    private static final Logger log = Logger.get(CachedChatModel.class);
+    private static final String OPTION_KEY = "chatOptionKey";
+
+    private final ChatModel chatModel;
+    private final long ttlNanos;
+    private final int maxSize;
+    private final VectorStore vectorStore;
+    private final double threshold;
+    private final int candidates;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75F, true);
+    private final AtomicLong exactHits = new AtomicLong();
+    private final AtomicLong semanticHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private CachedChatModel(Builder builder) {
+        this.chatModel = notNull(builder.chatModel, "The chat model cannot be null.");
+        this.ttlNanos = builder.ttl.toNanos();
+        this.maxSize = builder.maxSize;
+        this.vectorStore = builder.vectorStore;
+        this.threshold = builder.threshold;
+        this.candidates = builder.candidates;
+    }
+
+    /**
+     * 获取 {@link CachedChatModel} 的构建器。
+     *
+     * @return 表示构建器的 {@link Builder}。
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public Choir<ChatMessage> generate(Prompt prompt, ChatOption chatOption) {
+        notNull(prompt, "The prompt cannot be null.");
+        notNull(chatOption, "The chat option cannot be null.");
+        String optionKey = digest(chatOption, null);
+        String key = digest(prompt.messages(), optionKey);
+        List<ChatMessage> cached = this.get(key);
+        if (cached != null) {
+            this.exactHits.incrementAndGet();
+            return Choir.fromIterable(cached);
+        }
+        String text = prompt.text();
+        cached = this.searchSimilar(text, optionKey);
+        if (cached != null) {
+            this.semanticHits.incrementAndGet();
+            return Choir.fromIterable(cached);
+        }
+        this.misses.incrementAndGet();
+        Choir<ChatMessage> upstream = this.chatModel.generate(prompt, chatOption);
+        return Choir.create(emitter -> {
+            List<ChatMessage> chunks = new ArrayList<>();
+            upstream.subscribe(null, (subscription, message) -> {
+                chunks.add(message);
+                emitter.emit(message);
+            }, subscription -> {
+                if (!chunks.isEmpty()) {
+                    this.put(key, text, optionKey, chunks);
+                }
+                emitter.complete();
+            }, (subscription, cause) -> emitter.fail(cause));
+        });
+    }
+
+    /**
+     * 获取缓存的统计信息。
+     *
+     * @return 表示统计信息的 {@link Statistics}。
+     */
+    public Statistics statistics() {
+        int size;
+        synchronized (this.entries) {
+            size = this.entries.size();
+        }
+        return new Statistics(this.exactHits.get(), this.semanticHits.get(), this.misses.get(), size);
+    }
+
+    /**
+     * 清空缓存，统计信息保持不变。
+     */
+    public void clear() {
+        List<String> keys;
+        synchronized (this.entries) {
+            keys = new ArrayList<>(this.entries.keySet());
+            this.entries.clear();
+        }
+        this.forget(keys);
+    }
+
+    private List<ChatMessage> get(String key) {
+        List<String> expired = Collections.emptyList();
+        try {
+            synchronized (this.entries) {
+                Entry entry = this.entries.get(key);
+                if (entry == null) {
+                    return null;
+                }
+                if (entry.isExpired(System.nanoTime())) {
+                    this.entries.remove(key);
+                    expired = Collections.singletonList(key);
+                    return null;
+                }
+                return entry.chunks;
+            }
+        } finally {
+            this.forget(expired);
+        }
+    }
+
+    private List<ChatMessage> searchSimilar(String text, String optionKey) {
+        if (this.vectorStore == null || StringUtils.isBlank(text)) {
+            return null;
+        }
+        List<MeasurableDocument> documents;
+        try {
+            documents = this.vectorStore.search(text, SearchOption.custom().topK(this.candidates).build());
+        } catch (RuntimeException e) {
+            log.warn("Failed to search semantic cache. [error={}]", e.getMessage());
+            return null;
+        }
+        for (MeasurableDocument document : documents) {
+            if (document.score() < this.threshold || !optionKey.equals(document.metadata().get(OPTION_KEY))) {
+                continue;
+            }
+            List<ChatMessage> chunks = this.get(document.id());
+            if (chunks != null) {
+                return chunks;
+            }
+        }
+        return null;
+    }
+
+    private void put(String key, String text, String optionKey, List<ChatMessage> chunks) {
+        List<String> evicted = new ArrayList<>();
+        synchronized (this.entries) {
+            this.entries.put(key, new Entry(Collections.unmodifiableList(chunks), System.nanoTime() + this.ttlNanos));
+            Iterator<Map.Entry<String, Entry>> iterator = this.entries.entrySet().iterator();
+            while (this.entries.size() > this.maxSize && iterator.hasNext()) {
+                evicted.add(iterator.next().getKey());
+                iterator.remove();
+            }
+        }
+        this.forget(evicted);
+        if (this.vectorStore == null || StringUtils.isBlank(text)) {
+            return;
+        }
+        try {
+            this.vectorStore.persistent(Collections.singletonList(Document.custom()
+                    .id(key)
+                    .text(text)
+                    .metadata(Collections.singletonMap(OPTION_KEY, optionKey))
+                    .build()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to write semantic cache. [error={}]", e.getMessage());
+        }
+    }
+
+    private void forget(List<String> keys) {
+        if (this.vectorStore == null || keys.isEmpty()) {
+            return;
+        }
+        try {
+            this.vectorStore.delete(keys);
+        } catch (RuntimeException e) {
+            log.warn("Failed to delete semantic cache. [error={}]", e.getMessage());
+        }
+    }
+
+    private static String digest(Object value, String prefix) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            if (prefix != null) {
+                update(digest, prefix);
+            }
+            update(digest, value);
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : digest.digest()) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("The SHA-256 algorithm is not supported.", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, Object value) {
+        if (value == null) {
+            digest.update((byte) 'n');
+        } else if (value instanceof ChatOption) {
+            ChatOption option = (ChatOption) value;
+            updateAll(digest,
+                    option.model(),
+                    option.stream(),
+                    option.baseUrl(),
+                    option.maxTokens(),
+                    option.frequencyPenalty(),
+                    option.presencePenalty(),
+                    option.stop(),
+                    option.temperature(),
+                    option.topP(),
+                    option.tools(),
+                    option.extensions());
+        } else if (value instanceof ChatMessage) {
+            ChatMessage message = (ChatMessage) value;
+            updateAll(digest, message.type().getRole(), message.text(), message.toolCalls(), message.medias());
+        } else if (value instanceof ToolCall) {
+            ToolCall call = (ToolCall) value;
+            updateAll(digest, call.id(), call.index(), call.name(), call.arguments());
+        } else if (value instanceof ToolInfo) {
+            ToolInfo tool = (ToolInfo) value;
+            updateAll(digest, tool.namespace(), tool.name(), tool.description(), tool.parameters(), tool.extensions());
+        } else if (value instanceof Media) {
+            Media media = (Media) value;
+            updateAll(digest, media.getMime(), media.getData());
+        } else if (value instanceof Map) {
+            Map<String, Object> sorted = new TreeMap<>();
+            ((Map<?, ?>) value).forEach((k, v) -> sorted.put(String.valueOf(k), v));
+            digest.update((byte) '{');
+            sorted.forEach((k, v) -> updateAll(digest, k, v));
+            digest.update((byte) '}');
+        } else if (value instanceof Collection) {
+            digest.update((byte) '[');
+            ((Collection<?>) value).forEach(item -> update(digest, item));
+            digest.update((byte) ']');
+        } else {
+            byte[] bytes = String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+            digest.update((byte) 's');
+            digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.US_ASCII));
+            digest.update((byte) ':');
+            digest.update(bytes);
+        }
+    }
+
+    private static void updateAll(MessageDigest digest, Object... values) {
+        digest.update((byte) '(');
+        for (Object value : values) {
+            update(digest, value);
+        }
+        digest.update((byte) ')');
+    }
+
+    /**
+     * 表示缓存的回答。
+     */
+    private static final class Entry {
+        private final List<ChatMessage> chunks;
+        private final long expireAt;
+
+        private Entry(List<ChatMessage> chunks, long expireAt) {
+            this.chunks = chunks;
+            this.expireAt = expireAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - this.expireAt >= 0;
+        }
+    }
+
+    /**
+     * 表示缓存的统计信息。
+     */
+    public static final class Statistics {
+        private final long exactHits;
+        private final long semanticHits;
+        private final long misses;
+        private final int size;
+
+        private Statistics(long exactHits, long semanticHits, long misses, int size) {
+            this.exactHits = exactHits;
+            this.semanticHits = semanticHits;
+            this.misses = misses;
+            this.size = size;
+        }
+
+        /**
+         * 获取精确缓存的命中次数。
+         *
+         * @return 表示命中次数的 {@code long}。
+         */
+        public long exactHits() {
+            return this.exactHits;
+        }
+
+        /**
+         * 获取语义缓存的命中次数。
+         *
+         * @return 表示命中次数的 {@code long}。
+         */
+        public long semanticHits() {
+            return this.semanticHits;
+        }
+
+        /**
+         * 获取未命中的次数。
+         *
+         * @return 表示未命中次数的 {@code long}。
+         */
+        public long misses() {
+            return this.misses;
+        }
+
+        /**
+         * 获取当前缓存的记录数量。
+         *
+         * @return 表示记录数量的 {@code int}。
+         */
+        public int size() {
+            return this.size;
+        }
+
+        /**
+         * 获取命中率。
+         *
+         * @return 表示命中率的 {@code double}，没有请求时为 {@code 0}。
+         */
+        public double hitRate() {
+            long hits = this.exactHits + this.semanticHits;
+            long total = hits + this.misses;
+            return total == 0 ? 0D : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return StringUtils.format("[exactHits={0}, semanticHits={1}, misses={2}, size={3}]",
+                    this.exactHits,
+                    this.semanticHits,
+                    this.misses,
+                    this.size);
+        }
+    }
+
+    /**
+     * 表示 {@link CachedChatModel} 的构建器。
+     */
+    public static class Builder {
+        private ChatModel chatModel;
+        private Duration ttl = Duration.ofMinutes(10);
+        private int maxSize = 1024;
+        private VectorStore vectorStore;
+        private double threshold = 0.95;
+        private int candidates = 3;
+
+        /**
+         * 设置被装饰的聊天模型。
+         *
+         * @param chatModel 表示聊天模型的 {@link ChatModel}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        public Builder chatModel(ChatModel chatModel) {
+            this.chatModel = chatModel;
+            return this;
+        }
+
+        /**
+         * 设置缓存记录的有效期，默认为 10 分钟。
+         *
+         * @param ttl 表示有效期的 {@link Duration}。
+         * @return 表示当前构建器的 {@link Builder}。
+         * @throws IllegalArgumentException 当 {@code ttl} 为 {@code null} 或不为正数时。
+         */
+        public Builder ttl(Duration ttl) {
+            notNull(ttl, "The ttl cannot be null.");
+            if (ttl.isNegative() || ttl.isZero()) {
+                throw new IllegalArgumentException("The ttl must be positive.");
+            }
+            this.ttl = ttl;
+            return this;
+        }
+
+        /**
+         * 设置缓存的最大记录数量，默认为 {@code 1024}。
+         *
+         * @param maxSize 表示最大记录数量的 {@code int}。
+         * @return 表示当前构建器的 {@link Builder}。
+         * @throws IllegalArgumentException 当 {@code maxSize} 小于等于 {@code 0} 时。
+         */
+        public Builder maxSize(int maxSize) {
+            this.maxSize = greaterThan(maxSize, 0, "The max size must be positive. [maxSize={0}]", maxSize);
+            return this;
+        }
+
+        /**
+         * 设置语义缓存使用的向量存储，不设置时只启用精确缓存。
+         *
+         * @param vectorStore 表示向量存储的 {@link VectorStore}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        public Builder vectorStore(VectorStore vectorStore) {
+            this.vectorStore = vectorStore;
+            return this;
+        }
+
+        /**
+         * 设置语义缓存的相似度阈值，默认为 {@code 0.95}。
+         *
+         * @param threshold 表示相似度阈值的 {@code double}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        public Builder threshold(double threshold) {
+            this.threshold = threshold;
+            return this;
+        }
+
+        /**
+         * 设置语义缓存每次检索的候选数量，默认为 {@code 3}。
+         *
+         * @param candidates 表示候选数量的 {@code int}。
+         * @return 表示当前构建器的 {@link Builder}。
+         * @throws IllegalArgumentException 当 {@code candidates} 小于等于 {@code 0} 时。
+         */
+        public Builder candidates(int candidates) {
+            this.candidates =
+                    greaterThan(candidates, 0, "The candidates must be positive. [candidates={0}]", candidates);
+            return this;
+        }
+
+        /**
+         * 构建 {@link CachedChatModel} 的实例。
+         *
+         * @return 表示构建出来的 {@link CachedChatModel}。
+         * @throws IllegalArgumentException 当未设置聊天模型时。
+         */
+        public CachedChatModel build() {
+            return new CachedChatModel(this);
+        }
+    }
+}
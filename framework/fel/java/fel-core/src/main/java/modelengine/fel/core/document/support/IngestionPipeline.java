@@ -0,0 +1,499 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.document.support;
+
+import static modelengine.fitframework.inspection.Validation.greaterThan;
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fel.core.document.Document;
+import modelengine.fel.core.pattern.Source;
+import modelengine.fel.core.pattern.Splitter;
+import modelengine.fel.core.pattern.Store;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.schedule.Task;
+import modelengine.fitframework.schedule.ThreadPoolExecutor;
+import modelengine.fitframework.util.ObjectUtils;
+import modelengine.fitframework.util.StringUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * 表示流式的文档入库流水线，依次完成加载、切分和存储。
+ * <p>
+ * 输入在调用线程中逐个读取，经有界队列交给多个工作线程并行加载和切分，切分结果再经有界队列交给单个提交线程，
+ * 按批次调用 {@link Store#persistent(Object)}。任何时刻只有队列中的输入和文档驻留在内存中，与语料规模无关。
+ * 向量存储在 {@link Store#persistent(Object)} 中完成嵌入，因此批次大小也是嵌入的批次大小。
+ * </p>
+ * <p>
+ * 设置检查点文件后，输入的全部文档提交成功时，其标识会追加到检查点文件中，再次执行时跳过这些输入。
+ * 中断时未完成的输入会被整体重新处理，存储需要按文档标识覆盖写入。
+ * </p>
+ *
+ * @param <I> 表示输入的类型。
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+public class IngestionPipeline<I> {
+    private static final Logger log = Logger.get(IngestionPipeline.class);
+    private static final Object END = new Object();
+
+    private final Source<I> source;
+    private final Splitter<Document> splitter;
+    private final Store<List<Document>> store;
+    private final Function<I, String> keyMapper;
+    private final int parallelism;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final Path checkpoint;
+
+    private IngestionPipeline(Builder<I> builder) {
+        this.source = notNull(builder.source, "The source cannot be null.");
+        this.store = notNull(builder.store, "The store cannot be null.");
+        this.splitter = builder.splitter;
+        this.keyMapper = builder.keyMapper;
+        this.parallelism = builder.parallelism;
+        this.batchSize = builder.batchSize;
+        this.queueCapacity = builder.queueCapacity;
+        this.checkpoint = builder.checkpoint;
+    }
+
+    /**
+     * 获取 {@link IngestionPipeline} 的构建器。
+     *
+     * @param <I> 表示输入的类型。
+     * @return 表示构建器的 {@link Builder}{@code <}{@link I}{@code >}。
+     */
+    public static <I> Builder<I> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * 将输入依次加载、切分并存储。
+     *
+     * @param inputs 表示输入集合的 {@link Iterable}{@code <}{@link I}{@code >}，按需迭代。
+     * @return 表示本次存储的文档数量的 {@code long}。
+     * @throws IllegalArgumentException 当 {@code inputs} 为 {@code null} 时。
+     * @throws IllegalStateException 当读写检查点文件失败或执行被中断时。
+     */
+    public long ingest(Iterable<I> inputs) {
+        notNull(inputs, "The inputs cannot be null.");
+        Run run = new Run(this.loadCheckpoint());
+        ThreadPoolExecutor executor = ThreadPoolExecutor.custom()
+                .threadPoolName("fel-ingestion")
+                .corePoolSize(this.parallelism + 1)
+                .maximumPoolSize(this.parallelism + 1)
+                .keepAliveTime(60L, TimeUnit.SECONDS)
+                .workQueueCapacity(this.parallelism + 1)
+                .isDaemonThread(true)
+                .build();
+        try {
+            for (int i = 0; i < this.parallelism; i++) {
+                executor.execute(Task.builder().runnable(() -> this.work(run)).buildDisposable());
+            }
+            executor.execute(Task.builder().runnable(() -> this.commit(run)).buildDisposable());
+            this.produce(inputs, run);
+            run.committed.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.fail(e);
+        } finally {
+            shutdown(executor);
+        }
+        Throwable failure = run.failure.get();
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Failed to ingest documents.", failure);
+        }
+        return run.stored.get();
+    }
+
+    private void produce(Iterable<I> inputs, Run run) throws InterruptedException {
+        try {
+            for (I input : inputs) {
+                if (run.failure.get() != null) {
+                    break;
+                }
+                if (run.done.contains(this.keyMapper.apply(input))) {
+                    continue;
+                }
+                run.inputs.put(input);
+            }
+        } catch (RuntimeException e) {
+            run.fail(e);
+        } finally {
+            for (int i = 0; i < this.parallelism; i++) {
+                run.inputs.put(END);
+            }
+        }
+    }
+
+    private void work(Run run) {
+        try {
+            Object item;
+            while ((item = run.inputs.take()) != END) {
+                if (run.failure.get() != null) {
+                    continue;
+                }
+                try {
+                    I input = ObjectUtils.cast(item);
+                    run.pieces.put(new Piece(this.keyMapper.apply(input), this.split(this.source.load(input))));
+                } catch (RuntimeException | Error e) {
+                    run.fail(e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.fail(e);
+        } finally {
+            if (run.workers.decrementAndGet() == 0) {
+                run.end();
+            }
+        }
+    }
+
+    private List<Document> split(List<Document> documents) {
+        if (this.splitter == null || documents == null) {
+            return documents == null ? Collections.emptyList() : documents;
+        }
+        List<Document> splits = new ArrayList<>();
+        for (Document document : documents) {
+            splits.addAll(this.splitter.split(document));
+        }
+        return splits;
+    }
+
+    /**
+     * 按批次提交切分结果。失败后继续取出队列中的结果直到结束标记，保证工作线程和输入线程不会阻塞在已满的队列上。
+     */
+    private void commit(Run run) {
+        List<Document> batch = new ArrayList<>(this.batchSize);
+        Deque<Piece> pending = new ArrayDeque<>();
+        BufferedWriter writer = this.openCheckpoint(run);
+        try {
+            Object item;
+            while ((item = run.pieces.take()) != END) {
+                if (run.failure.get() == null) {
+                    this.accept((Piece) item, batch, pending, writer, run);
+                }
+            }
+            if (run.failure.get() == null) {
+                this.finish(batch, pending, writer, run);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.fail(e);
+        } finally {
+            this.closeCheckpoint(writer);
+            run.committed.countDown();
+        }
+    }
+
+    private void accept(Piece piece, List<Document> batch, Deque<Piece> pending, BufferedWriter writer, Run run) {
+        try {
+            pending.addLast(piece);
+            for (Document document : piece.documents) {
+                batch.add(document);
+                if (batch.size() == this.batchSize) {
+                    this.flush(batch, pending, writer, run);
+                }
+            }
+            this.complete(pending, writer);
+        } catch (IOException e) {
+            run.fail(this.checkpointFailure(e));
+        } catch (RuntimeException | Error e) {
+            run.fail(e);
+        }
+    }
+
+    private void finish(List<Document> batch, Deque<Piece> pending, BufferedWriter writer, Run run) {
+        try {
+            this.flush(batch, pending, writer, run);
+        } catch (IOException e) {
+            run.fail(this.checkpointFailure(e));
+        } catch (RuntimeException | Error e) {
+            run.fail(e);
+        }
+    }
+
+    private void flush(List<Document> batch, Deque<Piece> pending, BufferedWriter writer, Run run)
+            throws IOException {
+        if (!batch.isEmpty()) {
+            this.store.persistent(new ArrayList<>(batch));
+            run.stored.addAndGet(batch.size());
+            int committed = batch.size();
+            batch.clear();
+            for (Piece piece : pending) {
+                int count = Math.min(committed, piece.remaining);
+                piece.remaining -= count;
+                committed -= count;
+                if (committed == 0) {
+                    break;
+                }
+            }
+        }
+        this.complete(pending, writer);
+    }
+
+    private void complete(Deque<Piece> pending, BufferedWriter writer) throws IOException {
+        boolean isChanged = false;
+        while (!pending.isEmpty() && pending.peekFirst().remaining == 0) {
+            Piece piece = pending.pollFirst();
+            if (writer != null) {
+                writer.write(piece.key);
+                writer.newLine();
+                isChanged = true;
+            }
+        }
+        if (isChanged) {
+            writer.flush();
+        }
+    }
+
+    private Set<String> loadCheckpoint() {
+        if (this.checkpoint == null || !Files.exists(this.checkpoint)) {
+            return Collections.emptySet();
+        }
+        try {
+            return new HashSet<>(Files.readAllLines(this.checkpoint, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException(StringUtils.format("Failed to read checkpoint. [path={0}]",
+                    this.checkpoint), e);
+        }
+    }
+
+    private BufferedWriter openCheckpoint(Run run) {
+        if (this.checkpoint == null) {
+            return null;
+        }
+        try {
+            return Files.newBufferedWriter(this.checkpoint,
+                    StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            run.fail(this.checkpointFailure(e));
+            return null;
+        }
+    }
+
+    private void closeCheckpoint(BufferedWriter writer) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("Failed to close checkpoint. [path={}]", this.checkpoint, e);
+        }
+    }
+
+    private IllegalStateException checkpointFailure(IOException cause) {
+        return new IllegalStateException(StringUtils.format("Failed to write checkpoint. [path={0}]",
+                this.checkpoint), cause);
+    }
+
+    private static void shutdown(ThreadPoolExecutor executor) {
+        try {
+            executor.shutdown();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while shutting down ingestion threads.");
+        }
+    }
+
+    /**
+     * 表示一次执行的共享状态。
+     */
+    private final class Run {
+        private final Set<String> done;
+        private final BlockingQueue<Object> inputs = new ArrayBlockingQueue<>(IngestionPipeline.this.parallelism * 2);
+        private final BlockingQueue<Object> pieces = new ArrayBlockingQueue<>(IngestionPipeline.this.queueCapacity);
+        private final AtomicInteger workers = new AtomicInteger(IngestionPipeline.this.parallelism);
+        private final CountDownLatch committed = new CountDownLatch(1);
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final AtomicLong stored = new AtomicLong();
+
+        private Run(Set<String> done) {
+            this.done = done;
+        }
+
+        private void end() {
+            try {
+                this.pieces.put(END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                this.fail(e);
+                this.committed.countDown();
+            }
+        }
+
+        private void fail(Throwable cause) {
+            if (this.failure.compareAndSet(null, cause)) {
+                log.error("Failed to ingest documents.", cause);
+            }
+        }
+    }
+
+    /**
+     * 表示一个输入切分后的全部文档。
+     */
+    private static final class Piece {
+        private final String key;
+        private final List<Document> documents;
+        private int remaining;
+
+        private Piece(String key, List<Document> documents) {
+            this.key = key;
+            this.documents = documents;
+            this.remaining = documents.size();
+        }
+    }
+
+    /**
+     * 表示 {@link IngestionPipeline} 的构建器。
+     *
+     * @param <I> 表示输入的类型。
+     */
+    public static class Builder<I> {
+        private Source<I> source;
+        private Splitter<Document> splitter;
+        private Store<List<Document>> store;
+        private Function<I, String> keyMapper = String::valueOf;
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private int batchSize = 64;
+        private int queueCapacity = 64;
+        private Path checkpoint;
+
+        /**
+         * 设置文档加载器。
+         *
+         * @param source 表示文档加载器的 {@link Source}{@code <}{@link I}{@code >}。
+         * @return 表示当前构建器的 {@link Builder}{@code <}{@link I}{@code >}。
+         */
+        public Builder<I> source(Source<I> source) {
+            this.source = source;
+            return this;
+        }
+
+        /**
+         * 设置文档切分器，不设置时不切分。
+         *
+         * @param splitter 表示文档切分器的 {@link Splitter}{@code <}{@link Document}{@code >}。
+         * @return 表示当前构建器的 {@link Builder}{@code <}{@link I}{@code >}。
+         */
+        public Builder<I> splitter(Splitter<Document> splitter) {
+            this.splitter = splitter;
+            return this;
+        }
+
+        /**
+         * 设置文档存储。
+         *
+         * @param store 表示文档存储的 {@link Store}{@code <}{@link List}{@code <}{@link Document}{@code >>}。
+         * @return 表示当前构建器的 {@link Builder}{@code <}{@link I}{@code >}。
+         */
+        public Builder<I> store(Store<List<Document>> store) {
+            this.store = store;
+            return this;
+        }
+
+        /**
+         * 设置输入标识的生成方法，标识用于检查点，不能包含换行符，默认为 {@link String#valueOf(Object)}。
+         *
+         * @param keyMapper 表示输入标识生成方法的
+         * {@link Function}{@code <}{@link I}{@code , }{@link String}{@code >}。
+         * @return 表示当前构建器的 {@link Builder}{@code <}{@link I}{@code >}。
+         * @throws IllegalArgumentException 当 {@code keyMapper} 为 {@code null} 时。
+         */
+        public Builder<I> keyMapper(Function<I, String> keyMapper) {
+            this.keyMapper = notNull(keyMapper, "The key mapper cannot be null.");
+            return this;
+        }
+
+        /**
+         * 设置并行加载和切分的线程数量，默认为处理器数量。
+         *
+         * @param parallelism 表示线程数量的 {@code int}。
+         * @return 表示当前构建器的 {@link Builder}{@code <}{@link I}{@code >}。
+         * @throws IllegalArgumentException 当 {@code parallelism} 小于等于 {@code 0} 时。
+         */
+        public Builder<I> parallelism(int parallelism) {
+            this.parallelism = greaterThan(parallelism, 0, "The parallelism must be positive.");
+            return this;
+        }
+
+        /**
+         * 设置每次提交到存储的文档数量，默认为 {@code 64}。
+         *
+         * @param batchSize 表示批次大小的 {@code int}。
+         * @return 表示当前构建器的 {@link Builder}{@code <}{@link I}{@code >}。
+         * @throws IllegalArgumentException 当 {@code batchSize} 小于等于 {@code 0} 时。
+         */
+        public Builder<I> batchSize(int batchSize) {
+            this.batchSize = greaterThan(batchSize, 0, "The batch size must be positive.");
+            return this;
+        }
+
+        /**
+         * 设置等待提交的输入数量上限，默认为 {@code 64}。
+         *
+         * @param queueCapacity 表示队列容量的 {@code int}。
+         * @return 表示当前构建器的 {@link Builder}{@code <}{@link I}{@code >}。
+         * @throws IllegalArgumentException 当 {@code queueCapacity} 小于等于 {@code 0} 时。
+         */
+        public Builder<I> queueCapacity(int queueCapacity) {
+            this.queueCapacity = greaterThan(queueCapacity, 0, "The queue capacity must be positive.");
+            return this;
+        }
+
+        /**
+         * 设置检查点文件，不设置时不记录进度。
+         *
+         * @param checkpoint 表示检查点文件的 {@link Path}。
+         * @return 表示当前构建器的 {@link Builder}{@code <}{@link I}{@code >}。
+         */
+        public Builder<I> checkpoint(Path checkpoint) {
+            this.checkpoint = checkpoint;
+            return this;
+        }
+
+        /**
+         * 构建对象。
+         *
+         * @return 表示构建出来的 {@link IngestionPipeline}{@code <}{@link I}{@code >}。
+         * @throws IllegalArgumentException 当未设置文档加载器或文档存储时。
+         */
+        public IngestionPipeline<I> build() {
+            return new IngestionPipeline<>(this);
+        }
+    }
+}
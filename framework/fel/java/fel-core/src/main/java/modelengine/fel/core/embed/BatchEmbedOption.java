@@ -0,0 +1,115 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.embed;
+
+import modelengine.fitframework.pattern.builder.BuilderFactory;
+
+import java.nio.file.Path;
+
+/**
+ * 表示批量嵌入的参数，未设置或小于等于 {@code 0} 的数值使用默认值。
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+public interface BatchEmbedOption {
+    /**
+     * 获取单次调用嵌入模型的最大输入数量，默认为 {@code 64}。
+     *
+     * @return 表示最大输入数量的 {@code int}。
+     */
+    int batchSize();
+
+    /**
+     * 获取同时调用嵌入模型的最大批次数量，默认为 {@code 4}。
+     *
+     * @return 表示最大并发批次数量的 {@code int}。
+     */
+    int concurrency();
+
+    /**
+     * 获取每秒调用嵌入模型的最大次数，默认不限制。
+     *
+     * @return 表示每秒最大调用次数的 {@code int}。
+     */
+    int requestsPerSecond();
+
+    /**
+     * 获取内存中缓存的最大嵌入向量数量，默认为 {@code 10000}。
+     *
+     * @return 表示最大缓存数量的 {@code int}。
+     */
+    int cacheSize();
+
+    /**
+     * 获取磁盘缓存目录，为 {@code null} 时不使用磁盘缓存。
+     *
+     * @return 表示磁盘缓存目录的 {@link Path}。
+     */
+    Path cacheDirectory();
+
+    /**
+     * 表示 {@link BatchEmbedOption} 的构建器。
+     */
+    interface Builder {
+        /**
+         * 设置单次调用嵌入模型的最大输入数量。
+         *
+         * @param batchSize 表示最大输入数量的 {@code int}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        Builder batchSize(int batchSize);
+
+        /**
+         * 设置同时调用嵌入模型的最大批次数量。
+         *
+         * @param concurrency 表示最大并发批次数量的 {@code int}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        Builder concurrency(int concurrency);
+
+        /**
+         * 设置每秒调用嵌入模型的最大次数。
+         *
+         * @param requestsPerSecond 表示每秒最大调用次数的 {@code int}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        Builder requestsPerSecond(int requestsPerSecond);
+
+        /**
+         * 设置内存中缓存的最大嵌入向量数量。
+         *
+         * @param cacheSize 表示最大缓存数量的 {@code int}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        Builder cacheSize(int cacheSize);
+
+        /**
+         * 设置磁盘缓存目录。
+         *
+         * @param cacheDirectory 表示磁盘缓存目录的 {@link Path}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        Builder cacheDirectory(Path cacheDirectory);
+
+        /**
+         * 构建 {@link BatchEmbedOption} 实例。
+         *
+         * @return 返回构建成功的 {@link BatchEmbedOption} 实例。
+         */
+        BatchEmbedOption build();
+    }
+
+    /**
+     * 获取 {@link Builder} 的实例。
+     *
+     * @return 表示构建器实例的 {@link Builder}。
+     */
+    static Builder custom() {
+        return BuilderFactory.get(BatchEmbedOption.class, BatchEmbedOption.Builder.class).create(null);
+    }
+}
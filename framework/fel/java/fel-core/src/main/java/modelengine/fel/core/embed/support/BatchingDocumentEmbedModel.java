@@ -0,0 +1,378 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.embed.support;
+
+import static modelengine.fitframework.inspection.Validation.notBlank;
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fel.core.document.Document;
+import modelengine.fel.core.document.DocumentEmbedModel;
+import modelengine.fel.core.embed.BatchEmbedOption;
+import modelengine.fel.core.embed.EmbedModel;
+import modelengine.fel.core.embed.EmbedOption;
+import modelengine.fel.core.embed.Embedding;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.schedule.Task;
+import modelengine.fitframework.schedule.ThreadPoolExecutor;
+import modelengine.fitframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * 表示带批处理和缓存的 {@link DocumentEmbedModel} 实现。
+ * <ul>
+ *     <li>相同文本只嵌入一次，结果按模型名称和文本内容的摘要缓存在内存的 LRU 中，可选再写入磁盘；</li>
+ *     <li>未命中缓存的文本按 {@link BatchEmbedOption#batchSize()} 分批，在独立线程池中并发调用，并按需限流；</li>
+ *     <li>并发的单条查询会合并为一次批量调用，正在嵌入的文本不会被重复提交。</li>
+ * </ul>
+ * 实例持有独立的线程池，不再使用时需要调用 {@link #close()} 释放。
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+public class BatchingDocumentEmbedModel implements DocumentEmbedModel, AutoCloseable {
+    private static final Logger log = Logger.get(BatchingDocumentEmbedModel.class);
+    private static final int DEFAULT_BATCH_SIZE = 64;
+    private static final int DEFAULT_CONCURRENCY = 4;
+    private static final int DEFAULT_CACHE_SIZE = 10000;
+    private static final String CACHE_FILE_SUFFIX = ".emb";
+
+    private final EmbedModel service;
+    private final EmbedOption embedOption;
+    private final int batchSize;
+    private final Path cacheDirectory;
+    private final RateLimiter rateLimiter;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, List<Float>> cache;
+    private final Map<String, CompletableFuture<List<Float>>> inflight = new ConcurrentHashMap<>();
+    private final Queue<Pending> queries = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean isDraining = new AtomicBoolean();
+
+    /**
+     * 使用默认的批量参数构造 {@link BatchingDocumentEmbedModel} 的实例。
+     *
+     * @param embedModel 表示用于嵌入生成服务的 {@link EmbedModel}。
+     * @param embedOption 表示嵌入可选参数的 {@link EmbedOption}。
+     * @throws IllegalArgumentException 当 {@code embedModel}、{@code embedOption} 为 {@code null} 时。
+     */
+    public BatchingDocumentEmbedModel(EmbedModel embedModel, EmbedOption embedOption) {
+        this(embedModel, embedOption, BatchEmbedOption.custom().build());
+    }
+
+    /**
+     * 构造 {@link BatchingDocumentEmbedModel} 的实例。
+     *
+     * @param embedModel 表示用于嵌入生成服务的 {@link EmbedModel}。
+     * @param embedOption 表示嵌入可选参数的 {@link EmbedOption}。
+     * @param batchOption 表示批量嵌入参数的 {@link BatchEmbedOption}。
+     * @throws IllegalArgumentException 当 {@code embedModel}、{@code embedOption}、{@code batchOption} 为
+     * {@code null} 时。
+     */
+    public BatchingDocumentEmbedModel(EmbedModel embedModel, EmbedOption embedOption, BatchEmbedOption batchOption) {
+        this.service = notNull(embedModel, "The embed model cannot be null.");
+        this.embedOption = notNull(embedOption, "The embed option cannot be null.");
+        notNull(batchOption, "The batch option cannot be null.");
+        this.batchSize = positiveOrDefault(batchOption.batchSize(), DEFAULT_BATCH_SIZE);
+        this.cacheDirectory = batchOption.cacheDirectory();
+        this.rateLimiter =
+                batchOption.requestsPerSecond() > 0 ? new RateLimiter(batchOption.requestsPerSecond()) : null;
+        int concurrency = positiveOrDefault(batchOption.concurrency(), DEFAULT_CONCURRENCY);
+        this.executor = ThreadPoolExecutor.custom()
+                .threadPoolName("fel-embed-batch")
+                .corePoolSize(concurrency)
+                .maximumPoolSize(concurrency)
+                .keepAliveTime(60L, TimeUnit.SECONDS)
+                .workQueueCapacity(Integer.MAX_VALUE)
+                .isDaemonThread(true)
+                .build();
+        int cacheSize = positiveOrDefault(batchOption.cacheSize(), DEFAULT_CACHE_SIZE);
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<String, List<Float>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<Float>> eldest) {
+                return this.size() > cacheSize;
+            }
+        });
+    }
+
+    @Override
+    public List<Embedding> embed(List<Document> documents) {
+        notNull(documents, "The documents cannot be null.");
+        Map<String, String> keys = new LinkedHashMap<>();
+        documents.forEach(document -> keys.computeIfAbsent(document.text(), this::key));
+        Map<String, CompletableFuture<List<Float>>> futures = new HashMap<>();
+        List<Pending> owned = new ArrayList<>();
+        keys.forEach((text, key) -> futures.put(key, this.lookup(text, key, owned)));
+        List<List<Pending>> batches = partition(owned, this.batchSize);
+        for (int i = 1; i < batches.size(); i++) {
+            List<Pending> batch = batches.get(i);
+            try {
+                this.executor.execute(Task.builder().runnable(() -> this.generate(batch)).buildDisposable());
+            } catch (RuntimeException e) {
+                log.warn("Failed to submit embedding batch, generate in caller thread. [size={}]", batch.size(), e);
+                this.generate(batch);
+            }
+        }
+        if (!batches.isEmpty()) {
+            this.generate(batches.get(0));
+        }
+        return documents.stream()
+                .map(document -> toEmbedding(await(futures.get(keys.get(document.text())))))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Embedding embed(String input) {
+        notBlank(input, "The input cannot be blank.");
+        List<Pending> owned = new ArrayList<>(1);
+        CompletableFuture<List<Float>> future = this.lookup(input, this.key(input), owned);
+        if (!owned.isEmpty()) {
+            this.queries.add(owned.get(0));
+            this.drainQueries();
+        }
+        return toEmbedding(await(future));
+    }
+
+    /**
+     * 关闭执行批量嵌入的线程池，已提交的批次会执行完成。关闭后多批次的嵌入改为在调用线程中依次执行。
+     */
+    @Override
+    public void close() {
+        try {
+            this.executor.shutdown();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while shutting down embedding batch threads.");
+        }
+    }
+
+    /**
+     * 依次查找内存缓存、磁盘缓存和正在嵌入的文本，都未命中时登记为由当前调用负责嵌入。
+     */
+    private CompletableFuture<List<Float>> lookup(String text, String key, List<Pending> owned) {
+        List<Float> cached = this.cache.get(key);
+        if (cached == null) {
+            cached = this.readDisk(key);
+            if (cached != null) {
+                this.cache.put(key, cached);
+            }
+        }
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<List<Float>> created = new CompletableFuture<>();
+        CompletableFuture<List<Float>> existing = this.inflight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        owned.add(new Pending(text, key, created));
+        return created;
+    }
+
+    /**
+     * 合并并发的单条查询：只有一个线程负责调用模型，其余线程的查询在它的下一轮中一并提交。
+     */
+    private void drainQueries() {
+        while (!this.queries.isEmpty() && this.isDraining.compareAndSet(false, true)) {
+            try {
+                List<Pending> batch = new ArrayList<>(this.batchSize);
+                Pending pending;
+                while ((pending = this.queries.poll()) != null) {
+                    batch.add(pending);
+                    if (batch.size() == this.batchSize) {
+                        this.generate(batch);
+                        batch = new ArrayList<>(this.batchSize);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    this.generate(batch);
+                }
+            } finally {
+                this.isDraining.set(false);
+            }
+        }
+    }
+
+    private void generate(List<Pending> batch) {
+        try {
+            if (this.rateLimiter != null) {
+                this.rateLimiter.acquire();
+            }
+            List<String> inputs = batch.stream().map(pending -> pending.text).collect(Collectors.toList());
+            List<Embedding> embeddings = this.service.generate(inputs, this.embedOption);
+            if (embeddings == null || embeddings.size() != batch.size()) {
+                throw new IllegalStateException(StringUtils.format(
+                        "The embedding size does not match the input size. [inputs={0}, embeddings={1}]",
+                        batch.size(),
+                        embeddings == null ? 0 : embeddings.size()));
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                Pending pending = batch.get(i);
+                List<Float> embedding = Collections.unmodifiableList(new ArrayList<>(embeddings.get(i).embedding()));
+                this.cache.put(pending.key, embedding);
+                this.writeDisk(pending.key, embedding);
+                this.inflight.remove(pending.key);
+                pending.future.complete(embedding);
+            }
+        } catch (RuntimeException | Error e) {
+            batch.forEach(pending -> {
+                this.inflight.remove(pending.key, pending.future);
+                pending.future.completeExceptionally(e);
+            });
+        }
+    }
+
+    private String key(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(StringUtils.blankIf(this.embedOption.model(), StringUtils.EMPTY)
+                    .getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(64);
+            for (byte value : digest.digest()) {
+                hex.append(Character.forDigit((value >> 4) & 0xF, 16)).append(Character.forDigit(value & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("The SHA-256 algorithm is not supported.", e);
+        }
+    }
+
+    private List<Float> readDisk(String key) {
+        if (this.cacheDirectory == null) {
+            return null;
+        }
+        Path file = this.cacheDirectory.resolve(key + CACHE_FILE_SUFFIX);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            FloatBuffer buffer =
+                    ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+            List<Float> embedding = new ArrayList<>(buffer.remaining());
+            while (buffer.hasRemaining()) {
+                embedding.add(buffer.get());
+            }
+            return Collections.unmodifiableList(embedding);
+        } catch (IOException e) {
+            log.warn("Failed to read embedding cache. [file={}]", file, e);
+            return null;
+        }
+    }
+
+    private void writeDisk(String key, List<Float> embedding) {
+        if (this.cacheDirectory == null) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(embedding.size() * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        embedding.forEach(buffer::putFloat);
+        Path file = this.cacheDirectory.resolve(key + CACHE_FILE_SUFFIX);
+        try {
+            Files.createDirectories(this.cacheDirectory);
+            Path temp = Files.createTempFile(this.cacheDirectory, key, ".tmp");
+            Files.write(temp, buffer.array());
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to write embedding cache. [file={}]", file, e);
+        }
+    }
+
+    private static List<List<Pending>> partition(List<Pending> pendings, int size) {
+        List<List<Pending>> batches = new ArrayList<>();
+        for (int from = 0; from < pendings.size(); from += size) {
+            batches.add(pendings.subList(from, Math.min(pendings.size(), from + size)));
+        }
+        return batches;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static Embedding toEmbedding(List<Float> embedding) {
+        return () -> embedding;
+    }
+
+    private static int positiveOrDefault(int value, int defaultValue) {
+        return value > 0 ? value : defaultValue;
+    }
+
+    /**
+     * 表示由当前调用负责嵌入的文本。
+     */
+    private static final class Pending {
+        private final String text;
+        private final String key;
+        private final CompletableFuture<List<Float>> future;
+
+        private Pending(String text, String key, CompletableFuture<List<Float>> future) {
+            this.text = text;
+            this.key = key;
+            this.future = future;
+        }
+    }
+
+    /**
+     * 表示按固定间隔发放许可的限流器。
+     */
+    private static final class RateLimiter {
+        private final long intervalNanos;
+        private long next;
+
+        private RateLimiter(int permitsPerSecond) {
+            this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+            this.next = System.nanoTime();
+        }
+
+        private void acquire() {
+            long deadline;
+            synchronized (this) {
+                long now = System.nanoTime();
+                deadline = Math.max(now, this.next);
+                this.next = deadline + this.intervalNanos;
+            }
+            long remaining;
+            while ((remaining = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(remaining);
+            }
+        }
+    }
+}
@@ -43,6 +43,15 @@ public abstract class AbstractJsonOutputParser<O> implements JsonOutputParser<O>
      */
     protected abstract String jsonSchema();
 
+    /**
+     * 获取输出类型。
+     *
+     * @return 表示输出类型的 {@link Type}。
+     */
+    Type type() {
+        return this.type;
+    }
+
     @Override
     public O parse(String input) {
         return this.serializer.deserialize(input, this.type);
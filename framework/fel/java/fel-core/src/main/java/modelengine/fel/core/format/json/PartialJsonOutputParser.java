@@ -10,12 +10,26 @@ import static modelengine.fitframework.inspection.Validation.notNull;
 
 import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.serialization.SerializationException;
-import modelengine.fitframework.util.MapBuilder;
+import modelengine.fitframework.util.ObjectUtils;
 
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 /**
  * 表示实现解析 json 片段的 {@link JsonOutputParser}
+ * <p>
+ * 流式输出时每次传入的都是已输出的全部内容，解析器为每个流保留读取状态，当输入是上次输入的延续时只读取新增的字符，
+ * 否则重新开始读取。当输出类型为 {@link Map}、{@link List} 或 {@link Object} 时直接返回不可修改的读取结果，
+ * 其余类型将读取结果写为 json 后交由被装饰的解析器绑定，绑定的开销与已读取内容成正比，因此只在有值读取完成时重新绑定，
+ * 正在读取的字符串或数字在长度较上次绑定时翻倍后才重新绑定。输入无法构成 json 对象或数组时只严格解析一次，
+ * 该流后续的输入直接返回同一结果，直到出现不是其延续的输入。
+ * </p>
  *
  * @param <O> 表示输出对象类型。
  * @author 易文渊
@@ -23,11 +37,11 @@ import java.util.Map;
  */
 public final class PartialJsonOutputParser<O> implements JsonOutputParser<O> {
     private static final Logger log = Logger.get(PartialJsonOutputParser.class);
-
-    private static final Map<Character, Character> PARENTHESIS =
-            MapBuilder.<Character, Character>get().put('{', '}').put('[', ']').build();
+    private static final int MAX_STREAMS = 16;
 
     private final JsonOutputParser<O> jsonOutputParser;
+    private final Class<?> directType;
+    private final Deque<Stream<O>> streams = new ArrayDeque<>();
 
     /**
      * 使用 json 输出解析器创建 {@link PartialJsonOutputParser} 的实例。
@@ -37,6 +51,9 @@ public final class PartialJsonOutputParser<O> implements JsonOutputParser<O> {
      */
     public PartialJsonOutputParser(JsonOutputParser<O> jsonOutputParser) {
         this.jsonOutputParser = notNull(jsonOutputParser, "The json output parser cannot be null.");
+        this.directType = jsonOutputParser instanceof AbstractJsonOutputParser
+                ? directType(((AbstractJsonOutputParser<?>) jsonOutputParser).type())
+                : null;
     }
 
     @Override
@@ -46,72 +63,145 @@ public final class PartialJsonOutputParser<O> implements JsonOutputParser<O> {
 
     @Override
     public O parse(String input) {
+        Stream<O> stream = this.acquire(input);
         try {
-            return this.jsonOutputParser.parse(input);
-        } catch (SerializationException ignored) {
-            log.debug("Failed attempt to parse the input '{}'.", input);
+            return this.parse(stream, input);
+        } finally {
+            this.release(stream);
+        }
+    }
+
+    private O parse(Stream<O> stream, String input) {
+        PartialJsonReader reader = stream.reader;
+        reader.feed(input);
+        if (reader.isFailed()) {
+            if (!stream.isFailed) {
+                stream.result = this.parseStrictly(input);
+                stream.isFailed = true;
+            }
+            return stream.result;
+        }
+        if (!reader.isStarted()) {
+            return this.parseStrictly(input);
+        }
+        if (this.isDirect(reader)) {
+            if (stream.version != reader.version()) {
+                stream.result = ObjectUtils.cast(reader.snapshot());
+                stream.version = reader.version();
+            }
+            return stream.result;
+        }
+        if (isStale(stream, reader)) {
+            stream.result = this.bind(reader.snapshot());
+            stream.version = reader.completedVersion();
+            stream.partial = reader.partialLength();
         }
+        return stream.result;
+    }
+
+    private boolean isDirect(PartialJsonReader reader) {
+        if (this.directType == null) {
+            return false;
+        }
+        return this.directType == Object.class || (this.directType == Map.class) == reader.isObject();
+    }
+
+    private static boolean isStale(Stream<?> stream, PartialJsonReader reader) {
+        if (stream.version != reader.completedVersion()) {
+            return true;
+        }
+        int partial = reader.partialLength();
+        return partial != stream.partial && partial >= 2 * stream.partial;
+    }
+
+    private O bind(Object snapshot) {
+        StringBuilder json = new StringBuilder();
+        PartialJsonReader.write(snapshot, json);
         try {
-            return this.parse0(input);
-        } catch (IllegalStateException e) {
+            return this.jsonOutputParser.parse(json.toString());
+        } catch (SerializationException e) {
+            log.warn("Parse '{}' error, msg: {}.", json, e.getMessage());
+        }
+        return this.jsonOutputParser.parse("{}");
+    }
+
+    private O parseStrictly(String input) {
+        try {
+            return this.jsonOutputParser.parse(input);
+        } catch (SerializationException e) {
             log.warn("Parse '{}' error, msg: {}.", input, e.getMessage());
         }
         return this.jsonOutputParser.parse("{}");
     }
 
-    private O parse0(String input) {
-        StringBuilder dst = new StringBuilder();
-        StringBuilder stack = new StringBuilder();
-        boolean isInsideString = false;
-        boolean isEscaped = false;
-        for (char c : input.toCharArray()) {
-            if (isInsideString) {
-                if (c == '"' && !isEscaped) {
-                    isInsideString = false;
-                } else if (c == '\n' && !isEscaped) {
-                    dst.append("\\n");
-                    continue;
-                } else if (c == '\\') {
-                    isEscaped = !isEscaped;
-                } else {
-                    isEscaped = false;
-                }
-            } else {
-                if (c == '"') {
-                    isInsideString = true;
-                } else {
-                    dealParenthesis(stack, c);
+    private Stream<O> acquire(String input) {
+        synchronized (this.streams) {
+            Stream<O> matched = null;
+            for (Stream<O> stream : this.streams) {
+                if (stream.reader.isContinuedBy(input)
+                        && (matched == null || stream.reader.length() > matched.reader.length())) {
+                    matched = stream;
                 }
             }
-            dst.append(c);
+            if (matched == null) {
+                return new Stream<>();
+            }
+            this.streams.remove(matched);
+            return matched;
         }
-        if (isInsideString) {
-            dst.append('"');
+    }
+
+    private void release(Stream<O> stream) {
+        synchronized (this.streams) {
+            this.streams.addFirst(stream);
+            Iterator<Stream<O>> iterator = this.streams.descendingIterator();
+            while (this.streams.size() > MAX_STREAMS && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
         }
-        return this.parseCompleteJson(dst, stack.reverse().toString());
     }
 
-    private static void dealParenthesis(StringBuilder stack, char ch) {
-        if (PARENTHESIS.containsKey(ch)) {
-            stack.append(PARENTHESIS.get(ch));
-            return;
+    private static Class<?> directType(Type type) {
+        if (type == Object.class || type == Map.class || type == List.class) {
+            return (Class<?>) type;
+        }
+        if (!(type instanceof ParameterizedType)) {
+            return null;
+        }
+        ParameterizedType parameterizedType = (ParameterizedType) type;
+        Type rawType = parameterizedType.getRawType();
+        if (rawType != Map.class && rawType != List.class) {
+            return null;
         }
-        if (PARENTHESIS.containsValue(ch)) {
-            if (stack.length() == 0 || stack.charAt(stack.length() - 1) != ch) {
-                throw new IllegalStateException("The input is malformed.");
+        Type[] arguments = parameterizedType.getActualTypeArguments();
+        for (int i = 0; i < arguments.length; i++) {
+            boolean isKey = rawType == Map.class && i == 0;
+            if (!isAny(arguments[i]) && !(isKey && arguments[i] == String.class)) {
+                return null;
             }
-            stack.deleteCharAt(stack.length() - 1);
         }
+        return (Class<?>) rawType;
     }
 
-    private O parseCompleteJson(StringBuilder json, String tail) {
-        while (json.length() != 0) {
-            try {
-                return this.jsonOutputParser.parse(json + tail);
-            } catch (SerializationException e) {
-                json.deleteCharAt(json.length() - 1);
-            }
+    private static boolean isAny(Type type) {
+        if (type instanceof WildcardType) {
+            WildcardType wildcardType = (WildcardType) type;
+            return wildcardType.getLowerBounds().length == 0 && wildcardType.getUpperBounds()[0] == Object.class;
         }
-        throw new IllegalStateException("Ran out of characters.");
+        return type == Object.class;
+    }
+
+    /**
+     * 表示一个流的读取状态。
+     *
+     * @param <O> 表示输出对象类型。
+     */
+    private static final class Stream<O> {
+        private final PartialJsonReader reader = new PartialJsonReader();
+        private long version = -1;
+        private int partial;
+        private boolean isFailed;
+        private O result;
     }
-}
\ No newline at end of file
+}
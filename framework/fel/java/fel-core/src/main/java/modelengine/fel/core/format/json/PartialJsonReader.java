@@ -0,0 +1,555 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.format.json;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 表示可续读的 json 片段读取器，在多次调用之间保留词法和栈状态，每次只处理新增的字符。
+ * <p>
+ * 读取的结果由 {@link Map} 和 {@link List} 组成。已经闭合的容器不再修改，快照时直接复用，
+ * 只复制仍未闭合的容器；未完成的字符串和数字以当前已读取的部分出现在快照中，未完成的键和字面量被忽略。
+ * </p>
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+final class PartialJsonReader {
+    private static final String[] LITERALS = {"true", "false", "null"};
+    private static final int FINGERPRINT_LENGTH = 32;
+
+    private final List<Frame> stack = new ArrayList<>();
+    private final StringBuilder text = new StringBuilder();
+    private int length;
+    private String head = "";
+    private String tail = "";
+    private Object root;
+    private Token token = Token.NONE;
+    private int escape;
+    private int unicode;
+    private boolean isDone;
+    private boolean isFailed;
+    private long version;
+    private long completedVersion;
+
+    /**
+     * 判断输入是否为上次输入的延续。
+     * <p>读取器不保留已读取的输入，只比较已读取部分开头和末尾的若干字符，判断的开销与输入长度无关。</p>
+     *
+     * @param input 表示完整输入的 {@link String}。
+     * @return 表示是否为上次输入延续的 {@code boolean}。
+     */
+    boolean isContinuedBy(String input) {
+        return input.length() >= this.length && input.startsWith(this.head)
+                && input.startsWith(this.tail, this.length - this.tail.length());
+    }
+
+    /**
+     * 获取已经读取的输入长度。
+     *
+     * @return 表示已读取输入长度的 {@code int}。
+     */
+    int length() {
+        return this.length;
+    }
+
+    /**
+     * 读取输入中上次之后新增的字符。
+     *
+     * @param input 表示完整输入的 {@link String}。
+     * @return 如果输入是上次输入的延续，则返回 {@code true}，否则不做任何处理并返回 {@code false}。
+     */
+    boolean feed(String input) {
+        if (!this.isContinuedBy(input)) {
+            return false;
+        }
+        for (int i = this.length; i < input.length() && !this.isFailed && !this.isDone; i++) {
+            this.accept(input.charAt(i));
+        }
+        if (input.length() > this.length) {
+            this.length = input.length();
+            this.head = input.substring(0, Math.min(this.length, FINGERPRINT_LENGTH));
+            this.tail = input.substring(Math.max(0, this.length - FINGERPRINT_LENGTH));
+        }
+        return true;
+    }
+
+    /**
+     * 判断输入是否已经无法构成合法的 json 对象或数组。
+     *
+     * @return 表示是否读取失败的 {@code boolean}。
+     */
+    boolean isFailed() {
+        return this.isFailed;
+    }
+
+    /**
+     * 获取结果的版本号，快照的内容发生变化时版本号递增。
+     *
+     * @return 表示版本号的 {@code long}。
+     */
+    long version() {
+        return this.version;
+    }
+
+    /**
+     * 获取已完成内容的版本号，有值读取完成或者容器开始、闭合时递增，未完成的字符串和数字增长时不变。
+     *
+     * @return 表示已完成内容版本号的 {@code long}。
+     */
+    long completedVersion() {
+        return this.completedVersion;
+    }
+
+    /**
+     * 获取正在读取的字符串或数字已读取的长度。
+     *
+     * @return 表示未完成值长度的 {@code int}，当前没有正在读取的值时为 {@code 0}。
+     */
+    int partialLength() {
+        return this.token == Token.STRING || this.token == Token.NUMBER ? this.text.length() : 0;
+    }
+
+    /**
+     * 判断是否已经读取到根容器。
+     *
+     * @return 表示是否已经读取到根容器的 {@code boolean}。
+     */
+    boolean isStarted() {
+        return this.isDone || !this.stack.isEmpty();
+    }
+
+    /**
+     * 判断根容器是否为 json 对象，仅在已经读取到根容器后有意义。
+     *
+     * @return 表示根容器是否为 json 对象的 {@code boolean}。
+     */
+    boolean isObject() {
+        return this.isDone ? this.root instanceof Map : this.stack.get(0).object != null;
+    }
+
+    /**
+     * 获取当前已读取内容的快照。
+     * <p>快照中的容器都不可修改，已经闭合的容器在多次快照之间共享，未闭合的容器每次复制。</p>
+     *
+     * @return 表示快照的 {@link Object}，尚未读取到根容器时为 {@code null}。
+     */
+    Object snapshot() {
+        if (this.isDone) {
+            return this.root;
+        }
+        if (this.stack.isEmpty()) {
+            return null;
+        }
+        return this.snapshot(0);
+    }
+
+    /**
+     * 将快照写为 json 文本。
+     *
+     * @param value 表示快照的 {@link Object}。
+     * @param out 表示输出的 {@link StringBuilder}。
+     */
+    static void write(Object value, StringBuilder out) {
+        if (value instanceof Map) {
+            out.append('{');
+            boolean isFirst = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!isFirst) {
+                    out.append(',');
+                }
+                isFirst = false;
+                writeString(String.valueOf(entry.getKey()), out);
+                out.append(':');
+                write(entry.getValue(), out);
+            }
+            out.append('}');
+        } else if (value instanceof List) {
+            out.append('[');
+            boolean isFirst = true;
+            for (Object element : (List<?>) value) {
+                if (!isFirst) {
+                    out.append(',');
+                }
+                isFirst = false;
+                write(element, out);
+            }
+            out.append(']');
+        } else if (value instanceof String) {
+            writeString((String) value, out);
+        } else {
+            out.append(value);
+        }
+    }
+
+    private Object snapshot(int index) {
+        Frame frame = this.stack.get(index);
+        Object child = null;
+        boolean hasChild = true;
+        if (index + 1 < this.stack.size()) {
+            child = this.snapshot(index + 1);
+        } else if (this.token == Token.STRING) {
+            child = this.text.toString();
+        } else if (this.token == Token.NUMBER) {
+            child = parseNumber(trimNumber(this.text));
+            hasChild = child != null;
+        } else {
+            hasChild = false;
+        }
+        if (frame.object != null) {
+            Map<String, Object> copy = new LinkedHashMap<>(frame.object);
+            if (hasChild) {
+                copy.put(frame.key, child);
+            }
+            return Collections.unmodifiableMap(copy);
+        }
+        List<Object> copy = new ArrayList<>(frame.array.size() + 1);
+        copy.addAll(frame.array);
+        if (hasChild) {
+            copy.add(child);
+        }
+        return Collections.unmodifiableList(copy);
+    }
+
+    private void accept(char ch) {
+        switch (this.token) {
+            case KEY:
+            case STRING:
+                this.acceptString(ch);
+                return;
+            case NUMBER:
+                if ((ch >= '0' && ch <= '9') || ch == '.' || ch == 'e' || ch == 'E' || ch == '+' || ch == '-') {
+                    this.text.append(ch);
+                    this.version++;
+                    return;
+                }
+                this.finishNumber();
+                break;
+            case LITERAL:
+                if (Character.isLetter(ch)) {
+                    this.text.append(ch);
+                    if (!isLiteralPrefix(this.text)) {
+                        this.isFailed = true;
+                    }
+                    return;
+                }
+                this.finishLiteral();
+                break;
+            default:
+                break;
+        }
+        if (!this.isFailed) {
+            this.acceptStructure(ch);
+        }
+    }
+
+    private void acceptString(char ch) {
+        if (this.escape == 1) {
+            this.escape = 0;
+            switch (ch) {
+                case 'b':
+                    this.appendText('\b');
+                    break;
+                case 'f':
+                    this.appendText('\f');
+                    break;
+                case 'n':
+                    this.appendText('\n');
+                    break;
+                case 'r':
+                    this.appendText('\r');
+                    break;
+                case 't':
+                    this.appendText('\t');
+                    break;
+                case 'u':
+                    this.escape = 2;
+                    this.unicode = 0;
+                    break;
+                default:
+                    this.appendText(ch);
+                    break;
+            }
+        } else if (this.escape >= 2) {
+            int digit = Character.digit(ch, 16);
+            if (digit < 0) {
+                this.isFailed = true;
+                return;
+            }
+            this.unicode = this.unicode * 16 + digit;
+            if (++this.escape == 6) {
+                this.escape = 0;
+                this.appendText((char) this.unicode);
+            }
+        } else if (ch == '\\') {
+            this.escape = 1;
+        } else if (ch == '"') {
+            this.finishString();
+        } else {
+            this.appendText(ch);
+        }
+    }
+
+    private void appendText(char ch) {
+        this.text.append(ch);
+        if (this.token == Token.STRING) {
+            this.version++;
+        }
+    }
+
+    private void acceptStructure(char ch) {
+        if (Character.isWhitespace(ch)) {
+            return;
+        }
+        if (this.stack.isEmpty()) {
+            if (ch == '{' || ch == '[') {
+                this.push(ch == '{');
+            } else {
+                this.isFailed = true;
+            }
+            return;
+        }
+        Frame frame = this.stack.get(this.stack.size() - 1);
+        switch (frame.expect) {
+            case KEY_OR_END:
+            case KEY:
+                if (ch == '"') {
+                    this.startToken(Token.KEY);
+                } else if (ch == '}') {
+                    this.close(true);
+                } else {
+                    this.isFailed = true;
+                }
+                break;
+            case COLON:
+                if (ch == ':') {
+                    frame.expect = Expect.VALUE;
+                } else {
+                    this.isFailed = true;
+                }
+                break;
+            case VALUE:
+            case VALUE_OR_END:
+                this.acceptValue(frame, ch);
+                break;
+            case COMMA_OR_END:
+                if (ch == ',') {
+                    frame.expect = frame.object != null ? Expect.KEY : Expect.VALUE;
+                } else if (ch == '}' || ch == ']') {
+                    this.close(ch == '}');
+                } else {
+                    this.isFailed = true;
+                }
+                break;
+            default:
+                this.isFailed = true;
+                break;
+        }
+    }
+
+    private void acceptValue(Frame frame, char ch) {
+        if (ch == ']' && frame.array != null) {
+            this.close(false);
+        } else if (ch == '"') {
+            this.startToken(Token.STRING);
+            this.version++;
+        } else if (ch == '{' || ch == '[') {
+            this.push(ch == '{');
+        } else if (ch == '-' || (ch >= '0' && ch <= '9')) {
+            this.startToken(Token.NUMBER);
+            this.text.append(ch);
+            this.version++;
+        } else if (ch == 't' || ch == 'f' || ch == 'n') {
+            this.startToken(Token.LITERAL);
+            this.text.append(ch);
+        } else {
+            this.isFailed = true;
+        }
+    }
+
+    private void startToken(Token token) {
+        this.token = token;
+        this.text.setLength(0);
+        this.escape = 0;
+    }
+
+    private void finishString() {
+        Frame frame = this.stack.get(this.stack.size() - 1);
+        String value = this.text.toString();
+        if (this.token == Token.KEY) {
+            this.token = Token.NONE;
+            frame.key = value;
+            frame.expect = Expect.COLON;
+        } else {
+            this.token = Token.NONE;
+            this.addValue(value);
+        }
+    }
+
+    private void finishNumber() {
+        this.token = Token.NONE;
+        Object value = parseNumber(this.text);
+        if (value == null) {
+            this.isFailed = true;
+            return;
+        }
+        this.addValue(value);
+    }
+
+    private void finishLiteral() {
+        this.token = Token.NONE;
+        String literal = this.text.toString();
+        if (literal.equals("true")) {
+            this.addValue(Boolean.TRUE);
+        } else if (literal.equals("false")) {
+            this.addValue(Boolean.FALSE);
+        } else if (literal.equals("null")) {
+            this.addValue(null);
+        } else {
+            this.isFailed = true;
+        }
+    }
+
+    private void push(boolean isObject) {
+        Frame frame = new Frame(isObject);
+        this.stack.add(frame);
+        this.version++;
+        this.completedVersion++;
+    }
+
+    private void close(boolean isObject) {
+        Frame frame = this.stack.remove(this.stack.size() - 1);
+        if ((frame.object != null) != isObject) {
+            this.isFailed = true;
+            return;
+        }
+        Object closed = isObject
+                ? Collections.unmodifiableMap(frame.object)
+                : Collections.unmodifiableList(frame.array);
+        if (this.stack.isEmpty()) {
+            this.root = closed;
+            this.isDone = true;
+            this.version++;
+            this.completedVersion++;
+            return;
+        }
+        this.addValue(closed);
+    }
+
+    private void addValue(Object value) {
+        Frame frame = this.stack.get(this.stack.size() - 1);
+        if (frame.object != null) {
+            frame.object.put(frame.key, value);
+            frame.key = null;
+        } else {
+            frame.array.add(value);
+        }
+        frame.expect = Expect.COMMA_OR_END;
+        this.version++;
+        this.completedVersion++;
+    }
+
+    private static boolean isLiteralPrefix(CharSequence text) {
+        for (String literal : LITERALS) {
+            if (literal.length() >= text.length() && literal.startsWith(text.toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String trimNumber(CharSequence text) {
+        int end = text.length();
+        while (end > 0 && "+-.eE".indexOf(text.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        return text.subSequence(0, end).toString();
+    }
+
+    private static Object parseNumber(CharSequence text) {
+        String number = text.toString();
+        if (number.isEmpty() || number.equals("-")) {
+            return null;
+        }
+        try {
+            if (number.indexOf('.') >= 0 || number.indexOf('e') >= 0 || number.indexOf('E') >= 0) {
+                return Double.valueOf(number);
+            }
+            BigInteger value = new BigInteger(number);
+            if (value.bitLength() < Integer.SIZE) {
+                return value.intValue();
+            }
+            if (value.bitLength() < Long.SIZE) {
+                return value.longValue();
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void writeString(String value, StringBuilder out) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            switch (ch) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (ch < 0x20) {
+                        out.append(String.format("\\u%04x", (int) ch));
+                    } else {
+                        out.append(ch);
+                    }
+                    break;
+            }
+        }
+        out.append('"');
+    }
+
+    private enum Token {
+        NONE, KEY, STRING, NUMBER, LITERAL
+    }
+
+    private enum Expect {
+        KEY_OR_END, KEY, COLON, VALUE, VALUE_OR_END, COMMA_OR_END
+    }
+
+    /**
+     * 表示一个尚未闭合的容器。
+     */
+    private static final class Frame {
+        private final Map<String, Object> object;
+        private final List<Object> array;
+        private Expect expect;
+        private String key;
+
+        private Frame(boolean isObject) {
+            this.object = isObject ? new LinkedHashMap<>() : null;
+            this.array = isObject ? null : new ArrayList<>();
+            this.expect = isObject ? Expect.KEY_OR_END : Expect.VALUE_OR_END;
+        }
+    }
+}
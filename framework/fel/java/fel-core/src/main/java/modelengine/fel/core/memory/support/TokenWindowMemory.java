@@ -0,0 +1,230 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.memory.support;
+
+import static modelengine.fitframework.inspection.Validation.greaterThan;
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fel.core.chat.ChatMessage;
+import modelengine.fel.core.memory.Memory;
+import modelengine.fel.core.template.StringTemplate;
+import modelengine.fel.core.tokenizer.Tokenizer;
+import modelengine.fitframework.util.MapBuilder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 表示按分词数限制上下文窗口的 {@link Memory} 实现。
+ * <p>
+ * 每条历史记录在加入时渲染并计算一次分词数，之后不再重复计算。当总分词数超过窗口大小时，从最早的记录开始淘汰，
+ * 但始终保留最新的一条记录；如果设置了摘要函数，被淘汰的记录会连同上一次的摘要合并为新的摘要，放在历史记录的最前面。
+ * 格式化文本以追加的方式维护，淘汰记录时只移动起始位置，不重新渲染剩余的记录。
+ * </p>
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+public class TokenWindowMemory implements Memory {
+    private final Tokenizer tokenizer;
+    private final int maxTokens;
+    private final StringTemplate template;
+    private final String delimiter;
+    private final Function<ChatMessage, Map<String, String>> extractor;
+    private final Function<List<ChatMessage>, ChatMessage> summarizer;
+
+    private final Deque<Record> records = new ArrayDeque<>();
+    private final StringBuilder text = new StringBuilder();
+    private int start;
+    private int totalTokens;
+    private Record summary;
+
+    /**
+     * 使用分词器和窗口大小创建 {@link TokenWindowMemory} 的实例，淘汰的记录直接丢弃。
+     *
+     * @param tokenizer 表示分词器的 {@link Tokenizer}。
+     * @param maxTokens 表示窗口大小的 {@code int}。
+     * @throws IllegalArgumentException <ul>
+     * <li>当 {@code tokenizer} 为 {@code null} 时；</li>
+     * <li>当 {@code maxTokens} 小于等于 {@code 0} 时。</li>
+     * </ul>
+     */
+    public TokenWindowMemory(Tokenizer tokenizer, int maxTokens) {
+        this(tokenizer, maxTokens, null);
+    }
+
+    /**
+     * 使用分词器、窗口大小和摘要函数创建 {@link TokenWindowMemory} 的实例。
+     *
+     * @param tokenizer 表示分词器的 {@link Tokenizer}。
+     * @param maxTokens 表示窗口大小的 {@code int}。
+     * @param summarizer 表示将被淘汰的记录合并为摘要的 {@link Function}{@code <}{@link List}{@code <}
+     * {@link ChatMessage}{@code >, }{@link ChatMessage}{@code >}，为 {@code null} 时直接丢弃被淘汰的记录。
+     * @throws IllegalArgumentException <ul>
+     * <li>当 {@code tokenizer} 为 {@code null} 时；</li>
+     * <li>当 {@code maxTokens} 小于等于 {@code 0} 时。</li>
+     * </ul>
+     */
+    public TokenWindowMemory(Tokenizer tokenizer, int maxTokens, Function<List<ChatMessage>, ChatMessage> summarizer) {
+        this(tokenizer,
+                maxTokens,
+                summarizer,
+                StringTemplate.create("{{type}}:{{text}}"),
+                "\n",
+                message -> MapBuilder.<String, String>get()
+                        .put("type", message.type().getRole())
+                        .put("text", message.text())
+                        .build());
+    }
+
+    /**
+     * 使用分词器、窗口大小、摘要函数、渲染模板和抽取方法创建 {@link TokenWindowMemory} 的实例。
+     *
+     * @param tokenizer 表示分词器的 {@link Tokenizer}。
+     * @param maxTokens 表示窗口大小的 {@code int}。
+     * @param summarizer 表示将被淘汰的记录合并为摘要的 {@link Function}{@code <}{@link List}{@code <}
+     * {@link ChatMessage}{@code >, }{@link ChatMessage}{@code >}，为 {@code null} 时直接丢弃被淘汰的记录。
+     * @param template 表示单条记录渲染模板的 {@link StringTemplate}。
+     * @param delimiter 表示记录之间分隔符的 {@link String}。
+     * @param extractor 表示将 {@link ChatMessage} 转换成
+     * {@link Map}{@code <}{@link String}, {@link String}{@code >} 的处理函数。
+     * @throws IllegalArgumentException <ul>
+     * <li>当 {@code tokenizer}、{@code template}、{@code delimiter}、{@code extractor} 为 {@code null} 时；</li>
+     * <li>当 {@code maxTokens} 小于等于 {@code 0} 时。</li>
+     * </ul>
+     */
+    public TokenWindowMemory(Tokenizer tokenizer, int maxTokens, Function<List<ChatMessage>, ChatMessage> summarizer,
+            StringTemplate template, String delimiter, Function<ChatMessage, Map<String, String>> extractor) {
+        this.tokenizer = notNull(tokenizer, "The tokenizer cannot be null.");
+        this.maxTokens = greaterThan(maxTokens, 0, "The max tokens must be positive. [maxTokens={0}]", maxTokens);
+        this.summarizer = summarizer;
+        this.template = notNull(template, "The template cannot be null.");
+        this.delimiter = notNull(delimiter, "The delimiter cannot be null.");
+        this.extractor = notNull(extractor, "The extractor cannot be null.");
+    }
+
+    @Override
+    public void add(ChatMessage message) {
+        Record record = this.record(notNull(message, "The message cannot be null."));
+        if (!this.records.isEmpty()) {
+            this.text.append(this.delimiter);
+        }
+        this.text.append(record.text);
+        this.records.addLast(record);
+        this.totalTokens += record.tokens;
+        this.fit();
+    }
+
+    @Override
+    public void set(List<ChatMessage> messages) {
+        notNull(messages, "The messages cannot be null.");
+        this.clear();
+        messages.forEach(this::add);
+    }
+
+    @Override
+    public void clear() {
+        this.records.clear();
+        this.text.setLength(0);
+        this.start = 0;
+        this.totalTokens = 0;
+        this.summary = null;
+    }
+
+    @Override
+    public List<ChatMessage> messages() {
+        List<ChatMessage> messages = new ArrayList<>(this.records.size() + 1);
+        if (this.summary != null) {
+            messages.add(this.summary.message);
+        }
+        this.records.forEach(record -> messages.add(record.message));
+        return messages;
+    }
+
+    @Override
+    public String text() {
+        if (this.summary == null) {
+            return this.text.substring(this.start);
+        }
+        if (this.records.isEmpty()) {
+            return this.summary.text;
+        }
+        return new StringBuilder(this.summary.text.length() + this.delimiter.length() + this.text.length() - this.start)
+                .append(this.summary.text)
+                .append(this.delimiter)
+                .append(this.text, this.start, this.text.length())
+                .toString();
+    }
+
+    /**
+     * 获取当前历史记录的总分词数，包括摘要。
+     *
+     * @return 表示总分词数的 {@code int}。
+     */
+    public int tokens() {
+        return this.totalTokens + (this.summary == null ? 0 : this.summary.tokens);
+    }
+
+    private Record record(ChatMessage message) {
+        String text = this.template.render(this.extractor.apply(message));
+        return new Record(message, text, this.tokenizer.countToken(text));
+    }
+
+    private void fit() {
+        while (this.tokens() > this.maxTokens) {
+            List<ChatMessage> evicted = new ArrayList<>();
+            if (this.summary != null) {
+                evicted.add(this.summary.message);
+            }
+            int summaryTokens = this.summary == null ? 0 : this.summary.tokens;
+            while (this.records.size() > 1 && this.totalTokens + summaryTokens > this.maxTokens) {
+                evicted.add(this.evict().message);
+            }
+            if (this.summarizer == null || evicted.size() == (this.summary == null ? 0 : 1)) {
+                this.summary = null;
+                return;
+            }
+            this.summary = this.record(this.summarizer.apply(evicted));
+        }
+    }
+
+    private Record evict() {
+        Record record = this.records.pollFirst();
+        this.totalTokens -= record.tokens;
+        this.start += record.text.length();
+        if (this.records.isEmpty()) {
+            this.text.setLength(0);
+            this.start = 0;
+            return record;
+        }
+        this.start += this.delimiter.length();
+        if (this.start > this.text.length() / 2) {
+            this.text.delete(0, this.start);
+            this.start = 0;
+        }
+        return record;
+    }
+
+    /**
+     * 表示已渲染并计算过分词数的历史记录。
+     */
+    private static final class Record {
+        private final ChatMessage message;
+        private final String text;
+        private final int tokens;
+
+        private Record(ChatMessage message, String text, int tokens) {
+            this.message = message;
+            this.text = text;
+            this.tokens = tokens;
+        }
+    }
+}
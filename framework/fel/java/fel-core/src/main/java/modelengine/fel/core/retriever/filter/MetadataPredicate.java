@@ -0,0 +1,125 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.retriever.filter;
+
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fitframework.util.ObjectUtils;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * 表示在内存中对文档元数据求值的 {@link Filter}，用于不依赖外部数据库的向量检索。
+ * <p>{@link Operator#LIKE} 采用 SQL 语义，{@code %} 匹配任意长度字符，{@code _} 匹配单个字符。</p>
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+public class MetadataPredicate implements Predicate<Map<String, Object>> {
+    private final Operand.Expression expression;
+    private final Map<String, Pattern> patterns = new ConcurrentHashMap<>();
+
+    /**
+     * 创建 {@link MetadataPredicate} 的实例。
+     *
+     * @param filter 表示过滤器的 {@link Filter}。
+     * @throws IllegalArgumentException 当 {@code filter} 为 {@code null} 时。
+     */
+    public MetadataPredicate(Filter filter) {
+        this.expression = notNull(filter, "The filter cannot be null.").expression();
+    }
+
+    @Override
+    public boolean test(Map<String, Object> metadata) {
+        return this.evaluate(this.expression, metadata);
+    }
+
+    private boolean evaluate(Operand.Expression expression, Map<String, Object> metadata) {
+        Operator op = expression.op();
+        if (op == Operator.AND) {
+            return this.evaluate(ObjectUtils.cast(expression.left()), metadata) && this.evaluate(
+                    ObjectUtils.cast(expression.right()), metadata);
+        }
+        if (op == Operator.OR) {
+            return this.evaluate(ObjectUtils.cast(expression.left()), metadata) || this.evaluate(
+                    ObjectUtils.cast(expression.right()), metadata);
+        }
+        Object actual = metadata.get(ObjectUtils.<Operand.Key>cast(expression.left()).key());
+        Object expected = ObjectUtils.<Operand.Value>cast(expression.right()).payload();
+        switch (op) {
+            case EQ:
+                return isEqual(actual, expected);
+            case NE:
+                return actual != null && !isEqual(actual, expected);
+            case LT:
+                return isComparable(actual, expected) && compare(actual, expected) < 0;
+            case GT:
+                return isComparable(actual, expected) && compare(actual, expected) > 0;
+            case LE:
+                return isComparable(actual, expected) && compare(actual, expected) <= 0;
+            case GE:
+                return isComparable(actual, expected) && compare(actual, expected) >= 0;
+            case IN:
+                return actual != null && ObjectUtils.<Collection<?>>cast(expected)
+                        .stream()
+                        .anyMatch(value -> isEqual(actual, value));
+            case NIN:
+                return actual != null && ObjectUtils.<Collection<?>>cast(expected)
+                        .stream()
+                        .noneMatch(value -> isEqual(actual, value));
+            case LIKE:
+                return actual != null && this.patterns.computeIfAbsent(expected.toString(),
+                        MetadataPredicate::toPattern).matcher(actual.toString()).matches();
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isEqual(Object actual, Object expected) {
+        if (actual instanceof Number && expected instanceof Number) {
+            return Double.compare(((Number) actual).doubleValue(), ((Number) expected).doubleValue()) == 0;
+        }
+        return Objects.equals(actual, expected);
+    }
+
+    private static boolean isComparable(Object actual, Object expected) {
+        return (actual instanceof Number && expected instanceof Number)
+                || (actual instanceof String && expected instanceof String);
+    }
+
+    private static int compare(Object actual, Object expected) {
+        if (actual instanceof Number) {
+            return Double.compare(((Number) actual).doubleValue(), ((Number) expected).doubleValue());
+        }
+        return ((String) actual).compareTo((String) expected);
+    }
+
+    private static Pattern toPattern(String like) {
+        StringBuilder regex = new StringBuilder(like.length() + 8);
+        StringBuilder literal = new StringBuilder();
+        for (char ch : like.toCharArray()) {
+            if (ch != '%' && ch != '_') {
+                literal.append(ch);
+                continue;
+            }
+            if (literal.length() > 0) {
+                regex.append(Pattern.quote(literal.toString()));
+                literal.setLength(0);
+            }
+            regex.append(ch == '%' ? ".*" : ".");
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+}
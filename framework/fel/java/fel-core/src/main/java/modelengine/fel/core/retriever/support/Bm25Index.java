@@ -0,0 +1,234 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.retriever.support;
+
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fitframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * 表示按标识维护的 BM25 倒排索引，以及配套的简单分词方法。
+ * <p>
+ * 索引只保存每个标识的词频和长度，由调用方维护标识对应的内容。计分时只遍历查询词的倒排表。
+ * 读写通过读写锁隔离，可以在多个线程中并发使用。
+ * </p>
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+public final class Bm25Index {
+    private static final double DEFAULT_K1 = 1.2;
+    private static final double DEFAULT_B = 0.75;
+
+    private final double k1;
+    private final double b;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+    private long totalLength;
+
+    /**
+     * 使用默认参数创建 {@link Bm25Index} 的实例。
+     */
+    public Bm25Index() {
+        this(DEFAULT_K1, DEFAULT_B);
+    }
+
+    /**
+     * 使用指定参数创建 {@link Bm25Index} 的实例。
+     *
+     * @param k1 表示词频饱和参数的 {@code double}。
+     * @param b 表示文档长度归一化参数的 {@code double}。
+     * @throws IllegalArgumentException 当 {@code k1} 小于 {@code 0} 或 {@code b} 不在 {@code [0, 1]} 范围内时。
+     */
+    public Bm25Index(double k1, double b) {
+        if (k1 < 0 || b < 0 || b > 1) {
+            throw new IllegalArgumentException(StringUtils.format("Illegal bm25 parameters. [k1={0}, b={1}]", k1, b));
+        }
+        this.k1 = k1;
+        this.b = b;
+    }
+
+    /**
+     * 添加或替换标识对应的索引。
+     *
+     * @param key 表示标识的 {@link String}。
+     * @param tokens 表示内容切分结果的 {@link List}{@code <}{@link String}{@code >}，重复的词计入词频。
+     * @throws IllegalArgumentException 当 {@code key} 或 {@code tokens} 为 {@code null} 时。
+     */
+    public void put(String key, List<String> tokens) {
+        notNull(key, "The key cannot be null.");
+        notNull(tokens, "The tokens cannot be null.");
+        Map<String, Integer> terms = new HashMap<>();
+        tokens.forEach(token -> terms.merge(token, 1, Integer::sum));
+        Entry entry = new Entry(terms, tokens.size());
+        this.lock.writeLock().lock();
+        try {
+            this.remove0(key);
+            this.entries.put(key, entry);
+            terms.forEach((term, frequency) -> this.postings.computeIfAbsent(term, ignored -> new HashMap<>())
+                    .put(key, frequency));
+            this.totalLength += entry.length;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除标识对应的索引。
+     *
+     * @param key 表示标识的 {@link String}。
+     */
+    public void remove(String key) {
+        this.lock.writeLock().lock();
+        try {
+            this.remove0(key);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 获取已索引的标识数量。
+     *
+     * @return 表示标识数量的 {@code int}。
+     */
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.entries.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 计算查询词与各标识内容的 BM25 得分，重复的查询词只计算一次。
+     *
+     * @param terms 表示查询词的 {@link Collection}{@code <}{@link String}{@code >}。
+     * @param filter 表示参与计分的标识的 {@link Predicate}{@code <}{@link String}{@code >}。
+     * @return 表示命中至少一个查询词的标识及其得分的 {@link Map}{@code <}{@link String}{@code , }{@link Double}{@code >}。
+     * @throws IllegalArgumentException 当 {@code terms} 或 {@code filter} 为 {@code null} 时。
+     */
+    public Map<String, Double> score(Collection<String> terms, Predicate<String> filter) {
+        notNull(terms, "The terms cannot be null.");
+        notNull(filter, "The filter cannot be null.");
+        Map<String, Double> scores = new HashMap<>();
+        this.lock.readLock().lock();
+        try {
+            int size = this.entries.size();
+            if (size == 0) {
+                return scores;
+            }
+            double averageLength = Math.max(1D, (double) this.totalLength / size);
+            for (String term : new LinkedHashSet<>(terms)) {
+                Map<String, Integer> posting = this.postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (size - posting.size() + 0.5) / (posting.size() + 0.5));
+                posting.forEach((key, frequency) -> {
+                    if (!filter.test(key)) {
+                        return;
+                    }
+                    double norm = this.k1 * (1 - this.b + this.b * this.entries.get(key).length / averageLength);
+                    scores.merge(key, idf * frequency * (this.k1 + 1) / (frequency + norm), Double::sum);
+                });
+            }
+            return scores;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private void remove0(String key) {
+        Entry entry = this.entries.remove(key);
+        if (entry == null) {
+            return;
+        }
+        entry.terms.keySet().forEach(term -> this.postings.computeIfPresent(term, (ignored, posting) -> {
+            posting.remove(key);
+            return posting.isEmpty() ? null : posting;
+        }));
+        this.totalLength -= entry.length;
+    }
+
+    /**
+     * 将文本切分为小写的词，按非字母数字字符切分，表意文字按单字切分。
+     *
+     * @param text 表示待切分文本的 {@link String}。
+     * @return 表示切分结果的 {@link List}{@code <}{@link String}{@code >}。
+     */
+    public static List<String> tokenize(String text) {
+        return tokenize(text, false);
+    }
+
+    /**
+     * 将文本切分为小写的词，按非字母数字字符切分，表意文字按单字切分，可以额外按驼峰边界切分。
+     *
+     * @param text 表示待切分文本的 {@link String}。
+     * @param isCamelCaseSplit 表示是否按驼峰边界切分的 {@code boolean}。
+     * @return 表示切分结果的 {@link List}{@code <}{@link String}{@code >}。
+     */
+    public static List<String> tokenize(String text, boolean isCamelCaseSplit) {
+        if (StringUtils.isBlank(text)) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        int previous = 0;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.isIdeographic(codePoint)) {
+                flush(word, tokens);
+                tokens.add(new String(Character.toChars(codePoint)));
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                if (isCamelCaseSplit && Character.isUpperCase(codePoint) && !Character.isUpperCase(previous)) {
+                    flush(word, tokens);
+                }
+                word.appendCodePoint(Character.toLowerCase(codePoint));
+            } else {
+                flush(word, tokens);
+            }
+            previous = codePoint;
+        }
+        flush(word, tokens);
+        return tokens;
+    }
+
+    private static void flush(StringBuilder word, List<String> tokens) {
+        if (word.length() > 0) {
+            tokens.add(word.toString());
+            word.setLength(0);
+        }
+    }
+
+    /**
+     * 表示已索引的内容。
+     */
+    private static final class Entry {
+        private final Map<String, Integer> terms;
+        private final int length;
+
+        private Entry(Map<String, Integer> terms, int length) {
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+}
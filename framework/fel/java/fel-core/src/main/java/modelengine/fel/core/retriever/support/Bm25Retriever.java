@@ -0,0 +1,165 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.retriever.support;
+
+import static modelengine.fitframework.inspection.Validation.greaterThan;
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fel.core.document.Document;
+import modelengine.fel.core.document.MeasurableDocument;
+import modelengine.fel.core.pattern.Retriever;
+import modelengine.fitframework.util.StringUtils;
+import modelengine.fitframework.util.UuidUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * 表示基于 BM25 的内存关键词检索器。
+ * <p>
+ * 文档通过 {@link #add(List)} 建立倒排索引，相同标识的文档会被覆盖，{@code retriever::add} 可以作为入库流水线的存储。
+ * 索引和计分由 {@link Bm25Index} 完成，检索时使用容量为 {@code topK} 的小顶堆选出得分最高的文档。
+ * 同一次检索返回的文档属于同一个分组。
+ * </p>
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+public class Bm25Retriever implements Retriever<String, MeasurableDocument> {
+    private final int topK;
+    private final Function<String, List<String>> tokenizer;
+    private final Bm25Index index;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Document> documents = new HashMap<>();
+
+    /**
+     * 使用默认参数和分词方法创建 {@link Bm25Retriever} 的实例。
+     *
+     * @param topK 表示返回文档最大数量的 {@code int}。
+     * @throws IllegalArgumentException 当 {@code topK} 小于等于 {@code 0} 时。
+     */
+    public Bm25Retriever(int topK) {
+        this(topK, new Bm25Index(), Bm25Index::tokenize);
+    }
+
+    /**
+     * 使用指定参数和分词方法创建 {@link Bm25Retriever} 的实例。
+     *
+     * @param topK 表示返回文档最大数量的 {@code int}。
+     * @param k1 表示词频饱和参数的 {@code double}。
+     * @param b 表示文档长度归一化参数的 {@code double}。
+     * @param tokenizer 表示分词方法的 {@link Function}{@code <}{@link String}{@code , }{@link List}{@code <}
+     * {@link String}{@code >>}。
+     * @throws IllegalArgumentException <ul>
+     * <li>当 {@code topK} 小于等于 {@code 0} 时；</li>
+     * <li>当 {@code k1} 小于 {@code 0} 或 {@code b} 不在 {@code [0, 1]} 范围内时；</li>
+     * <li>当 {@code tokenizer} 为 {@code null} 时。</li>
+     * </ul>
+     */
+    public Bm25Retriever(int topK, double k1, double b, Function<String, List<String>> tokenizer) {
+        this(topK, new Bm25Index(k1, b), tokenizer);
+    }
+
+    private Bm25Retriever(int topK, Bm25Index index, Function<String, List<String>> tokenizer) {
+        this.topK = greaterThan(topK, 0, "The top k must be positive. [topK={0}]", topK);
+        this.index = index;
+        this.tokenizer = notNull(tokenizer, "The tokenizer cannot be null.");
+    }
+
+    /**
+     * 添加文档，相同标识的文档会被覆盖。
+     *
+     * @param documents 表示文档的 {@link List}{@code <}{@link Document}{@code >}。
+     * @throws IllegalArgumentException 当 {@code documents} 或其中的文档为 {@code null} 时。
+     */
+    public void add(List<Document> documents) {
+        notNull(documents, "The documents cannot be null.");
+        List<List<String>> tokens = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            notNull(document, "The document cannot be null.");
+            tokens.add(this.tokenizer.apply(StringUtils.blankIf(document.text(), StringUtils.EMPTY)));
+        }
+        this.lock.writeLock().lock();
+        try {
+            for (int i = 0; i < documents.size(); i++) {
+                Document document = documents.get(i);
+                this.documents.put(document.id(), document);
+                this.index.put(document.id(), tokens.get(i));
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除指定标识的文档。
+     *
+     * @param ids 表示文档标识的 {@link List}{@code <}{@link String}{@code >}。
+     * @throws IllegalArgumentException 当 {@code ids} 为 {@code null} 时。
+     */
+    public void delete(List<String> ids) {
+        notNull(ids, "The ids cannot be null.");
+        this.lock.writeLock().lock();
+        try {
+            ids.forEach(id -> {
+                this.documents.remove(id);
+                this.index.remove(id);
+            });
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 获取已索引的文档数量。
+     *
+     * @return 表示文档数量的 {@code int}。
+     */
+    public int size() {
+        return this.index.size();
+    }
+
+    @Override
+    public List<MeasurableDocument> retrieve(String query) {
+        if (StringUtils.isBlank(query)) {
+            return Collections.emptyList();
+        }
+        List<String> terms = this.tokenizer.apply(query);
+        this.lock.readLock().lock();
+        try {
+            return this.top(this.index.score(terms, id -> true));
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private List<MeasurableDocument> top(Map<String, Double> scores) {
+        PriorityQueue<Map.Entry<String, Double>> heap = new PriorityQueue<>(Math.min(this.topK, scores.size()) + 1,
+                Map.Entry.comparingByValue());
+        for (Map.Entry<String, Double> score : scores.entrySet()) {
+            heap.offer(score);
+            if (heap.size() > this.topK) {
+                heap.poll();
+            }
+        }
+        String group = UuidUtils.randomUuidString();
+        MeasurableDocument[] documents = new MeasurableDocument[heap.size()];
+        for (int i = documents.length - 1; i >= 0; i--) {
+            Map.Entry<String, Double> score = heap.poll();
+            documents[i] = new MeasurableDocument(this.documents.get(score.getKey()), score.getValue(), group);
+        }
+        return List.of(documents);
+    }
+}
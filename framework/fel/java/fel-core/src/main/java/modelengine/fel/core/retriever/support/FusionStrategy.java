@@ -0,0 +1,25 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.retriever.support;
+
+/**
+ * 表示混合检索中多路结果的融合策略。
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+public enum FusionStrategy {
+    /**
+     * 倒数排名融合，文档得分为各路结果中 {@code weight / (factor + rank)} 之和，不依赖原始分数的量纲。
+     */
+    RRF,
+
+    /**
+     * 加权线性融合，各路结果的分数先按最小最大值归一化，再按权重求和。
+     */
+    LINEAR;
+}
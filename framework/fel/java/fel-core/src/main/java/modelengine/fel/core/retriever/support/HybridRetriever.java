@@ -0,0 +1,377 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.retriever.support;
+
+import static modelengine.fitframework.inspection.Validation.greaterThan;
+import static modelengine.fitframework.inspection.Validation.greaterThanOrEquals;
+import static modelengine.fitframework.inspection.Validation.notEmpty;
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fel.core.document.DocumentPostProcessor;
+import modelengine.fel.core.document.MeasurableDocument;
+import modelengine.fel.core.pattern.Retriever;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.schedule.Task;
+import modelengine.fitframework.schedule.ThreadPoolExecutor;
+import modelengine.fitframework.util.StringUtils;
+import modelengine.fitframework.util.UuidUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 表示并行查询多个检索器并融合排序的混合检索器。
+ * <p>
+ * 每次检索时所有检索器同时执行，各自受超时时间限制，超时或失败的检索器结果被丢弃，因此整体耗时取决于最慢的检索器，
+ * 而不是所有检索器耗时之和。所有检索器都超时或失败时抛出异常，而不是返回空结果。各路结果按 {@link FusionStrategy} 融合，
+ * 按文档标识去重，并通过容量为 {@code topK} 的小顶堆截取得分最高的文档，只有截取后的文档才会交给后置处理器（例如重排序）。
+ * </p>
+ * <p>
+ * 每个实例持有独立的线程池，不再使用时需要调用 {@link #close()} 释放，建议在容器中作为单例使用。
+ * </p>
+ *
+ * @param <I> 表示检索输入的类型。
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+public class HybridRetriever<I> implements Retriever<I, MeasurableDocument>, AutoCloseable {
+    private static final Logger log = Logger.get(HybridRetriever.class);
+    private static final Comparator<Candidate> ORDER = Comparator.comparingDouble(candidate -> candidate.score);
+
+    private final List<Branch<I>> branches;
+    private final FusionStrategy strategy;
+    private final int factor;
+    private final int topK;
+    private final DocumentPostProcessor postProcessor;
+    private final ThreadPoolExecutor executor;
+
+    private HybridRetriever(Builder<I> builder) {
+        notEmpty(builder.branches, "The retrievers cannot be empty.");
+        this.branches = List.copyOf(builder.branches);
+        this.strategy = notNull(builder.strategy, "The fusion strategy cannot be null.");
+        this.factor = builder.factor;
+        this.topK = builder.topK;
+        this.postProcessor = builder.postProcessor;
+        int parallelism = builder.parallelism > 0 ? builder.parallelism : Math.max(this.branches.size(),
+                Runtime.getRuntime().availableProcessors());
+        this.executor = ThreadPoolExecutor.custom()
+                .threadPoolName("fel-hybrid-retriever")
+                .corePoolSize(parallelism)
+                .maximumPoolSize(parallelism)
+                .keepAliveTime(60L, TimeUnit.SECONDS)
+                .workQueueCapacity(Integer.MAX_VALUE)
+                .isDaemonThread(true)
+                .build();
+    }
+
+    /**
+     * 获取 {@link HybridRetriever} 的构建器。
+     *
+     * @param <I> 表示检索输入的类型。
+     * @return 表示构建器的 {@link Builder}{@code <}{@link I}{@code >}。
+     */
+    public static <I> Builder<I> builder() {
+        return new Builder<>();
+    }
+
+    @Override
+    public List<MeasurableDocument> retrieve(I query) {
+        long start = System.nanoTime();
+        List<CompletableFuture<List<? extends MeasurableDocument>>> results = new ArrayList<>(this.branches.size());
+        List<Future<?>> tasks = new ArrayList<>(this.branches.size());
+        for (Branch<I> branch : this.branches) {
+            CompletableFuture<List<? extends MeasurableDocument>> result = new CompletableFuture<>();
+            results.add(result);
+            tasks.add(this.executor.submit(Task.builder().runnable(() -> {
+                try {
+                    result.complete(branch.retriever.retrieve(query));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            }).buildDisposable()));
+        }
+        List<List<? extends MeasurableDocument>> lists = new ArrayList<>(this.branches.size());
+        Throwable failure = null;
+        for (int i = 0; i < this.branches.size(); i++) {
+            Branch<I> branch = this.branches.get(i);
+            try {
+                long remaining = branch.timeout.toNanos() - (System.nanoTime() - start);
+                lists.add(results.get(i).get(Math.max(0L, remaining), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                tasks.get(i).cancel(true);
+                failure = failure == null ? e : failure;
+                log.warn("Retriever timed out, ignore its results. [index={}, timeout={}]", i, branch.timeout);
+                lists.add(null);
+            } catch (ExecutionException e) {
+                failure = failure == null ? e.getCause() : failure;
+                log.warn("Retriever failed, ignore its results. [index={}, error={}]", i, e.getCause().getMessage());
+                lists.add(null);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                tasks.forEach(task -> task.cancel(true));
+                throw new IllegalStateException("Interrupted while waiting for retrievers.", e);
+            }
+        }
+        if (lists.stream().allMatch(list -> list == null)) {
+            throw new IllegalStateException("All retrievers failed or timed out.", failure);
+        }
+        List<MeasurableDocument> documents = this.fuse(lists);
+        return this.postProcessor == null ? documents : this.postProcessor.process(documents);
+    }
+
+    /**
+     * 关闭执行检索的线程池，已提交的检索会执行完成。关闭后不能再调用 {@link #retrieve(Object)}。
+     */
+    @Override
+    public void close() {
+        try {
+            this.executor.shutdown();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while shutting down hybrid retriever threads.");
+        }
+    }
+
+    private List<MeasurableDocument> fuse(List<List<? extends MeasurableDocument>> lists) {
+        Map<String, Candidate> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < lists.size(); i++) {
+            List<? extends MeasurableDocument> list = lists.get(i);
+            if (list == null || list.isEmpty()) {
+                continue;
+            }
+            double weight = this.branches.get(i).weight;
+            if (this.strategy == FusionStrategy.RRF) {
+                for (int rank = 0; rank < list.size(); rank++) {
+                    this.accumulate(candidates, list.get(rank), weight / (this.factor + rank + 1));
+                }
+                continue;
+            }
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (MeasurableDocument document : list) {
+                min = Math.min(min, document.score());
+                max = Math.max(max, document.score());
+            }
+            double range = max - min;
+            for (MeasurableDocument document : list) {
+                double normalized = range > 0 ? (document.score() - min) / range : 1D;
+                this.accumulate(candidates, document, weight * normalized);
+            }
+        }
+        return this.top(candidates);
+    }
+
+    private void accumulate(Map<String, Candidate> candidates, MeasurableDocument document, double score) {
+        candidates.computeIfAbsent(document.id(), id -> new Candidate(document)).score += score;
+    }
+
+    private List<MeasurableDocument> top(Map<String, Candidate> candidates) {
+        if (candidates.isEmpty()) {
+            return Collections.emptyList();
+        }
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(Math.min(this.topK, candidates.size()) + 1, ORDER);
+        for (Candidate candidate : candidates.values()) {
+            heap.offer(candidate);
+            if (heap.size() > this.topK) {
+                heap.poll();
+            }
+        }
+        String group = UuidUtils.randomUuidString();
+        MeasurableDocument[] documents = new MeasurableDocument[heap.size()];
+        for (int i = documents.length - 1; i >= 0; i--) {
+            Candidate candidate = heap.poll();
+            documents[i] = new MeasurableDocument(candidate.document, candidate.score, group);
+        }
+        List<MeasurableDocument> result = new ArrayList<>(documents.length);
+        Collections.addAll(result, documents);
+        return result;
+    }
+
+    /**
+     * 表示一路检索器及其权重和超时时间。
+     *
+     * @param <I> 表示检索输入的类型。
+     */
+    private static final class Branch<I> {
+        private final Retriever<I, ? extends MeasurableDocument> retriever;
+        private final double weight;
+        private final Duration timeout;
+
+        private Branch(Retriever<I, ? extends MeasurableDocument> retriever, double weight, Duration timeout) {
+            this.retriever = retriever;
+            this.weight = weight;
+            this.timeout = timeout;
+        }
+    }
+
+    /**
+     * 表示融合过程中的候选文档。
+     */
+    private static final class Candidate {
+        private final MeasurableDocument document;
+        private double score;
+
+        private Candidate(MeasurableDocument document) {
+            this.document = document;
+        }
+    }
+
+    /**
+     * 表示 {@link HybridRetriever} 的构建器。
+     *
+     * @param <I> 表示检索输入的类型。
+     */
+    public static class Builder<I> {
+        private final List<Branch<I>> branches = new ArrayList<>();
+        private Duration timeout = Duration.ofSeconds(10);
+        private FusionStrategy strategy = FusionStrategy.RRF;
+        private int factor = 60;
+        private int topK = 10;
+        private int parallelism;
+        private DocumentPostProcessor postProcessor;
+
+        /**
+         * 添加一路权重为 {@code 1}、使用默认超时时间的检索器。
+         *
+         * @param retriever 表示检索器的 {@link Retriever}{@code <}{@link I}{@code , ? extends }
+         * {@link MeasurableDocument}{@code >}。
+         * @return 表示当前构建器的 {@link Builder}{@code <}{@link I}{@code >}。
+         * @throws IllegalArgumentException 当 {@code retriever} 为 {@code null} 时。
+         */
+        public Builder<I> retriever(Retriever<I, ? extends MeasurableDocument> retriever) {
+            return this.retriever(retriever, 1D, null);
+        }
+
+        /**
+         * 添加一路检索器。
+         *
+         * @param retriever 表示检索器的 {@link Retriever}{@code <}{@link I}{@code , ? extends }
+         * {@link MeasurableDocument}{@code >}。
+         * @param weight 表示该路结果在融合时权重的 {@code double}。
+         * @param timeout 表示该路检索超时时间的 {@link Duration}，为 {@code null} 时使用默认超时时间。
+         * @return 表示当前构建器的 {@link Builder}{@code <}{@link I}{@code >}。
+         * @throws IllegalArgumentException <ul>
+         * <li>当 {@code retriever} 为 {@code null} 时；</li>
+         * <li>当 {@code weight} 小于 {@code 0} 时；</li>
+         * <li>当 {@code timeout} 不为 {@code null} 且不为正数时。</li>
+         * </ul>
+         */
+        public Builder<I> retriever(Retriever<I, ? extends MeasurableDocument> retriever, double weight,
+                Duration timeout) {
+            notNull(retriever, "The retriever cannot be null.");
+            if (weight < 0) {
+                throw new IllegalArgumentException(StringUtils.format(
+                        "The weight cannot be negative. [weight={0}]", weight));
+            }
+            if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+                throw new IllegalArgumentException(StringUtils.format(
+                        "The timeout must be positive. [timeout={0}]", timeout));
+            }
+            this.branches.add(new Branch<>(retriever, weight, timeout));
+            return this;
+        }
+
+        /**
+         * 设置默认的单路检索超时时间，默认为 10 秒。
+         *
+         * @param timeout 表示超时时间的 {@link Duration}。
+         * @return 表示当前构建器的 {@link Builder}{@code <}{@link I}{@code >}。
+         * @throws IllegalArgumentException 当 {@code timeout} 为 {@code null} 或不为正数时。
+         */
+        public Builder<I> timeout(Duration timeout) {
+            notNull(timeout, "The timeout cannot be null.");
+            if (timeout.isNegative() || timeout.isZero()) {
+                throw new IllegalArgumentException("The timeout must be positive.");
+            }
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * 设置融合策略，默认为 {@link FusionStrategy#RRF}。
+         *
+         * @param strategy 表示融合策略的 {@link FusionStrategy}。
+         * @return 表示当前构建器的 {@link Builder}{@code <}{@link I}{@code >}。
+         */
+        public Builder<I> strategy(FusionStrategy strategy) {
+            this.strategy = strategy;
+            return this;
+        }
+
+        /**
+         * 设置倒数排名融合的平滑因子，默认为 {@code 60}。
+         *
+         * @param factor 表示平滑因子的 {@code int}。
+         * @return 表示当前构建器的 {@link Builder}{@code <}{@link I}{@code >}。
+         * @throws IllegalArgumentException 当 {@code factor} 小于 {@code 0} 时。
+         */
+        public Builder<I> factor(int factor) {
+            this.factor = greaterThanOrEquals(factor, 0, "The factor cannot be negative. [factor={0}]", factor);
+            return this;
+        }
+
+        /**
+         * 设置融合后保留的文档数量，默认为 {@code 10}，后置处理器只处理保留的文档。
+         *
+         * @param topK 表示保留文档数量的 {@code int}。
+         * @return 表示当前构建器的 {@link Builder}{@code <}{@link I}{@code >}。
+         * @throws IllegalArgumentException 当 {@code topK} 小于等于 {@code 0} 时。
+         */
+        public Builder<I> topK(int topK) {
+            this.topK = greaterThan(topK, 0, "The top k must be positive. [topK={0}]", topK);
+            return this;
+        }
+
+        /**
+         * 设置执行检索的线程数量，默认为检索器数量和处理器数量中的较大值。
+         *
+         * @param parallelism 表示线程数量的 {@code int}。
+         * @return 表示当前构建器的 {@link Builder}{@code <}{@link I}{@code >}。
+         * @throws IllegalArgumentException 当 {@code parallelism} 小于等于 {@code 0} 时。
+         */
+        public Builder<I> parallelism(int parallelism) {
+            this.parallelism =
+                    greaterThan(parallelism, 0, "The parallelism must be positive. [parallelism={0}]", parallelism);
+            return this;
+        }
+
+        /**
+         * 设置融合截取后的后置处理器，例如 {@link modelengine.fel.core.document.support.RerankDocumentProcessor}。
+         *
+         * @param postProcessor 表示后置处理器的 {@link DocumentPostProcessor}。
+         * @return 表示当前构建器的 {@link Builder}{@code <}{@link I}{@code >}。
+         */
+        public Builder<I> postProcessor(DocumentPostProcessor postProcessor) {
+            this.postProcessor = postProcessor;
+            return this;
+        }
+
+        /**
+         * 构建 {@link HybridRetriever} 的实例。
+         *
+         * @return 表示构建出来的 {@link HybridRetriever}{@code <}{@link I}{@code >}。
+         * @throws IllegalArgumentException 当未添加检索器或融合策略为 {@code null} 时。
+         */
+        public HybridRetriever<I> build() {
+            this.branches.replaceAll(branch -> branch.timeout != null
+                    ? branch
+                    : new Branch<>(branch.retriever, branch.weight, this.timeout));
+            return new HybridRetriever<>(this);
+        }
+    }
+}
@@ -15,6 +15,7 @@ import modelengine.fitframework.util.StringUtils;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.IntConsumer;
 
 /**
  * 表示根据 token 数量进行分割的 {@link Splitter}。
@@ -70,21 +71,45 @@ public class TokenTextSplitter extends AbstractTextSplitter {
         if (StringUtils.isBlank(text)) {
             return Collections.emptyList();
         }
-        List<String> splits = new ArrayList<>();
-        List<Integer> inputTokens = tokenizer.encode(text);
-        int step = chunkSize - chunkOverlap;
-        int startIndex = 0;
-        int curIndex = Math.min(startIndex + this.chunkSize, inputTokens.size());
-        List<Integer> chunkTokens = inputTokens.subList(startIndex, curIndex);
-        while (startIndex < inputTokens.size()) {
-            splits.add(tokenizer.decode(chunkTokens));
-            if (curIndex == inputTokens.size()) {
-                break;
+        ChunkWindow window = new ChunkWindow(this.tokenizer, this.chunkSize, this.chunkOverlap);
+        this.tokenizer.encode(text, window);
+        return window.finish();
+    }
+
+    /**
+     * 表示按分块大小滑动的分词结果窗口，只保存当前分块的分词结果。
+     */
+    private static final class ChunkWindow implements IntConsumer {
+        private final Tokenizer tokenizer;
+        private final int[] tokens;
+        private final int overlap;
+        private final List<String> splits = new ArrayList<>();
+        private int size;
+        private int pending;
+
+        private ChunkWindow(Tokenizer tokenizer, int chunkSize, int overlap) {
+            this.tokenizer = tokenizer;
+            this.tokens = new int[chunkSize];
+            this.overlap = overlap;
+        }
+
+        @Override
+        public void accept(int token) {
+            this.tokens[this.size++] = token;
+            this.pending++;
+            if (this.size == this.tokens.length) {
+                this.splits.add(this.tokenizer.decode(this.tokens, 0, this.size));
+                System.arraycopy(this.tokens, this.size - this.overlap, this.tokens, 0, this.overlap);
+                this.size = this.overlap;
+                this.pending = 0;
+            }
+        }
+
+        private List<String> finish() {
+            if (this.pending > 0) {
+                this.splits.add(this.tokenizer.decode(this.tokens, 0, this.size));
             }
-            startIndex += step;
-            curIndex = Math.min(startIndex + this.chunkSize, inputTokens.size());
-            chunkTokens = inputTokens.subList(startIndex, curIndex);
+            return this.splits;
         }
-        return splits;
     }
-}
\ No newline at end of file
+}
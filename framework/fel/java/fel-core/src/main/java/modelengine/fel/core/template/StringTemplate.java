@@ -17,6 +17,16 @@ import java.util.Map;
  * @since 2024-04-27
  */
 public interface StringTemplate extends GenericTemplate<Map<String, String>, String> {
+    /**
+     * 根据输入参数渲染模板，将结果追加到指定的字符串构建器中。
+     *
+     * @param values 表示输入参数的 {@link Map}{@code <}{@link String}{@code , }{@link String}{@code >}。
+     * @param builder 表示输出的 {@link StringBuilder}。
+     */
+    default void renderTo(Map<String, String> values, StringBuilder builder) {
+        builder.append(this.render(values));
+    }
+
     /**
      * 创建一个默认的字符串模板实例。
      *
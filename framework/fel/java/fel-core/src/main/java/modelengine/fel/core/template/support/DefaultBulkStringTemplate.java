@@ -13,7 +13,6 @@ import modelengine.fitframework.inspection.Validation;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * 表示批量生成字符串模板的实现。
@@ -58,7 +57,27 @@ public class DefaultBulkStringTemplate implements BulkStringTemplate {
      */
     @Override
     public String render(List<Map<String, String>> values) {
-        return values.stream().map(this.template::render).collect(Collectors.joining(this.delimiter));
+        StringBuilder builder = new StringBuilder(this.estimateLength(values));
+        boolean isFirst = true;
+        for (Map<String, String> value : values) {
+            if (!isFirst) {
+                builder.append(this.delimiter);
+            }
+            isFirst = false;
+            this.template.renderTo(value, builder);
+        }
+        return builder.toString();
+    }
+
+    private int estimateLength(List<Map<String, String>> values) {
+        if (!(this.template instanceof DefaultStringTemplate)) {
+            return 16;
+        }
+        int length = this.delimiter.length() * values.size();
+        for (Map<String, String> value : values) {
+            length += ((DefaultStringTemplate) this.template).estimateLength(value);
+        }
+        return length;
     }
 
     @Override
@@ -8,36 +8,42 @@ package modelengine.fel.core.template.support;
 
 import modelengine.fel.core.template.StringTemplate;
 import modelengine.fitframework.inspection.Validation;
-import modelengine.fitframework.merge.ConflictResolutionPolicy;
-import modelengine.fitframework.parameterization.ParameterizationMode;
-import modelengine.fitframework.parameterization.ParameterizedString;
-import modelengine.fitframework.parameterization.ParameterizedStringResolver;
-import modelengine.fitframework.parameterization.ResolvedParameter;
-import modelengine.fitframework.util.MapUtils;
+import modelengine.fitframework.parameterization.StringFormatException;
+import modelengine.fitframework.util.ObjectUtils;
+import modelengine.fitframework.util.StringUtils;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 /**
  * 表示生成字符串的默认模版实现。
+ * <p>
+ * 模板在创建时编译为文本片段和占位符下标交替的序列，渲染时按顺序直接写入输出，不再创建中间映射。
+ * </p>
  *
  * @author 易文渊
  * @since 2024-04-25
  */
 public class DefaultStringTemplate implements StringTemplate {
-    private static final ParameterizedStringResolver FORMATTER =
-            ParameterizedStringResolver.create("{{", "}}", '\\', ParameterizationMode.LENIENT_STRICT_PARAMETERS);
+    private static final String PREFIX = "{{";
+    private static final String SUFFIX = "}}";
+    private static final char ESCAPE = '\\';
 
-    private final ParameterizedString parameterizedString;
+    private final String[] literals;
+    private final int[] slots;
+    private final String[] names;
+    private final Supplier<String>[] builtin;
+    private final int literalLength;
+    private int builtinCount;
 
     private final Set<String> placeholder;
 
-    private final Map<String, Supplier<String>> builtin;
-
     /**
      * 使用 mustache 模板语法创建 {@link DefaultStringTemplate}。
      *
@@ -45,12 +51,17 @@ public class DefaultStringTemplate implements StringTemplate {
      * @see <a href="https://mustache.github.io/">mustache</a>。
      */
     public DefaultStringTemplate(String template) {
-        this.parameterizedString = FORMATTER.resolve(template);
-        this.placeholder = this.parameterizedString.getParameters()
-                .stream()
-                .map(ResolvedParameter::getName)
-                .collect(Collectors.toSet());
-        this.builtin = new HashMap<>();
+        Validation.notNull(template, "The string to resolve as a parameterized string cannot be null.");
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        Map<String, Integer> names = new LinkedHashMap<>();
+        compile(template, literals, slots, names);
+        this.literals = literals.toArray(new String[0]);
+        this.slots = slots.stream().mapToInt(Integer::intValue).toArray();
+        this.names = names.keySet().toArray(new String[0]);
+        this.builtin = ObjectUtils.cast(new Supplier<?>[this.names.length]);
+        this.literalLength = literals.stream().mapToInt(String::length).sum();
+        this.placeholder = new HashSet<>(names.keySet());
     }
 
     /**
@@ -75,21 +86,121 @@ public class DefaultStringTemplate implements StringTemplate {
     public DefaultStringTemplate partial(String key, Supplier<String> supplier) {
         Validation.isTrue(this.placeholder.contains(key), "The template not contained '{0}'", key);
         this.placeholder.remove(key);
-        this.builtin.put(key, supplier);
+        for (int i = 0; i < this.names.length; i++) {
+            if (this.names[i].equals(key)) {
+                this.builtin[i] = supplier;
+            }
+        }
+        this.builtinCount++;
         return this;
     }
 
     @Override
     public String render(Map<String, String> values) {
-        Map<String, String> builtinValues =
-                this.builtin.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().get()));
-        return this.parameterizedString.format(MapUtils.merge(values,
-                builtinValues,
-                ConflictResolutionPolicy.OVERRIDE));
+        StringBuilder builder = new StringBuilder(this.estimateLength(values));
+        this.renderTo(values, builder);
+        return builder.toString();
+    }
+
+    @Override
+    public void renderTo(Map<String, String> values, StringBuilder builder) {
+        Map<String, String> actual = values == null ? Collections.emptyMap() : values;
+        String[] resolved = this.resolve(actual);
+        builder.append(this.literals[0]);
+        for (int i = 0; i < this.slots.length; i++) {
+            builder.append(resolved[this.slots[i]]).append(this.literals[i + 1]);
+        }
     }
 
     @Override
     public Set<String> placeholder() {
         return Collections.unmodifiableSet(this.placeholder);
     }
-}
\ No newline at end of file
+
+    /**
+     * 估算渲染结果的长度。
+     *
+     * @param values 表示输入参数的 {@link Map}{@code <}{@link String}{@code , }{@link String}{@code >}。
+     * @return 表示估算长度的 {@code int}。
+     */
+    int estimateLength(Map<String, String> values) {
+        int length = this.literalLength;
+        if (values != null) {
+            for (String value : values.values()) {
+                length += value == null ? 0 : value.length();
+            }
+        }
+        return length;
+    }
+
+    private String[] resolve(Map<String, String> values) {
+        int supplied = values.size();
+        if (supplied + this.builtinCount < this.names.length) {
+            for (int i = 0; i < this.names.length; i++) {
+                if (this.builtin[i] != null && !values.containsKey(this.names[i])) {
+                    supplied++;
+                }
+            }
+            if (supplied < this.names.length) {
+                throw new StringFormatException("Required parameters are missing.");
+            }
+        }
+        String[] resolved = new String[this.names.length];
+        for (int i = 0; i < this.names.length; i++) {
+            if (this.builtin[i] != null) {
+                resolved[i] = StringUtils.normalize(this.builtin[i].get());
+            } else if (values.containsKey(this.names[i])) {
+                resolved[i] = StringUtils.normalize(values.get(this.names[i]));
+            } else {
+                throw new StringFormatException(StringUtils.format("Parameter '{0}' required but not supplied.",
+                        this.names[i]));
+            }
+        }
+        return resolved;
+    }
+
+    private static void compile(String template, List<String> literals, List<Integer> slots,
+            Map<String, Integer> names) {
+        StringBuilder literal = new StringBuilder();
+        StringBuilder parameter = null;
+        int position = 0;
+        while (position < template.length()) {
+            char ch = template.charAt(position);
+            if (ch == ESCAPE) {
+                if (position == template.length() - 1) {
+                    throw new StringFormatException(StringUtils.format(
+                            "Invalid escape character position. [string={0}, position={1}]",
+                            template,
+                            position));
+                }
+                (parameter == null ? literal : parameter).append(template.charAt(position + 1));
+                position += 2;
+            } else if (parameter != null && template.startsWith(SUFFIX, position)) {
+                String name = parameter.toString();
+                slots.add(names.computeIfAbsent(name, key -> names.size()));
+                literals.add(literal.toString());
+                literal.setLength(0);
+                parameter = null;
+                position += SUFFIX.length();
+            } else if (template.startsWith(PREFIX, position)) {
+                if (parameter != null) {
+                    throw new StringFormatException(StringUtils.format(
+                            "Invalid prefix position. [string={0}, position={1}]",
+                            template,
+                            position));
+                }
+                parameter = new StringBuilder();
+                position += PREFIX.length();
+            } else {
+                (parameter == null ? literal : parameter).append(ch);
+                position++;
+            }
+        }
+        if (parameter != null) {
+            throw new StringFormatException(StringUtils.format("Incomplete parameter. [string={0}, position={1}]",
+                    template,
+                    position - parameter.length() - PREFIX.length()));
+        }
+        literals.add(literal.toString());
+    }
+}
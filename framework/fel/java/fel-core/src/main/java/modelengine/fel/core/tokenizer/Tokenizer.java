@@ -6,7 +6,9 @@
 
 package modelengine.fel.core.tokenizer;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.IntConsumer;
 
 /**
  * 表示分词器的接口。
@@ -38,4 +40,30 @@ public interface Tokenizer {
      * @return 表示分词数的 {@code int}。
      */
     int countToken(String text);
-}
\ No newline at end of file
+
+    /**
+     * 对给定的字符串进行分词，并依次将分词结果交给消费者，不要求保存完整的分词结果。
+     *
+     * @param text 表示需要进行分词字符串的 {@link String}。
+     * @param consumer 表示分词结果消费者的 {@link IntConsumer}。
+     */
+    default void encode(String text, IntConsumer consumer) {
+        this.encode(text).forEach(consumer::accept);
+    }
+
+    /**
+     * 对给定的分词结果片段进行解码。
+     *
+     * @param tokens 表示分词结果的 {@code int[]}。
+     * @param offset 表示片段起始位置的 {@code int}。
+     * @param length 表示片段长度的 {@code int}。
+     * @return 表示解码后的字符串的 {@link String}。
+     */
+    default String decode(int[] tokens, int offset, int length) {
+        List<Integer> list = new ArrayList<>(length);
+        for (int i = offset; i < offset + length; i++) {
+            list.add(tokens[i]);
+        }
+        return this.decode(list);
+    }
+}
@@ -0,0 +1,394 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.tokenizer.support;
+
+import static modelengine.fitframework.inspection.Validation.greaterThan;
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fel.core.tokenizer.Tokenizer;
+import modelengine.fitframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 表示字节级 BPE（byte pair encoding）分词器，兼容 tiktoken 格式的词表文件。
+ * <p>
+ * 词表文件每行为 {@code <base64 编码的字节序列> <序号>}，序号即合并优先级和分词结果。文本先按预分词正则切分为单词，
+ * 每个单词再按字节合并；合并表保存为字节前缀树，单词的分词结果缓存在有界的 LRU 缓存中。特殊 token 按普通文本处理。
+ * </p>
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+public class BpeTokenizer implements Tokenizer {
+    /**
+     * 表示 cl100k 词表使用的预分词正则。
+     */
+    public static final String CL100K_PATTERN = "(?i:'s|'t|'re|'ve|'m|'ll|'d)|[^\\r\\n\\p{L}\\p{N}]?\\p{L}+"
+            + "|\\p{N}{1,3}| ?[^\\s\\p{L}\\p{N}]+[\\r\\n]*|\\s*[\\r\\n]+|\\s+(?!\\S)|\\s+";
+
+    /**
+     * 表示 o200k 词表使用的预分词正则。
+     */
+    public static final String O200K_PATTERN = "[^\\r\\n\\p{L}\\p{N}]?[\\p{Lu}\\p{Lt}\\p{Lm}\\p{Lo}\\p{M}]*"
+            + "[\\p{Ll}\\p{Lm}\\p{Lo}\\p{M}]+(?i:'s|'t|'re|'ve|'m|'ll|'d)?"
+            + "|[^\\r\\n\\p{L}\\p{N}]?[\\p{Lu}\\p{Lt}\\p{Lm}\\p{Lo}\\p{M}]+[\\p{Ll}\\p{Lm}\\p{Lo}\\p{M}]*"
+            + "(?i:'s|'t|'re|'ve|'m|'ll|'d)?|\\p{N}{1,3}| ?[^\\s\\p{L}\\p{N}]+[\\r\\n/]*"
+            + "|\\s*[\\r\\n]+|\\s+(?!\\S)|\\s+";
+
+    private static final int DEFAULT_CACHE_SIZE = 8192;
+    private static final int[] EMPTY = new int[0];
+
+    private final Pattern pattern;
+    private final ByteTrie ranks;
+    private final byte[][] tokens;
+    private final Map<String, int[]> cache;
+
+    /**
+     * 使用词表和预分词正则创建 {@link BpeTokenizer} 的实例。
+     *
+     * @param vocabulary 表示词表的 {@link Map}{@code <}{@code byte[]}{@code , }{@link Integer}{@code >}。
+     * @param pattern 表示预分词正则的 {@link Pattern}。
+     * @param cacheSize 表示单词缓存最大数量的 {@code int}。
+     * @throws IllegalArgumentException <ul>
+     * <li>当 {@code vocabulary}、{@code pattern} 为 {@code null} 时；</li>
+     * <li>当 {@code cacheSize} 小于等于 {@code 0} 时；</li>
+     * <li>当词表没有覆盖全部单字节时。</li>
+     * </ul>
+     */
+    public BpeTokenizer(Map<byte[], Integer> vocabulary, Pattern pattern, int cacheSize) {
+        notNull(vocabulary, "The vocabulary cannot be null.");
+        this.pattern = notNull(pattern, "The pattern cannot be null.");
+        greaterThan(cacheSize, 0, "The cache size must be positive. [cacheSize={0}]", cacheSize);
+        int maxRank = vocabulary.values().stream().mapToInt(Integer::intValue).max().orElse(-1);
+        this.tokens = new byte[maxRank + 1][];
+        this.ranks = new ByteTrie(vocabulary.size() * 4);
+        vocabulary.forEach((bytes, rank) -> {
+            this.tokens[rank] = bytes;
+            this.ranks.put(bytes, rank);
+        });
+        for (int b = 0; b < 256; b++) {
+            if (this.ranks.get(new byte[] {(byte) b}, 0, 1) < 0) {
+                throw new IllegalArgumentException(StringUtils.format(
+                        "The vocabulary must contain all single bytes. [missing={0}]",
+                        b));
+            }
+        }
+        this.cache = new LinkedHashMap<>(cacheSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, int[]> eldest) {
+                return this.size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * 加载 tiktoken 格式的词表文件创建 {@link BpeTokenizer} 的实例。
+     *
+     * @param vocabulary 表示词表文件的 {@link Path}。
+     * @param pattern 表示预分词正则的 {@link String}。
+     * @return 表示分词器的 {@link BpeTokenizer}。
+     * @throws IllegalStateException 当读取词表文件失败时。
+     */
+    public static BpeTokenizer load(Path vocabulary, String pattern) {
+        notNull(vocabulary, "The vocabulary cannot be null.");
+        Map<byte[], Integer> ranks = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(vocabulary, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (StringUtils.isBlank(line)) {
+                    continue;
+                }
+                int separator = line.indexOf(' ');
+                ranks.put(Base64.getDecoder().decode(line.substring(0, separator)),
+                        Integer.parseInt(line.substring(separator + 1).trim()));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(StringUtils.format("Failed to load vocabulary. [path={0}]", vocabulary),
+                    e);
+        }
+        return new BpeTokenizer(ranks, Pattern.compile(pattern), DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * 加载 cl100k 格式的词表文件创建 {@link BpeTokenizer} 的实例。
+     *
+     * @param vocabulary 表示词表文件的 {@link Path}。
+     * @return 表示分词器的 {@link BpeTokenizer}。
+     * @throws IllegalStateException 当读取词表文件失败时。
+     */
+    public static BpeTokenizer cl100k(Path vocabulary) {
+        return load(vocabulary, CL100K_PATTERN);
+    }
+
+    /**
+     * 加载 o200k 格式的词表文件创建 {@link BpeTokenizer} 的实例。
+     *
+     * @param vocabulary 表示词表文件的 {@link Path}。
+     * @return 表示分词器的 {@link BpeTokenizer}。
+     * @throws IllegalStateException 当读取词表文件失败时。
+     */
+    public static BpeTokenizer o200k(Path vocabulary) {
+        return load(vocabulary, O200K_PATTERN);
+    }
+
+    @Override
+    public List<Integer> encode(String text) {
+        List<Integer> tokens = new ArrayList<>();
+        this.encode(text, tokens::add);
+        return tokens;
+    }
+
+    @Override
+    public void encode(String text, IntConsumer consumer) {
+        notNull(text, "The text cannot be null.");
+        Matcher matcher = this.pattern.matcher(text);
+        while (matcher.find()) {
+            for (int token : this.encodeWord(matcher.group())) {
+                consumer.accept(token);
+            }
+        }
+    }
+
+    /**
+     * 对给定的字符串进行分词，返回基本类型数组。
+     *
+     * @param text 表示需要进行分词字符串的 {@link String}。
+     * @return 表示分词结果的 {@code int[]}。
+     */
+    public int[] encodeToArray(String text) {
+        notNull(text, "The text cannot be null.");
+        int[] tokens = new int[Math.max(16, text.length() / 3)];
+        int size = 0;
+        Matcher matcher = this.pattern.matcher(text);
+        while (matcher.find()) {
+            int[] word = this.encodeWord(matcher.group());
+            if (size + word.length > tokens.length) {
+                tokens = Arrays.copyOf(tokens, Math.max(size + word.length, tokens.length << 1));
+            }
+            System.arraycopy(word, 0, tokens, size, word.length);
+            size += word.length;
+        }
+        return Arrays.copyOf(tokens, size);
+    }
+
+    @Override
+    public String decode(List<Integer> tokens) {
+        notNull(tokens, "The tokens cannot be null.");
+        ByteArrayOutputStream out = new ByteArrayOutputStream(tokens.size() * 4);
+        tokens.forEach(token -> this.write(token, out));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String decode(int[] tokens, int offset, int length) {
+        notNull(tokens, "The tokens cannot be null.");
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length * 4);
+        for (int i = offset; i < offset + length; i++) {
+            this.write(tokens[i], out);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int countToken(String text) {
+        notNull(text, "The text cannot be null.");
+        int count = 0;
+        Matcher matcher = this.pattern.matcher(text);
+        while (matcher.find()) {
+            count += this.encodeWord(matcher.group()).length;
+        }
+        return count;
+    }
+
+    private void write(int token, ByteArrayOutputStream out) {
+        if (token < 0 || token >= this.tokens.length || this.tokens[token] == null) {
+            throw new IllegalArgumentException(StringUtils.format("Unknown token. [token={0}]", token));
+        }
+        out.writeBytes(this.tokens[token]);
+    }
+
+    private int[] encodeWord(String word) {
+        synchronized (this.cache) {
+            int[] cached = this.cache.get(word);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        int[] tokens = this.merge(word.getBytes(StandardCharsets.UTF_8));
+        synchronized (this.cache) {
+            this.cache.put(word, tokens);
+        }
+        return tokens;
+    }
+
+    private int[] merge(byte[] bytes) {
+        if (bytes.length == 0) {
+            return EMPTY;
+        }
+        int whole = this.ranks.get(bytes, 0, bytes.length);
+        if (whole >= 0) {
+            return new int[] {whole};
+        }
+        // starts[i] 为第 i 个分片的起始位置，ranks[i] 为第 i 和 i + 1 个分片合并后的序号。
+        int parts = bytes.length;
+        int[] starts = new int[parts + 1];
+        for (int i = 0; i <= parts; i++) {
+            starts[i] = i;
+        }
+        int[] ranks = new int[parts];
+        for (int i = 0; i < parts - 1; i++) {
+            ranks[i] = this.rank(bytes, starts, i, parts);
+        }
+        ranks[parts - 1] = Integer.MAX_VALUE;
+        while (parts > 1) {
+            int min = 0;
+            for (int i = 1; i < parts - 1; i++) {
+                if (ranks[i] < ranks[min]) {
+                    min = i;
+                }
+            }
+            if (ranks[min] == Integer.MAX_VALUE) {
+                break;
+            }
+            System.arraycopy(starts, min + 2, starts, min + 1, parts - min - 1);
+            System.arraycopy(ranks, min + 2, ranks, min + 1, Math.max(0, parts - min - 2));
+            parts--;
+            ranks[min] = this.rank(bytes, starts, min, parts);
+            if (min > 0) {
+                ranks[min - 1] = this.rank(bytes, starts, min - 1, parts);
+            }
+        }
+        int[] tokens = new int[parts];
+        for (int i = 0; i < parts; i++) {
+            tokens[i] = this.ranks.get(bytes, starts[i], starts[i + 1]);
+        }
+        return tokens;
+    }
+
+    private int rank(byte[] bytes, int[] starts, int index, int parts) {
+        if (index + 1 >= parts) {
+            return Integer.MAX_VALUE;
+        }
+        int rank = this.ranks.get(bytes, starts[index], starts[index + 2]);
+        return rank < 0 ? Integer.MAX_VALUE : rank;
+    }
+
+    /**
+     * 表示以开放寻址哈希表保存边的字节前缀树，节点的序号保存在数组中。
+     */
+    private static final class ByteTrie {
+        private long[] keys;
+        private int[] children;
+        private int[] ranks;
+        private int edges;
+        private int nodes = 1;
+
+        private ByteTrie(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(16, expected) * 2 - 1) << 1;
+            this.keys = new long[capacity];
+            this.children = new int[capacity];
+            this.ranks = new int[Math.max(16, expected)];
+            Arrays.fill(this.keys, -1L);
+            Arrays.fill(this.ranks, -1);
+        }
+
+        private void put(byte[] bytes, int rank) {
+            int node = 0;
+            for (byte b : bytes) {
+                int child = this.child(node, b);
+                if (child < 0) {
+                    child = this.addChild(node, b);
+                }
+                node = child;
+            }
+            this.ranks[node] = rank;
+        }
+
+        private int get(byte[] bytes, int from, int to) {
+            int node = 0;
+            for (int i = from; i < to; i++) {
+                node = this.child(node, bytes[i]);
+                if (node < 0) {
+                    return -1;
+                }
+            }
+            return this.ranks[node];
+        }
+
+        private int child(int node, byte b) {
+            long key = ((long) node << 8) | (b & 0xff);
+            int mask = this.keys.length - 1;
+            for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+                if (this.keys[slot] == key) {
+                    return this.children[slot];
+                }
+                if (this.keys[slot] == -1L) {
+                    return -1;
+                }
+            }
+        }
+
+        private int addChild(int node, byte b) {
+            if ((this.edges + 1) * 2 > this.keys.length) {
+                this.rehash();
+            }
+            if (this.nodes == this.ranks.length) {
+                int length = this.ranks.length;
+                this.ranks = Arrays.copyOf(this.ranks, length << 1);
+                Arrays.fill(this.ranks, length, this.ranks.length, -1);
+            }
+            int child = this.nodes++;
+            this.insert(((long) node << 8) | (b & 0xff), child);
+            return child;
+        }
+
+        private void insert(long key, int child) {
+            int mask = this.keys.length - 1;
+            int slot = hash(key) & mask;
+            while (this.keys[slot] != -1L) {
+                slot = (slot + 1) & mask;
+            }
+            this.keys[slot] = key;
+            this.children[slot] = child;
+            this.edges++;
+        }
+
+        private void rehash() {
+            long[] oldKeys = this.keys;
+            int[] oldChildren = this.children;
+            this.keys = new long[oldKeys.length << 1];
+            this.children = new int[oldKeys.length << 1];
+            Arrays.fill(this.keys, -1L);
+            this.edges = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != -1L) {
+                    this.insert(oldKeys[i], oldChildren[i]);
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -8,15 +8,24 @@ package modelengine.fel.core.util;
 
 import modelengine.fitframework.inspection.Validation;
 
+import java.nio.FloatBuffer;
 import java.util.List;
+import java.util.stream.IntStream;
 
 /**
  * 提供数学相关的工具方法。
+ * <p>
+ * 基于 {@code float[]} 和 {@link FloatBuffer} 的向量运算避免了装箱，内层循环按 4 路展开，
+ * 便于即时编译器生成向量指令。对同一向量的重复计算，可以通过 {@link #norm(float[])} 预先计算模长并缓存。
+ * </p>
  *
  * @author 易文渊
  * @since 2024-08-06
  */
 public final class MathUtils {
+    /** 批量计算时，低于该计算量（向量数量乘以维度）则不并行。 */
+    private static final long PARALLEL_THRESHOLD = 1L << 18;
+
     private MathUtils() {}
 
     /**
@@ -41,4 +50,240 @@ public final class MathUtils {
         Validation.isFalse(Double.isNaN(result), "The result is NaN.");
         return result;
     }
-}
\ No newline at end of file
+
+    /**
+     * 计算两个向量的余弦相似度。
+     *
+     * @param x 表示第一个向量的 {@code float[]}。
+     * @param y 表示第二个向量的 {@code float[]}。
+     * @return 表示两个向量余弦相似度的 {@code double}。
+     */
+    public static double cosineSimilarity(float[] x, float[] y) {
+        return cosineSimilarity(x, norm(x), y, norm(y));
+    }
+
+    /**
+     * 使用预先计算的模长计算两个向量的余弦相似度。
+     *
+     * @param x 表示第一个向量的 {@code float[]}。
+     * @param normX 表示第一个向量模长的 {@code double}。
+     * @param y 表示第二个向量的 {@code float[]}。
+     * @param normY 表示第二个向量模长的 {@code double}。
+     * @return 表示两个向量余弦相似度的 {@code double}。
+     */
+    public static double cosineSimilarity(float[] x, double normX, float[] y, double normY) {
+        double result = dot(x, y) / (normX * normY);
+        Validation.isFalse(Double.isNaN(result), "The result is NaN.");
+        return result;
+    }
+
+    /**
+     * 计算向量与缓冲区中指定位置向量的余弦相似度。
+     *
+     * @param x 表示第一个向量的 {@code float[]}。
+     * @param normX 表示第一个向量模长的 {@code double}。
+     * @param y 表示存放第二个向量的 {@link FloatBuffer}。
+     * @param offset 表示第二个向量在缓冲区中起始位置的 {@code int}。
+     * @param normY 表示第二个向量模长的 {@code double}。
+     * @return 表示两个向量余弦相似度的 {@code double}。
+     */
+    public static double cosineSimilarity(float[] x, double normX, FloatBuffer y, int offset, double normY) {
+        double result = dot(x, y, offset) / (normX * normY);
+        Validation.isFalse(Double.isNaN(result), "The result is NaN.");
+        return result;
+    }
+
+    /**
+     * 计算两个向量的点积。
+     *
+     * @param x 表示第一个向量的 {@code float[]}。
+     * @param y 表示第二个向量的 {@code float[]}。
+     * @return 表示点积的 {@code float}。
+     */
+    public static float dot(float[] x, float[] y) {
+        checkShape(x, y);
+        return dot(x, 0, y, 0, x.length);
+    }
+
+    /**
+     * 计算两个数组中指定区间的点积，不做参数校验，供热点路径使用。
+     *
+     * @param x 表示第一个数组的 {@code float[]}。
+     * @param xOffset 表示第一个向量起始位置的 {@code int}。
+     * @param y 表示第二个数组的 {@code float[]}。
+     * @param yOffset 表示第二个向量起始位置的 {@code int}。
+     * @param length 表示向量维度的 {@code int}。
+     * @return 表示点积的 {@code float}。
+     */
+    public static float dot(float[] x, int xOffset, float[] y, int yOffset, int length) {
+        float s0 = 0;
+        float s1 = 0;
+        float s2 = 0;
+        float s3 = 0;
+        int i = 0;
+        for (; i + 3 < length; i += 4) {
+            s0 += x[xOffset + i] * y[yOffset + i];
+            s1 += x[xOffset + i + 1] * y[yOffset + i + 1];
+            s2 += x[xOffset + i + 2] * y[yOffset + i + 2];
+            s3 += x[xOffset + i + 3] * y[yOffset + i + 3];
+        }
+        for (; i < length; i++) {
+            s0 += x[xOffset + i] * y[yOffset + i];
+        }
+        return s0 + s1 + s2 + s3;
+    }
+
+    /**
+     * 计算向量与缓冲区中指定位置向量的点积，不改变缓冲区的位置。
+     *
+     * @param x 表示第一个向量的 {@code float[]}。
+     * @param y 表示存放第二个向量的 {@link FloatBuffer}。
+     * @param offset 表示第二个向量在缓冲区中起始位置的 {@code int}。
+     * @return 表示点积的 {@code float}。
+     */
+    public static float dot(float[] x, FloatBuffer y, int offset) {
+        Validation.isTrue(x != null && y != null, "The vector cannot be null.");
+        Validation.isTrue(offset >= 0 && offset + x.length <= y.limit(), "The buffer range is out of bounds.");
+        float s0 = 0;
+        float s1 = 0;
+        float s2 = 0;
+        float s3 = 0;
+        int i = 0;
+        for (; i + 3 < x.length; i += 4) {
+            s0 += x[i] * y.get(offset + i);
+            s1 += x[i + 1] * y.get(offset + i + 1);
+            s2 += x[i + 2] * y.get(offset + i + 2);
+            s3 += x[i + 3] * y.get(offset + i + 3);
+        }
+        for (; i < x.length; i++) {
+            s0 += x[i] * y.get(offset + i);
+        }
+        return s0 + s1 + s2 + s3;
+    }
+
+    /**
+     * 计算两个向量的欧氏距离。
+     *
+     * @param x 表示第一个向量的 {@code float[]}。
+     * @param y 表示第二个向量的 {@code float[]}。
+     * @return 表示欧氏距离的 {@code double}。
+     */
+    public static double l2Distance(float[] x, float[] y) {
+        checkShape(x, y);
+        float s0 = 0;
+        float s1 = 0;
+        int i = 0;
+        for (; i + 1 < x.length; i += 2) {
+            float d0 = x[i] - y[i];
+            float d1 = x[i + 1] - y[i + 1];
+            s0 += d0 * d0;
+            s1 += d1 * d1;
+        }
+        for (; i < x.length; i++) {
+            float d = x[i] - y[i];
+            s0 += d * d;
+        }
+        return Math.sqrt(s0 + s1);
+    }
+
+    /**
+     * 计算向量与缓冲区中指定位置向量的欧氏距离，不改变缓冲区的位置。
+     *
+     * @param x 表示第一个向量的 {@code float[]}。
+     * @param y 表示存放第二个向量的 {@link FloatBuffer}。
+     * @param offset 表示第二个向量在缓冲区中起始位置的 {@code int}。
+     * @return 表示欧氏距离的 {@code double}。
+     */
+    public static double l2Distance(float[] x, FloatBuffer y, int offset) {
+        Validation.isTrue(x != null && y != null, "The vector cannot be null.");
+        Validation.isTrue(offset >= 0 && offset + x.length <= y.limit(), "The buffer range is out of bounds.");
+        float sum = 0;
+        for (int i = 0; i < x.length; i++) {
+            float d = x[i] - y.get(offset + i);
+            sum += d * d;
+        }
+        return Math.sqrt(sum);
+    }
+
+    /**
+     * 计算向量的模长。
+     *
+     * @param x 表示向量的 {@code float[]}。
+     * @return 表示模长的 {@code double}。
+     */
+    public static double norm(float[] x) {
+        Validation.notNull(x, "The vector cannot be null.");
+        return Math.sqrt(dot(x, 0, x, 0, x.length));
+    }
+
+    /**
+     * 将向量归一化后写入目标数组的指定位置，零向量写入全零。
+     *
+     * @param source 表示原始向量的 {@code float[]}。
+     * @param target 表示目标数组的 {@code float[]}。
+     * @param offset 表示写入起始位置的 {@code int}。
+     */
+    public static void normalize(float[] source, float[] target, int offset) {
+        double norm = norm(source);
+        float scale = norm == 0 ? 0 : (float) (1 / norm);
+        for (int i = 0; i < source.length; i++) {
+            target[offset + i] = source[i] * scale;
+        }
+    }
+
+    /**
+     * 将装箱的向量转换为 {@code float[]}。
+     *
+     * @param x 表示向量的 {@link List}{@code <}{@link Float}{@code >}。
+     * @return 表示向量的 {@code float[]}。
+     */
+    public static float[] toArray(List<Float> x) {
+        Validation.notNull(x, "The vector cannot be null.");
+        float[] result = new float[x.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = x.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * 批量计算每个查询向量与所有候选向量的余弦相似度，计算量较大时使用 fork-join 并行计算。
+     * <p>查询向量或候选向量为零向量时相似度记为 {@code 0}，单个零向量不会导致整批计算失败。</p>
+     *
+     * @param queries 表示查询向量的 {@code float[][]}。
+     * @param vectors 表示候选向量的 {@code float[][]}。
+     * @param norms 表示候选向量模长的 {@code double[]}，为 {@code null} 时现场计算。
+     * @return 表示相似度矩阵的 {@code double[][]}，第一维对应查询向量，第二维对应候选向量。
+     */
+    public static double[][] cosineSimilarities(float[][] queries, float[][] vectors, double[] norms) {
+        Validation.isTrue(queries != null && vectors != null, "The vectors cannot be null.");
+        double[] vectorNorms = norms;
+        if (vectorNorms == null) {
+            vectorNorms = new double[vectors.length];
+            for (int i = 0; i < vectors.length; i++) {
+                vectorNorms[i] = norm(vectors[i]);
+            }
+        }
+        Validation.equals(vectorNorms.length, vectors.length, "The norms size must equal the vectors size.");
+        double[] finalNorms = vectorNorms;
+        int dimension = vectors.length == 0 ? 0 : vectors[0].length;
+        boolean isParallel = (long) queries.length * vectors.length * dimension >= PARALLEL_THRESHOLD;
+        double[][] result = new double[queries.length][];
+        for (int q = 0; q < queries.length; q++) {
+            float[] query = queries[q];
+            double queryNorm = norm(query);
+            double[] row = new double[vectors.length];
+            IntStream tasks = IntStream.range(0, vectors.length);
+            (isParallel ? tasks.parallel() : tasks).forEach(v -> row[v] = queryNorm == 0 || finalNorms[v] == 0
+                    ? 0D
+                    : cosineSimilarity(query, queryNorm, vectors[v], finalNorms[v]));
+            result[q] = row;
+        }
+        return result;
+    }
+
+    private static void checkShape(float[] x, float[] y) {
+        Validation.isTrue(x != null && y != null, "The vector cannot be null.");
+        Validation.equals(x.length, y.length, "The vector shape must be equal.");
+    }
+}
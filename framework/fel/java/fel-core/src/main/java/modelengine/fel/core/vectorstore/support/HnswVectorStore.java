@@ -0,0 +1,693 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.vectorstore.support;
+
+import static modelengine.fitframework.inspection.Validation.greaterThan;
+import static modelengine.fitframework.inspection.Validation.notEmpty;
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fel.core.document.Document;
+import modelengine.fel.core.document.DocumentEmbedModel;
+import modelengine.fel.core.document.MeasurableDocument;
+import modelengine.fel.core.embed.Embedding;
+import modelengine.fel.core.retriever.filter.MetadataPredicate;
+import modelengine.fel.core.util.MathUtils;
+import modelengine.fel.core.vectorstore.SearchOption;
+import modelengine.fel.core.vectorstore.VectorStore;
+import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.resource.web.Media;
+import modelengine.fitframework.util.StringUtils;
+import modelengine.fitframework.util.UuidUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * 表示基于 HNSW（Hierarchical Navigable Small World）图的 {@link VectorStore} 内存实现。
+ * <p>
+ * 向量归一化后以 {@code float} 数组分块连续存放，相似度即为点积。插入和删除支持并发，删除采用标记的方式，
+ * 被删除的节点仍参与图的导航但不会出现在结果中。
+ * </p>
+ * <p>
+ * 检索时如果指定了 {@link modelengine.fel.core.retriever.filter.Filter}，先对元数据做过滤，
+ * 命中的文档较少（不超过 5%）时直接精确计算，否则在图检索时只收集命中的文档。
+ * </p>
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+public class HnswVectorStore implements VectorStore {
+    private static final int DEFAULT_M = 16;
+    private static final int DEFAULT_EF_CONSTRUCTION = 200;
+    private static final int DEFAULT_EF_SEARCH = 64;
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int MAX_LEVEL = 16;
+    private static final ThreadLocal<Visited> VISITED = ThreadLocal.withInitial(Visited::new);
+
+    private final DocumentEmbedModel embedModel;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelFactor;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final Object growLock = new Object();
+    private final Object entryLock = new Object();
+
+    private volatile int efSearch;
+    private volatile int dimension = -1;
+    private volatile Node[][] nodes = new Node[0][];
+    private volatile float[][] vectors = new float[0][];
+    private volatile Node entry;
+
+    /**
+     * 使用默认的图参数创建 {@link HnswVectorStore} 的实例。
+     *
+     * @param embedModel 表示嵌入文档模型的 {@link DocumentEmbedModel}。
+     */
+    public HnswVectorStore(DocumentEmbedModel embedModel) {
+        this(embedModel, DEFAULT_M, DEFAULT_EF_CONSTRUCTION, DEFAULT_EF_SEARCH);
+    }
+
+    /**
+     * 创建 {@link HnswVectorStore} 的实例。
+     *
+     * @param embedModel 表示嵌入文档模型的 {@link DocumentEmbedModel}。
+     * @param m 表示每个节点在非底层保留的最大邻居数量的 {@code int}，底层为其两倍。
+     * @param efConstruction 表示构图时候选集合大小的 {@code int}。
+     * @param efSearch 表示检索时候选集合大小的 {@code int}。
+     */
+    public HnswVectorStore(DocumentEmbedModel embedModel, int m, int efConstruction, int efSearch) {
+        this.embedModel = notNull(embedModel, "The embed model cannot be null.");
+        this.m = greaterThan(m, 1, "The m must be greater than 1. [m={0}]", m);
+        this.maxM0 = m * 2;
+        this.efConstruction = greaterThan(efConstruction,
+                0,
+                "The efConstruction must be positive. [efConstruction={0}]",
+                efConstruction);
+        this.efSearch = greaterThan(efSearch, 0, "The efSearch must be positive. [efSearch={0}]", efSearch);
+        this.levelFactor = 1 / Math.log(m);
+    }
+
+    /**
+     * 设置检索时候选集合的大小，越大召回率越高，检索越慢。
+     *
+     * @param efSearch 表示检索时候选集合大小的 {@code int}。
+     */
+    public void setEfSearch(int efSearch) {
+        this.efSearch = greaterThan(efSearch, 0, "The efSearch must be positive. [efSearch={0}]", efSearch);
+    }
+
+    /**
+     * 获取当前有效的文档数量。
+     *
+     * @return 表示有效文档数量的 {@code int}。
+     */
+    public int size() {
+        return this.ids.size();
+    }
+
+    @Override
+    public void persistent(List<Document> documents) {
+        notNull(documents, "The documents cannot be null.");
+        List<Embedding> embeddings = this.embedModel.embed(documents);
+        for (int i = 0; i < documents.size(); ++i) {
+            List<Float> embedding = embeddings.get(i).embedding();
+            notEmpty(embedding, "The embedding cannot be empty.");
+            this.add(documents.get(i), MathUtils.toArray(embedding));
+        }
+    }
+
+    /**
+     * 插入携带嵌入向量的文档，已存在相同唯一标识的文档时替换。
+     *
+     * @param document 表示文档的 {@link Document}。
+     * @param embedding 表示嵌入向量的 {@code float[]}。
+     */
+    public void add(Document document, float[] embedding) {
+        notNull(document, "The document cannot be null.");
+        Validation.isTrue(embedding != null && embedding.length > 0, "The embedding cannot be empty.");
+        this.checkDimension(embedding.length);
+        String id = StringUtils.getIfBlank(document.id(), UuidUtils::randomUuidString);
+        int nodeId = this.nextId.getAndIncrement();
+        this.ensureCapacity(nodeId);
+        MathUtils.normalize(embedding,
+                this.vectors[nodeId >>> CHUNK_SHIFT],
+                (nodeId & CHUNK_MASK) * this.dimension);
+        Node node = new Node(nodeId, this.randomLevel(), new StoredDocument(id, document), this.m, this.maxM0);
+        this.nodes[nodeId >>> CHUNK_SHIFT][nodeId & CHUNK_MASK] = node;
+        this.link(node);
+        Integer previous = this.ids.put(id, nodeId);
+        if (previous != null) {
+            this.markDeleted(previous);
+        }
+    }
+
+    @Override
+    public List<MeasurableDocument> search(String query, SearchOption option) {
+        notNull(option, "The search option cannot be null.");
+        return this.search(MathUtils.toArray(this.embedModel.embed(query).embedding()),
+                option.topK(),
+                option.filter() == null ? null : new MetadataPredicate(option.filter()));
+    }
+
+    /**
+     * 使用嵌入向量执行检索。
+     *
+     * @param query 表示查询向量的 {@code float[]}。
+     * @param topK 表示检索返回数量的 {@code int}。
+     * @param filter 表示元数据过滤条件的 {@link Predicate}{@code <}{@link Map}{@code <}{@link String}{@code ,
+     * }{@link Object}{@code >>}，为 {@code null} 时不过滤。
+     * @return 表示按相似度降序排列的检索结果的 {@link List}{@code <}{@link MeasurableDocument}{@code >}。
+     */
+    public List<MeasurableDocument> search(float[] query, int topK, Predicate<Map<String, Object>> filter) {
+        Validation.isTrue(query != null && query.length > 0, "The query embedding cannot be empty.");
+        greaterThan(topK, 0, "The topK must be positive. [topK={0}]", topK);
+        Node start = this.entry;
+        if (start == null) {
+            return Collections.emptyList();
+        }
+        Validation.equals(query.length, this.dimension, "The query dimension must equal the store dimension.");
+        float[] normalized = new float[query.length];
+        MathUtils.normalize(query, normalized, 0);
+        int ef = Math.max(this.efSearch, topK);
+        NodeHeap results;
+        if (filter == null) {
+            results = this.searchGraph(normalized, start, ef, node -> true);
+        } else {
+            BitSet matched = this.match(filter);
+            if (matched.cardinality() <= Math.max(ef * 4, this.ids.size() / 20)) {
+                results = this.scan(normalized, matched, topK);
+            } else {
+                results = this.searchGraph(normalized, start, ef, node -> matched.get(node.id));
+            }
+        }
+        return this.toDocuments(results, topK);
+    }
+
+    @Override
+    public void delete(List<String> ids) {
+        notNull(ids, "The id list cannot be null.");
+        ids.forEach(id -> {
+            Integer nodeId = this.ids.remove(id);
+            if (nodeId != null) {
+                this.markDeleted(nodeId);
+            }
+        });
+    }
+
+    private void markDeleted(int nodeId) {
+        this.node(nodeId).isDeleted = true;
+    }
+
+    private void checkDimension(int length) {
+        if (this.dimension < 0) {
+            synchronized (this.growLock) {
+                if (this.dimension < 0) {
+                    this.dimension = length;
+                }
+            }
+        }
+        Validation.equals(length, this.dimension, "The embedding dimension must equal the store dimension.");
+    }
+
+    private void ensureCapacity(int nodeId) {
+        int chunk = nodeId >>> CHUNK_SHIFT;
+        if (chunk < this.nodes.length) {
+            return;
+        }
+        synchronized (this.growLock) {
+            if (chunk < this.nodes.length) {
+                return;
+            }
+            int length = Math.max(chunk + 1, this.nodes.length * 2);
+            float[][] newVectors = Arrays.copyOf(this.vectors, length);
+            Node[][] newNodes = Arrays.copyOf(this.nodes, length);
+            for (int i = this.nodes.length; i < length; i++) {
+                newVectors[i] = new float[CHUNK_SIZE * this.dimension];
+                newNodes[i] = new Node[CHUNK_SIZE];
+            }
+            this.vectors = newVectors;
+            this.nodes = newNodes;
+        }
+    }
+
+    private int randomLevel() {
+        double random = ThreadLocalRandom.current().nextDouble();
+        return Math.min((int) (-Math.log(1 - random) * this.levelFactor), MAX_LEVEL);
+    }
+
+    private Node node(int nodeId) {
+        return this.nodes[nodeId >>> CHUNK_SHIFT][nodeId & CHUNK_MASK];
+    }
+
+    private float similarity(float[] query, int nodeId) {
+        return MathUtils.dot(query, 0, this.vectors[nodeId >>> CHUNK_SHIFT], (nodeId & CHUNK_MASK) * this.dimension,
+                this.dimension);
+    }
+
+    private float similarity(int x, int y) {
+        int dim = this.dimension;
+        return MathUtils.dot(this.vectors[x >>> CHUNK_SHIFT], (x & CHUNK_MASK) * dim, this.vectors[y >>> CHUNK_SHIFT],
+                (y & CHUNK_MASK) * dim, dim);
+    }
+
+    private void link(Node node) {
+        Node current;
+        synchronized (this.entryLock) {
+            current = this.entry;
+            if (current == null) {
+                this.entry = node;
+                return;
+            }
+        }
+        float[] query = this.vector(node.id);
+        int top = current.level;
+        Node nearest = this.greedy(query, current, top, node.level);
+        for (int level = Math.min(node.level, top); level >= 0; level--) {
+            NodeHeap candidates = this.searchLayer(query, nearest, this.efConstruction, level, null);
+            int[] selected = this.selectNeighbors(candidates, this.m);
+            synchronized (node) {
+                node.setLinks(level, selected, selected.length);
+            }
+            for (int neighbor : selected) {
+                this.addLink(this.node(neighbor), node.id, level);
+            }
+            nearest = this.node(candidates.best());
+        }
+        if (node.level > top) {
+            synchronized (this.entryLock) {
+                if (node.level > this.entry.level) {
+                    this.entry = node;
+                }
+            }
+        }
+    }
+
+    private float[] vector(int nodeId) {
+        int dim = this.dimension;
+        int offset = (nodeId & CHUNK_MASK) * dim;
+        return Arrays.copyOfRange(this.vectors[nodeId >>> CHUNK_SHIFT], offset, offset + dim);
+    }
+
+    private Node greedy(float[] query, Node start, int fromLevel, int toLevel) {
+        Node current = start;
+        float best = this.similarity(query, current.id);
+        int[] buffer = new int[this.maxM0];
+        for (int level = fromLevel; level > toLevel; level--) {
+            boolean isChanged = true;
+            while (isChanged) {
+                isChanged = false;
+                int size = current.copyLinks(level, buffer);
+                for (int i = 0; i < size; i++) {
+                    float score = this.similarity(query, buffer[i]);
+                    if (score > best) {
+                        best = score;
+                        current = this.node(buffer[i]);
+                        isChanged = true;
+                    }
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 在指定层从入口节点开始做最佳优先搜索，返回至多 {@code ef} 个最相似节点。
+     *
+     * @param accept 表示结果过滤条件的 {@link Predicate}{@code <}{@link Node}{@code >}，为 {@code null}
+     * 时接收所有节点（构图时使用，包含已删除节点）。
+     */
+    private NodeHeap searchLayer(float[] query, Node start, int ef, int level, Predicate<Node> accept) {
+        Visited visited = VISITED.get().reset(this.nextId.get());
+        NodeHeap candidates = new NodeHeap(ef * 2, false);
+        NodeHeap results = new NodeHeap(ef, true);
+        float score = this.similarity(query, start.id);
+        visited.visit(start.id);
+        candidates.push(start.id, score);
+        if (accept == null || accept.test(start)) {
+            results.push(start.id, score);
+        }
+        int[] buffer = new int[this.maxM0];
+        while (!candidates.isEmpty()) {
+            float candidateScore = candidates.topScore();
+            if (results.size() >= ef && candidateScore < results.topScore()) {
+                break;
+            }
+            Node candidate = this.node(candidates.pop());
+            int size = candidate.copyLinks(level, buffer);
+            for (int i = 0; i < size; i++) {
+                int neighbor = buffer[i];
+                if (!visited.visit(neighbor)) {
+                    continue;
+                }
+                float neighborScore = this.similarity(query, neighbor);
+                if (results.size() < ef || neighborScore > results.topScore()) {
+                    candidates.push(neighbor, neighborScore);
+                    Node node = this.node(neighbor);
+                    if (accept == null || accept.test(node)) {
+                        results.pushBounded(neighbor, neighborScore, ef);
+                    }
+                }
+            }
+        }
+        if (results.isEmpty()) {
+            results.push(start.id, score);
+        }
+        return results;
+    }
+
+    private NodeHeap searchGraph(float[] query, Node start, int ef, Predicate<Node> filter) {
+        Node nearest = this.greedy(query, start, start.level, 0);
+        return this.searchLayer(query, nearest, ef, 0, node -> !node.isDeleted && filter.test(node));
+    }
+
+    private NodeHeap scan(float[] query, BitSet matched, int topK) {
+        NodeHeap results = new NodeHeap(topK, true);
+        for (int id = matched.nextSetBit(0); id >= 0; id = matched.nextSetBit(id + 1)) {
+            results.pushBounded(id, this.similarity(query, id), topK);
+        }
+        return results;
+    }
+
+    private BitSet match(Predicate<Map<String, Object>> filter) {
+        BitSet matched = new BitSet(this.nextId.get());
+        this.ids.values().forEach(nodeId -> {
+            Node node = this.node(nodeId);
+            if (!node.isDeleted && filter.test(node.document.metadata())) {
+                matched.set(nodeId);
+            }
+        });
+        return matched;
+    }
+
+    /**
+     * 启发式邻居选择：候选按相似度降序，只保留比所有已选邻居都更接近目标的候选，以保持图的连通性。
+     */
+    private int[] selectNeighbors(NodeHeap candidates, int max) {
+        int[] sorted = candidates.sortedDescending();
+        if (sorted.length <= max) {
+            return sorted;
+        }
+        int[] selected = new int[max];
+        int size = 0;
+        for (int i = 0; i < sorted.length && size < max; i++) {
+            int candidate = sorted[i];
+            float score = candidates.scoreOf(i);
+            boolean isGood = true;
+            for (int j = 0; j < size; j++) {
+                if (this.similarity(candidate, selected[j]) > score) {
+                    isGood = false;
+                    break;
+                }
+            }
+            if (isGood) {
+                selected[size++] = candidate;
+            }
+        }
+        for (int i = 0; i < sorted.length && size < max; i++) {
+            if (!contains(selected, size, sorted[i])) {
+                selected[size++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(selected, size);
+    }
+
+    private void addLink(Node owner, int target, int level) {
+        int max = level == 0 ? this.maxM0 : this.m;
+        synchronized (owner) {
+            int size = owner.sizes[level];
+            if (size < max) {
+                owner.links[level][size] = target;
+                owner.sizes[level] = size + 1;
+                return;
+            }
+            NodeHeap candidates = new NodeHeap(size + 1, true);
+            for (int i = 0; i < size; i++) {
+                int neighbor = owner.links[level][i];
+                candidates.push(neighbor, this.similarity(owner.id, neighbor));
+            }
+            candidates.push(target, this.similarity(owner.id, target));
+            int[] selected = this.selectNeighbors(candidates, max);
+            owner.setLinks(level, selected, selected.length);
+        }
+    }
+
+    private List<MeasurableDocument> toDocuments(NodeHeap results, int topK) {
+        int[] sorted = results.sortedDescending();
+        List<MeasurableDocument> documents = new ArrayList<>(Math.min(sorted.length, topK));
+        for (int i = 0; i < sorted.length && documents.size() < topK; i++) {
+            Node node = this.node(sorted[i]);
+            if (!node.isDeleted) {
+                documents.add(new MeasurableDocument(node.document, results.scoreOf(i)));
+            }
+        }
+        return documents;
+    }
+
+    private static boolean contains(int[] array, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (array[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 表示图中的节点，邻居列表的读写都在节点锁内进行。
+     */
+    private static final class Node {
+        private final int id;
+        private final int level;
+        private final Document document;
+        private final int[][] links;
+        private final int[] sizes;
+        private volatile boolean isDeleted;
+
+        private Node(int id, int level, Document document, int m, int maxM0) {
+            this.id = id;
+            this.level = level;
+            this.document = document;
+            this.links = new int[level + 1][];
+            for (int i = 0; i <= level; i++) {
+                this.links[i] = new int[i == 0 ? maxM0 : m];
+            }
+            this.sizes = new int[level + 1];
+        }
+
+        private void setLinks(int level, int[] neighbors, int size) {
+            System.arraycopy(neighbors, 0, this.links[level], 0, size);
+            this.sizes[level] = size;
+        }
+
+        private synchronized int copyLinks(int level, int[] buffer) {
+            if (level > this.level) {
+                return 0;
+            }
+            int size = this.sizes[level];
+            System.arraycopy(this.links[level], 0, buffer, 0, size);
+            return size;
+        }
+    }
+
+    /**
+     * 表示以节点编号和相似度组成的二叉堆，避免装箱。
+     */
+    private static final class NodeHeap {
+        private final boolean isMin;
+        private int[] ids;
+        private float[] scores;
+        private int size;
+
+        private NodeHeap(int capacity, boolean isMin) {
+            this.ids = new int[Math.max(capacity, 4)];
+            this.scores = new float[this.ids.length];
+            this.isMin = isMin;
+        }
+
+        private int size() {
+            return this.size;
+        }
+
+        private boolean isEmpty() {
+            return this.size == 0;
+        }
+
+        private float topScore() {
+            return this.scores[0];
+        }
+
+        private void push(int id, float score) {
+            if (this.size == this.ids.length) {
+                this.ids = Arrays.copyOf(this.ids, this.size * 2);
+                this.scores = Arrays.copyOf(this.scores, this.size * 2);
+            }
+            int index = this.size++;
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!this.before(score, this.scores[parent])) {
+                    break;
+                }
+                this.ids[index] = this.ids[parent];
+                this.scores[index] = this.scores[parent];
+                index = parent;
+            }
+            this.ids[index] = id;
+            this.scores[index] = score;
+        }
+
+        /**
+         * 向最小堆中放入元素，超过上限时淘汰最不相似的元素。
+         */
+        private void pushBounded(int id, float score, int bound) {
+            if (this.size < bound) {
+                this.push(id, score);
+            } else if (score > this.scores[0]) {
+                this.pop();
+                this.push(id, score);
+            }
+        }
+
+        private int pop() {
+            int top = this.ids[0];
+            int lastId = this.ids[--this.size];
+            float lastScore = this.scores[this.size];
+            int index = 0;
+            while (true) {
+                int child = index * 2 + 1;
+                if (child >= this.size) {
+                    break;
+                }
+                if (child + 1 < this.size && this.before(this.scores[child + 1], this.scores[child])) {
+                    child++;
+                }
+                if (!this.before(this.scores[child], lastScore)) {
+                    break;
+                }
+                this.ids[index] = this.ids[child];
+                this.scores[index] = this.scores[child];
+                index = child;
+            }
+            this.ids[index] = lastId;
+            this.scores[index] = lastScore;
+            return top;
+        }
+
+        private boolean before(float x, float y) {
+            return this.isMin ? x < y : x > y;
+        }
+
+        /**
+         * 将堆中元素按相似度降序排列，排序后可以通过 {@link #scoreOf(int)} 获取对应的相似度。
+         */
+        private int[] sortedDescending() {
+            Integer[] order = new Integer[this.size];
+            for (int i = 0; i < this.size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (x, y) -> Float.compare(this.scores[y], this.scores[x]));
+            int[] sortedIds = new int[this.size];
+            float[] sortedScores = new float[this.size];
+            for (int i = 0; i < this.size; i++) {
+                sortedIds[i] = this.ids[order[i]];
+                sortedScores[i] = this.scores[order[i]];
+            }
+            this.ids = sortedIds;
+            this.scores = sortedScores;
+            return sortedIds;
+        }
+
+        private float scoreOf(int index) {
+            return this.scores[index];
+        }
+
+        private int best() {
+            int best = 0;
+            for (int i = 1; i < this.size; i++) {
+                if (this.scores[i] > this.scores[best]) {
+                    best = i;
+                }
+            }
+            return this.ids[best];
+        }
+    }
+
+    /**
+     * 表示线程私有的访问标记，通过递增版本号避免每次检索清空数组。
+     */
+    private static final class Visited {
+        private int[] marks = new int[0];
+        private int version;
+
+        private Visited reset(int capacity) {
+            if (this.marks.length < capacity) {
+                this.marks = new int[Math.max(capacity, this.marks.length * 2)];
+                this.version = 0;
+            }
+            if (++this.version == Integer.MAX_VALUE) {
+                Arrays.fill(this.marks, 0);
+                this.version = 1;
+            }
+            return this;
+        }
+
+        private boolean visit(int id) {
+            if (id >= this.marks.length) {
+                this.marks = Arrays.copyOf(this.marks, Math.max(id + 1, this.marks.length * 2));
+            }
+            if (this.marks[id] == this.version) {
+                return false;
+            }
+            this.marks[id] = this.version;
+            return true;
+        }
+    }
+
+    /**
+     * 表示保存在图中的文档快照。
+     */
+    private static final class StoredDocument implements Document {
+        private final String id;
+        private final Document origin;
+
+        private StoredDocument(String id, Document origin) {
+            this.id = id;
+            this.origin = origin;
+        }
+
+        @Override
+        public String id() {
+            return this.id;
+        }
+
+        @Override
+        public String text() {
+            return this.origin.text();
+        }
+
+        @Override
+        public List<Media> medias() {
+            return this.origin.medias();
+        }
+
+        @Override
+        public Map<String, Object> metadata() {
+            return this.origin.metadata();
+        }
+    }
+}
@@ -19,6 +19,7 @@ import modelengine.fel.core.vectorstore.SearchOption;
 import modelengine.fel.core.vectorstore.VectorStore;
 import modelengine.fitframework.inspection.Nonnull;
 import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.resource.web.Media;
 import modelengine.fitframework.serialization.ObjectSerializer;
 import modelengine.fitframework.util.ObjectUtils;
@@ -26,26 +27,53 @@ import modelengine.fitframework.util.StringUtils;
 import modelengine.fitframework.util.TypeUtils;
 import modelengine.fitframework.util.UuidUtils;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Type;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * 表示 {@link VectorStore} 的内存简易实现，不要在生产环境中使用。
+ * <p>
+ * 除了通过 {@link ObjectSerializer} 整体序列化外，还可以通过 {@link #persist(Path, ObjectSerializer, VectorEncoding)}
+ * 将数据保存为二进制向量段，每次只追加上次保存后的变更，段数量超过阈值后在后台合并。
+ * 通过 {@link #load(Path, ObjectSerializer)} 加载的向量以内存映射的方式留在堆外，检索直接在映射的缓冲区上进行。
+ * </p>
  *
  * @author 易文渊
  * @since 2024-08-06
  */
 public class MemoryVectorStore implements VectorStore {
+    private static final Logger log = Logger.get(MemoryVectorStore.class);
+    private static final int MAX_SEGMENTS = 8;
+
     private final DocumentEmbedModel embedModel;
     private final Map<String, DocumentWithEmbedding> cache = new ConcurrentHashMap<>();
+    private final Map<String, VectorSegment.SegmentDocument> mapped = new ConcurrentHashMap<>();
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Set<String> removed = ConcurrentHashMap.newKeySet();
+    private final Object segmentLock = new Object();
+    private final AtomicBoolean isCompacting = new AtomicBoolean();
+
+    private List<VectorSegment> segments = new ArrayList<>();
+    private Path directory;
+    private ObjectSerializer segmentSerializer;
+    private VectorEncoding encoding = VectorEncoding.FLOAT32;
+    private long nextSequence;
 
     /**
      * 创建 {@link MemoryVectorStore} 的实例。
@@ -63,15 +91,22 @@ public class MemoryVectorStore implements VectorStore {
             DocumentWithEmbedding document =
                     DocumentWithEmbedding.from(documents.get(i), embeddings.get(i).embedding());
             this.cache.put(document.id(), document);
+            this.displace(document.id());
+            this.pending.add(document.id());
         }
     }
 
     @Override
     public List<MeasurableDocument> search(String query, SearchOption option) {
-        List<Float> queryEmbedding = this.embedModel.embed(query).embedding();
-        return this.cache.values()
+        float[] queryEmbedding = MathUtils.toArray(this.embedModel.embed(query).embedding());
+        double queryNorm = MathUtils.norm(queryEmbedding);
+        Stream<MeasurableDocument> inHeap = this.cache.values()
+                .stream()
+                .map(d -> new MeasurableDocument(d, similarity(queryEmbedding, queryNorm, d)));
+        Stream<MeasurableDocument> offHeap = this.mapped.values()
                 .stream()
-                .map(d -> new MeasurableDocument(d, MathUtils.cosineSimilarity(queryEmbedding, d.getEmbedding())))
+                .map(d -> new MeasurableDocument(d, d.similarity(queryEmbedding, queryNorm)));
+        return Stream.concat(inHeap, offHeap)
                 .sorted(Comparator.comparingDouble(MeasurableDocument::score).reversed())
                 .limit(option.topK())
                 .collect(Collectors.toList());
@@ -80,7 +115,13 @@ public class MemoryVectorStore implements VectorStore {
     @Override
     public void delete(List<String> ids) {
         Validation.notNull(ids, "The id list cannot be null.");
-        ids.forEach(this.cache::remove);
+        ids.forEach(id -> {
+            this.cache.remove(id);
+            this.pending.remove(id);
+            if (this.mapped.remove(id) != null) {
+                this.removed.add(id);
+            }
+        });
     }
 
     /**
@@ -92,7 +133,9 @@ public class MemoryVectorStore implements VectorStore {
     public void load(InputStream in, ObjectSerializer objectSerializer) {
         Map<String, DocumentWithEmbedding> documents = objectSerializer.deserialize(in,
                 TypeUtils.parameterized(Map.class, new Type[] {String.class, DocumentWithEmbedding.class}));
+        documents.keySet().forEach(this::displace);
         this.cache.putAll(documents);
+        this.pending.addAll(documents.keySet());
     }
 
     /**
@@ -102,7 +145,264 @@ public class MemoryVectorStore implements VectorStore {
      * @param objectSerializer 表示对象序列化器的 {@link ObjectSerializer}。
      */
     public void persist(OutputStream out, ObjectSerializer objectSerializer) {
-        objectSerializer.serialize(this.cache, out);
+        Map<String, DocumentWithEmbedding> documents = new HashMap<>(this.cache);
+        this.mapped.values().forEach(document -> documents.putIfAbsent(document.id(),
+                DocumentWithEmbedding.from(document, toList(document.vector()))));
+        objectSerializer.serialize(documents, out);
+    }
+
+    /**
+     * 从目录中加载向量段，向量以内存映射的方式留在堆外，之后对该目录的保存只追加变更。
+     *
+     * @param directory 表示向量段所在目录的 {@link Path}。
+     * @param objectSerializer 表示读取文档信息的 {@link ObjectSerializer}。
+     * @throws IllegalStateException 当读取向量段失败时。
+     */
+    public void load(Path directory, ObjectSerializer objectSerializer) {
+        notNull(directory, "The directory cannot be null.");
+        notNull(objectSerializer, "The object serializer cannot be null.");
+        synchronized (this.segmentLock) {
+            List<VectorSegment> loaded = new ArrayList<>();
+            try {
+                for (Path file : VectorSegment.list(directory)) {
+                    loaded.add(VectorSegment.open(file, objectSerializer));
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(StringUtils.format("Failed to load vector segments. [directory={0}]",
+                        directory), e);
+            }
+            for (VectorSegment segment : loaded) {
+                segment.deleted().forEach(this.mapped::remove);
+                segment.documents().forEach(document -> {
+                    this.cache.remove(document.id());
+                    this.pending.remove(document.id());
+                    this.mapped.put(document.id(), document);
+                });
+            }
+            this.bind(directory, objectSerializer, loaded);
+            if (!loaded.isEmpty()) {
+                this.encoding = loaded.get(loaded.size() - 1).encoding();
+            }
+        }
+    }
+
+    /**
+     * 将数据以向量段的形式保存到目录中，编码方式为 {@link VectorEncoding#FLOAT32}。
+     *
+     * @param directory 表示向量段所在目录的 {@link Path}。
+     * @param objectSerializer 表示保存文档信息的 {@link ObjectSerializer}。
+     * @throws IllegalStateException 当写入向量段失败时。
+     * @see #persist(Path, ObjectSerializer, VectorEncoding)
+     */
+    public void persist(Path directory, ObjectSerializer objectSerializer) {
+        this.persist(directory, objectSerializer, VectorEncoding.FLOAT32);
+    }
+
+    /**
+     * 将数据以向量段的形式保存到目录中。
+     * <p>
+     * 如果该目录就是上次加载或保存的目录，只追加一个包含新增、更新和删除的段；否则写入全量快照并清理目录中已有的段。
+     * 保存后的文档从堆内移出，改为通过内存映射访问。
+     * </p>
+     *
+     * @param directory 表示向量段所在目录的 {@link Path}。
+     * @param objectSerializer 表示保存文档信息的 {@link ObjectSerializer}。
+     * @param encoding 表示向量编码方式的 {@link VectorEncoding}。
+     * @throws IllegalStateException 当写入向量段失败时。
+     */
+    public void persist(Path directory, ObjectSerializer objectSerializer, VectorEncoding encoding) {
+        notNull(directory, "The directory cannot be null.");
+        notNull(objectSerializer, "The object serializer cannot be null.");
+        notNull(encoding, "The encoding cannot be null.");
+        boolean shouldCompact;
+        synchronized (this.segmentLock) {
+            try {
+                this.encoding = encoding;
+                if (this.isBound(directory)) {
+                    this.appendSegment();
+                } else {
+                    this.writeSnapshot(directory, objectSerializer);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(StringUtils.format("Failed to persist vector segments. [directory={0}]",
+                        directory), e);
+            }
+            shouldCompact = this.segments.size() > MAX_SEGMENTS;
+        }
+        if (shouldCompact && this.isCompacting.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    this.compact();
+                } catch (IllegalStateException e) {
+                    log.warn("Failed to compact vector segments. [directory={}]", directory, e);
+                } finally {
+                    this.isCompacting.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * 将当前目录中的所有向量段合并为尽量少的段，并删除被合并的段文件。
+     * <p>
+     * 合并后的段先完整落盘，再替换内存中的段列表，最后才删除旧段。合并后的段同时记录旧段中不再存活的文档，
+     * 即使删除旧段的过程中断，重新加载时残留的旧段也不会让已删除的文档重新出现。
+     * 段数量超过阈值时，{@link #persist(Path, ObjectSerializer, VectorEncoding)} 会在后台自动调用。
+     * </p>
+     *
+     * @throws IllegalStateException 当合并失败时。
+     */
+    public void compact() {
+        synchronized (this.segmentLock) {
+            if (this.directory == null || this.segments.size() <= 1) {
+                return;
+            }
+            List<VectorSegment> previous = this.segments;
+            List<VectorSegment.SegmentDocument> live = this.mapped.values()
+                    .stream()
+                    .filter(document -> previous.contains(document.segment()))
+                    .sorted(Comparator.comparing(Document::id))
+                    .collect(Collectors.toList());
+            Set<String> liveIds = live.stream().map(Document::id).collect(Collectors.toSet());
+            List<String> deleted = previous.stream()
+                    .flatMap(segment -> Stream.concat(segment.deleted().stream(),
+                            segment.documents().stream().map(Document::id)))
+                    .filter(id -> !liveIds.contains(id))
+                    .distinct()
+                    .sorted()
+                    .collect(Collectors.toList());
+            List<VectorSegment> written;
+            try {
+                written = this.writeSegments(live,
+                        live.stream().map(VectorSegment.SegmentDocument::vector).collect(Collectors.toList()),
+                        deleted);
+            } catch (IOException e) {
+                throw new IllegalStateException(StringUtils.format("Failed to compact vector segments. [directory={0}]",
+                        this.directory), e);
+            }
+            written.forEach(this::moveOffHeap);
+            this.segments = new ArrayList<>(written);
+            previous.forEach(MemoryVectorStore::deleteQuietly);
+            VectorSegment.syncDirectory(this.directory);
+        }
+    }
+
+    /**
+     * 堆内的新版本取代已经落盘的文档时记录删除，否则之后再删除该文档时找不到落盘版本，重新加载后旧版本会重新出现。
+     *
+     * @param id 表示文档唯一标识的 {@link String}。
+     */
+    private void displace(String id) {
+        if (this.mapped.remove(id) != null) {
+            this.removed.add(id);
+        }
+    }
+
+    private boolean isBound(Path directory) {
+        return this.directory != null && this.directory.toAbsolutePath()
+                .normalize()
+                .equals(directory.toAbsolutePath().normalize());
+    }
+
+    private void bind(Path directory, ObjectSerializer objectSerializer, List<VectorSegment> segments) {
+        this.directory = directory;
+        this.segmentSerializer = objectSerializer;
+        this.segments = new ArrayList<>(segments);
+        this.nextSequence = segments.isEmpty() ? 0 : segments.get(segments.size() - 1).sequence() + 1;
+    }
+
+    private void appendSegment() throws IOException {
+        List<String> ids = new ArrayList<>(this.pending);
+        List<String> deleted = new ArrayList<>(this.removed);
+        if (ids.isEmpty() && deleted.isEmpty()) {
+            return;
+        }
+        ids.forEach(this.pending::remove);
+        deleted.forEach(this.removed::remove);
+        List<DocumentWithEmbedding> documents = ids.stream()
+                .map(this.cache::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        List<VectorSegment> written = this.writeSegments(documents,
+                documents.stream().map(DocumentWithEmbedding::vector).collect(Collectors.toList()),
+                deleted);
+        this.segments.addAll(written);
+        written.forEach(this::moveOffHeap);
+    }
+
+    private void writeSnapshot(Path directory, ObjectSerializer objectSerializer) throws IOException {
+        List<Path> stale = VectorSegment.list(directory);
+        this.bind(directory, objectSerializer, Collections.emptyList());
+        this.nextSequence = stale.isEmpty() ? 0 : VectorSegment.sequence(stale.get(stale.size() - 1)) + 1;
+        List<Document> documents = new ArrayList<>(this.cache.values());
+        documents.addAll(this.mapped.values());
+        List<float[]> vectors = documents.stream()
+                .map(document -> document instanceof DocumentWithEmbedding
+                        ? ((DocumentWithEmbedding) document).vector()
+                        : ((VectorSegment.SegmentDocument) document).vector())
+                .collect(Collectors.toList());
+        this.pending.clear();
+        this.removed.clear();
+        List<VectorSegment> written = this.writeSegments(documents, vectors, Collections.emptyList());
+        this.segments.addAll(written);
+        written.forEach(this::moveOffHeap);
+        for (Path file : stale) {
+            VectorSegment.delete(file);
+        }
+        VectorSegment.syncDirectory(directory);
+    }
+
+    private List<VectorSegment> writeSegments(List<? extends Document> documents, List<float[]> vectors,
+            List<String> deleted) throws IOException {
+        List<VectorSegment> written = new ArrayList<>();
+        int dimension = vectors.isEmpty() ? 0 : vectors.get(0).length;
+        int capacity = Math.max(1, VectorSegment.capacity(dimension, this.encoding));
+        int from = 0;
+        do {
+            int to = Math.min(documents.size(), from + capacity);
+            written.add(VectorSegment.write(this.directory, this.nextSequence++, documents.subList(from, to),
+                    vectors.subList(from, to), from == 0 ? deleted : Collections.emptyList(), this.encoding,
+                    this.segmentSerializer));
+            from = to;
+        } while (from < documents.size());
+        return written;
+    }
+
+    private void moveOffHeap(VectorSegment segment) {
+        segment.documents().forEach(document -> {
+            DocumentWithEmbedding current = this.cache.get(document.id());
+            if (current == null) {
+                this.mapped.computeIfPresent(document.id(), (id, old) -> document);
+            } else if (!this.pending.contains(document.id()) && this.cache.remove(document.id(), current)) {
+                this.mapped.put(document.id(), document);
+            }
+        });
+    }
+
+    private static double similarity(float[] query, double queryNorm, DocumentWithEmbedding document) {
+        if (query.length != document.vector().length) {
+            throw new IllegalArgumentException("The query dimension must equal the document dimension.");
+        }
+        if (queryNorm == 0 || document.norm() == 0) {
+            return 0;
+        }
+        return MathUtils.cosineSimilarity(query, queryNorm, document.vector(), document.norm());
+    }
+
+    private static void deleteQuietly(VectorSegment segment) {
+        try {
+            segment.deleteFiles();
+        } catch (IOException e) {
+            log.warn("Failed to delete compacted vector segment. [sequence={}]", segment.sequence(), e);
+        }
+    }
+
+    private static List<Float> toList(float[] vector) {
+        List<Float> result = new ArrayList<>(vector.length);
+        for (float value : vector) {
+            result.add(value);
+        }
+        return result;
     }
 
     /**
@@ -113,6 +413,8 @@ public class MemoryVectorStore implements VectorStore {
         private String text;
         private Map<String, Object> metadata;
         private List<Float> embedding;
+        private transient volatile float[] vector;
+        private transient double norm;
 
         /**
          * 从给定的 {@link Document} 和嵌入向量创建一个新的 {@link DocumentWithEmbedding}。
@@ -226,6 +528,32 @@ public class MemoryVectorStore implements VectorStore {
          */
         public void setEmbedding(List<Float> embedding) {
             this.embedding = embedding;
+            this.vector = null;
+        }
+
+        /**
+         * 获取嵌入向量的原始类型数组，首次访问时由 {@link #getEmbedding()} 转换并缓存模长。
+         *
+         * @return 表示嵌入向量的 {@code float[]}。
+         */
+        float[] vector() {
+            float[] current = this.vector;
+            if (current == null) {
+                current = MathUtils.toArray(this.embedding);
+                this.norm = MathUtils.norm(current);
+                this.vector = current;
+            }
+            return current;
+        }
+
+        /**
+         * 获取嵌入向量的模长。
+         *
+         * @return 表示嵌入向量模长的 {@code double}。
+         */
+        double norm() {
+            this.vector();
+            return this.norm;
         }
 
         @Override
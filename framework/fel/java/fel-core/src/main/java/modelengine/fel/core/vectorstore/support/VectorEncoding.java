@@ -0,0 +1,25 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.vectorstore.support;
+
+/**
+ * 表示向量段文件中向量的编码方式。
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+public enum VectorEncoding {
+    /**
+     * 每个分量以 32 位浮点数保存。
+     */
+    FLOAT32,
+
+    /**
+     * 每个向量按最大绝对值对称量化为 8 位整数，体积约为 {@link #FLOAT32} 的四分之一，相似度存在少量误差。
+     */
+    INT8;
+}
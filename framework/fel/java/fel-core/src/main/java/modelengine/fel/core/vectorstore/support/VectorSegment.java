@@ -0,0 +1,464 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.vectorstore.support;
+
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fel.core.document.Document;
+import modelengine.fel.core.util.MathUtils;
+import modelengine.fitframework.inspection.Nonnull;
+import modelengine.fitframework.resource.web.Media;
+import modelengine.fitframework.serialization.ObjectSerializer;
+import modelengine.fitframework.util.MapBuilder;
+import modelengine.fitframework.util.ObjectUtils;
+import modelengine.fitframework.util.TypeUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 表示一个只读的向量段，向量以内存映射的方式保存在堆外，文档的唯一标识、文本和元数据单独保存。
+ * <p>
+ * 每个段由两个文件组成：
+ * <ul>
+ *     <li>{@code segment-<序号>.vec}：小端序二进制文件，依次为 32 字节的文件头（魔数、版本、编码、维度、数量）、
+ *     每个向量的模长、按固定步长存放的向量数据（{@link VectorEncoding#INT8} 时在数据前存放每个向量的量化系数）；</li>
+ *     <li>{@code segment-<序号>.meta}：通过 {@link ObjectSerializer} 保存的文档信息和该段删除的文档唯一标识。</li>
+ * </ul>
+ * 段按序号从小到大叠加，后写入的段覆盖之前段中相同唯一标识的文档。
+ * </p>
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+final class VectorSegment {
+    private static final int MAGIC = 0x46454C56;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final String VECTOR_SUFFIX = ".vec";
+    private static final String META_SUFFIX = ".meta";
+    private static final Pattern FILE_NAME = Pattern.compile("segment-(\\d+)\\.vec");
+    private static final Type META_TYPE = TypeUtils.parameterized(Map.class, new Type[] {String.class, Object.class});
+
+    private final long sequence;
+    private final Path vectorFile;
+    private final VectorEncoding encoding;
+    private final int dimension;
+    private final int count;
+    private final FloatBuffer norms;
+    private final FloatBuffer floats;
+    private final FloatBuffer scales;
+    private final ByteBuffer bytes;
+    private final List<SegmentDocument> documents;
+    private final List<String> deleted;
+
+    private VectorSegment(long sequence, Path vectorFile, MappedByteBuffer buffer,
+            List<Map<String, Object>> documents, List<String> deleted) {
+        this.sequence = sequence;
+        this.vectorFile = vectorFile;
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Unsupported vector segment file. [file=" + vectorFile + "]");
+        }
+        this.encoding = VectorEncoding.values()[buffer.getInt(8)];
+        this.dimension = buffer.getInt(12);
+        this.count = buffer.getInt(16);
+        if (documents.size() != this.count) {
+            throw new IllegalStateException("The vector segment meta does not match its vectors. [file="
+                    + vectorFile + "]");
+        }
+        int offset = HEADER_SIZE;
+        this.norms = slice(buffer, offset, this.count * Float.BYTES).asFloatBuffer();
+        offset += this.count * Float.BYTES;
+        if (this.encoding == VectorEncoding.FLOAT32) {
+            this.floats = slice(buffer, offset, this.count * this.dimension * Float.BYTES).asFloatBuffer();
+            this.scales = null;
+            this.bytes = null;
+        } else {
+            this.floats = null;
+            this.scales = slice(buffer, offset, this.count * Float.BYTES).asFloatBuffer();
+            offset += this.count * Float.BYTES;
+            this.bytes = slice(buffer, offset, this.count * this.dimension);
+        }
+        this.documents = new ArrayList<>(this.count);
+        for (int i = 0; i < this.count; i++) {
+            this.documents.add(new SegmentDocument(this, i, documents.get(i)));
+        }
+        this.deleted = deleted;
+    }
+
+    /**
+     * 计算单个段在给定维度和编码下最多能容纳的向量数量，保证文件可以整体映射。
+     *
+     * @param dimension 表示向量维度的 {@code int}。
+     * @param encoding 表示向量编码方式的 {@link VectorEncoding}。
+     * @return 表示最大向量数量的 {@code int}。
+     */
+    static int capacity(int dimension, VectorEncoding encoding) {
+        long stride = encoding == VectorEncoding.FLOAT32
+                ? (long) (dimension + 1) * Float.BYTES
+                : 2L * Float.BYTES + dimension;
+        return (int) ((Integer.MAX_VALUE - HEADER_SIZE) / stride);
+    }
+
+    /**
+     * 写入一个新的段并以只读方式打开。
+     * <p>两个文件都先写入临时文件并落盘，再原子地重命名，最后同步目录，返回时段已经持久化。</p>
+     *
+     * @param directory 表示段所在目录的 {@link Path}。
+     * @param sequence 表示段序号的 {@code long}。
+     * @param documents 表示段中文档的 {@link List}{@code <}{@link Document}{@code >}。
+     * @param vectors 表示与文档一一对应的向量的 {@link List}{@code <float[]>}。
+     * @param deleted 表示该段删除的文档唯一标识的 {@link Collection}{@code <}{@link String}{@code >}。
+     * @param encoding 表示向量编码方式的 {@link VectorEncoding}。
+     * @param serializer 表示保存文档信息的 {@link ObjectSerializer}。
+     * @return 表示写入成功的 {@link VectorSegment}。
+     * @throws IOException 当写入文件失败时。
+     */
+    static VectorSegment write(Path directory, long sequence, List<? extends Document> documents,
+            List<float[]> vectors, Collection<String> deleted, VectorEncoding encoding, ObjectSerializer serializer)
+            throws IOException {
+        int count = documents.size();
+        int dimension = count == 0 ? 0 : vectors.get(0).length;
+        long size = HEADER_SIZE + (long) count * Float.BYTES + (encoding == VectorEncoding.FLOAT32
+                ? (long) count * dimension * Float.BYTES
+                : (long) count * Float.BYTES + (long) count * dimension);
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many vectors for one segment. [count=" + count + "]");
+        }
+        Files.createDirectories(directory);
+        Path metaFile = directory.resolve(fileName(sequence, META_SUFFIX));
+        Path vectorFile = directory.resolve(fileName(sequence, VECTOR_SUFFIX));
+        List<Map<String, Object>> metas = documents.stream().map(VectorSegment::toMeta).collect(Collectors.toList());
+        Map<String, Object> meta = MapBuilder.<String, Object>get()
+                .put("documents", metas)
+                .put("deleted", new ArrayList<>(deleted))
+                .build();
+        Path metaTemp = directory.resolve(metaFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(metaTemp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            serializer.serialize(meta, out);
+            ByteBuffer content = ByteBuffer.wrap(out.toByteArray());
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+            channel.force(true);
+        }
+        Path vectorTemp = directory.resolve(vectorFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(vectorTemp, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(encoding.ordinal()).putInt(dimension).putInt(count);
+            buffer.position(HEADER_SIZE);
+            if (encoding == VectorEncoding.FLOAT32) {
+                writeFloats(buffer, vectors);
+            } else {
+                writeBytes(buffer, vectors, count);
+            }
+            buffer.force();
+        }
+        Files.move(metaTemp, metaFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(vectorTemp, vectorFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(directory);
+        return open(vectorFile, serializer);
+    }
+
+    /**
+     * 将目录项的变更落盘，保证重命名和删除在宕机后仍然可见。
+     *
+     * @param directory 表示需要同步的目录的 {@link Path}。
+     */
+    static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // 部分平台（如 Windows）不支持以通道方式打开目录，此时依赖文件系统自身的元数据持久化。
+        }
+    }
+
+    /**
+     * 以只读内存映射的方式打开段。
+     *
+     * @param vectorFile 表示段向量文件的 {@link Path}。
+     * @param serializer 表示读取文档信息的 {@link ObjectSerializer}。
+     * @return 表示打开的 {@link VectorSegment}。
+     * @throws IOException 当读取文件失败时。
+     */
+    static VectorSegment open(Path vectorFile, ObjectSerializer serializer) throws IOException {
+        long sequence = sequence(vectorFile);
+        Path metaFile = vectorFile.resolveSibling(fileName(sequence, META_SUFFIX));
+        Map<String, Object> meta;
+        try (InputStream in = Files.newInputStream(metaFile)) {
+            meta = serializer.deserialize(in, META_TYPE);
+        }
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(vectorFile, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        List<Map<String, Object>> documents = ObjectUtils.cast(meta.get("documents"));
+        List<String> deleted = ObjectUtils.cast(meta.get("deleted"));
+        return new VectorSegment(sequence, vectorFile, buffer,
+                documents == null ? Collections.emptyList() : documents,
+                deleted == null ? Collections.emptyList() : deleted);
+    }
+
+    /**
+     * 列出目录中所有完整写入的段向量文件，按序号升序排列。
+     *
+     * @param directory 表示段所在目录的 {@link Path}。
+     * @return 表示段向量文件的 {@link List}{@code <}{@link Path}{@code >}。
+     * @throws IOException 当读取目录失败时。
+     */
+    static List<Path> list(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> FILE_NAME.matcher(file.getFileName().toString()).matches())
+                    .filter(file -> Files.exists(file.resolveSibling(fileName(sequence(file), META_SUFFIX))))
+                    .sorted(Comparator.comparingLong(VectorSegment::sequence))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * 获取段的序号。
+     *
+     * @param vectorFile 表示段向量文件的 {@link Path}。
+     * @return 表示段序号的 {@code long}。
+     */
+    static long sequence(Path vectorFile) {
+        Matcher matcher = FILE_NAME.matcher(vectorFile.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a vector segment file. [file=" + vectorFile + "]");
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    long sequence() {
+        return this.sequence;
+    }
+
+    VectorEncoding encoding() {
+        return this.encoding;
+    }
+
+    int size() {
+        return this.count;
+    }
+
+    List<SegmentDocument> documents() {
+        return this.documents;
+    }
+
+    List<String> deleted() {
+        return this.deleted;
+    }
+
+    /**
+     * 直接在映射的缓冲区上计算查询向量与段中第 {@code index} 个向量的余弦相似度。
+     *
+     * @param query 表示查询向量的 {@code float[]}。
+     * @param queryNorm 表示查询向量模长的 {@code double}。
+     * @param index 表示段中向量下标的 {@code int}。
+     * @return 表示余弦相似度的 {@code double}，任一向量为零向量时返回 {@code 0}。
+     */
+    double similarity(float[] query, double queryNorm, int index) {
+        notNull(query, "The query cannot be null.");
+        if (query.length != this.dimension) {
+            throw new IllegalArgumentException("The query dimension must equal the segment dimension.");
+        }
+        double norm = this.norms.get(index);
+        if (norm == 0 || queryNorm == 0) {
+            return 0;
+        }
+        double dot;
+        if (this.encoding == VectorEncoding.FLOAT32) {
+            dot = MathUtils.dot(query, this.floats, index * this.dimension);
+        } else {
+            int offset = index * this.dimension;
+            float sum = 0;
+            for (int i = 0; i < this.dimension; i++) {
+                sum += query[i] * this.bytes.get(offset + i);
+            }
+            dot = sum * this.scales.get(index);
+        }
+        return dot / (queryNorm * norm);
+    }
+
+    /**
+     * 读取段中第 {@code index} 个向量到堆内，量化编码时返回反量化后的结果。
+     *
+     * @param index 表示段中向量下标的 {@code int}。
+     * @return 表示向量的 {@code float[]}。
+     */
+    float[] vector(int index) {
+        float[] vector = new float[this.dimension];
+        int offset = index * this.dimension;
+        if (this.encoding == VectorEncoding.FLOAT32) {
+            for (int i = 0; i < this.dimension; i++) {
+                vector[i] = this.floats.get(offset + i);
+            }
+        } else {
+            float scale = this.scales.get(index);
+            for (int i = 0; i < this.dimension; i++) {
+                vector[i] = this.bytes.get(offset + i) * scale;
+            }
+        }
+        return vector;
+    }
+
+    /**
+     * 删除段的文件，已映射的缓冲区在被回收前仍然可读。
+     *
+     * @throws IOException 当删除文件失败时。
+     */
+    void deleteFiles() throws IOException {
+        delete(this.vectorFile);
+    }
+
+    /**
+     * 删除段向量文件及其对应的文档信息文件。
+     *
+     * @param vectorFile 表示段向量文件的 {@link Path}。
+     * @throws IOException 当删除文件失败时。
+     */
+    static void delete(Path vectorFile) throws IOException {
+        Files.deleteIfExists(vectorFile);
+        Files.deleteIfExists(vectorFile.resolveSibling(fileName(sequence(vectorFile), META_SUFFIX)));
+    }
+
+    private static String fileName(long sequence, String suffix) {
+        return String.format("segment-%012d%s", sequence, suffix);
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int offset, int length) {
+        return buffer.duplicate().position(offset).limit(offset + length).slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static Map<String, Object> toMeta(Document document) {
+        return MapBuilder.<String, Object>get()
+                .put("id", document.id())
+                .put("text", document.text())
+                .put("metadata", document.metadata())
+                .build();
+    }
+
+    private static void writeFloats(ByteBuffer buffer, List<float[]> vectors) {
+        for (float[] vector : vectors) {
+            buffer.putFloat((float) MathUtils.norm(vector));
+        }
+        for (float[] vector : vectors) {
+            for (float value : vector) {
+                buffer.putFloat(value);
+            }
+        }
+    }
+
+    private static void writeBytes(ByteBuffer buffer, List<float[]> vectors, int count) {
+        float[] scales = new float[count];
+        byte[][] quantized = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            float[] vector = vectors.get(i);
+            float max = 0;
+            for (float value : vector) {
+                max = Math.max(max, Math.abs(value));
+            }
+            scales[i] = max == 0 ? 0 : max / Byte.MAX_VALUE;
+            quantized[i] = new byte[vector.length];
+            float[] restored = new float[vector.length];
+            for (int j = 0; j < vector.length; j++) {
+                quantized[i][j] = scales[i] == 0 ? 0 : (byte) Math.round(vector[j] / scales[i]);
+                restored[j] = quantized[i][j] * scales[i];
+            }
+            buffer.putFloat((float) MathUtils.norm(restored));
+        }
+        for (float scale : scales) {
+            buffer.putFloat(scale);
+        }
+        for (byte[] vector : quantized) {
+            buffer.put(vector);
+        }
+    }
+
+    /**
+     * 表示保存在段中的文档，向量保留在映射的缓冲区中。
+     */
+    static final class SegmentDocument implements Document {
+        private final VectorSegment segment;
+        private final int index;
+        private final String id;
+        private final String text;
+        private final Map<String, Object> metadata;
+
+        private SegmentDocument(VectorSegment segment, int index, Map<String, Object> meta) {
+            this.segment = segment;
+            this.index = index;
+            this.id = ObjectUtils.cast(meta.get("id"));
+            this.text = ObjectUtils.cast(meta.get("text"));
+            Map<String, Object> metadata = ObjectUtils.cast(meta.get("metadata"));
+            this.metadata = metadata == null ? Collections.emptyMap() : metadata;
+        }
+
+        VectorSegment segment() {
+            return this.segment;
+        }
+
+        double similarity(float[] query, double queryNorm) {
+            return this.segment.similarity(query, queryNorm, this.index);
+        }
+
+        float[] vector() {
+            return this.segment.vector(this.index);
+        }
+
+        @Nonnull
+        @Override
+        public String text() {
+            return this.text;
+        }
+
+        @Override
+        public List<Media> medias() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public String id() {
+            return this.id;
+        }
+
+        @Nonnull
+        @Override
+        public Map<String, Object> metadata() {
+            return this.metadata;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.chat.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import modelengine.fel.core.chat.ChatMessage;
+import modelengine.fel.core.chat.ChatModel;
+import modelengine.fel.core.chat.ChatOption;
+import modelengine.fel.core.embed.EmbedModel;
+import modelengine.fel.core.embed.EmbedOption;
+import modelengine.fel.core.embed.Embedding;
+import modelengine.fel.core.embed.support.DefaultDocumentEmbedModel;
+import modelengine.fel.core.vectorstore.support.MemoryVectorStore;
+import modelengine.fitframework.flowable.Choir;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 表示 {@link CachedChatModel} 的单元测试。
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+@DisplayName("测试 CachedChatModel")
+public class CachedChatModelTest {
+    private final AtomicInteger calls = new AtomicInteger();
+    private final ChatModel chatModel = (prompt, option) -> {
+        int call = this.calls.incrementAndGet();
+        return Choir.just(new AiMessage("answer-" + call + ":"), new AiMessage(prompt.text()));
+    };
+    private final ChatOption option = ChatOption.custom().model("stub").stream(true).build();
+
+    @Test
+    @DisplayName("相同的消息和参数命中精确缓存，按原始分块重放")
+    void shouldReplayChunksWhenExactHit() {
+        CachedChatModel model = CachedChatModel.builder().chatModel(this.chatModel).build();
+        List<String> first = texts(model.generate(ChatMessages.from(new HumanMessage("hello")), this.option));
+        List<String> second = texts(model.generate(ChatMessages.from(new HumanMessage("hello")), this.option));
+        assertThat(second).isEqualTo(first).containsExactly("answer-1:", "hello");
+
+        texts(model.generate(ChatMessages.from(new HumanMessage("hello")),
+                ChatOption.custom().model("stub").stream(true).temperature(0.5).build()));
+        assertThat(this.calls.get()).isEqualTo(2);
+        CachedChatModel.Statistics statistics = model.statistics();
+        assertThat(statistics.exactHits()).isEqualTo(1);
+        assertThat(statistics.misses()).isEqualTo(2);
+        assertThat(statistics.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("记录过期或超过容量后重新调用模型")
+    void shouldCallModelWhenExpiredOrEvicted() throws InterruptedException {
+        CachedChatModel model =
+                CachedChatModel.builder().chatModel(this.chatModel).ttl(Duration.ofMillis(50)).maxSize(2).build();
+        texts(model.generate(ChatMessages.from(new HumanMessage("a")), this.option));
+        Thread.sleep(100);
+        texts(model.generate(ChatMessages.from(new HumanMessage("a")), this.option));
+        assertThat(this.calls.get()).isEqualTo(2);
+
+        CachedChatModel bounded = CachedChatModel.builder().chatModel(this.chatModel).maxSize(2).build();
+        for (String text : List.of("a", "b", "a", "c", "b")) {
+            texts(bounded.generate(ChatMessages.from(new HumanMessage(text)), this.option));
+        }
+        assertThat(bounded.statistics().exactHits()).isEqualTo(1);
+        assertThat(bounded.statistics().size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("相似的提示词命中语义缓存，模型参数不同时不复用")
+    void shouldReuseAnswerWhenSemanticHit() {
+        MemoryVectorStore vectorStore = new MemoryVectorStore(new DefaultDocumentEmbedModel(new LetterEmbedModel(),
+                EmbedOption.custom().model("letters").build()));
+        CachedChatModel model =
+                CachedChatModel.builder().chatModel(this.chatModel).vectorStore(vectorStore).threshold(0.99).build();
+        texts(model.generate(ChatMessages.from(new HumanMessage("What is the weather today")), this.option));
+
+        assertThat(texts(model.generate(ChatMessages.from(new HumanMessage("what is the weather today?")),
+                this.option))).containsExactly("answer-1:", "What is the weather today");
+        texts(model.generate(ChatMessages.from(new HumanMessage("Tell me a joke")), this.option));
+        texts(model.generate(ChatMessages.from(new HumanMessage("what is the weather today?")),
+                ChatOption.custom().model("other").stream(true).build()));
+        assertThat(this.calls.get()).isEqualTo(3);
+        assertThat(model.statistics().semanticHits()).isEqualTo(1);
+    }
+
+    private static List<String> texts(Choir<ChatMessage> choir) {
+        return choir.blockAll().stream().map(ChatMessage::text).collect(Collectors.toList());
+    }
+
+    /**
+     * 以字母频次作为向量的嵌入模型打桩实现。
+     */
+    private static class LetterEmbedModel implements EmbedModel {
+        @Override
+        public List<Embedding> generate(List<String> inputs, EmbedOption option) {
+            List<Embedding> embeddings = new ArrayList<>();
+            for (String input : inputs) {
+                Float[] vector = new Float[26];
+                Arrays.fill(vector, 0F);
+                input.toLowerCase().chars().filter(c -> c >= 'a' && c <= 'z').forEach(c -> vector[c - 'a'] += 1F);
+                List<Float> list = List.of(vector);
+                embeddings.add(() -> list);
+            }
+            return embeddings;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.document.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import modelengine.fel.core.document.Document;
+import modelengine.fel.core.pattern.Source;
+import modelengine.fel.core.pattern.Splitter;
+import modelengine.fel.core.pattern.Store;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 表示 {@link IngestionPipeline} 的单元测试。
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+@DisplayName("测试 IngestionPipeline")
+public class IngestionPipelineTest {
+    private final Set<Integer> loaded = ConcurrentHashMap.newKeySet();
+    private final Source<Integer> source = input -> {
+        this.loaded.add(input);
+        Map<String, Object> metadata = new HashMap<>();
+        return new ArrayList<>(List.of(Document.custom().id("doc-" + input).text("a b c").metadata(metadata).build()));
+    };
+    private final Splitter<Document> splitter = document -> IntStream.range(0, 3)
+            .mapToObj(i -> Document.custom()
+                    .id(document.id() + "-" + i)
+                    .text(document.text().split(" ")[i])
+                    .metadata(document.metadata())
+                    .build())
+            .collect(Collectors.toList());
+
+    @Test
+    @DisplayName("并行加载切分并按批次存储全部文档")
+    void shouldStoreAllDocumentsInBatches() {
+        RecordingStore store = new RecordingStore(-1);
+        long stored = IngestionPipeline.<Integer>builder()
+                .source(this.source)
+                .splitter(this.splitter)
+                .store(store)
+                .parallelism(4)
+                .batchSize(16)
+                .queueCapacity(4)
+                .build()
+                .ingest(range(100));
+        assertThat(stored).isEqualTo(300);
+        assertThat(store.ids()).hasSize(300).doesNotHaveDuplicates();
+        assertThat(store.batches).allMatch(batch -> batch.size() <= 16);
+        assertThat(store.batches).hasSize(19);
+    }
+
+    @Test
+    @DisplayName("存储失败后使用检查点恢复，跳过已完成的输入")
+    void shouldResumeFromCheckpointWhenStoreFails(@TempDir Path directory) {
+        Path checkpoint = directory.resolve("ingest.checkpoint");
+        RecordingStore failing = new RecordingStore(3);
+        IngestionPipeline<Integer> first = IngestionPipeline.<Integer>builder()
+                .source(this.source)
+                .splitter(this.splitter)
+                .store(failing)
+                .parallelism(1)
+                .batchSize(10)
+                .checkpoint(checkpoint)
+                .build();
+        assertThatThrownBy(() -> first.ingest(range(20))).isInstanceOf(IllegalStateException.class)
+                .hasMessage("store failed");
+        assertThat(failing.ids()).hasSize(20);
+
+        this.loaded.clear();
+        RecordingStore store = new RecordingStore(-1);
+        IngestionPipeline.<Integer>builder()
+                .source(this.source)
+                .splitter(this.splitter)
+                .store(store)
+                .parallelism(2)
+                .batchSize(10)
+                .checkpoint(checkpoint)
+                .build()
+                .ingest(range(20));
+        assertThat(this.loaded).hasSize(14).doesNotContain(0, 5).contains(6);
+        Set<String> all = ConcurrentHashMap.newKeySet();
+        all.addAll(failing.ids());
+        all.addAll(store.ids());
+        assertThat(all).hasSize(60);
+    }
+
+    @Test
+    @DisplayName("存储失败且输入多于队列容量时，流水线结束并抛出原始异常")
+    void shouldNotBlockWhenStoreFailsWithFullQueues() {
+        Store<List<Document>> failing = data -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("store failed");
+        };
+        IngestionPipeline<Integer> pipeline = IngestionPipeline.<Integer>builder()
+                .source(this.source)
+                .splitter(this.splitter)
+                .store(failing)
+                .parallelism(2)
+                .batchSize(1)
+                .queueCapacity(4)
+                .build();
+        assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> assertThatThrownBy(() -> pipeline.ingest(range(200))).isInstanceOf(
+                        IllegalStateException.class).hasMessage("store failed"));
+    }
+
+    private static List<Integer> range(int count) {
+        return IntStream.range(0, count).boxed().collect(Collectors.toList());
+    }
+
+    /**
+     * 记录每次提交内容的存储打桩实现。
+     */
+    private static class RecordingStore implements Store<List<Document>> {
+        private final List<List<Document>> batches = new CopyOnWriteArrayList<>();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final int failAt;
+
+        RecordingStore(int failAt) {
+            this.failAt = failAt;
+        }
+
+        List<String> ids() {
+            return this.batches.stream().flatMap(List::stream).map(Document::id).collect(Collectors.toList());
+        }
+
+        @Override
+        public void persistent(List<Document> data) {
+            if (this.calls.incrementAndGet() == this.failAt) {
+                throw new IllegalStateException("store failed");
+            }
+            this.batches.add(Collections.unmodifiableList(data));
+        }
+    }
+}
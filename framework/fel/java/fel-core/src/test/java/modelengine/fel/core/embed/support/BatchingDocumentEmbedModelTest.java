@@ -0,0 +1,212 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.embed.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import modelengine.fel.core.document.Document;
+import modelengine.fel.core.embed.BatchEmbedOption;
+import modelengine.fel.core.embed.EmbedModel;
+import modelengine.fel.core.embed.EmbedOption;
+import modelengine.fel.core.embed.Embedding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 表示 {@link BatchingDocumentEmbedModel} 的单元测试。
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+@DisplayName("测试 BatchingDocumentEmbedModel")
+public class BatchingDocumentEmbedModelTest {
+    private final EmbedOption embedOption = EmbedOption.custom().model("stub").build();
+
+    @Test
+    @DisplayName("输入超过批大小时分批调用，重复文本只嵌入一次")
+    void shouldSplitAndDeduplicateWhenEmbedDocuments() {
+        RecordingEmbedModel model = new RecordingEmbedModel(0);
+        BatchingDocumentEmbedModel embedModel = new BatchingDocumentEmbedModel(model,
+                this.embedOption,
+                BatchEmbedOption.custom().batchSize(4).build());
+        List<Document> documents = IntStream.range(0, 20)
+                .mapToObj(i -> Document.custom().text("text-" + (i % 10)).metadata(Collections.emptyMap()).build())
+                .collect(Collectors.toList());
+
+        List<Embedding> embeddings = embedModel.embed(documents);
+        assertThat(embeddings).hasSize(20);
+        assertThat(embeddings.get(13).embedding()).isEqualTo(RecordingEmbedModel.vector("text-3"));
+        assertThat(model.batches).hasSize(3).allMatch(batch -> batch.size() <= 4);
+        assertThat(model.inputs()).hasSize(10).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("再次嵌入相同文本时命中缓存，不再调用模型")
+    void shouldHitCacheWhenEmbedAgain() {
+        RecordingEmbedModel model = new RecordingEmbedModel(0);
+        BatchingDocumentEmbedModel embedModel = new BatchingDocumentEmbedModel(model, this.embedOption);
+        embedModel.embed(documents("a", "b", "c"));
+        embedModel.embed(documents("a", "b", "c", "d"));
+        assertThat(embedModel.embed("d").embedding()).isEqualTo(RecordingEmbedModel.vector("d"));
+        assertThat(model.inputs()).containsExactlyInAnyOrder("a", "b", "c", "d");
+    }
+
+    @Test
+    @DisplayName("内存缓存丢失后从磁盘缓存恢复")
+    void shouldReadDiskCacheWhenCreateNewInstance(@TempDir Path directory) {
+        RecordingEmbedModel model = new RecordingEmbedModel(0);
+        BatchEmbedOption option = BatchEmbedOption.custom().cacheDirectory(directory).build();
+        new BatchingDocumentEmbedModel(model, this.embedOption, option).embed(documents("x", "y"));
+
+        BatchingDocumentEmbedModel another = new BatchingDocumentEmbedModel(model, this.embedOption, option);
+        assertThat(another.embed("x").embedding()).isEqualTo(RecordingEmbedModel.vector("x"));
+        assertThat(model.inputs()).containsExactlyInAnyOrder("x", "y");
+    }
+
+    @Test
+    @DisplayName("并发的单条查询合并为少量批次")
+    void shouldCoalesceConcurrentQueries() throws Exception {
+        RecordingEmbedModel model = new RecordingEmbedModel(20);
+        BatchingDocumentEmbedModel embedModel = new BatchingDocumentEmbedModel(model, this.embedOption);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Embedding>> results = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            String query = "query-" + (i % 16);
+            results.add(pool.submit(() -> {
+                start.await();
+                return embedModel.embed(query);
+            }));
+        }
+        start.countDown();
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).get(5, TimeUnit.SECONDS).embedding()).isEqualTo(RecordingEmbedModel.vector(
+                    "query-" + (i % 16)));
+        }
+        pool.shutdown();
+        assertThat(model.inputs()).hasSize(16).doesNotHaveDuplicates();
+        assertThat(model.batches.size()).isLessThan(16);
+    }
+
+    @Test
+    @DisplayName("模型调用失败时抛出原始异常，且不影响后续重试")
+    void shouldThrowAndRetryWhenModelFails() {
+        AtomicInteger calls = new AtomicInteger();
+        EmbedModel failing = (inputs, option) -> {
+            if (calls.getAndIncrement() == 0) {
+                throw new IllegalStateException("boom");
+            }
+            return inputs.stream().map(RecordingEmbedModel::embedding).collect(Collectors.toList());
+        };
+        BatchingDocumentEmbedModel embedModel = new BatchingDocumentEmbedModel(failing, this.embedOption);
+        assertThatThrownBy(() -> embedModel.embed("q")).isInstanceOf(IllegalStateException.class)
+                .hasMessage("boom");
+        assertThat(embedModel.embed("q").embedding()).isEqualTo(RecordingEmbedModel.vector("q"));
+    }
+
+    @Test
+    @DisplayName("后台批次抛出 Error 时调用方收到原始错误，且不影响后续重试")
+    void shouldCompleteBatchWhenModelThrowsError() {
+        AtomicInteger failures = new AtomicInteger();
+        EmbedModel failing = (inputs, option) -> {
+            if (inputs.contains("b") && failures.getAndIncrement() == 0) {
+                throw new AssertionError("fatal");
+            }
+            return inputs.stream().map(RecordingEmbedModel::embedding).collect(Collectors.toList());
+        };
+        BatchingDocumentEmbedModel embedModel = new BatchingDocumentEmbedModel(failing,
+                this.embedOption,
+                BatchEmbedOption.custom().batchSize(1).build());
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThatThrownBy(() -> embedModel.embed(documents("a", "b"))).isInstanceOf(
+                        AssertionError.class).hasMessage("fatal"));
+        assertThat(embedModel.embed("b").embedding()).isEqualTo(RecordingEmbedModel.vector("b"));
+        embedModel.close();
+    }
+
+    @Test
+    @DisplayName("关闭后仍可以嵌入，批次改为在调用线程中执行")
+    void shouldEmbedInCallerThreadWhenClosed() {
+        RecordingEmbedModel model = new RecordingEmbedModel(0);
+        BatchingDocumentEmbedModel embedModel = new BatchingDocumentEmbedModel(model,
+                this.embedOption,
+                BatchEmbedOption.custom().batchSize(1).build());
+        embedModel.close();
+        List<Embedding> embeddings = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> embedModel.embed(documents("a", "b", "c")));
+        assertThat(embeddings).extracting(Embedding::embedding)
+                .containsExactly(RecordingEmbedModel.vector("a"),
+                        RecordingEmbedModel.vector("b"),
+                        RecordingEmbedModel.vector("c"));
+        assertThat(model.batches).hasSize(3);
+    }
+
+    private static List<Document> documents(String... texts) {
+        List<Document> documents = new ArrayList<>();
+        for (String text : texts) {
+            documents.add(Document.custom().text(text).metadata(Collections.emptyMap()).build());
+        }
+        return documents;
+    }
+
+    /**
+     * 记录每次调用输入的嵌入模型打桩实现。
+     */
+    private static class RecordingEmbedModel implements EmbedModel {
+        private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+        private final long delayMillis;
+
+        RecordingEmbedModel(long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        static List<Float> vector(String input) {
+            return List.of((float) input.length(), (float) input.hashCode(), 1f);
+        }
+
+        static Embedding embedding(String input) {
+            List<Float> vector = vector(input);
+            return () -> vector;
+        }
+
+        List<String> inputs() {
+            return this.batches.stream().flatMap(List::stream).collect(Collectors.toList());
+        }
+
+        @Override
+        public List<Embedding> generate(List<String> inputs, EmbedOption option) {
+            this.batches.add(new ArrayList<>(inputs));
+            if (this.delayMillis > 0) {
+                try {
+                    Thread.sleep(this.delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return inputs.stream().map(RecordingEmbedModel::embedding).collect(Collectors.toList());
+        }
+    }
+}
@@ -7,6 +7,7 @@
 package modelengine.fel.core.format.json;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import modelengine.fel.core.format.MarkdownCompatibleParser;
 import modelengine.fel.core.format.OutputParser;
@@ -14,6 +15,7 @@ import modelengine.fel.core.pattern.Parser;
 import modelengine.fit.serialization.json.jackson.JacksonObjectSerializer;
 import modelengine.fitframework.annotation.Property;
 import modelengine.fitframework.serialization.ObjectSerializer;
+import modelengine.fitframework.util.ObjectUtils;
 import modelengine.fitframework.util.TypeUtils;
 
 import org.junit.jupiter.api.DisplayName;
@@ -26,7 +28,9 @@ import org.junit.jupiter.params.provider.ArgumentsProvider;
 import org.junit.jupiter.params.provider.ArgumentsSource;
 
 import java.lang.reflect.Type;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 /**
@@ -132,5 +136,127 @@ public class JsonOutputParserTest {
             String output = TEST_SERIALIZER.serialize(outputParser.parse(input));
             assertThat(output).isEqualTo(except);
         }
+
+        @Test
+        @DisplayName("逐字符输入流式 json，每次返回已输出部分的结果")
+        void giveStreamingJsonThenParseIncrementally() {
+            OutputParser<Map<String, Object>> outputParser = JsonOutputParser.createPartial(TEST_SERIALIZER,
+                    TypeUtils.parameterized(Map.class, new Type[] {String.class, Object.class}));
+            String json = "{\"name\": \"fel\\u0021\", \"tags\": [\"a\", {\"b\": null}], \"count\": -12.5e1, "
+                    + "\"big\": 12345678901, \"ok\": true}";
+            Map<String, Object> result = null;
+            for (int i = 1; i <= json.length(); i++) {
+                result = outputParser.parse(json.substring(0, i));
+                if (i == json.indexOf("fel") + 2) {
+                    assertThat(result).containsEntry("name", "fe");
+                }
+                if (i == json.indexOf("-12.5e")) {
+                    assertThat(result).containsOnlyKeys("name", "tags");
+                }
+            }
+            assertThat(result).isEqualTo(TEST_SERIALIZER.deserialize(json,
+                    TypeUtils.parameterized(Map.class, new Type[] {String.class, Object.class})));
+            assertThat(result.get("count")).isEqualTo(-125.0);
+            assertThat(result.get("big")).isEqualTo(12345678901L);
+        }
+
+        @Test
+        @DisplayName("输入不是上次输入的延续时重新解析")
+        void giveUnrelatedInputThenParseFromScratch() {
+            OutputParser<Map<String, Object>> outputParser = JsonOutputParser.createPartial(TEST_SERIALIZER,
+                    TypeUtils.parameterized(Map.class, new Type[] {String.class, Object.class}));
+            assertThat(outputParser.parse("{\"foo\": \"ba")).containsEntry("foo", "ba");
+            assertThat(outputParser.parse("{\"bar\": 1")).containsOnlyKeys("bar").containsEntry("bar", 1);
+            assertThat(outputParser.parse("{\"foo\": \"bar\"}")).containsEntry("foo", "bar");
+        }
+
+        @Test
+        @DisplayName("返回的结果不可修改，不会影响后续解析")
+        void giveStreamingJsonThenReturnUnmodifiableResult() {
+            OutputParser<Map<String, Object>> outputParser = JsonOutputParser.createPartial(TEST_SERIALIZER,
+                    TypeUtils.parameterized(Map.class, new Type[] {String.class, Object.class}));
+            Map<String, Object> partial = outputParser.parse("{\"tags\": [\"a\"], \"name\": \"fe");
+            assertThatThrownBy(() -> partial.put("name", "x")).isInstanceOf(UnsupportedOperationException.class);
+            List<Object> tags = ObjectUtils.cast(partial.get("tags"));
+            assertThatThrownBy(() -> tags.add("b")).isInstanceOf(UnsupportedOperationException.class);
+            Map<String, Object> complete = outputParser.parse("{\"tags\": [\"a\"], \"name\": \"fel\"}");
+            assertThatThrownBy(() -> complete.clear()).isInstanceOf(UnsupportedOperationException.class);
+            assertThat(complete).containsEntry("name", "fel").containsEntry("tags", List.of("a"));
+        }
+
+        @Test
+        @DisplayName("输入无法构成 json 后，流的后续输入不再重复严格解析")
+        void giveMalformedStreamThenParseStrictlyOnce() {
+            AtomicInteger calls = new AtomicInteger();
+            JsonOutputParser<Map<String, Object>> strict = new JsonOutputParser<Map<String, Object>>() {
+                private final JsonOutputParser<Map<String, Object>> delegate = new BeanJsonOutputParser<>(
+                        TEST_SERIALIZER,
+                        TypeUtils.parameterized(Map.class, new Type[] {String.class, Object.class}),
+                        null);
+
+                @Override
+                public String instruction() {
+                    return this.delegate.instruction();
+                }
+
+                @Override
+                public Map<String, Object> parse(String input) {
+                    calls.incrementAndGet();
+                    return this.delegate.parse(input);
+                }
+            };
+            OutputParser<Map<String, Object>> outputParser = new PartialJsonOutputParser<>(strict);
+            String malformed = "{\"foo\": bar, \"baz\": \"qux\"}";
+            int failedAt = malformed.indexOf("bar") + 1;
+            for (int i = 1; i <= failedAt; i++) {
+                outputParser.parse(malformed.substring(0, i));
+            }
+            int strictCalls = calls.get();
+            for (int i = failedAt + 1; i <= malformed.length(); i++) {
+                assertThat(outputParser.parse(malformed.substring(0, i))).isEmpty();
+            }
+            assertThat(calls.get()).isEqualTo(strictCalls);
+            assertThat(outputParser.parse("{\"foo\": 1}")).containsEntry("foo", 1);
+        }
+
+        @Test
+        @DisplayName("流式 json 绑定到对象，返回正确结果")
+        void giveStreamingJsonThenBindObject() {
+            OutputParser<Joke> outputParser = JsonOutputParser.createPartial(TEST_SERIALIZER, Joke.class);
+            assertThat(outputParser.parse("{\"setup\": \"foo\", \"punch").getSetup()).isEqualTo("foo");
+            Joke joke = outputParser.parse("{\"setup\": \"foo\", \"punchline\": \"ba");
+            assertThat(joke.getSetup()).isEqualTo("foo");
+            assertThat(joke.getPunchline()).isEqualTo("ba");
+        }
+
+        @Test
+        @DisplayName("流式 json 绑定到对象时，字符串逐字符增长不会每次都重新绑定")
+        void giveStreamingLongStringThenBindObjectSparsely() {
+            AtomicInteger calls = new AtomicInteger();
+            JsonOutputParser<Joke> counting = new JsonOutputParser<Joke>() {
+                private final JsonOutputParser<Joke> delegate =
+                        new BeanJsonOutputParser<>(TEST_SERIALIZER, Joke.class, null);
+
+                @Override
+                public String instruction() {
+                    return this.delegate.instruction();
+                }
+
+                @Override
+                public Joke parse(String input) {
+                    calls.incrementAndGet();
+                    return this.delegate.parse(input);
+                }
+            };
+            OutputParser<Joke> outputParser = new PartialJsonOutputParser<>(counting);
+            String json = "{\"setup\": \"foo\", \"punchline\": \"" + "a".repeat(4096) + "\"}";
+            Joke joke = null;
+            for (int i = 1; i <= json.length(); i++) {
+                joke = outputParser.parse(json.substring(0, i));
+            }
+            assertThat(joke.getSetup()).isEqualTo("foo");
+            assertThat(joke.getPunchline()).hasSize(4096);
+            assertThat(calls.get()).isLessThan(64);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.memory.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import modelengine.fel.core.chat.ChatMessage;
+import modelengine.fel.core.chat.support.AiMessage;
+import modelengine.fel.core.chat.support.HumanMessage;
+import modelengine.fel.core.chat.support.SystemMessage;
+import modelengine.fel.core.splitter.support.SimpleTokenizer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 表示 {@link TokenWindowMemory} 的测试集。
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+@DisplayName("测试 TokenWindowMemory")
+public class TokenWindowMemoryTest {
+    private final List<ChatMessage> messages =
+            Arrays.asList(new HumanMessage("hello"), new AiMessage("hello"), new HumanMessage("bye"));
+
+    @Test
+    @DisplayName("测试未超过窗口时，读取格式化文本和分词数成功。")
+    void giveMessagesWithinWindowThenReadTextOk() {
+        TokenWindowMemory memory = new TokenWindowMemory(new SimpleTokenizer(), 100);
+        this.messages.forEach(memory::add);
+        assertThat(memory.messages()).isEqualTo(this.messages);
+        assertThat(memory.text()).isEqualTo("human:hello\nai:hello\nhuman:bye");
+        assertThat(memory.tokens()).isEqualTo(28);
+    }
+
+    @Test
+    @DisplayName("测试超过窗口时，淘汰最早的消息。")
+    void giveMessagesOverWindowThenEvictOldest() {
+        TokenWindowMemory memory = new TokenWindowMemory(new SimpleTokenizer(), 20);
+        this.messages.forEach(memory::add);
+        assertThat(memory.messages()).isEqualTo(this.messages.subList(1, 3));
+        assertThat(memory.text()).isEqualTo("ai:hello\nhuman:bye");
+        assertThat(memory.tokens()).isEqualTo(17);
+    }
+
+    @Test
+    @DisplayName("测试设置摘要函数时，被淘汰的消息合并为摘要。")
+    void giveSummarizerThenSummarizeEvictedMessages() {
+        List<List<ChatMessage>> calls = new ArrayList<>();
+        TokenWindowMemory memory = new TokenWindowMemory(new SimpleTokenizer(), 20, evicted -> {
+            calls.add(evicted);
+            return new SystemMessage("s" + calls.size());
+        });
+        this.messages.forEach(memory::add);
+        assertThat(calls).hasSize(2);
+        assertThat(calls.get(1)).extracting(ChatMessage::text).containsExactly("s1", "hello");
+        assertThat(memory.text()).isEqualTo("system:s2\nhuman:bye");
+        assertThat(memory.tokens()).isEqualTo(18);
+    }
+
+    @Test
+    @DisplayName("测试长会话时，每条消息只计算一次分词数且文本不会无限增长。")
+    void giveLongSessionThenCountOnceAndStayBounded() {
+        AtomicInteger counts = new AtomicInteger();
+        SimpleTokenizer tokenizer = new SimpleTokenizer() {
+            @Override
+            public int countToken(String text) {
+                counts.incrementAndGet();
+                return super.countToken(text);
+            }
+        };
+        TokenWindowMemory memory = new TokenWindowMemory(tokenizer, 51);
+        for (int i = 0; i < 1000; i++) {
+            memory.add(new HumanMessage("message-" + i));
+            assertThat(memory.text()).endsWith("human:message-" + i);
+        }
+        assertThat(counts.get()).isEqualTo(1000);
+        assertThat(memory.tokens()).isEqualTo(51);
+        assertThat(memory.text()).isEqualTo("human:message-997\nhuman:message-998\nhuman:message-999");
+    }
+}
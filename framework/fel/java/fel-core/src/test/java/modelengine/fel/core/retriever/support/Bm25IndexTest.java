@@ -0,0 +1,53 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.retriever.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 表示 {@link Bm25Index} 的单元测试。
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+@DisplayName("测试 Bm25Index")
+public class Bm25IndexTest {
+    @Test
+    @DisplayName("按非字母数字字符切分，表意文字按单字切分，可选按驼峰边界切分")
+    void shouldTokenizeWordsIdeographsAndCamelCase() {
+        assertThat(Bm25Index.tokenize("Get weather, 北京")).containsExactly("get", "weather", "北", "京");
+        assertThat(Bm25Index.tokenize("getWeatherHTTP")).containsExactly("getweatherhttp");
+        assertThat(Bm25Index.tokenize("getWeatherHTTP", true)).containsExactly("get", "weather", "http");
+        assertThat(Bm25Index.tokenize(" ")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("只为通过过滤的标识计分，替换和删除后更新倒排表")
+    void shouldScoreFilteredKeysAndUpdateOnReplace() {
+        Bm25Index index = new Bm25Index();
+        index.put("a", List.of("fox", "fox", "dog"));
+        index.put("b", List.of("fox", "cat"));
+        index.put("c", List.of("cat"));
+
+        Map<String, Double> scores = index.score(List.of("fox", "fox"), key -> true);
+        assertThat(scores).containsOnlyKeys("a", "b");
+        assertThat(scores.get("a")).isGreaterThan(scores.get("b"));
+        assertThat(index.score(List.of("fox"), key -> !key.equals("a"))).containsOnlyKeys("b");
+
+        index.put("a", List.of("cat"));
+        index.remove("b");
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.score(List.of("fox"), key -> true)).isEmpty();
+        assertThat(index.score(List.of("cat"), key -> true)).containsOnlyKeys("a", "c");
+    }
+}
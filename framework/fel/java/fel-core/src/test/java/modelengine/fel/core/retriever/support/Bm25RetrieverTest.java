@@ -0,0 +1,68 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.retriever.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import modelengine.fel.core.document.Document;
+import modelengine.fel.core.document.MeasurableDocument;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 表示 {@link Bm25Retriever} 的单元测试。
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+@DisplayName("测试 Bm25Retriever")
+public class Bm25RetrieverTest {
+    @Test
+    @DisplayName("按 BM25 得分返回前 K 个文档，同一次检索的文档属于同一分组")
+    void shouldRetrieveTopKByBm25() {
+        Bm25Retriever retriever = new Bm25Retriever(2);
+        retriever.add(List.of(document("1", "The quick brown fox jumps over the lazy dog"),
+                document("2", "A fox is a small wild animal, fox fox"),
+                document("3", "Dogs are loyal animals"),
+                document("4", "北京是中国的首都")));
+
+        List<MeasurableDocument> documents = retriever.retrieve("fox");
+        assertThat(ids(documents)).containsExactly("2", "1");
+        assertThat(documents.get(0).score()).isGreaterThan(documents.get(1).score());
+        assertThat(documents.get(0).group()).isEqualTo(documents.get(1).group());
+        assertThat(ids(retriever.retrieve("中国首都"))).containsExactly("4");
+        assertThat(retriever.retrieve("cat")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("相同标识的文档覆盖旧索引，删除后不再命中")
+    void shouldReplaceAndDeleteDocuments() {
+        Bm25Retriever retriever = new Bm25Retriever(5);
+        retriever.add(List.of(document("1", "apple banana")));
+        retriever.add(List.of(document("1", "cherry")));
+        assertThat(retriever.size()).isEqualTo(1);
+        assertThat(retriever.retrieve("apple")).isEmpty();
+        assertThat(ids(retriever.retrieve("cherry"))).containsExactly("1");
+
+        retriever.delete(List.of("1"));
+        assertThat(retriever.size()).isZero();
+        assertThat(retriever.retrieve("cherry")).isEmpty();
+    }
+
+    private static Document document(String id, String text) {
+        return Document.custom().id(id).text(text).metadata(Collections.emptyMap()).build();
+    }
+
+    private static List<String> ids(List<MeasurableDocument> documents) {
+        return documents.stream().map(MeasurableDocument::id).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,144 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.retriever.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import modelengine.fel.core.document.Document;
+import modelengine.fel.core.document.MeasurableDocument;
+import modelengine.fel.core.pattern.Retriever;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 表示 {@link HybridRetriever} 的单元测试。
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+@DisplayName("测试 HybridRetriever")
+public class HybridRetrieverTest {
+    @Test
+    @DisplayName("多路检索并行执行，耗时取决于最慢的检索器")
+    void shouldRetrieveConcurrently() {
+        try (HybridRetriever<String> retriever = HybridRetriever.<String>builder()
+                .retriever(delayed(300, documents(1D, "a", "b")))
+                .retriever(delayed(300, documents(1D, "b", "c")))
+                .retriever(delayed(300, documents(1D, "c", "d")))
+                .build()) {
+            long start = System.nanoTime();
+            List<MeasurableDocument> documents = retriever.retrieve("query");
+            long elapsed = Duration.ofNanos(System.nanoTime() - start).toMillis();
+            assertThat(ids(documents)).containsExactlyInAnyOrder("a", "b", "c", "d");
+            assertThat(ids(documents).subList(0, 2)).containsExactlyInAnyOrder("b", "c");
+            assertThat(elapsed).isLessThan(800L);
+        }
+    }
+
+    @Test
+    @DisplayName("超时或失败的检索器被忽略，全部失败时抛出异常")
+    void shouldIgnoreTimedOutAndFailedRetrievers() {
+        Retriever<String, MeasurableDocument> failing = query -> {
+            throw new IllegalStateException("boom");
+        };
+        try (HybridRetriever<String> retriever = HybridRetriever.<String>builder()
+                .retriever(documents(1D, "a"))
+                .retriever(delayed(2000, documents(1D, "slow")), 1D, Duration.ofMillis(100))
+                .retriever(failing)
+                .build()) {
+            assertThat(ids(retriever.retrieve("query"))).containsExactly("a");
+        }
+        try (HybridRetriever<String> retriever = HybridRetriever.<String>builder().retriever(failing).build()) {
+            assertThatThrownBy(() -> retriever.retrieve("query")).isInstanceOf(IllegalStateException.class)
+                    .hasRootCauseMessage("boom");
+        }
+    }
+
+    @Test
+    @DisplayName("所有检索器都超时时抛出异常，而不是返回空结果")
+    void shouldThrowWhenAllRetrieversTimedOut() {
+        try (HybridRetriever<String> retriever = HybridRetriever.<String>builder()
+                .retriever(delayed(2000, documents(1D, "a")), 1D, Duration.ofMillis(100))
+                .retriever(delayed(2000, documents(1D, "b")), 1D, Duration.ofMillis(100))
+                .build()) {
+            assertThatThrownBy(() -> retriever.retrieve("query")).isInstanceOf(IllegalStateException.class)
+                    .hasMessage("All retrievers failed or timed out.")
+                    .hasCauseInstanceOf(TimeoutException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("单路超时时间与默认超时时间一样必须为正数")
+    void shouldRejectNonPositiveBranchTimeout() {
+        HybridRetriever.Builder<String> builder = HybridRetriever.builder();
+        assertThatThrownBy(() -> builder.retriever(documents(1D, "a"), 1D, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("The timeout must be positive.");
+        assertThatThrownBy(() -> builder.retriever(documents(1D, "a"), 1D, Duration.ofMillis(-1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("线性融合按归一化分数加权，截取前 K 个后再交给后置处理器")
+    void shouldFuseLinearlyAndCutOffBeforePostProcessor() {
+        AtomicInteger processed = new AtomicInteger();
+        try (HybridRetriever<String> retriever = HybridRetriever.<String>builder()
+                .retriever(query -> List.of(document("a", 0.9), document("b", 0.6), document("c", 0.1)), 1D, null)
+                .retriever(query -> List.of(document("c", 20), document("d", 10), document("a", 0)), 0.5, null)
+                .strategy(FusionStrategy.LINEAR)
+                .topK(2)
+                .postProcessor(documents -> {
+                    processed.set(documents.size());
+                    return documents;
+                })
+                .build()) {
+            List<MeasurableDocument> documents = retriever.retrieve("query");
+            assertThat(ids(documents)).containsExactly("a", "b");
+            assertThat(documents.get(0).score()).isEqualTo(1D);
+            assertThat(processed.get()).isEqualTo(2);
+        }
+    }
+
+    private static Retriever<String, MeasurableDocument> delayed(long millis,
+            Retriever<String, MeasurableDocument> retriever) {
+        return query -> {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return retriever.retrieve(query);
+        };
+    }
+
+    private static Retriever<String, MeasurableDocument> documents(double score, String... ids) {
+        List<MeasurableDocument> documents = new ArrayList<>();
+        for (String id : ids) {
+            documents.add(document(id, score));
+        }
+        return query -> documents;
+    }
+
+    private static MeasurableDocument document(String id, double score) {
+        return new MeasurableDocument(Document.custom().id(id).text(id).metadata(Collections.emptyMap()).build(),
+                score);
+    }
+
+    private static List<String> ids(List<MeasurableDocument> documents) {
+        return documents.stream().map(MeasurableDocument::id).collect(Collectors.toList());
+    }
+}
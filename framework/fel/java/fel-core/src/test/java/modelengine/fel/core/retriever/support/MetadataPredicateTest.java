@@ -0,0 +1,68 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.retriever.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import modelengine.fel.core.retriever.filter.Filter;
+import modelengine.fel.core.retriever.filter.MetadataPredicate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 表示 {@link MetadataPredicate} 的测试集。
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+@DisplayName("测试 MetadataPredicate")
+public class MetadataPredicateTest {
+    private final Map<String, Object> metadata = new HashMap<>();
+
+    {
+        this.metadata.put("country", "china");
+        this.metadata.put("age", 30);
+        this.metadata.put("title", "hello world");
+    }
+
+    @Test
+    @DisplayName("测试比较表达式")
+    void testCompareExpression() {
+        assertThat(new MetadataPredicate(Filter.eq("country", "china")).test(this.metadata)).isTrue();
+        assertThat(new MetadataPredicate(Filter.eq("age", 30L)).test(this.metadata)).isTrue();
+        assertThat(new MetadataPredicate(Filter.gt("age", 18)).test(this.metadata)).isTrue();
+        assertThat(new MetadataPredicate(Filter.lt("age", 18)).test(this.metadata)).isFalse();
+        assertThat(new MetadataPredicate(Filter.lt("country", 18)).test(this.metadata)).isFalse();
+        assertThat(new MetadataPredicate(Filter.ne("missing", "x")).test(this.metadata)).isFalse();
+    }
+
+    @Test
+    @DisplayName("测试集合与模糊匹配表达式")
+    void testCollectionAndLikeExpression() {
+        assertThat(new MetadataPredicate(Filter.in("country", Arrays.asList("china", "france"))).test(
+                this.metadata)).isTrue();
+        assertThat(new MetadataPredicate(Filter.notIn("country", Arrays.asList("china"))).test(
+                this.metadata)).isFalse();
+        assertThat(new MetadataPredicate(Filter.like("title", "hello%")).test(this.metadata)).isTrue();
+        assertThat(new MetadataPredicate(Filter.like("title", "h_llo w%d")).test(this.metadata)).isTrue();
+        assertThat(new MetadataPredicate(Filter.like("title", "world")).test(this.metadata)).isFalse();
+    }
+
+    @Test
+    @DisplayName("测试逻辑表达式")
+    void testLogicExpression() {
+        Filter filter = Filter.eq("country", "france").or(Filter.ge("age", 30).and(Filter.like("title", "%.%")));
+        assertThat(new MetadataPredicate(filter).test(this.metadata)).isFalse();
+        filter = Filter.eq("country", "france").or(Filter.ge("age", 30).and(Filter.like("title", "%o w%")));
+        assertThat(new MetadataPredicate(filter).test(this.metadata)).isTrue();
+    }
+}
@@ -63,4 +63,33 @@ public class StringTemplateTest {
         assertThat(partial.placeholder()).contains("adjective").doesNotContain("content");
         assertThat(partial.render(values)).isEqualTo("Tell me a funny joke about chickens.");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("当模板包含转义字符时，返回正确结果")
+    void giveEscapedTemplateThenReturnOk() {
+        String template = "\\{{literal}} and {{value}}, }} stays.";
+        Map<String, String> values = MapBuilder.<String, String>get().put("value", "v").build();
+        StringTemplate stringTemplate = new DefaultStringTemplate(template);
+        assertThat(stringTemplate.placeholder()).containsExactly("value");
+        assertThat(stringTemplate.render(values)).isEqualTo("{{literal}} and v, }} stays.");
+    }
+
+    @Test
+    @DisplayName("当渲染到已有字符串构建器时，追加正确结果且每次重新获取 partial 值")
+    void giveBuilderThenAppendRenderedText() {
+        int[] counter = {0};
+        StringTemplate stringTemplate =
+                new DefaultStringTemplate("{{n}}-{{name}}").partial("n", () -> String.valueOf(++counter[0]));
+        StringBuilder builder = new StringBuilder("> ");
+        stringTemplate.renderTo(MapBuilder.<String, String>get().put("name", "a").build(), builder);
+        stringTemplate.renderTo(MapBuilder.<String, String>get().put("name", "b").build(), builder);
+        assertThat(builder.toString()).isEqualTo("> 1-a2-b");
+    }
+
+    @Test
+    @DisplayName("当模板占位符未闭合时，抛出异常")
+    void giveIncompleteTemplateThenThrowException() {
+        assertThatThrownBy(() -> new DefaultStringTemplate("Tell me a {{adjective")).isInstanceOf(
+                IllegalArgumentException.class).hasMessageContaining("Incomplete parameter");
+    }
+}
@@ -0,0 +1,105 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.tokenizer.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import modelengine.fel.core.document.Document;
+import modelengine.fel.core.splitter.support.TokenTextSplitter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 表示 {@link BpeTokenizer} 的单元测试。
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+@DisplayName("测试 BpeTokenizer")
+public class BpeTokenizerTest {
+    private static final String[] MERGES = {"he", "ll", "hell", "hello", " w", "or", " wor", "ld", " world"};
+
+    private BpeTokenizer tokenizer;
+
+    @BeforeEach
+    void setUp(@TempDir Path directory) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int b = 0; b < 256; b++) {
+            lines.add(Base64.getEncoder().encodeToString(new byte[] {(byte) b}) + " " + b);
+        }
+        for (int i = 0; i < MERGES.length; i++) {
+            lines.add(Base64.getEncoder().encodeToString(MERGES[i].getBytes(StandardCharsets.UTF_8)) + " " + (256 + i));
+        }
+        Path vocabulary = directory.resolve("test.tiktoken");
+        Files.write(vocabulary, lines);
+        this.tokenizer = BpeTokenizer.cl100k(vocabulary);
+    }
+
+    @Test
+    @DisplayName("按合并优先级分词，返回正确结果")
+    void giveTextThenEncodeByMergeRanks() {
+        assertThat(this.tokenizer.encode("hello world")).containsExactly(259, 264);
+        assertThat(this.tokenizer.encode("hells")).containsExactly(258, (int) 's');
+        assertThat(this.tokenizer.encode(" wo")).containsExactly(260, (int) 'o');
+    }
+
+    @Test
+    @DisplayName("任意文本编码后解码，返回原文本")
+    void giveUnicodeTextThenRoundTrip() {
+        String text = "你好，hello world!\n  123456 it's 😀\r\n";
+        List<Integer> tokens = this.tokenizer.encode(text);
+        assertThat(this.tokenizer.decode(tokens)).isEqualTo(text);
+        assertThat(this.tokenizer.encodeToArray(text)).containsExactly(tokens.stream().mapToInt(i -> i).toArray());
+        assertThat(this.tokenizer.countToken(text)).isEqualTo(tokens.size());
+    }
+
+    @Test
+    @DisplayName("流式切分文档，结果与完整分词后切分一致")
+    void giveLongDocumentThenSplitAsFullTokenList() {
+        String text = String.join(" ", Collections.nCopies(500, "hello world, 你好 12345."));
+        List<Integer> tokens = this.tokenizer.encode(text);
+        List<String> expected = new ArrayList<>();
+        for (int start = 0; ; start += 30) {
+            int end = Math.min(start + 40, tokens.size());
+            expected.add(this.tokenizer.decode(tokens.subList(start, end)));
+            if (end == tokens.size()) {
+                break;
+            }
+        }
+        List<String> actual = new TokenTextSplitter(this.tokenizer, 40, 10).split(
+                        Document.custom().text(text).metadata(new LinkedHashMap<>()).build())
+                .stream()
+                .map(Document::text)
+                .collect(Collectors.toList());
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("词表缺少单字节时，抛出异常")
+    void giveIncompleteVocabularyThenThrowException() {
+        Map<byte[], Integer> vocabulary = Map.of(new byte[] {'a'}, 0);
+        assertThatThrownBy(() -> new BpeTokenizer(vocabulary, Pattern.compile("\\S+"), 16)).isInstanceOf(
+                IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,160 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 表示 {@link MathUtils} 的单元测试。
+ * <p>性能对比默认不执行，通过 {@code -Dfel.benchmark.math=true} 开启。</p>
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+@DisplayName("测试 MathUtils")
+public class MathUtilsTest {
+    private final Random random = new Random(17);
+
+    @Test
+    @DisplayName("原始类型数组与装箱列表的余弦相似度结果一致")
+    void shouldEqualBoxedWhenComputeCosineSimilarity() {
+        for (int dimension : new int[] {1, 3, 7, 384}) {
+            float[] x = this.randomVector(dimension);
+            float[] y = this.randomVector(dimension);
+            double expected = MathUtils.cosineSimilarity(toList(x), toList(y));
+            assertThat(MathUtils.cosineSimilarity(x, y)).isCloseTo(expected, within(1e-5));
+            assertThat(MathUtils.cosineSimilarity(x, MathUtils.norm(x), y, MathUtils.norm(y))).isCloseTo(expected,
+                    within(1e-5));
+        }
+    }
+
+    @Test
+    @DisplayName("从缓冲区指定位置读取向量计算，结果与数组一致")
+    void shouldEqualArrayWhenComputeWithBuffer() {
+        float[] x = this.randomVector(13);
+        float[] y = this.randomVector(13);
+        FloatBuffer buffer = ByteBuffer.allocateDirect(4 * 20).order(ByteOrder.nativeOrder()).asFloatBuffer();
+        buffer.position(5);
+        buffer.put(y);
+        buffer.position(0);
+
+        assertThat(MathUtils.dot(x, buffer, 5)).isCloseTo(MathUtils.dot(x, y), within(1e-5f));
+        assertThat(MathUtils.l2Distance(x, buffer, 5)).isCloseTo(MathUtils.l2Distance(x, y), within(1e-5));
+        assertThat(MathUtils.cosineSimilarity(x, MathUtils.norm(x), buffer, 5, MathUtils.norm(y))).isCloseTo(
+                MathUtils.cosineSimilarity(x, y), within(1e-5));
+        assertThat(buffer.position()).isEqualTo(0);
+        assertThatThrownBy(() -> MathUtils.dot(x, buffer, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("计算欧氏距离和归一化，返回正确结果")
+    void shouldReturnExpectedWhenComputeL2AndNormalize() {
+        assertThat(MathUtils.l2Distance(new float[] {0, 0, 0}, new float[] {1, 2, 2})).isEqualTo(3);
+        float[] target = new float[4];
+        MathUtils.normalize(new float[] {3, 4}, target, 2);
+        assertThat(target).containsExactly(0, 0, 0.6f, 0.8f);
+        assertThatThrownBy(() -> MathUtils.dot(new float[2], new float[3])).isInstanceOf(
+                IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("批量计算相似度，并行和串行结果一致")
+    void shouldReturnMatrixWhenComputeBatch() {
+        float[][] queries = new float[3][];
+        float[][] vectors = new float[2000][];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = this.randomVector(256);
+        }
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = this.randomVector(256);
+        }
+        double[][] result = MathUtils.cosineSimilarities(queries, vectors, null);
+        assertThat(result).hasNumberOfRows(3);
+        for (int q = 0; q < queries.length; q++) {
+            for (int v = 0; v < vectors.length; v += 97) {
+                assertThat(result[q][v]).isCloseTo(MathUtils.cosineSimilarity(queries[q], vectors[v]),
+                        within(1e-9));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("批量计算余弦相似度时零向量的相似度为 0")
+    void shouldReturnZeroSimilarityForZeroVectors() {
+        float[][] vectors = {{1f, 0f}, {0f, 0f}, {0.6f, 0.8f}};
+        double[][] result = MathUtils.cosineSimilarities(new float[][] {{1f, 0f}, {0f, 0f}}, vectors, null);
+        assertThat(result[0]).containsExactly(new double[] {1D, 0D, 0.6D}, within(1e-6));
+        assertThat(result[1]).containsExactly(0D, 0D, 0D);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "fel.benchmark.math", matches = "true")
+    @DisplayName("对比装箱和原始类型的余弦相似度性能")
+    void benchmark() {
+        int count = 10000;
+        for (int dimension : new int[] {384, 768, 1536}) {
+            float[] query = this.randomVector(dimension);
+            List<Float> boxedQuery = toList(query);
+            float[][] vectors = new float[count][];
+            List<List<Float>> boxed = new ArrayList<>(count);
+            double[] norms = new double[count];
+            for (int i = 0; i < count; i++) {
+                vectors[i] = this.randomVector(dimension);
+                boxed.add(toList(vectors[i]));
+                norms[i] = MathUtils.norm(vectors[i]);
+            }
+            for (int round = 0; round < 3; round++) {
+                long start = System.nanoTime();
+                double sink = 0;
+                for (List<Float> vector : boxed) {
+                    sink += MathUtils.cosineSimilarity(boxedQuery, vector);
+                }
+                long boxedCost = System.nanoTime() - start;
+                start = System.nanoTime();
+                double queryNorm = MathUtils.norm(query);
+                for (int i = 0; i < count; i++) {
+                    sink += MathUtils.cosineSimilarity(query, queryNorm, vectors[i], norms[i]);
+                }
+                long primitiveCost = System.nanoTime() - start;
+                start = System.nanoTime();
+                sink += MathUtils.cosineSimilarities(new float[][] {query}, vectors, norms)[0][0];
+                long batchCost = System.nanoTime() - start;
+                System.out.printf("dim=%d boxed=%.2fms primitive=%.2fms batch=%.2fms (%.1f)%n", dimension,
+                        boxedCost / 1e6, primitiveCost / 1e6, batchCost / 1e6, sink);
+            }
+        }
+    }
+
+    private float[] randomVector(int dimension) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) this.random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private static List<Float> toList(float[] vector) {
+        List<Float> result = new ArrayList<>(vector.length);
+        for (float value : vector) {
+            result.add(value);
+        }
+        return result;
+    }
+}
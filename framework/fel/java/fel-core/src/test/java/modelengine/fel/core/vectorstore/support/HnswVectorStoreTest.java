@@ -0,0 +1,241 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.vectorstore.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import modelengine.fel.core.document.Document;
+import modelengine.fel.core.document.DocumentEmbedModel;
+import modelengine.fel.core.document.MeasurableDocument;
+import modelengine.fel.core.embed.Embedding;
+import modelengine.fel.core.retriever.filter.Filter;
+import modelengine.fel.core.vectorstore.SearchOption;
+import modelengine.fel.core.vectorstore.VectorStore;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 表示 {@link HnswVectorStore} 的单元测试。
+ * <p>规模基准默认不执行，通过 {@code -Dfel.benchmark.size=100000}（或 {@code 1000000}）开启，
+ * 可选 {@code -Dfel.benchmark.dimension} 指定维度。</p>
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+@DisplayName("测试 HnswVectorStore")
+public class HnswVectorStoreTest {
+    private static final int DIMENSION = 32;
+
+    @Test
+    @DisplayName("插入文档后，查询结果与精确检索的召回率达标")
+    void shouldRecallWhenCompareWithBruteForce() {
+        Dataset dataset = new Dataset(5000, DIMENSION, 7);
+        HnswVectorStore store = new HnswVectorStore(dataset, 16, 200, 100);
+        store.persistent(dataset.documents);
+        MemoryVectorStore exact = new MemoryVectorStore(dataset);
+        exact.persistent(dataset.documents);
+
+        double recall = recall(dataset, store, exact, dataset.queries(50, 11), 10);
+        assertThat(recall).isGreaterThanOrEqualTo(0.9);
+    }
+
+    @Test
+    @DisplayName("并发插入后，所有文档均可检索")
+    void shouldSearchAllWhenInsertConcurrently() {
+        Dataset dataset = new Dataset(2000, DIMENSION, 3);
+        HnswVectorStore store = new HnswVectorStore(dataset);
+        dataset.documents.parallelStream().forEach(document -> store.persistent(Collections.singletonList(document)));
+        assertThat(store.size()).isEqualTo(2000);
+
+        int found = 0;
+        for (Document document : dataset.documents.subList(0, 100)) {
+            List<MeasurableDocument> result = store.search(document.text(), SearchOption.custom().topK(1).build());
+            if (!result.isEmpty() && result.get(0).id().equals(document.id())) {
+                found++;
+            }
+        }
+        assertThat(found).isGreaterThanOrEqualTo(95);
+    }
+
+    @Test
+    @DisplayName("删除文档后，不再出现在检索结果中")
+    void shouldNotReturnDeletedDocuments() {
+        Dataset dataset = new Dataset(500, DIMENSION, 5);
+        VectorStore store = new HnswVectorStore(dataset);
+        store.persistent(dataset.documents);
+        Document target = dataset.documents.get(42);
+        assertThat(store.search(target.text(), SearchOption.custom().topK(1).build())).extracting(Document::id)
+                .containsExactly(target.id());
+
+        store.delete(Collections.singletonList(target.id()));
+        assertThat(store.search(target.text(), SearchOption.custom().topK(10).build())).hasSize(10)
+                .extracting(Document::id)
+                .doesNotContain(target.id());
+    }
+
+    @Test
+    @DisplayName("指定元数据过滤条件后，只返回满足条件的文档")
+    void shouldReturnFilteredDocuments() {
+        Dataset dataset = new Dataset(3000, DIMENSION, 9);
+        VectorStore store = new HnswVectorStore(dataset);
+        store.persistent(dataset.documents);
+        String query = dataset.documents.get(0).text();
+
+        List<MeasurableDocument> rare =
+                store.search(query, SearchOption.custom().topK(5).filter(Filter.eq("bucket", 7)).build());
+        assertThat(rare).hasSize(5)
+                .isSortedAccordingTo(Comparator.comparingDouble(MeasurableDocument::score).reversed())
+                .allMatch(document -> document.metadata().get("bucket").equals(7));
+
+        List<MeasurableDocument> common =
+                store.search(query, SearchOption.custom().topK(5).filter(Filter.lt("bucket", 50)).build());
+        assertThat(common).hasSize(5).allMatch(document -> (int) document.metadata().get("bucket") < 50);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "fel.benchmark.size", matches = "\\d+")
+    @DisplayName("大规模数据下对比精确检索的召回率和吞吐")
+    void benchmark() {
+        int size = Integer.getInteger("fel.benchmark.size");
+        int dimension = Integer.getInteger("fel.benchmark.dimension", 128);
+        Dataset dataset = new Dataset(size, dimension, 1, size / 100);
+        List<float[]> queries = dataset.queries(100, 2);
+
+        HnswVectorStore store = new HnswVectorStore(dataset);
+        long start = System.nanoTime();
+        dataset.documents.parallelStream().forEach(document -> store.add(document, dataset.vectors.get(document.id())));
+        System.out.printf("hnsw build: %d docs, dim %d, %d ms%n", size, dimension,
+                (System.nanoTime() - start) / 1_000_000);
+
+        MemoryVectorStore exact = new MemoryVectorStore(dataset);
+        exact.persistent(dataset.documents);
+        for (int ef : new int[] {32, 64, 128, 256}) {
+            store.setEfSearch(ef);
+            double recall = recall(dataset, store, exact, queries.subList(0, 20), 10);
+            start = System.nanoTime();
+            for (float[] query : queries) {
+                store.search(query, 10, null);
+            }
+            double qps = queries.size() * 1e9 / (System.nanoTime() - start);
+            System.out.printf("hnsw ef=%d recall@10=%.3f qps=%.1f%n", ef, recall, qps);
+        }
+        start = System.nanoTime();
+        int exactQueries = 5;
+        for (float[] query : queries.subList(0, exactQueries)) {
+            exact.search(dataset.register(query), SearchOption.custom().topK(10).build());
+        }
+        System.out.printf("brute force qps=%.2f%n", exactQueries * 1e9 / (System.nanoTime() - start));
+    }
+
+    private static double recall(Dataset dataset, HnswVectorStore store, MemoryVectorStore exact, List<float[]> queries,
+            int topK) {
+        int hit = 0;
+        for (float[] query : queries) {
+            Set<String> expected = exact.search(dataset.register(query), SearchOption.custom().topK(topK).build())
+                    .stream()
+                    .map(Document::id)
+                    .collect(Collectors.toSet());
+            hit += (int) store.search(query, topK, null).stream().map(Document::id).filter(expected::contains).count();
+        }
+        return hit / (double) (queries.size() * topK);
+    }
+
+    /**
+     * 表示随机生成的向量数据集，同时作为按文本查表的嵌入模型。
+     */
+    private static class Dataset implements DocumentEmbedModel {
+        private final int dimension;
+        private final List<Document> documents = new ArrayList<>();
+        private final Map<String, float[]> vectors = new ConcurrentHashMap<>();
+        private final List<float[]> centers = new ArrayList<>();
+
+        Dataset(int size, int dimension, long seed) {
+            this(size, dimension, seed, 0);
+        }
+
+        /**
+         * 按簇生成数据，更接近真实嵌入向量的分布；{@code clusters} 为 0 时各向量相互独立。
+         */
+        Dataset(int size, int dimension, long seed, int clusters) {
+            this.dimension = dimension;
+            Random random = new Random(seed);
+            for (int i = 0; i < clusters; i++) {
+                this.centers.add(randomVector(random, dimension));
+            }
+            for (int i = 0; i < size; i++) {
+                String id = "doc-" + i;
+                this.vectors.put(id, this.nextVector(random));
+                this.documents.add(Document.custom()
+                        .id(id)
+                        .text(id)
+                        .metadata(Collections.singletonMap("bucket", i % 100))
+                        .build());
+            }
+        }
+
+        List<float[]> queries(int count, long seed) {
+            Random random = new Random(seed);
+            return IntStream.range(0, count)
+                    .mapToObj(i -> this.nextVector(random))
+                    .collect(Collectors.toList());
+        }
+
+        String register(float[] query) {
+            String key = "query-" + System.identityHashCode(query);
+            this.vectors.put(key, query);
+            return key;
+        }
+
+        @Override
+        public List<Embedding> embed(List<Document> documents) {
+            return documents.stream().map(document -> this.embed(document.text())).collect(Collectors.toList());
+        }
+
+        @Override
+        public Embedding embed(String input) {
+            float[] vector = this.vectors.get(input);
+            List<Float> embedding = new ArrayList<>(vector.length);
+            for (float value : vector) {
+                embedding.add(value);
+            }
+            return () -> embedding;
+        }
+
+        private float[] nextVector(Random random) {
+            float[] vector = randomVector(random, this.dimension);
+            if (this.centers.isEmpty()) {
+                return vector;
+            }
+            float[] center = this.centers.get(random.nextInt(this.centers.size()));
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] = center[i] + vector[i] * 0.3f;
+            }
+            return vector;
+        }
+
+        private static float[] randomVector(Random random, int dimension) {
+            float[] vector = new float[dimension];
+            for (int i = 0; i < dimension; i++) {
+                vector[i] = (float) random.nextGaussian();
+            }
+            return vector;
+        }
+    }
+}
@@ -7,9 +7,13 @@
 package modelengine.fel.core.vectorstore.support;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 
+import modelengine.fel.core.document.Document;
+import modelengine.fel.core.document.DocumentEmbedModel;
 import modelengine.fel.core.document.MeasurableDocument;
 import modelengine.fel.core.embed.EmbedOption;
+import modelengine.fel.core.embed.Embedding;
 import modelengine.fel.core.embed.support.DefaultDocumentEmbedModel;
 import modelengine.fel.core.vectorstore.SearchOption;
 import modelengine.fel.core.vectorstore.VectorStore;
@@ -18,13 +22,22 @@ import modelengine.fitframework.serialization.ObjectSerializer;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * 表示 {@link MemoryVectorStore} 的单元测试。
@@ -67,4 +80,203 @@ public class MemoryVectorStoreTest {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("保存为向量段后重新加载，检索结果一致")
+    void shouldOkWhenPersistSegmentsThenLoad(@TempDir Path directory) {
+        ObjectSerializer serializer = new JacksonObjectSerializer(null, null, null, true);
+        MemoryVectorStore vectorStore = new MemoryVectorStore(new HashEmbedModel());
+        vectorStore.persistent(documents(0, 100));
+        List<MeasurableDocument> first = vectorStore.search("doc-7", SearchOption.custom().topK(5).build());
+        vectorStore.persist(directory, serializer);
+
+        MemoryVectorStore resumeStore = new MemoryVectorStore(new HashEmbedModel());
+        resumeStore.load(directory, serializer);
+        List<MeasurableDocument> second = resumeStore.search("doc-7", SearchOption.custom().topK(5).build());
+        assertThat(second).extracting(Document::id).isEqualTo(ids(first));
+        assertThat(second.get(0).score()).isCloseTo(first.get(0).score(), within(1e-6));
+        assertThat(second.get(0).metadata()).containsEntry("index", 7);
+        assertThat(vectorStore.search("doc-7", SearchOption.custom().topK(5).build())).extracting(Document::id)
+                .isEqualTo(ids(first));
+    }
+
+    @Test
+    @DisplayName("多次保存时只追加变更，删除的文档重新加载后不再出现")
+    void shouldAppendChangesWhenPersistAgain(@TempDir Path directory) throws IOException {
+        ObjectSerializer serializer = new JacksonObjectSerializer(null, null, null, true);
+        MemoryVectorStore vectorStore = new MemoryVectorStore(new HashEmbedModel());
+        vectorStore.persistent(documents(0, 50));
+        vectorStore.persist(directory, serializer);
+        vectorStore.persistent(documents(50, 60));
+        vectorStore.delete(Collections.singletonList("doc-3"));
+        vectorStore.persist(directory, serializer);
+        assertThat(segmentFiles(directory)).hasSize(2);
+
+        MemoryVectorStore resumeStore = new MemoryVectorStore(new HashEmbedModel());
+        resumeStore.load(directory, serializer);
+        assertThat(resumeStore.search("doc-55", SearchOption.custom().topK(1).build())).extracting(Document::id)
+                .containsExactly("doc-55");
+        assertThat(resumeStore.search("doc-3", SearchOption.custom().topK(59).build())).hasSize(59)
+                .extracting(Document::id)
+                .doesNotContain("doc-3");
+    }
+
+    @Test
+    @DisplayName("更新已保存的文档后再删除，重新加载后旧版本不会重新出现")
+    void shouldNotResurrectWhenUpdateThenDelete(@TempDir Path directory) {
+        ObjectSerializer serializer = new JacksonObjectSerializer(null, null, null, true);
+        MemoryVectorStore vectorStore = new MemoryVectorStore(new HashEmbedModel());
+        vectorStore.persistent(documents(0, 10));
+        vectorStore.persist(directory, serializer);
+        vectorStore.persistent(documents(3, 4));
+        vectorStore.delete(Collections.singletonList("doc-3"));
+        vectorStore.persist(directory, serializer);
+
+        MemoryVectorStore resumeStore = new MemoryVectorStore(new HashEmbedModel());
+        resumeStore.load(directory, serializer);
+        assertThat(resumeStore.search("doc-3", SearchOption.custom().topK(10).build())).hasSize(9)
+                .extracting(Document::id)
+                .doesNotContain("doc-3");
+    }
+
+    @Test
+    @DisplayName("段数量过多时合并为一个段，数据保持不变")
+    void shouldMergeSegmentsWhenCompact(@TempDir Path directory) throws IOException {
+        ObjectSerializer serializer = new JacksonObjectSerializer(null, null, null, true);
+        MemoryVectorStore vectorStore = new MemoryVectorStore(new HashEmbedModel());
+        for (int i = 0; i < 5; i++) {
+            vectorStore.persistent(documents(i * 10, i * 10 + 10));
+            vectorStore.persist(directory, serializer);
+        }
+        vectorStore.delete(Collections.singletonList("doc-12"));
+        vectorStore.compact();
+        assertThat(segmentFiles(directory)).hasSize(1);
+        vectorStore.persist(directory, serializer);
+
+        MemoryVectorStore resumeStore = new MemoryVectorStore(new HashEmbedModel());
+        resumeStore.load(directory, serializer);
+        assertThat(resumeStore.search("doc-41", SearchOption.custom().topK(100).build())).hasSize(49)
+                .extracting(Document::id)
+                .doesNotContain("doc-12");
+    }
+
+    @Test
+    @DisplayName("合并时删除旧段中断，重新加载后已删除的文档不会重新出现")
+    void shouldNotResurrectDeletedWhenCompactInterrupted(@TempDir Path directory) throws IOException {
+        ObjectSerializer serializer = new JacksonObjectSerializer(null, null, null, true);
+        MemoryVectorStore vectorStore = new MemoryVectorStore(new HashEmbedModel());
+        vectorStore.persistent(documents(0, 10));
+        vectorStore.persist(directory, serializer);
+        vectorStore.persistent(documents(10, 20));
+        vectorStore.persist(directory, serializer);
+        Path backup = Files.createTempDirectory(directory.getParent(), "backup");
+        for (Path file : allFiles(directory)) {
+            Files.copy(file, backup.resolve(file.getFileName()));
+        }
+        vectorStore.delete(Collections.singletonList("doc-3"));
+        vectorStore.persist(directory, serializer);
+        vectorStore.compact();
+        for (Path file : allFiles(backup)) {
+            Files.copy(file, directory.resolve(file.getFileName()));
+        }
+
+        MemoryVectorStore resumeStore = new MemoryVectorStore(new HashEmbedModel());
+        resumeStore.load(directory, serializer);
+        assertThat(resumeStore.search("doc-3", SearchOption.custom().topK(100).build())).hasSize(19)
+                .extracting(Document::id)
+                .doesNotContain("doc-3");
+    }
+
+    @Test
+    @DisplayName("零向量在堆内和内存映射两种路径下得分都为 0")
+    void shouldScoreZeroForZeroVectorOnBothPaths(@TempDir Path directory) {
+        ObjectSerializer serializer = new JacksonObjectSerializer(null, null, null, true);
+        MemoryVectorStore vectorStore = new MemoryVectorStore(new HashEmbedModel());
+        List<Document> documents = new ArrayList<>(documents(0, 3));
+        documents.add(Document.custom().id("zero").text(HashEmbedModel.ZERO).metadata(Collections.emptyMap()).build());
+        vectorStore.persistent(documents);
+        List<MeasurableDocument> inHeap = vectorStore.search("doc-1", SearchOption.custom().topK(4).build());
+        assertThat(inHeap).filteredOn(document -> document.id().equals("zero"))
+                .singleElement()
+                .extracting(MeasurableDocument::score)
+                .isEqualTo(0.0);
+        assertThat(vectorStore.search(HashEmbedModel.ZERO, SearchOption.custom().topK(4).build()))
+                .extracting(MeasurableDocument::score)
+                .containsOnly(0.0);
+
+        vectorStore.persist(directory, serializer);
+        List<MeasurableDocument> offHeap = vectorStore.search("doc-1", SearchOption.custom().topK(4).build());
+        assertThat(offHeap).extracting(Document::id).isEqualTo(ids(inHeap));
+        assertThat(offHeap).filteredOn(document -> document.id().equals("zero"))
+                .singleElement()
+                .extracting(MeasurableDocument::score)
+                .isEqualTo(0.0);
+        assertThat(vectorStore.search(HashEmbedModel.ZERO, SearchOption.custom().topK(4).build()))
+                .extracting(MeasurableDocument::score)
+                .containsOnly(0.0);
+    }
+
+    @Test
+    @DisplayName("使用 8 位量化保存后，检索结果与浮点基本一致")
+    void shouldKeepRankingWhenPersistWithInt8(@TempDir Path directory) {
+        ObjectSerializer serializer = new JacksonObjectSerializer(null, null, null, true);
+        MemoryVectorStore vectorStore = new MemoryVectorStore(new HashEmbedModel());
+        vectorStore.persistent(documents(0, 100));
+        List<MeasurableDocument> first = vectorStore.search("doc-42", SearchOption.custom().topK(3).build());
+        vectorStore.persist(directory, serializer, VectorEncoding.INT8);
+
+        MemoryVectorStore resumeStore = new MemoryVectorStore(new HashEmbedModel());
+        resumeStore.load(directory, serializer);
+        List<MeasurableDocument> second = resumeStore.search("doc-42", SearchOption.custom().topK(3).build());
+        assertThat(second.get(0).id()).isEqualTo("doc-42");
+        assertThat(second.get(0).score()).isCloseTo(first.get(0).score(), within(0.01));
+    }
+
+    private static List<Document> documents(int from, int to) {
+        return IntStream.range(from, to)
+                .mapToObj(i -> Document.custom()
+                        .id("doc-" + i)
+                        .text("doc-" + i)
+                        .metadata(Collections.singletonMap("index", i))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> ids(List<MeasurableDocument> documents) {
+        return documents.stream().map(Document::id).collect(Collectors.toList());
+    }
+
+    private static List<Path> allFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+
+    private static List<Path> segmentFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".vec")).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * 按文本生成固定向量的嵌入模型，文本为 {@link #ZERO} 时生成零向量。
+     */
+    private static class HashEmbedModel implements DocumentEmbedModel {
+        private static final String ZERO = "zero";
+
+        @Override
+        public List<Embedding> embed(List<Document> documents) {
+            return documents.stream().map(document -> this.embed(document.text())).collect(Collectors.toList());
+        }
+
+        @Override
+        public Embedding embed(String input) {
+            Random random = new Random(input.hashCode());
+            List<Float> embedding = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                embedding.add(ZERO.equals(input) ? 0F : (float) random.nextGaussian());
+            }
+            return () -> embedding;
+        }
+    }
+}
@@ -13,29 +13,41 @@ import modelengine.fel.tool.Tool;
 import modelengine.fel.tool.ToolFactory;
 import modelengine.fel.tool.ToolFactoryRepository;
 import modelengine.fel.tool.ToolInfoEntity;
+import modelengine.fel.tool.service.ToolChangedObserver;
+import modelengine.fel.tool.service.ToolChangedObserverRegistry;
 import modelengine.fel.tool.service.ToolExecuteService;
 import modelengine.fel.tool.service.ToolRepository;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.annotation.Fit;
 import modelengine.fitframework.annotation.Fitable;
+import modelengine.fitframework.ioc.annotation.PreDestroy;
 import modelengine.fitframework.serialization.ObjectSerializer;
 import modelengine.fitframework.util.StringUtils;
 
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 表示 {@link ToolExecuteService} 的默认实现。
+ * <p>
+ * 创建好的 {@link Tool} 按唯一名称缓存。当工具仓库同时是 {@link ToolChangedObserverRegistry} 时，
+ * 通过工具变更通知使缓存失效，命中缓存时不再访问工具仓库；否则每次从仓库获取工具信息，仅在工具信息未变化时复用缓存。
+ * </p>
  *
  * @author 易文渊
  * @since 2024-08-15
  */
 @Component
-public class DefaultToolExecutor implements ToolExecuteService {
+public class DefaultToolExecutor implements ToolExecuteService, ToolChangedObserver {
     private final ToolRepository toolRepository;
     private final ToolFactoryRepository toolFactoryRepository;
     private final ObjectSerializer serializer;
+    private final Map<String, CachedTool> tools = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private final ToolChangedObserverRegistry registry;
 
     /**
      * 构造一个 {@link DefaultToolExecutor} 的实例。
@@ -50,6 +62,37 @@ public class DefaultToolExecutor implements ToolExecuteService {
         this.toolRepository = notNull(toolRepository, "The tool repository cannot be null.");
         this.toolFactoryRepository = notNull(toolFactoryRepository, "The tool factory repository cannot be null.");
         this.serializer = notNull(serializer, "The serializer cannot be null.");
+        this.registry = toolRepository instanceof ToolChangedObserverRegistry
+                ? (ToolChangedObserverRegistry) toolRepository
+                : null;
+        if (this.registry != null) {
+            this.registry.register(this);
+        }
+    }
+
+    /**
+     * 销毁时注销工具变更观察者。
+     */
+    @PreDestroy
+    public void onDestroy() {
+        if (this.registry != null) {
+            this.registry.unregister(this);
+        }
+    }
+
+    @Override
+    public void onToolAdded(String name, String description, Map<String, Object> parameters) {
+        this.invalidate(name);
+    }
+
+    @Override
+    public void onToolRemoved(String name) {
+        this.invalidate(name);
+    }
+
+    private void invalidate(String uniqueName) {
+        this.version.incrementAndGet();
+        this.tools.remove(uniqueName);
     }
 
     @Override
@@ -83,10 +126,29 @@ public class DefaultToolExecutor implements ToolExecuteService {
     }
 
     private Tool getTool(String group, String toolName) {
-        ToolInfoEntity tool = notNull(toolRepository.getTool(group, toolName),
+        String uniqueName = ToolInfo.identify(group, toolName);
+        CachedTool cached = this.tools.get(uniqueName);
+        if (cached != null && this.registry != null) {
+            return cached.tool;
+        }
+        long version = this.version.get();
+        ToolInfoEntity entity = notNull(this.toolRepository.getTool(group, toolName),
                 () -> new IllegalStateException(StringUtils.format("The tool cannot be found. [group={0}, tool={1}]",
                         group,
                         toolName)));
+        if (cached != null && cached.entity == entity) {
+            return cached.tool;
+        }
+        Tool tool = this.createTool(group, entity);
+        this.tools.put(uniqueName, new CachedTool(entity, tool));
+        if (this.version.get() != version) {
+            // 创建期间工具发生了变更，缓存的工具可能已经过期。
+            this.tools.remove(uniqueName);
+        }
+        return tool;
+    }
+
+    private Tool createTool(String group, ToolInfoEntity tool) {
         Set<String> runnables = tool.runnables().keySet();
         Optional<ToolFactory> factory = this.toolFactoryRepository.match(runnables);
         if (factory.isEmpty()) {
@@ -104,4 +166,17 @@ public class DefaultToolExecutor implements ToolExecuteService {
         Tool convertorTool = this.getTool(group, convertor);
         return convertorTool.execute(output).toString();
     }
-}
\ No newline at end of file
+
+    /**
+     * 表示缓存的工具及创建它的工具信息。
+     */
+    private static final class CachedTool {
+        private final ToolInfoEntity entity;
+        private final Tool tool;
+
+        private CachedTool(ToolInfoEntity entity, Tool tool) {
+            this.entity = entity;
+            this.tool = tool;
+        }
+    }
+}
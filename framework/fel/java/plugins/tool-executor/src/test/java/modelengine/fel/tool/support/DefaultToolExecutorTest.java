@@ -13,7 +13,10 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 import modelengine.fel.tool.ToolInfoEntity;
 import modelengine.fel.tool.Tool;
@@ -21,6 +24,7 @@ import modelengine.fel.tool.info.entity.ToolEntity;
 import modelengine.fel.tool.ToolFactory;
 import modelengine.fel.tool.ToolFactoryRepository;
 import modelengine.fel.tool.ToolSchema;
+import modelengine.fel.tool.service.ToolChangedObserverRegistry;
 import modelengine.fel.tool.service.ToolExecuteService;
 import modelengine.fel.tool.service.ToolRepository;
 import modelengine.fit.serialization.json.jackson.JacksonObjectSerializer;
@@ -107,6 +111,46 @@ public class DefaultToolExecutorTest {
                 "test")).isInstanceOf(IllegalStateException.class);
     }
 
+    @Test
+    @DisplayName("工具信息未变化时复用已创建的工具")
+    void shouldReuseToolWhenEntityUnchanged() throws IOException {
+        ToolInfoEntity toolEntity = this.mockTool();
+        ToolExecuteService toolExecutor =
+                new DefaultToolExecutor(this.toolRepository, this.toolFactoryRepository, this.serializer);
+        toolExecutor.execute("test", toolEntity.name(), "test");
+        toolExecutor.execute("test", toolEntity.name(), "test");
+        verify(this.toolFactory, times(1)).create(any(), any());
+    }
+
+    @Test
+    @DisplayName("收到工具变更通知后重新创建工具")
+    void shouldRecreateToolWhenToolChanged() throws IOException {
+        this.toolRepository =
+                mock(ToolRepository.class, withSettings().extraInterfaces(ToolChangedObserverRegistry.class));
+        ToolInfoEntity toolEntity = this.mockTool();
+        DefaultToolExecutor toolExecutor =
+                new DefaultToolExecutor(this.toolRepository, this.toolFactoryRepository, this.serializer);
+        verify((ToolChangedObserverRegistry) this.toolRepository).register(toolExecutor);
+        toolExecutor.execute("test", toolEntity.name(), "test");
+        toolExecutor.execute("test", toolEntity.name(), "test");
+        verify(this.toolRepository, times(1)).getTool(any(), any());
+
+        toolExecutor.onToolRemoved("test:" + toolEntity.name());
+        toolExecutor.execute("test", toolEntity.name(), "test");
+        verify(this.toolFactory, times(2)).create(any(), any());
+    }
+
+    private ToolInfoEntity mockTool() throws IOException {
+        ToolInfoEntity toolEntity = getTestEntity();
+        when(this.toolRepository.getTool(any(), eq(toolEntity.name()))).thenReturn(toolEntity);
+        when(this.toolFactoryRepository.match(any())).thenReturn(Optional.of(this.toolFactory));
+        Tool tool = mock(Tool.class, RETURNS_DEEP_STUBS);
+        when(this.toolFactory.create(any(), any())).thenReturn(tool);
+        when(tool.executeWithJson(any())).thenReturn("hello");
+        when(tool.metadata().returnConverter()).thenReturn(StringUtils.EMPTY);
+        return toolEntity;
+    }
+
     private ToolInfoEntity getTestEntity() throws IOException {
         List<ToolEntity> toolEntities =
                 this.serializer.<Map<String, List<ToolEntity>>>deserialize(IoUtils.content(this.getClass()
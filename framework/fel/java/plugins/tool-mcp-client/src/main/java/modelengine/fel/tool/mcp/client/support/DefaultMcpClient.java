@@ -10,7 +10,7 @@ import static modelengine.fitframework.inspection.Validation.notBlank;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.client.McpAsyncClient;
 import io.modelcontextprotocol.json.schema.jackson.DefaultJsonSchemaValidator;
 import io.modelcontextprotocol.spec.McpClientTransport;
 import io.modelcontextprotocol.spec.McpSchema;
@@ -24,20 +24,31 @@ import modelengine.fitframework.inspection.Nullable;
 import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.util.StringUtils;
 import modelengine.fitframework.util.UuidUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * A default implementation of the MCP client that uses the MCP SDK's streamable HTTP transport.
  *
- * <p><b>Not thread-safe:</b> This class is <b>not thread-safe</b>. External synchronization is required
- * if instances are to be accessed by multiple threads concurrently.
+ * <p>Requests are pipelined over the session: each request is correlated with its response by the JSON-RPC id, so
+ * {@link #getTools()}, {@link #callTool(String, Map)} and {@link #callToolAsync(String, Map)} may be called
+ * concurrently. The tool list is cached until the server sends {@code notifications/tools/list_changed}. Each
+ * change of the cache bumps its version, and a listing only fills the cache if the version is still the one it
+ * started from, so a listing still in flight when the list changes cannot overwrite the fresh list.</p>
+ *
+ * <p><b>Lifecycle:</b> {@link #initialize()} and {@link #close()} are <b>not thread-safe</b> and must not be invoked
+ * concurrently with each other or with other calls.
  *
  * @author 黄可欣
  * @since 2025-11-03
@@ -46,8 +57,9 @@ public class DefaultMcpClient implements McpClient {
     private static final Logger log = Logger.get(DefaultMcpClient.class);
 
     private final String clientId;
-    private final McpSyncClient mcpSyncClient;
+    private final McpAsyncClient mcpAsyncClient;
 
+    private final AtomicReference<CachedTools> tools = new AtomicReference<>(new CachedTools(0, null));
     private volatile boolean initialized = false;
     private volatile boolean closed = false;
 
@@ -65,24 +77,23 @@ public class DefaultMcpClient implements McpClient {
         notBlank(sseEndpoint, "The MCP server SSE endpoint cannot be blank.");
         log.info("Creating MCP client. [clientId={}, baseUri={}]", this.clientId, baseUri);
         McpClientLogHandler logHandler = new McpClientLogHandler(this.clientId);
+        io.modelcontextprotocol.client.McpClient.AsyncSpec spec =
+                io.modelcontextprotocol.client.McpClient.async(transport)
+                        .loggingConsumer(notification -> Mono.<Void>fromRunnable(() -> logHandler.handleLoggingMessage(
+                                notification)).subscribeOn(Schedulers.boundedElastic()))
+                        .toolsChangeConsumer(this::onToolsChanged)
+                        .requestTimeout(Duration.ofSeconds(requestTimeoutSeconds))
+                        .jsonSchemaValidator(new DefaultJsonSchemaValidator(new ObjectMapper()));
         if (elicitationHandler != null) {
             McpElicitationHandler mcpElicitationHandler =
                     new McpElicitationHandler(this.clientId, elicitationHandler);
-            this.mcpSyncClient = io.modelcontextprotocol.client.McpClient.sync(transport)
-                    .capabilities(McpSchema.ClientCapabilities.builder().elicitation().build())
-                    .loggingConsumer(logHandler::handleLoggingMessage)
-                    .elicitation(mcpElicitationHandler::handleElicitationRequest)
-                    .requestTimeout(Duration.ofSeconds(requestTimeoutSeconds))
-                    .jsonSchemaValidator(new DefaultJsonSchemaValidator(new ObjectMapper()))
-                    .build();
+            spec.capabilities(McpSchema.ClientCapabilities.builder().elicitation().build())
+                    .elicitation(request -> Mono.fromCallable(() -> mcpElicitationHandler.handleElicitationRequest(
+                            request)).subscribeOn(Schedulers.boundedElastic()));
         } else {
-            this.mcpSyncClient = io.modelcontextprotocol.client.McpClient.sync(transport)
-                    .capabilities(McpSchema.ClientCapabilities.builder().build())
-                    .loggingConsumer(logHandler::handleLoggingMessage)
-                    .requestTimeout(Duration.ofSeconds(requestTimeoutSeconds))
-                    .jsonSchemaValidator(new DefaultJsonSchemaValidator(new ObjectMapper()))
-                    .build();
+            spec.capabilities(McpSchema.ClientCapabilities.builder().build());
         }
+        this.mcpAsyncClient = spec.build();
     }
 
     @Override
@@ -98,13 +109,14 @@ public class DefaultMcpClient implements McpClient {
     @Override
     public void initialize() {
         this.ensureNotClosed();
-        this.mcpSyncClient.initialize();
+        this.mcpAsyncClient.initialize().block();
         this.initialized = true;
         log.info("MCP client initialized successfully. [clientId={}]", this.clientId);
     }
 
     /**
      * Retrieves the list of available tools from the MCP server.
+     * <p>The list is fetched once and cached until the server notifies that it has changed.</p>
      *
      * @return A {@link List} of {@link Tool} objects representing the available tools.
      * @throws IllegalStateException if the client is closed, not initialized, or if
@@ -113,8 +125,12 @@ public class DefaultMcpClient implements McpClient {
     @Override
     public List<Tool> getTools() {
         this.ensureReady();
+        CachedTools cached = this.tools.get();
+        if (cached.tools() != null) {
+            return cached.tools();
+        }
         try {
-            McpSchema.ListToolsResult result = this.mcpSyncClient.listTools();
+            McpSchema.ListToolsResult result = this.mcpAsyncClient.listTools().block();
             if (result == null || result.tools() == null) {
                 log.warn("Failed to get tools list: result is null. [clientId={}]", this.clientId);
                 throw new IllegalStateException("Failed to get tools list from MCP server: result is null.");
@@ -126,7 +142,11 @@ public class DefaultMcpClient implements McpClient {
             tools.forEach(tool -> log.debug("Tool information. [name={}, description={}]",
                     tool.getName(),
                     tool.getDescription()));
-            return tools;
+            if (this.tools.compareAndSet(cached, new CachedTools(cached.version(), tools))) {
+                return tools;
+            }
+            List<Tool> changed = this.tools.get().tools();
+            return changed != null ? changed : tools;
         } catch (Exception e) {
             log.error("Failed to get tools list. [clientId={}, error={}]", this.clientId, e.getMessage());
             throw new IllegalStateException(StringUtils.format("Failed to get tools from MCP server. [error={0}]",
@@ -147,26 +167,58 @@ public class DefaultMcpClient implements McpClient {
      */
     @Override
     public Object callTool(String name, Map<String, Object> arguments) {
-        this.ensureReady();
         try {
-            log.info("Calling tool. [clientId={}, name={}, arguments={}]", this.clientId, name, arguments);
-            McpSchema.CallToolResult result =
-                    this.mcpSyncClient.callTool(new McpSchema.CallToolRequest(name, arguments));
-
-            if (result == null) {
-                log.error("Failed to call tool: result is null. [clientId={}, name={}]", this.clientId, name);
-                throw new IllegalStateException(StringUtils.format("Failed to call tool: result is null. [name={0}]",
-                        name));
+            return this.callToolAsync(name, arguments).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IllegalStateException cause) {
+                throw cause;
             }
-            return this.processToolResult(result, name);
-        } catch (Exception e) {
-            log.error("Failed to call tool. [clientId={}, name={}, error={}]", this.clientId, name, e.getMessage());
             throw new IllegalStateException(StringUtils.format("Failed to call tool. [name={0}, error={1}]",
                     name,
                     e.getMessage()), e);
         }
     }
 
+    /**
+     * Invokes a specific tool on the MCP server without blocking the caller.
+     * <p>The request is sent immediately and its response is matched by the JSON-RPC id, so several calls can be in
+     * flight on this client at once.</p>
+     *
+     * @param name The name of the tool to invoke, as a {@link String}.
+     * @param arguments The arguments to pass to the tool, as a {@link Map} of parameter names to values.
+     * @return The result of the tool invocation as a {@link CompletableFuture}, completed with the same value as
+     * {@link #callTool(String, Map)} or exceptionally with an {@link IllegalStateException}.
+     * @throws IllegalStateException if the client is closed or not initialized.
+     */
+    @Override
+    public CompletableFuture<Object> callToolAsync(String name, Map<String, Object> arguments) {
+        this.ensureReady();
+        log.info("Calling tool. [clientId={}, name={}, arguments={}]", this.clientId, name, arguments);
+        return this.mcpAsyncClient.callTool(new McpSchema.CallToolRequest(name, arguments))
+                .switchIfEmpty(Mono.error(() -> {
+                    log.error("Failed to call tool: result is null. [clientId={}, name={}]", this.clientId, name);
+                    return new IllegalStateException(StringUtils.format(
+                            "Failed to call tool: result is null. [name={0}]",
+                            name));
+                }))
+                .<Object>handle((result, sink) -> {
+                    Object content = this.processToolResult(result, name);
+                    if (content != null) {
+                        sink.next(content);
+                    }
+                })
+                .onErrorMap(e -> {
+                    log.error("Failed to call tool. [clientId={}, name={}, error={}]",
+                            this.clientId,
+                            name,
+                            e.getMessage());
+                    return new IllegalStateException(StringUtils.format("Failed to call tool. [name={0}, error={1}]",
+                            name,
+                            e.getMessage()), e);
+                })
+                .toFuture();
+    }
+
     /**
      * Processes the tool call result and extracts the content.
      * Handles error cases and different content types (text, image, etc.).
@@ -223,10 +275,25 @@ public class DefaultMcpClient implements McpClient {
     public void close() throws IOException {
         this.ensureNotClosed();
         this.closed = true;
-        this.mcpSyncClient.closeGracefully();
+        this.tools.updateAndGet(cached -> new CachedTools(cached.version() + 1, null));
+        this.mcpAsyncClient.closeGracefully().block();
         log.info("MCP client closed. [clientId={}]", this.clientId);
     }
 
+    /**
+     * Replaces the cached tool list after the server sends {@code notifications/tools/list_changed}.
+     *
+     * @param mcpTools The tools listed again by the MCP SDK after the notification.
+     * @return A {@link Mono} that completes when the cache is updated.
+     */
+    private Mono<Void> onToolsChanged(List<McpSchema.Tool> mcpTools) {
+        return Mono.fromRunnable(() -> {
+            List<Tool> changed = mcpTools.stream().map(this::convertToFelTool).collect(Collectors.toList());
+            this.tools.updateAndGet(cached -> new CachedTools(cached.version() + 1, changed));
+            log.info("Tools list changed. [clientId={}, count={}]", this.clientId, changed.size());
+        });
+    }
+
     /**
      * Converts an MCP SDK Tool to a FEL Tool entity.
      *
@@ -297,4 +364,12 @@ public class DefaultMcpClient implements McpClient {
         }
         return "";
     }
+
+    /**
+     * The cached tool list together with the version of the cache.
+     *
+     * @param version The version of the cache, bumped whenever the list changes or is dropped.
+     * @param tools The cached tools, or {@code null} if the list has not been fetched yet.
+     */
+    private record CachedTools(long version, List<Tool> tools) {}
 }
@@ -19,11 +19,18 @@ import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.annotation.Value;
 import modelengine.fitframework.inspection.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 /**
  * Represents a factory for creating instances of the {@link DefaultMcpClient}.
  * This class is responsible for initializing and configuring.
+ * <p>Pooled clients of the same server URL share one {@link PooledMcpClient}, which is created on first use and
+ * removed when its last user closes it.</p>
  *
  * @author 季聿阶
  * @since 2025-05-21
@@ -31,14 +38,23 @@ import java.util.function.Function;
 @Component
 public class DefaultMcpClientFactory implements McpClientFactory {
     private final int requestTimeoutSeconds;
+    private final int poolSize;
+    private final int maxConcurrentRequests;
+    private final Map<String, PooledMcpClient> pools = new ConcurrentHashMap<>();
 
     /**
      * Constructs a new instance of the DefaultMcpClientFactory.
      *
      * @param requestTimeoutSeconds The timeout duration of requests. Units: seconds.
+     * @param poolSize The number of sessions in the pool of each MCP server.
+     * @param maxConcurrentRequests The maximum number of tool calls in flight over the pool of each MCP server.
      */
-    public DefaultMcpClientFactory(@Value("${mcp.client.request.timeout-seconds}") int requestTimeoutSeconds) {
+    public DefaultMcpClientFactory(@Value("${mcp.client.request.timeout-seconds}") int requestTimeoutSeconds,
+            @Value("${mcp.client.pool.size}") int poolSize,
+            @Value("${mcp.client.pool.max-concurrent-requests}") int maxConcurrentRequests) {
         this.requestTimeoutSeconds = requestTimeoutSeconds > 0 ? requestTimeoutSeconds : 180;
+        this.poolSize = poolSize > 0 ? poolSize : 1;
+        this.maxConcurrentRequests = maxConcurrentRequests > 0 ? maxConcurrentRequests : 16;
     }
 
     @Override
@@ -60,4 +76,27 @@ public class DefaultMcpClientFactory implements McpClientFactory {
                 .build();
         return new DefaultMcpClient(baseUri, sseEndpoint, transport, this.requestTimeoutSeconds, elicitationHandler);
     }
+
+    @Override
+    public McpClient createPooled(String baseUri, String sseEndpoint) {
+        AtomicReference<McpClient> lease = new AtomicReference<>();
+        this.pools.compute(baseUri + sseEndpoint, (key, pool) -> {
+            lease.set(pool == null ? null : pool.lease());
+            if (lease.get() != null) {
+                return pool;
+            }
+            PooledMcpClient created = this.createPool(key, baseUri, sseEndpoint);
+            lease.set(created.lease());
+            return created;
+        });
+        return lease.get();
+    }
+
+    private PooledMcpClient createPool(String key, String baseUri, String sseEndpoint) {
+        List<McpClient> sessions = new ArrayList<>(this.poolSize);
+        for (int i = 0; i < this.poolSize; i++) {
+            sessions.add(this.createStreamable(baseUri, sseEndpoint, null));
+        }
+        return new PooledMcpClient(sessions, this.maxConcurrentRequests, pool -> this.pools.remove(key, pool));
+    }
 }
@@ -0,0 +1,322 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.tool.mcp.client.support;
+
+import static modelengine.fitframework.inspection.Validation.greaterThan;
+import static modelengine.fitframework.inspection.Validation.notEmpty;
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fel.tool.mcp.client.McpClient;
+import modelengine.fel.tool.mcp.entity.Tool;
+import modelengine.fitframework.inspection.Nullable;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.util.StringUtils;
+import modelengine.fitframework.util.UuidUtils;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * An MCP client that shares a pool of sessions to one MCP server.
+ *
+ * <p>Tool calls are dispatched to the sessions in turn and each session pipelines its requests, so independent calls
+ * run in parallel. At most {@code maxConcurrentRequests} calls are in flight over the whole pool, the others wait in
+ * order until a call completes. Each user gets its own client from {@link #lease()}, and closing that client only
+ * ends its own use of the pool. The sessions are closed when the last leased client is closed, or when the pool
+ * itself is closed.</p>
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+public class PooledMcpClient implements McpClient {
+    private static final Logger log = Logger.get(PooledMcpClient.class);
+
+    private final String clientId;
+    private final List<McpClient> sessions;
+    private final int maxConcurrentRequests;
+    private final Consumer<PooledMcpClient> releaser;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Object lock = new Object();
+    private final Queue<Runnable> pending = new ArrayDeque<>();
+
+    private int inFlight;
+    private int references;
+    private boolean initialized;
+    private boolean closed;
+
+    /**
+     * Constructs a new instance of the PooledMcpClient without any leased client.
+     *
+     * @param sessions The clients of the pooled sessions.
+     * @param maxConcurrentRequests The maximum number of tool calls in flight over the pool.
+     * @param releaser The callback invoked when the pool is closed.
+     * @throws IllegalArgumentException if sessions is empty, maxConcurrentRequests is not positive, or releaser is
+     * null.
+     */
+    public PooledMcpClient(List<McpClient> sessions, int maxConcurrentRequests, Consumer<PooledMcpClient> releaser) {
+        this.clientId = UuidUtils.randomUuidString();
+        notEmpty(sessions, "The pooled MCP sessions cannot be empty.");
+        this.sessions = new ArrayList<>(sessions);
+        this.maxConcurrentRequests =
+                greaterThan(maxConcurrentRequests, 0, "The max concurrent requests must be positive.");
+        this.releaser = notNull(releaser, "The pool releaser cannot be null.");
+    }
+
+    @Override
+    public String getClientId() {
+        return this.clientId;
+    }
+
+    /**
+     * Initializes all sessions of the pool once, later calls return immediately.
+     *
+     * @throws IllegalStateException if the pool has already been closed.
+     */
+    @Override
+    public void initialize() {
+        synchronized (this.lock) {
+            this.ensureNotClosed();
+            if (this.initialized) {
+                return;
+            }
+            this.sessions.forEach(McpClient::initialize);
+            this.initialized = true;
+        }
+        log.info("MCP client pool initialized. [clientId={}, sessions={}]", this.clientId, this.sessions.size());
+    }
+
+    @Override
+    public List<Tool> getTools() {
+        return this.sessions.get(0).getTools();
+    }
+
+    @Override
+    public Object callTool(String name, Map<String, Object> arguments) {
+        try {
+            return this.callToolAsync(name, arguments).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(StringUtils.format("Failed to call tool. [name={0}, error={1}]",
+                    name,
+                    e.getMessage()), e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Object> callToolAsync(String name, Map<String, Object> arguments) {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        this.submit(() -> this.dispatch(name, arguments, result));
+        return result;
+    }
+
+    /**
+     * Leases a client of the pool to one user. The leased client fails once it is closed, and closing it does not
+     * affect the other leased clients.
+     *
+     * @return The leased {@link McpClient}, or {@code null} if the pool has already been closed.
+     */
+    @Nullable
+    public McpClient lease() {
+        synchronized (this.lock) {
+            if (this.closed) {
+                return null;
+            }
+            this.references++;
+        }
+        return new Lease();
+    }
+
+    /**
+     * Gets the number of tool calls in flight.
+     *
+     * @return The number of tool calls in flight.
+     */
+    public int inFlight() {
+        synchronized (this.lock) {
+            return this.inFlight;
+        }
+    }
+
+    /**
+     * Closes all sessions of the pool, together with the clients still leased. Tool calls still waiting for a free
+     * slot fail when the sessions are closed.
+     *
+     * @throws IOException never, session failures are logged.
+     * @throws IllegalStateException if the pool has already been closed.
+     */
+    @Override
+    public void close() throws IOException {
+        List<Runnable> waiting;
+        synchronized (this.lock) {
+            this.ensureNotClosed();
+            waiting = this.markClosed();
+        }
+        this.shutdown(waiting);
+    }
+
+    private void returnLease() {
+        List<Runnable> waiting;
+        synchronized (this.lock) {
+            if (this.closed || --this.references > 0) {
+                return;
+            }
+            waiting = this.markClosed();
+        }
+        this.shutdown(waiting);
+    }
+
+    private List<Runnable> markClosed() {
+        this.closed = true;
+        List<Runnable> waiting = new ArrayList<>(this.pending);
+        this.pending.clear();
+        this.inFlight += waiting.size();
+        return waiting;
+    }
+
+    private void shutdown(List<Runnable> waiting) {
+        this.releaser.accept(this);
+        waiting.forEach(Runnable::run);
+        for (McpClient session : this.sessions) {
+            try {
+                session.close();
+            } catch (IOException | IllegalStateException e) {
+                log.warn("Failed to close pooled MCP session. [clientId={}, error={}]",
+                        session.getClientId(),
+                        e.getMessage());
+            }
+        }
+        log.info("MCP client pool closed. [clientId={}]", this.clientId);
+    }
+
+    private void submit(Runnable call) {
+        synchronized (this.lock) {
+            if (this.inFlight >= this.maxConcurrentRequests && !this.closed) {
+                this.pending.add(call);
+                return;
+            }
+            this.inFlight++;
+        }
+        call.run();
+    }
+
+    private void dispatch(String name, Map<String, Object> arguments, CompletableFuture<Object> result) {
+        CompletableFuture<Object> call;
+        try {
+            this.ensureOpen();
+            McpClient session = this.sessions.get(Math.floorMod(this.next.getAndIncrement(), this.sessions.size()));
+            call = session.callToolAsync(name, arguments);
+        } catch (RuntimeException e) {
+            this.release();
+            result.completeExceptionally(e);
+            return;
+        }
+        call.whenComplete((value, error) -> {
+            this.release();
+            if (error == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+            }
+        });
+    }
+
+    private void release() {
+        Runnable call;
+        synchronized (this.lock) {
+            call = this.pending.poll();
+            if (call == null) {
+                this.inFlight--;
+                return;
+            }
+        }
+        call.run();
+    }
+
+    private void ensureOpen() {
+        synchronized (this.lock) {
+            this.ensureNotClosed();
+        }
+    }
+
+    private void ensureNotClosed() {
+        if (this.closed) {
+            throw new IllegalStateException(StringUtils.format("The MCP client pool is already closed. [clientId={0}]",
+                    this.clientId));
+        }
+    }
+
+    /**
+     * A client leased to one user of the pool.
+     */
+    private final class Lease implements McpClient {
+        private final String clientId = UuidUtils.randomUuidString();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        @Override
+        public String getClientId() {
+            return this.clientId;
+        }
+
+        @Override
+        public void initialize() {
+            this.ensureNotClosed();
+            PooledMcpClient.this.initialize();
+        }
+
+        @Override
+        public List<Tool> getTools() {
+            this.ensureNotClosed();
+            return PooledMcpClient.this.getTools();
+        }
+
+        @Override
+        public Object callTool(String name, Map<String, Object> arguments) {
+            this.ensureNotClosed();
+            return PooledMcpClient.this.callTool(name, arguments);
+        }
+
+        @Override
+        public CompletableFuture<Object> callToolAsync(String name, Map<String, Object> arguments) {
+            this.ensureNotClosed();
+            return PooledMcpClient.this.callToolAsync(name, arguments);
+        }
+
+        /**
+         * Returns the lease to the pool, and closes the pool when it is the last one.
+         *
+         * @throws IllegalStateException if the leased client has already been closed.
+         */
+        @Override
+        public void close() {
+            if (!this.closed.compareAndSet(false, true)) {
+                throw new IllegalStateException(StringUtils.format(
+                        "The leased MCP client is already closed. [clientId={0}]",
+                        this.clientId));
+            }
+            PooledMcpClient.this.returnLease();
+        }
+
+        private void ensureNotClosed() {
+            if (this.closed.get()) {
+                throw new IllegalStateException(StringUtils.format(
+                        "The leased MCP client is already closed. [clientId={0}]",
+                        this.clientId));
+            }
+        }
+    }
+}
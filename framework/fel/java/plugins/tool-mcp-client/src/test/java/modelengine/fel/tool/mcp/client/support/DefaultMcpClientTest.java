@@ -0,0 +1,223 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.tool.mcp.client.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.spec.McpClientTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import modelengine.fel.tool.mcp.entity.Tool;
+import reactor.core.publisher.Mono;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Unit test for {@link DefaultMcpClient}.
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+@DisplayName("Unit tests for DefaultMcpClient")
+public class DefaultMcpClientTest {
+    private FakeServer server;
+    private DefaultMcpClient client;
+
+    @BeforeEach
+    void setUp() {
+        this.server = new FakeServer();
+        this.client = new DefaultMcpClient("http://localhost", "/mcp", this.server, 5, null);
+        this.client.initialize();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        this.client.close();
+    }
+
+    @Test
+    @DisplayName("Should complete concurrent asynchronous tool calls with their own results")
+    void shouldCompleteConcurrentToolCalls() {
+        List<CompletableFuture<Object>> calls = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            calls.add(this.client.callToolAsync("echo", Collections.singletonMap("id", i)));
+        }
+        assertThat(calls).extracting(CompletableFuture::join).containsExactly("echo:0", "echo:1", "echo:2", "echo:3");
+    }
+
+    @Test
+    @DisplayName("Should fail the asynchronous call when the tool returns an error")
+    void shouldFailToolCallWhenToolReturnsError() {
+        CompletableFuture<Object> call = this.client.callToolAsync("fail", Collections.emptyMap());
+        assertThatThrownBy(call::join).isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Tool returned an error");
+        assertThatThrownBy(() -> this.client.callTool("fail", Collections.emptyMap()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should list the tools once and serve later calls from the cache")
+    void shouldCacheTools() {
+        this.server.tools = tools("a");
+        assertThat(names(this.client.getTools())).containsExactly("a");
+        assertThat(names(this.client.getTools())).containsExactly("a");
+        assertThat(this.server.listings.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should replace the cached tools when the server notifies that the list changed")
+    void shouldReplaceToolsWhenListChanged() throws InterruptedException {
+        this.server.tools = tools("a");
+        assertThat(names(this.client.getTools())).containsExactly("a");
+
+        this.server.tools = tools("b");
+        this.server.notifyToolsChanged();
+        awaitListings(2);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!names(this.client.getTools()).contains("b") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(names(this.client.getTools())).containsExactly("b");
+        assertThat(this.server.listings.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep the changed tools when an older listing completes after the change")
+    void shouldNotCacheStaleListingAfterListChanged() throws InterruptedException {
+        this.server.tools = tools("stale");
+        this.server.holdListing = true;
+        CompletableFuture<List<Tool>> stale = CompletableFuture.supplyAsync(this.client::getTools);
+        McpSchema.JSONRPCRequest held = this.server.held.poll(5, TimeUnit.SECONDS);
+        assertThat(held).isNotNull();
+
+        this.server.holdListing = false;
+        this.server.tools = tools("fresh");
+        this.server.notifyToolsChanged();
+        awaitListings(2);
+        Thread.sleep(200);
+        this.server.reply(held, new McpSchema.ListToolsResult(tools("stale"), null));
+        stale.join();
+
+        assertThat(names(this.client.getTools())).containsExactly("fresh");
+        assertThat(this.server.listings.get()).isEqualTo(2);
+    }
+
+    private void awaitListings(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (this.server.listings.get() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(this.server.listings.get()).isGreaterThanOrEqualTo(count);
+    }
+
+    private static List<McpSchema.Tool> tools(String name) {
+        return Collections.singletonList(new McpSchema.Tool.Builder().name(name)
+                .description(name)
+                .inputSchema(new McpSchema.JsonSchema("object", null, null, null, null, null))
+                .build());
+    }
+
+    private static List<String> names(List<Tool> tools) {
+        return tools.stream().map(Tool::getName).toList();
+    }
+
+    /**
+     * An in-memory MCP server that answers the client over a fake transport.
+     */
+    private static final class FakeServer implements McpClientTransport {
+        private final McpJsonMapper mapper = McpJsonMapper.getDefault();
+        private final AtomicInteger listings = new AtomicInteger();
+        private final BlockingQueue<McpSchema.JSONRPCRequest> held = new LinkedBlockingQueue<>();
+        private volatile Function<Mono<McpSchema.JSONRPCMessage>, Mono<McpSchema.JSONRPCMessage>> handler;
+        private volatile List<McpSchema.Tool> tools = Collections.emptyList();
+        private volatile boolean holdListing;
+
+        @Override
+        public Mono<Void> connect(Function<Mono<McpSchema.JSONRPCMessage>, Mono<McpSchema.JSONRPCMessage>> handler) {
+            this.handler = handler;
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+            if (!(message instanceof McpSchema.JSONRPCRequest request)) {
+                return Mono.empty();
+            }
+            switch (request.method()) {
+                case McpSchema.METHOD_INITIALIZE -> this.reply(request,
+                        new McpSchema.InitializeResult(McpSchema.LATEST_PROTOCOL_VERSION,
+                                McpSchema.ServerCapabilities.builder().tools(true).build(),
+                                new McpSchema.Implementation("fake", "1.0"),
+                                null));
+                case McpSchema.METHOD_TOOLS_LIST -> {
+                    this.listings.incrementAndGet();
+                    if (this.holdListing) {
+                        this.held.add(request);
+                    } else {
+                        this.reply(request, new McpSchema.ListToolsResult(this.tools, null));
+                    }
+                }
+                case McpSchema.METHOD_TOOLS_CALL -> {
+                    McpSchema.CallToolRequest call =
+                            this.mapper.convertValue(request.params(), McpSchema.CallToolRequest.class);
+                    boolean isError = call.name().equals("fail");
+                    String text = isError ? "failed" : call.name() + ":" + call.arguments().get("id");
+                    this.reply(request,
+                            new McpSchema.CallToolResult(List.of(new McpSchema.TextContent(text)), isError));
+                }
+                default -> this.reply(request, Collections.emptyMap());
+            }
+            return Mono.empty();
+        }
+
+        private void reply(McpSchema.JSONRPCRequest request, Object result) {
+            this.handler.apply(Mono.just(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION,
+                    request.id(),
+                    result,
+                    null))).subscribe();
+        }
+
+        private void notifyToolsChanged() {
+            this.handler.apply(Mono.just(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+                    McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED,
+                    null))).subscribe();
+        }
+
+        @Override
+        public List<String> protocolVersions() {
+            return List.of(McpSchema.LATEST_PROTOCOL_VERSION);
+        }
+
+        @Override
+        public Mono<Void> closeGracefully() {
+            return Mono.empty();
+        }
+
+        @Override
+        public <T> T unmarshalFrom(Object data, TypeRef<T> typeRef) {
+            return this.mapper.convertValue(data, typeRef);
+        }
+    }
+}
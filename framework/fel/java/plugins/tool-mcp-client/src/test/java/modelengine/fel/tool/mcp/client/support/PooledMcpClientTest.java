@@ -0,0 +1,190 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.tool.mcp.client.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import modelengine.fel.tool.mcp.client.McpClient;
+import modelengine.fel.tool.mcp.entity.Tool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit test for {@link PooledMcpClient}.
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+@DisplayName("Unit tests for PooledMcpClient")
+public class PooledMcpClientTest {
+    @Test
+    @DisplayName("Should complete parallel tool calls in the time of the slowest call")
+    void shouldRunToolCallsInParallel() throws IOException {
+        List<StubSession> sessions = sessions(2, 200);
+        PooledMcpClient client = new PooledMcpClient(new ArrayList<>(sessions), 16, pool -> {});
+        client.initialize();
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Object>> calls = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            calls.add(client.callToolAsync("tool", Collections.singletonMap("id", i)));
+        }
+        CompletableFuture.allOf(calls.toArray(new CompletableFuture[0])).join();
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(elapsed).isLessThan(1000);
+        assertThat(calls).extracting(CompletableFuture::join).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(sessions).allSatisfy(session -> assertThat(session.calls.get()).isEqualTo(3));
+        assertThat(client.inFlight()).isZero();
+        client.close();
+    }
+
+    @Test
+    @DisplayName("Should keep the tool calls in flight under the concurrency limit")
+    void shouldLimitConcurrentToolCalls() throws IOException {
+        StubSession session = new StubSession(-1);
+        PooledMcpClient client = new PooledMcpClient(Collections.singletonList(session), 2, pool -> {});
+        List<CompletableFuture<Object>> calls = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            calls.add(client.callToolAsync("tool", Collections.singletonMap("id", i)));
+        }
+        assertThat(session.waiting).hasSize(2);
+        assertThat(client.inFlight()).isEqualTo(2);
+
+        while (!session.waiting.isEmpty()) {
+            assertThat(session.maxInFlight.get()).isLessThanOrEqualTo(2);
+            session.completeOne();
+        }
+        assertThat(calls).allSatisfy(call -> assertThat(call).isCompleted());
+        assertThat(client.inFlight()).isZero();
+        client.close();
+    }
+
+    @Test
+    @DisplayName("Should close the sessions when the last leased client is closed")
+    void shouldCloseSessionsWithLastLease() throws IOException {
+        List<StubSession> sessions = sessions(2, 0);
+        AtomicBoolean released = new AtomicBoolean();
+        PooledMcpClient pool = new PooledMcpClient(new ArrayList<>(sessions), 4, ignored -> released.set(true));
+        McpClient first = pool.lease();
+        McpClient second = pool.lease();
+
+        first.close();
+        assertThat(released).isFalse();
+        assertThat(sessions).noneSatisfy(session -> assertThat(session.closed).isTrue());
+
+        second.close();
+        assertThat(released).isTrue();
+        assertThat(sessions).allSatisfy(session -> assertThat(session.closed).isTrue());
+        assertThat(pool.lease()).isNull();
+        assertThatThrownBy(() -> pool.callTool("tool", Collections.emptyMap()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should keep the other leased clients working when one is closed twice")
+    void shouldIsolateLeasedClients() throws IOException {
+        List<StubSession> sessions = sessions(1, 0);
+        PooledMcpClient pool = new PooledMcpClient(new ArrayList<>(sessions), 4, ignored -> {});
+        McpClient first = pool.lease();
+        McpClient second = pool.lease();
+        assertThat(first.getClientId()).isNotEqualTo(second.getClientId());
+
+        first.close();
+        assertThatThrownBy(first::close).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> first.callTool("tool", Collections.singletonMap("id", 1)))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(second.callTool("tool", Collections.singletonMap("id", 2))).isEqualTo(2);
+        assertThat(sessions.get(0).closed).isFalse();
+        second.close();
+        assertThat(sessions.get(0).closed).isTrue();
+    }
+
+    private static List<StubSession> sessions(int count, long latencyMillis) {
+        List<StubSession> sessions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            sessions.add(new StubSession(latencyMillis));
+        }
+        return sessions;
+    }
+
+    /**
+     * A session that answers each call with its {@code id} argument, after a fixed latency or when completed by the
+     * test if the latency is negative.
+     */
+    private static class StubSession implements McpClient {
+        private final long latencyMillis;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+        private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+        private volatile boolean closed;
+
+        StubSession(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+        }
+
+        void completeOne() {
+            this.waiting.poll().run();
+        }
+
+        @Override
+        public String getClientId() {
+            return "stub";
+        }
+
+        @Override
+        public void initialize() {}
+
+        @Override
+        public List<Tool> getTools() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Object callTool(String name, Map<String, Object> arguments) {
+            return this.callToolAsync(name, arguments).join();
+        }
+
+        @Override
+        public CompletableFuture<Object> callToolAsync(String name, Map<String, Object> arguments) {
+            this.calls.incrementAndGet();
+            this.maxInFlight.accumulateAndGet(this.inFlight.incrementAndGet(), Math::max);
+            CompletableFuture<Object> result = new CompletableFuture<>();
+            Runnable complete = () -> {
+                this.inFlight.decrementAndGet();
+                result.complete(arguments.get("id"));
+            };
+            if (this.latencyMillis < 0) {
+                this.waiting.add(complete);
+            } else {
+                CompletableFuture.delayedExecutor(this.latencyMillis, TimeUnit.MILLISECONDS).execute(complete);
+            }
+            return result;
+        }
+
+        @Override
+        public void close() {
+            this.closed = true;
+        }
+    }
+}
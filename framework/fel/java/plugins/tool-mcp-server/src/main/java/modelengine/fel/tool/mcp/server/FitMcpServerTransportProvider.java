@@ -11,7 +11,7 @@ import io.modelcontextprotocol.json.TypeRef;
 import io.modelcontextprotocol.server.McpTransportContextExtractor;
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema;
-import io.modelcontextprotocol.util.KeepAliveScheduler;
+import io.modelcontextprotocol.spec.McpSession;
 import modelengine.fel.tool.mcp.entity.Event;
 import modelengine.fit.http.entity.Entity;
 import modelengine.fit.http.entity.TextEvent;
@@ -25,8 +25,13 @@ import reactor.core.publisher.Mono;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Objects;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -37,14 +42,15 @@ import java.util.concurrent.locks.ReentrantLock;
  * @author 黄可欣
  * @since 2025-11-19
  */
-public abstract class FitMcpServerTransportProvider<S> {
+public abstract class FitMcpServerTransportProvider<S extends McpSession> {
     private static final Logger logger = Logger.get(FitMcpServerTransportProvider.class);
+    private static final TypeRef<List<Map<String, Object>>> BATCH_TYPE = new TypeRef<>() {};
+
     protected final McpJsonMapper jsonMapper;
     protected final McpTransportContextExtractor<HttpClassicServerRequest> contextExtractor;
-    protected KeepAliveScheduler keepAliveScheduler;
 
     protected volatile boolean isClosing = false;
-    protected final Map<String, S> sessions = new ConcurrentHashMap<>();
+    protected final McpSessionRegistry<S> sessions;
 
     /**
      * Constructs a new FitMcpServerTransportProvider instance.
@@ -52,26 +58,20 @@ public abstract class FitMcpServerTransportProvider<S> {
      * @param jsonMapper The JSON mapper for serialization/deserialization.
      * @param contextExtractor The context extractor for HTTP requests.
      * @param keepAliveInterval The interval for keep-alive messages, or null to disable.
+     * @param partitions The number of session partitions, or a non-positive value to use one per processor.
+     * @param idleTimeout The idle time after which a session is evicted, or null to disable eviction.
      */
     protected FitMcpServerTransportProvider(McpJsonMapper jsonMapper,
-            McpTransportContextExtractor<HttpClassicServerRequest> contextExtractor, Duration keepAliveInterval) {
+            McpTransportContextExtractor<HttpClassicServerRequest> contextExtractor, Duration keepAliveInterval,
+            int partitions, Duration idleTimeout) {
         Validation.notNull(jsonMapper, "MCP Json mapper must not be null.");
         Validation.notNull(contextExtractor, "Context extractor must not be null.");
 
         this.jsonMapper = jsonMapper;
         this.contextExtractor = contextExtractor;
-        if (keepAliveInterval != null) {
-            this.initKeepAliveScheduler(keepAliveInterval);
-        }
+        this.sessions = new McpSessionRegistry<>(partitions, keepAliveInterval, idleTimeout, this::closeSession);
     }
 
-    /**
-     * Initializes the keep-alive scheduler with the specified interval.
-     *
-     * @param keepAliveInterval The interval for keep-alive messages.
-     */
-    protected abstract void initKeepAliveScheduler(Duration keepAliveInterval);
-
     /**
      * Gets the session ID from a session object.
      *
@@ -150,9 +150,7 @@ public abstract class FitMcpServerTransportProvider<S> {
 
             logger.debug("Graceful shutdown completed.");
             this.sessions.clear();
-            if (this.keepAliveScheduler != null) {
-                this.keepAliveScheduler.shutdown();
-            }
+            this.sessions.shutdown();
         });
     }
 
@@ -168,7 +166,7 @@ public abstract class FitMcpServerTransportProvider<S> {
     }
 
     /**
-     * Validates that a session exists for the given session ID.
+     * Validates that a session exists for the given session ID and records the client activity on it.
      *
      * @param sessionId The session ID to validate.
      * @param response The HTTP response to set status code if validation fails.
@@ -179,7 +177,7 @@ public abstract class FitMcpServerTransportProvider<S> {
             response.statusCode(HttpResponseStatus.BAD_REQUEST.statusCode());
             return Entity.createText(response, "Session ID missing.");
         }
-        if (this.sessions.get(sessionId) == null) {
+        if (!this.sessions.touch(sessionId)) {
             response.statusCode(HttpResponseStatus.NOT_FOUND.statusCode());
             return Entity.createObject(response,
                     McpError.builder(McpSchema.ErrorCodes.INVALID_PARAMS)
@@ -206,6 +204,72 @@ public abstract class FitMcpServerTransportProvider<S> {
         }
     }
 
+    /**
+     * Deserializes a single JSON-RPC message or a JSON-RPC batch from the request body.
+     *
+     * @param requestBody The request body string to deserialize.
+     * @param response The HTTP response to set error status if deserialization fails.
+     * @return The deserialized {@link McpSchema.JSONRPCMessage}s in request order, or {@code null} if
+     * deserialization fails or the batch is empty.
+     */
+    protected List<McpSchema.JSONRPCMessage> deserializeMessages(String requestBody,
+            HttpClassicServerResponse response) {
+        if (!isBatch(requestBody)) {
+            McpSchema.JSONRPCMessage message = this.deserializeMessage(requestBody, response);
+            return message == null ? null : Collections.singletonList(message);
+        }
+        try {
+            List<Map<String, Object>> elements = this.jsonMapper.readValue(requestBody, BATCH_TYPE);
+            if (elements.isEmpty()) {
+                throw new IllegalArgumentException("The JSON-RPC batch is empty.");
+            }
+            List<McpSchema.JSONRPCMessage> messages = new ArrayList<>(elements.size());
+            for (Map<String, Object> element : elements) {
+                messages.add(this.toMessage(element));
+            }
+            return messages;
+        } catch (IllegalArgumentException | IOException e) {
+            logger.error("Failed to deserialize batch. [error={}]", e.getMessage(), e);
+            response.statusCode(HttpResponseStatus.BAD_REQUEST.statusCode());
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether the request body is a JSON-RPC batch, that is, a JSON array.
+     *
+     * @param requestBody The request body string.
+     * @return {@code true} if the request body is a JSON-RPC batch, {@code false} otherwise.
+     */
+    protected static boolean isBatch(String requestBody) {
+        for (int i = 0; i < requestBody.length(); i++) {
+            char ch = requestBody.charAt(i);
+            if (!Character.isWhitespace(ch)) {
+                return ch == '[';
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Converts one element of a batch with the same rules as {@link McpSchema#deserializeJsonRpcMessage}, without
+     * parsing the element again.
+     *
+     * @param element The batch element.
+     * @return The converted {@link McpSchema.JSONRPCMessage}.
+     * @throws IllegalArgumentException if the element is not a JSON-RPC message.
+     */
+    private McpSchema.JSONRPCMessage toMessage(Map<String, Object> element) {
+        if (element.containsKey("method") && element.containsKey("id")) {
+            return this.jsonMapper.convertValue(element, McpSchema.JSONRPCRequest.class);
+        } else if (element.containsKey("method")) {
+            return this.jsonMapper.convertValue(element, McpSchema.JSONRPCNotification.class);
+        } else if (element.containsKey("result") || element.containsKey("error")) {
+            return this.jsonMapper.convertValue(element, McpSchema.JSONRPCResponse.class);
+        }
+        throw new IllegalArgumentException("Cannot deserialize JSON-RPC message: " + element);
+    }
+
     /**
      * Abstract base class for session transport implementations.
      * Provides common functionality for sending messages over SSE connections.
@@ -218,6 +282,9 @@ public abstract class FitMcpServerTransportProvider<S> {
         protected final ReentrantLock lock = new ReentrantLock();
         protected volatile boolean closed = false;
 
+        private final ReentrantLock batchLock = new ReentrantLock();
+        private volatile BatchResponses batch;
+
         /**
          * Creates a new session transport.
          *
@@ -236,67 +303,114 @@ public abstract class FitMcpServerTransportProvider<S> {
         /**
          * Sends a JSON-RPC message to the client through the SSE connection.
          * This method is thread-safe and checks if the connection is still active before sending.
+         * While a batch is handled by {@link #runBatch(Collection, Runnable)}, the responses to its requests are held
+         * back and written together when the batch completes.
          *
          * @param message The JSON-RPC message to send.
          * @return A Mono that completes when the message has been sent.
          */
         protected Mono<Void> doSendMessage(McpSchema.JSONRPCMessage message, String messageId) {
             return Mono.fromRunnable(() -> {
+                BatchResponses current = this.batch;
+                if (current != null && message instanceof McpSchema.JSONRPCResponse jsonrpcResponse
+                        && current.offer(jsonrpcResponse)) {
+                    return;
+                }
+                this.emit(message, messageId);
+            });
+        }
+
+        /**
+         * Handles a JSON-RPC batch on this transport. The responses to the given request IDs are held back while the
+         * action runs and then written as one JSON array in a single SSE event, other messages are sent as usual.
+         * Batches on the same transport run one after another.
+         *
+         * @param requestIds The IDs of the requests in the batch, in request order.
+         * @param action The action that handles the batch.
+         */
+        public void runBatch(Collection<Object> requestIds, Runnable action) {
+            this.batchLock.lock();
+            try {
+                BatchResponses current = new BatchResponses(requestIds);
+                this.batch = current;
+                try {
+                    action.run();
+                } finally {
+                    this.batch = null;
+                    List<McpSchema.JSONRPCResponse> responses = current.drain();
+                    if (!responses.isEmpty()) {
+                        this.emit(responses, null);
+                    }
+                }
+            } finally {
+                this.batchLock.unlock();
+            }
+        }
+
+        /**
+         * Checks whether a JSON-RPC batch is being handled on this transport.
+         *
+         * @return {@code true} if a batch is being handled, {@code false} otherwise.
+         */
+        protected boolean inBatch() {
+            return this.batch != null;
+        }
+
+        private void emit(Object message, String messageId) {
+            if (this.closed) {
+                FitMcpServerTransportProvider.logger.info(
+                        "[SSE] Attempted to send message to closed session. [sessionId={}]",
+                        this.sessionId);
+                return;
+            }
+            this.lock.lock();
+            try {
                 if (this.closed) {
                     FitMcpServerTransportProvider.logger.info(
-                            "[SSE] Attempted to send message to closed session. [sessionId={}]",
+                            "[SSE] Session was closed during message send attempt. [sessionId={}]",
                             this.sessionId);
                     return;
                 }
-                this.lock.lock();
-                try {
-                    if (this.closed) {
-                        FitMcpServerTransportProvider.logger.info(
-                                "[SSE] Session was closed during message send attempt. [sessionId={}]",
-                                this.sessionId);
-                        return;
-                    }
 
-                    if (!this.response.isActive()) {
-                        FitMcpServerTransportProvider.logger.warn(
-                                "[SSE] Connection inactive detected while sending message. [sessionId={}]",
-                                this.sessionId);
-                        this.doClose();
-                        return;
-                    }
+                if (!this.response.isActive()) {
+                    FitMcpServerTransportProvider.logger.warn(
+                            "[SSE] Connection inactive detected while sending message. [sessionId={}]",
+                            this.sessionId);
+                    this.doClose();
+                    return;
+                }
 
-                    String jsonText = FitMcpServerTransportProvider.this.jsonMapper.writeValueAsString(message);
-                    TextEvent textEvent = TextEvent.custom()
-                            .id(messageId != null ? messageId : this.sessionId)
-                            .event(Event.MESSAGE.code())
-                            .data(jsonText)
-                            .build();
-                    this.emitter.emit(textEvent);
+                String jsonText = FitMcpServerTransportProvider.this.jsonMapper.writeValueAsString(message);
+                TextEvent textEvent = TextEvent.custom()
+                        .id(messageId != null ? messageId : this.sessionId)
+                        .event(Event.MESSAGE.code())
+                        .data(jsonText)
+                        .build();
+                this.emitter.emit(textEvent);
 
-                    FitMcpServerTransportProvider.logger.info(
-                            "[SSE] Sending message to session. [sessionId={}, eventId={}, jsonText={}]",
-                            this.sessionId,
-                            messageId != null ? messageId : this.sessionId,
-                            jsonText);
-                } catch (Exception e) {
+                FitMcpServerTransportProvider.logger.info(
+                        "[SSE] Sending message to session. [sessionId={}, eventId={}, jsonText={}]",
+                        this.sessionId,
+                        messageId != null ? messageId : this.sessionId,
+                        jsonText);
+            } catch (Exception e) {
+                FitMcpServerTransportProvider.logger.error(
+                        "[SSE] Failed to send message to session. [sessionId={}, error={}]",
+                        this.sessionId,
+                        e.getMessage(),
+                        e);
+                try {
+                    this.emitter.fail(e);
+                } catch (Exception errorException) {
                     FitMcpServerTransportProvider.logger.error(
-                            "[SSE] Failed to send message to session. [sessionId={}, error={}]",
+                            "[SSE] Failed to send error to SSE builder. [sessionId={}, error={}]",
                             this.sessionId,
-                            e.getMessage(),
-                            e);
-                    try {
-                        this.emitter.fail(e);
-                    } catch (Exception errorException) {
-                        FitMcpServerTransportProvider.logger.error(
-                                "[SSE] Failed to send error to SSE builder. [sessionId={}, error={}]",
-                                this.sessionId,
-                                errorException.getMessage(),
-                                errorException);
-                    }
-                } finally {
-                    this.lock.unlock();
+                            errorException.getMessage(),
+                            errorException);
                 }
-            });
+            } finally {
+                this.lock.unlock();
+            }
         }
 
         /**
@@ -350,4 +464,29 @@ public abstract class FitMcpServerTransportProvider<S> {
             }
         }
     }
+
+    /**
+     * Collects the responses of a JSON-RPC batch in request order.
+     */
+    private static class BatchResponses {
+        private final Map<Object, McpSchema.JSONRPCResponse> responses = new LinkedHashMap<>();
+
+        BatchResponses(Collection<Object> requestIds) {
+            requestIds.forEach(id -> this.responses.put(id, null));
+        }
+
+        synchronized boolean offer(McpSchema.JSONRPCResponse response) {
+            if (!this.responses.containsKey(response.id())) {
+                return false;
+            }
+            this.responses.put(response.id(), response);
+            return true;
+        }
+
+        synchronized List<McpSchema.JSONRPCResponse> drain() {
+            List<McpSchema.JSONRPCResponse> drained = new ArrayList<>(this.responses.size());
+            this.responses.values().stream().filter(Objects::nonNull).forEach(drained::add);
+            return drained;
+        }
+    }
 }
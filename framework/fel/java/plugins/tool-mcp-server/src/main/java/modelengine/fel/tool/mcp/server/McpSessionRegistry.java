@@ -0,0 +1,301 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.tool.mcp.server;
+
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.spec.McpSession;
+import io.modelcontextprotocol.util.KeepAliveScheduler;
+import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.log.Logger;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Sharded registry of MCP sessions.
+ * <p>
+ * Sessions are spread over a fixed number of partitions by the hash of their ID. Each partition owns a single
+ * thread that runs its own keep-alive pings and idle sweeps, and the partitions start with staggered delays, so a
+ * keep-alive round touches one partition at a time instead of walking every session on one timer. A client message
+ * or a reply to a keep-alive ping counts as activity, and sessions without activity for longer than the idle timeout
+ * are removed and closed.
+ * </p>
+ *
+ * @param <S> The session type.
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+public class McpSessionRegistry<S extends McpSession> {
+    private static final Logger logger = Logger.get(McpSessionRegistry.class);
+
+    private final List<Partition<S>> partitions;
+    private final Function<S, Mono<Void>> closer;
+    private final long idleTimeoutNanos;
+
+    /**
+     * Constructs a new McpSessionRegistry instance.
+     *
+     * @param partitions The number of partitions, or a non-positive value to use one per available processor.
+     * @param keepAliveInterval The interval for keep-alive pings, or null to disable them.
+     * @param idleTimeout The idle time after which a session is evicted, or null to disable eviction.
+     * @param closer The function to close an evicted session.
+     * @throws IllegalArgumentException if closer is null.
+     */
+    public McpSessionRegistry(int partitions, Duration keepAliveInterval, Duration idleTimeout,
+            Function<S, Mono<Void>> closer) {
+        this.closer = Validation.notNull(closer, "The session closer cannot be null.");
+        this.idleTimeoutNanos = isPositive(idleTimeout) ? idleTimeout.toNanos() : 0L;
+        int count = partitions > 0 ? partitions : Runtime.getRuntime().availableProcessors();
+        this.partitions = new ArrayList<>(count);
+        Duration sweepInterval = isPositive(keepAliveInterval) ? keepAliveInterval : idleTimeout;
+        for (int i = 0; i < count; i++) {
+            Partition<S> partition = new Partition<>(i);
+            if (isPositive(keepAliveInterval)) {
+                partition.startKeepAlive(keepAliveInterval, keepAliveInterval.multipliedBy(i + 1).dividedBy(count));
+            }
+            if (this.idleTimeoutNanos > 0) {
+                long period = sweepInterval.toMillis();
+                partition.eviction = partition.scheduler.schedulePeriodically(() -> this.evictIdle(partition),
+                        period * (i + 1) / count,
+                        period,
+                        TimeUnit.MILLISECONDS);
+            }
+            this.partitions.add(partition);
+        }
+    }
+
+    /**
+     * Gets the session with the given ID.
+     *
+     * @param sessionId The session ID.
+     * @return The session, or null if it does not exist.
+     */
+    public S get(String sessionId) {
+        Entry<S> entry = this.partition(sessionId).sessions.get(sessionId);
+        return entry == null ? null : entry.session;
+    }
+
+    /**
+     * Adds a session, replacing any session with the same ID.
+     *
+     * @param sessionId The session ID.
+     * @param session The session.
+     */
+    public void put(String sessionId, S session) {
+        this.partition(sessionId).sessions.put(sessionId, new Entry<>(session));
+    }
+
+    /**
+     * Removes the session with the given ID.
+     *
+     * @param sessionId The session ID.
+     * @return The removed session, or null if it does not exist.
+     */
+    public S remove(String sessionId) {
+        Entry<S> entry = this.partition(sessionId).sessions.remove(sessionId);
+        return entry == null ? null : entry.session;
+    }
+
+    /**
+     * Records client activity on the session with the given ID.
+     *
+     * @param sessionId The session ID.
+     * @return true if the session exists, false otherwise.
+     */
+    public boolean touch(String sessionId) {
+        Entry<S> entry = this.partition(sessionId).sessions.get(sessionId);
+        if (entry == null) {
+            return false;
+        }
+        entry.lastActive = System.nanoTime();
+        return true;
+    }
+
+    /**
+     * Gets a snapshot of all sessions.
+     *
+     * @return The sessions.
+     */
+    public List<S> values() {
+        List<S> values = new ArrayList<>(this.size());
+        this.partitions.forEach(partition -> partition.sessions.values().forEach(entry -> values.add(entry.session)));
+        return values;
+    }
+
+    /**
+     * Gets the number of sessions.
+     *
+     * @return The number of sessions.
+     */
+    public int size() {
+        return this.partitions.stream().mapToInt(partition -> partition.sessions.size()).sum();
+    }
+
+    /**
+     * Checks whether there is no session.
+     *
+     * @return true if there is no session, false otherwise.
+     */
+    public boolean isEmpty() {
+        return this.partitions.stream().allMatch(partition -> partition.sessions.isEmpty());
+    }
+
+    /**
+     * Gets the number of partitions.
+     *
+     * @return The number of partitions.
+     */
+    public int partitionCount() {
+        return this.partitions.size();
+    }
+
+    /**
+     * Removes all sessions without closing them.
+     */
+    public void clear() {
+        this.partitions.forEach(partition -> partition.sessions.clear());
+    }
+
+    /**
+     * Evicts the sessions that have been idle longer than the idle timeout in all partitions.
+     *
+     * @return The number of evicted sessions.
+     */
+    public int evictIdle() {
+        return this.partitions.stream().mapToInt(this::evictIdle).sum();
+    }
+
+    /**
+     * Stops the keep-alive pings and idle sweeps of all partitions.
+     */
+    public void shutdown() {
+        this.partitions.forEach(Partition::shutdown);
+    }
+
+    private Partition<S> partition(String sessionId) {
+        int hash = sessionId.hashCode();
+        return this.partitions.get(Math.floorMod(hash ^ (hash >>> 16), this.partitions.size()));
+    }
+
+    private int evictIdle(Partition<S> partition) {
+        if (this.idleTimeoutNanos <= 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Map.Entry<String, Entry<S>> entry : partition.sessions.entrySet()) {
+            if (now - entry.getValue().lastActive < this.idleTimeoutNanos
+                    || !partition.sessions.remove(entry.getKey(), entry.getValue())) {
+                continue;
+            }
+            evicted++;
+            this.closer.apply(entry.getValue().session)
+                    .subscribe(null,
+                            error -> logger.warn("Failed to close idle session. [sessionId={}, error={}]",
+                                    entry.getKey(),
+                                    error.getMessage()));
+        }
+        if (evicted > 0) {
+            logger.info("Evicted idle sessions. [partition={}, count={}]", partition.index, evicted);
+        }
+        return evicted;
+    }
+
+    private static boolean isPositive(Duration duration) {
+        return duration != null && !duration.isZero() && !duration.isNegative();
+    }
+
+    /**
+     * A partition of sessions with its own scheduler thread.
+     *
+     * @param <S> The session type.
+     */
+    private static class Partition<S extends McpSession> {
+        private final int index;
+        private final Map<String, Entry<S>> sessions = new ConcurrentHashMap<>();
+        private final Scheduler scheduler;
+        private KeepAliveScheduler keepAliveScheduler;
+        private Disposable eviction;
+
+        Partition(int index) {
+            this.index = index;
+            this.scheduler = Schedulers.newSingle("mcp-session-" + index, true);
+        }
+
+        void startKeepAlive(Duration interval, Duration initialDelay) {
+            this.keepAliveScheduler = KeepAliveScheduler.builder(() -> Flux.fromIterable(this.sessions.values())
+                            .<McpSession>map(KeepAlive::new))
+                    .scheduler(this.scheduler)
+                    .initialDelay(initialDelay)
+                    .interval(interval)
+                    .build();
+            this.keepAliveScheduler.start();
+        }
+
+        void shutdown() {
+            if (this.keepAliveScheduler != null) {
+                this.keepAliveScheduler.stop();
+            }
+            if (this.eviction != null) {
+                this.eviction.dispose();
+            }
+            this.scheduler.dispose();
+        }
+    }
+
+    /**
+     * The view of a session handed to the keep-alive scheduler, which records a reply to a ping as activity.
+     *
+     * @param entry The registered session.
+     */
+    private record KeepAlive(Entry<? extends McpSession> entry) implements McpSession {
+        @Override
+        public <T> Mono<T> sendRequest(String method, Object requestParams, TypeRef<T> typeRef) {
+            return this.entry.session.sendRequest(method, requestParams, typeRef)
+                    .doOnSuccess(result -> this.entry.lastActive = System.nanoTime());
+        }
+
+        @Override
+        public Mono<Void> sendNotification(String method, Object params) {
+            return this.entry.session.sendNotification(method, params);
+        }
+
+        @Override
+        public Mono<Void> closeGracefully() {
+            return this.entry.session.closeGracefully();
+        }
+
+        @Override
+        public void close() {
+            this.entry.session.close();
+        }
+    }
+
+    /**
+     * A registered session with the time of its last client activity.
+     *
+     * @param <S> The session type.
+     */
+    private static class Entry<S> {
+        private final S session;
+        private volatile long lastActive = System.nanoTime();
+
+        Entry(S session) {
+            this.session = session;
+        }
+    }
+}
@@ -31,10 +31,14 @@ import java.time.Duration;
 public class McpSseServerConfig {
     @Bean
     public FitMcpSseServerTransportProvider fitMcpSseServerTransportProvider(
-            @Value("${mcp.server.ping.interval-seconds}") int keepAliveIntervalSeconds) {
+            @Value("${mcp.server.ping.interval-seconds}") int keepAliveIntervalSeconds,
+            @Value("${mcp.server.session.partitions}") int partitions,
+            @Value("${mcp.server.session.idle-timeout-seconds}") int idleTimeoutSeconds) {
         return FitMcpSseServerTransportProvider.builder()
                 .jsonMapper(McpJsonMapper.getDefault())
                 .keepAliveInterval(Duration.ofSeconds(keepAliveIntervalSeconds))
+                .partitions(partitions)
+                .idleTimeout(Duration.ofSeconds(idleTimeoutSeconds))
                 .build();
     }
 
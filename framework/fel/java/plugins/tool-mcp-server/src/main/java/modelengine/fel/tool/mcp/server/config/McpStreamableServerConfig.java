@@ -32,11 +32,15 @@ public class McpStreamableServerConfig {
     @Bean
     public FitMcpStreamableServerTransportProvider fitMcpStreamableServerTransportProvider(
             @Value("${mcp.server.ping.interval-seconds}") int keepAliveIntervalSeconds,
-            @Value("${mcp.server.streamable.disallow-delete}") boolean disallowDelete) {
+            @Value("${mcp.server.streamable.disallow-delete}") boolean disallowDelete,
+            @Value("${mcp.server.session.partitions}") int partitions,
+            @Value("${mcp.server.session.idle-timeout-seconds}") int idleTimeoutSeconds) {
         return FitMcpStreamableServerTransportProvider.builder()
                 .jsonMapper(McpJsonMapper.getDefault())
                 .keepAliveInterval(Duration.ofSeconds(keepAliveIntervalSeconds))
                 .disallowDelete(disallowDelete)
+                .partitions(partitions)
+                .idleTimeout(Duration.ofSeconds(idleTimeoutSeconds))
                 .build();
     }
 
@@ -15,7 +15,6 @@ import io.modelcontextprotocol.spec.McpServerSession;
 import io.modelcontextprotocol.spec.McpServerTransport;
 import io.modelcontextprotocol.spec.McpServerTransportProvider;
 import io.modelcontextprotocol.spec.ProtocolVersions;
-import io.modelcontextprotocol.util.KeepAliveScheduler;
 import modelengine.fel.tool.mcp.server.FitMcpServerTransportProvider;
 import modelengine.fit.http.annotation.GetMapping;
 import modelengine.fit.http.annotation.PostMapping;
@@ -35,7 +34,10 @@ import reactor.core.publisher.Mono;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
  * The default implementation of {@link McpServerTransportProvider}.
@@ -51,6 +53,7 @@ public class FitMcpSseServerTransportProvider extends FitMcpServerTransportProvi
     private static final String MESSAGE_ENDPOINT = "/mcp/message";
     private static final String SSE_ENDPOINT = "/mcp/sse";
     public static final String ENDPOINT_EVENT_TYPE = "endpoint";
+    private final Map<String, FitSseMcpSessionTransport> transports = new ConcurrentHashMap<>();
     private McpServerSession.Factory sessionFactory;
 
     /**
@@ -61,22 +64,14 @@ public class FitMcpSseServerTransportProvider extends FitMcpServerTransportProvi
      * @param keepAliveInterval The interval for sending keep-alive messages to clients.
      * @param contextExtractor The contextExtractor to fill in a
      * {@link McpTransportContext}.
+     * @param partitions The number of session partitions.
+     * @param idleTimeout The idle time after which a session is evicted.
      * @throws IllegalArgumentException if any parameter is null.
      */
     private FitMcpSseServerTransportProvider(McpJsonMapper jsonMapper, Duration keepAliveInterval,
-            McpTransportContextExtractor<HttpClassicServerRequest> contextExtractor) {
-        super(jsonMapper, contextExtractor, keepAliveInterval);
-    }
-
-    @Override
-    protected void initKeepAliveScheduler(Duration keepAliveInterval) {
-        this.keepAliveScheduler = KeepAliveScheduler.builder(() -> this.isClosing
-                        ? Flux.empty()
-                        : Flux.fromIterable(this.sessions.values()))
-                .initialDelay(keepAliveInterval)
-                .interval(keepAliveInterval)
-                .build();
-        this.keepAliveScheduler.start();
+            McpTransportContextExtractor<HttpClassicServerRequest> contextExtractor, int partitions,
+            Duration idleTimeout) {
+        super(jsonMapper, contextExtractor, keepAliveInterval, partitions, idleTimeout);
     }
 
     @Override
@@ -143,6 +138,7 @@ public class FitMcpSseServerTransportProvider extends FitMcpServerTransportProvi
                 FitSseMcpSessionTransport sessionTransport =
                         new FitSseMcpSessionTransport(sessionId, emitter, response);
                 McpServerSession session = this.sessionFactory.create(sessionTransport);
+                this.transports.put(sessionId, sessionTransport);
                 this.sessions.put(sessionId, session);
                 try {
                     String initData = MESSAGE_ENDPOINT + "?sessionId=" + sessionId;
@@ -158,7 +154,7 @@ public class FitMcpSseServerTransportProvider extends FitMcpServerTransportProvi
             });
         } catch (Exception e) {
             logger.error("[GET] Failed to handle GET request. [sessionId={}, error={}]", sessionId, e.getMessage(), e);
-            this.sessions.remove(sessionId);
+            this.removeSession(sessionId);
             response.statusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.statusCode());
             return null;
         }
@@ -168,8 +164,9 @@ public class FitMcpSseServerTransportProvider extends FitMcpServerTransportProvi
      * Handles incoming JSON-RPC messages from clients. This method:
      * <ul>
      * <li>Validates the session ID from the request parameter</li>
-     * <li>Deserializes the request body into a JSON-RPC message</li>
-     * <li>Processes the message through the session's handle method</li>
+     * <li>Deserializes the request body into a JSON-RPC message or a JSON-RPC batch</li>
+     * <li>Processes the messages through the session's handle method, the responses to a batch are sent back
+     * together as one JSON array event</li>
      * <li>Returns appropriate HTTP responses based on the processing result</li>
      * </ul>
      *
@@ -191,8 +188,8 @@ public class FitMcpSseServerTransportProvider extends FitMcpServerTransportProvi
         McpServerSession session = this.sessions.get(sessionId);
 
         String requestBody = new String(request.entityBytes(), StandardCharsets.UTF_8);
-        McpSchema.JSONRPCMessage message = this.deserializeMessage(requestBody, response);
-        if (message == null) {
+        List<McpSchema.JSONRPCMessage> messages = this.deserializeMessages(requestBody, response);
+        if (messages == null) {
             logger.error("[POST] Invalid message format. [sessionId={}, requestBody={}]", sessionId, requestBody);
             return Entity.createObject(response,
                     McpError.builder(McpSchema.ErrorCodes.PARSE_ERROR).message("Invalid message format.").build());
@@ -200,7 +197,13 @@ public class FitMcpSseServerTransportProvider extends FitMcpServerTransportProvi
         logger.info("[POST] Receiving message from session. [sessionId={}, requestBody={}]", sessionId, requestBody);
         McpTransportContext transportContext = this.contextExtractor.extract(request);
         try {
-            session.handle(message).contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext)).block();
+            if (isBatch(requestBody)) {
+                this.handleBatch(messages, session, this.transports.get(sessionId), transportContext);
+            } else {
+                session.handle(messages.get(0))
+                        .contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
+                        .block();
+            }
             response.statusCode(HttpResponseStatus.OK.statusCode());
             return null;
         } catch (Exception e) {
@@ -211,6 +214,37 @@ public class FitMcpSseServerTransportProvider extends FitMcpServerTransportProvi
         }
     }
 
+    /**
+     * Handles the messages of a JSON-RPC batch in order. The responses to the requests are sent to the SSE stream
+     * as one JSON array once the whole batch has been handled.
+     *
+     * @param messages The {@link List}{@code <}{@link McpSchema.JSONRPCMessage}{@code >} of the batch.
+     * @param session The {@link McpServerSession} to handle the messages.
+     * @param transport The {@link FitSseMcpSessionTransport} of the session.
+     * @param transportContext The {@link McpTransportContext} for request context propagation.
+     */
+    private void handleBatch(List<McpSchema.JSONRPCMessage> messages, McpServerSession session,
+            FitSseMcpSessionTransport transport, McpTransportContext transportContext) {
+        Mono<Void> handling = Flux.fromIterable(messages)
+                .concatMap(session::handle)
+                .then()
+                .contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext));
+        if (transport == null) {
+            handling.block();
+            return;
+        }
+        List<Object> requestIds = messages.stream()
+                .filter(McpSchema.JSONRPCRequest.class::isInstance)
+                .map(message -> ((McpSchema.JSONRPCRequest) message).id())
+                .collect(Collectors.toList());
+        transport.runBatch(requestIds, handling::block);
+    }
+
+    private void removeSession(String sessionId) {
+        this.sessions.remove(sessionId);
+        this.transports.remove(sessionId);
+    }
+
     /**
      * Adds an observer to the SSE emitter to handle connection lifecycle events.
      * The observer removes the session from the sessions map when the connection
@@ -228,7 +262,7 @@ public class FitMcpSseServerTransportProvider extends FitMcpServerTransportProvi
 
             @Override
             public void onCompleted() {
-                FitMcpSseServerTransportProvider.this.sessions.remove(sessionId);
+                FitMcpSseServerTransportProvider.this.removeSession(sessionId);
                 FitMcpSseServerTransportProvider.logger.info(
                         "[SSE] Completed SSE emitting and closed session successfully. [sessionId={}]",
                         sessionId);
@@ -236,7 +270,7 @@ public class FitMcpSseServerTransportProvider extends FitMcpServerTransportProvi
 
             @Override
             public void onFailed(Exception cause) {
-                FitMcpSseServerTransportProvider.this.sessions.remove(sessionId);
+                FitMcpSseServerTransportProvider.this.removeSession(sessionId);
                 FitMcpSseServerTransportProvider.logger.warn(
                         "[SSE] SSE failed, session closed. [sessionId={}, cause={}]",
                         sessionId,
@@ -304,6 +338,8 @@ public class FitMcpSseServerTransportProvider extends FitMcpServerTransportProvi
         private Duration keepAliveInterval;
         private McpTransportContextExtractor<HttpClassicServerRequest> contextExtractor =
                 (serverRequest) -> McpTransportContext.EMPTY;
+        private int partitions;
+        private Duration idleTimeout;
 
         /**
          * Sets the JSON object mapper to use for message serialization/deserialization.
@@ -330,6 +366,32 @@ public class FitMcpSseServerTransportProvider extends FitMcpServerTransportProvi
             return this;
         }
 
+        /**
+         * Sets the number of partitions the sessions are sharded into, each with its own keep-alive timer.
+         * <p>
+         * If not specified, one partition per available processor is used.
+         *
+         * @param partitions The number of partitions.
+         * @return This builder instance for method chaining.
+         */
+        public Builder partitions(int partitions) {
+            this.partitions = partitions;
+            return this;
+        }
+
+        /**
+         * Sets the idle time after which a session without client messages is closed.
+         * <p>
+         * If not specified, idle sessions will not be evicted.
+         *
+         * @param idleTimeout The idle timeout.
+         * @return This builder instance for method chaining.
+         */
+        public Builder idleTimeout(Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+            return this;
+        }
+
         /**
          * Sets the context extractor that allows providing the MCP feature
          * implementations to inspect HTTP transport level metadata that was present at
@@ -360,7 +422,9 @@ public class FitMcpSseServerTransportProvider extends FitMcpServerTransportProvi
             return new FitMcpSseServerTransportProvider(
                     this.jsonMapper == null ? McpJsonMapper.getDefault() : this.jsonMapper,
                     this.keepAliveInterval,
-                    this.contextExtractor);
+                    this.contextExtractor,
+                    this.partitions,
+                    this.idleTimeout);
         }
     }
 }
@@ -17,7 +17,6 @@ import io.modelcontextprotocol.spec.McpStreamableServerSession;
 import io.modelcontextprotocol.spec.McpStreamableServerTransport;
 import io.modelcontextprotocol.spec.McpStreamableServerTransportProvider;
 import io.modelcontextprotocol.spec.ProtocolVersions;
-import io.modelcontextprotocol.util.KeepAliveScheduler;
 import modelengine.fel.tool.mcp.server.FitMcpServerTransportProvider;
 import modelengine.fit.http.annotation.DeleteMapping;
 import modelengine.fit.http.annotation.GetMapping;
@@ -38,7 +37,9 @@ import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * The default implementation of {@link McpStreamableServerTransportProvider}.
@@ -65,25 +66,17 @@ public class FitMcpStreamableServerTransportProvider extends FitMcpServerTranspo
      * @param disallowDelete Whether to disallow DELETE requests on the endpoint.
      * @param contextExtractor The context extractor to fill in a {@link McpTransportContext}.
      * @param keepAliveInterval The interval for sending keep-alive messages to clients.
+     * @param partitions The number of session partitions.
+     * @param idleTimeout The idle time after which a session is evicted.
      * @throws IllegalArgumentException if any parameter is null.
      */
     private FitMcpStreamableServerTransportProvider(McpJsonMapper jsonMapper, boolean disallowDelete,
-            McpTransportContextExtractor<HttpClassicServerRequest> contextExtractor, Duration keepAliveInterval) {
-        super(jsonMapper, contextExtractor, keepAliveInterval);
+            McpTransportContextExtractor<HttpClassicServerRequest> contextExtractor, Duration keepAliveInterval,
+            int partitions, Duration idleTimeout) {
+        super(jsonMapper, contextExtractor, keepAliveInterval, partitions, idleTimeout);
         this.disallowDelete = disallowDelete;
     }
 
-    @Override
-    protected void initKeepAliveScheduler(Duration keepAliveInterval) {
-        this.keepAliveScheduler = KeepAliveScheduler.builder(() -> this.isClosing
-                        ? Flux.empty()
-                        : Flux.fromIterable(this.sessions.values()))
-                .initialDelay(keepAliveInterval)
-                .interval(keepAliveInterval)
-                .build();
-        this.keepAliveScheduler.start();
-    }
-
     @Override
     protected String getSessionId(McpStreamableServerSession session) {
         return session.getId();
@@ -186,15 +179,19 @@ public class FitMcpStreamableServerTransportProvider extends FitMcpServerTranspo
         }
 
         String requestBody = new String(request.entityBytes(), StandardCharsets.UTF_8);
-        McpSchema.JSONRPCMessage message = this.deserializeMessage(requestBody, response);
-        if (message == null) {
+        List<McpSchema.JSONRPCMessage> messages = this.deserializeMessages(requestBody, response);
+        if (messages == null) {
             logger.error("[POST] Invalid message format.  [requestBody={}]", requestBody);
             return Entity.createObject(response,
                     McpError.builder(McpSchema.ErrorCodes.PARSE_ERROR).message("Invalid message format.").build());
         }
         McpTransportContext transportContext = this.contextExtractor.extract(request);
         try {
+            if (isBatch(requestBody)) {
+                return this.handleJsonRpcBatch(messages, request, requestBody, transportContext, response);
+            }
             // Handle JSONRPCMessage
+            McpSchema.JSONRPCMessage message = messages.get(0);
             if (message instanceof McpSchema.JSONRPCRequest jsonrpcRequest && jsonrpcRequest.method()
                     .equals(McpSchema.METHOD_INITIALIZE)) {
                 logger.info("[POST] Handling initialize method. [requestBody={}]", requestBody);
@@ -473,6 +470,82 @@ public class FitMcpStreamableServerTransportProvider extends FitMcpServerTranspo
         }
     }
 
+    /**
+     * Handles a JSON-RPC batch. Responses and notifications in the batch are accepted first; if the batch contains
+     * requests, they are processed on one SSE stream and their responses are sent back as one JSON array event.
+     * An initialize request is not allowed in a batch.
+     *
+     * @param messages The {@link List}{@code <}{@link McpSchema.JSONRPCMessage}{@code >} of the batch.
+     * @param request The incoming {@link HttpClassicServerRequest}.
+     * @param requestBody The {@link String} of request body.
+     * @param transportContext The {@link McpTransportContext} for request context propagation.
+     * @param response The {@link HttpClassicServerResponse} to set status code and return data.
+     * @return An {@link Entity} or {@link Choir} containing the response data, or {@code null} if the batch
+     * contains no request.
+     */
+    private Object handleJsonRpcBatch(List<McpSchema.JSONRPCMessage> messages, HttpClassicServerRequest request,
+            String requestBody, McpTransportContext transportContext, HttpClassicServerResponse response) {
+        List<McpSchema.JSONRPCRequest> requests = new ArrayList<>();
+        for (McpSchema.JSONRPCMessage message : messages) {
+            if (message instanceof McpSchema.JSONRPCRequest jsonrpcRequest) {
+                if (McpSchema.METHOD_INITIALIZE.equals(jsonrpcRequest.method())) {
+                    response.statusCode(HttpResponseStatus.BAD_REQUEST.statusCode());
+                    return Entity.createObject(response,
+                            McpError.builder(McpSchema.ErrorCodes.INVALID_REQUEST)
+                                    .message("Initialize request must not be part of a batch.")
+                                    .build());
+                }
+                requests.add(jsonrpcRequest);
+            }
+        }
+        Object sessionError = this.validateRequestSessionId(request, response);
+        if (sessionError != null) {
+            return sessionError;
+        }
+        String sessionId = request.headers().first(HttpHeaders.MCP_SESSION_ID).orElse("");
+        McpStreamableServerSession session = this.sessions.get(sessionId);
+        logger.info("[POST] Receiving batch from session. [sessionId={}, size={}, requestBody={}]",
+                sessionId,
+                messages.size(),
+                requestBody);
+
+        Flux.fromIterable(messages)
+                .concatMap(message -> {
+                    if (message instanceof McpSchema.JSONRPCResponse jsonrpcResponse) {
+                        return session.accept(jsonrpcResponse);
+                    } else if (message instanceof McpSchema.JSONRPCNotification jsonrpcNotification) {
+                        return session.accept(jsonrpcNotification);
+                    }
+                    return Mono.empty();
+                })
+                .then()
+                .contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
+                .block();
+        if (requests.isEmpty()) {
+            response.statusCode(HttpResponseStatus.ACCEPTED.statusCode());
+            return null;
+        }
+
+        List<Object> requestIds = requests.stream().map(McpSchema.JSONRPCRequest::id).collect(Collectors.toList());
+        return Choir.<TextEvent>create(emitter -> {
+            FitStreamableMcpSessionTransport sessionTransport =
+                    new FitStreamableMcpSessionTransport(sessionId, emitter, response);
+            try {
+                sessionTransport.runBatch(requestIds,
+                        () -> Flux.fromIterable(requests)
+                                .flatMap(jsonrpcRequest -> session.responseStream(jsonrpcRequest, sessionTransport))
+                                .then()
+                                .contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
+                                .block());
+            } catch (Exception e) {
+                logger.error("[POST] Failed to handle batch stream. [error={}]", e.getMessage(), e);
+                emitter.fail(e);
+                return;
+            }
+            sessionTransport.close();
+        });
+    }
+
     /**
      * Handles incoming JSON-RPC response messages from clients.
      * Accepts the response and delivers it to the corresponding pending request within the session.
@@ -590,6 +663,12 @@ public class FitMcpStreamableServerTransportProvider extends FitMcpServerTranspo
             return this.doSendMessage(message, messageId);
         }
 
+        @Override
+        public Mono<Void> closeGracefully() {
+            // Each request of a batch closes the stream after its response, the batch closes it once at the end.
+            return this.inBatch() ? Mono.empty() : super.closeGracefully();
+        }
+
         @Override
         public void close() {
             this.doClose();
@@ -609,6 +688,8 @@ public class FitMcpStreamableServerTransportProvider extends FitMcpServerTranspo
         private McpTransportContextExtractor<HttpClassicServerRequest> contextExtractor =
                 (HttpClassicServerRequest) -> McpTransportContext.EMPTY;
         private Duration keepAliveInterval;
+        private int partitions;
+        private Duration idleTimeout;
 
         /**
          * Sets the jsonMapper to use for JSON serialization/deserialization of MCP messages.
@@ -664,6 +745,30 @@ public class FitMcpStreamableServerTransportProvider extends FitMcpServerTranspo
             return this;
         }
 
+        /**
+         * Sets the number of partitions the sessions are sharded into, each with its own keep-alive timer. If not
+         * set, one partition per available processor is used.
+         *
+         * @param partitions The number of partitions.
+         * @return This builder instance.
+         */
+        public Builder partitions(int partitions) {
+            this.partitions = partitions;
+            return this;
+        }
+
+        /**
+         * Sets the idle time after which a session without client messages is closed. If not set, idle sessions
+         * will not be evicted.
+         *
+         * @param idleTimeout The idle timeout, or null to disable eviction.
+         * @return This builder instance.
+         */
+        public Builder idleTimeout(Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+            return this;
+        }
+
         /**
          * Builds a new instance of {@link FitMcpStreamableServerTransportProvider} with
          * the configured settings.
@@ -677,7 +782,9 @@ public class FitMcpStreamableServerTransportProvider extends FitMcpServerTranspo
             return new FitMcpStreamableServerTransportProvider(this.jsonMapper,
                     this.disallowDelete,
                     this.contextExtractor,
-                    this.keepAliveInterval);
+                    this.keepAliveInterval,
+                    this.partitions,
+                    this.idleTimeout);
         }
     }
 }
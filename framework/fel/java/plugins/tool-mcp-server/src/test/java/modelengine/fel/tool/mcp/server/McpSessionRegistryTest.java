@@ -0,0 +1,221 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.tool.mcp.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.spec.McpSession;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unit test for {@link McpSessionRegistry}.
+ * <p>
+ * The registry load generator is disabled by default, run it with {@code -Dfel.benchmark.mcp.sessions=10000}. It
+ * registers stub sessions, records activity on them from several threads while the registry pings every session,
+ * and prints the keep-alive CPU time with one partition and with one partition per processor. It measures the
+ * registry alone and does not drive MCP clients over the SSE or Streamable HTTP transports.
+ * </p>
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+@DisplayName("Unit tests for McpSessionRegistry")
+public class McpSessionRegistryTest {
+    private final List<McpSessionRegistry<StubSession>> registries = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        this.registries.forEach(McpSessionRegistry::shutdown);
+    }
+
+    @Test
+    @DisplayName("Should spread sessions over partitions and find them by ID")
+    void shouldShardSessions() {
+        McpSessionRegistry<StubSession> registry = this.registry(4, null, null);
+        for (int i = 0; i < 100; i++) {
+            registry.put("session-" + i, new StubSession());
+        }
+        assertThat(registry.partitionCount()).isEqualTo(4);
+        assertThat(registry.size()).isEqualTo(100);
+        assertThat(registry.values()).hasSize(100);
+        assertThat(registry.get("session-7")).isNotNull();
+        assertThat(registry.remove("session-7")).isNotNull();
+        assertThat(registry.get("session-7")).isNull();
+        assertThat(registry.touch("session-7")).isFalse();
+        assertThat(registry.touch("session-8")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should close sessions idle longer than the timeout and keep active ones")
+    void shouldEvictIdleSessions() throws InterruptedException {
+        McpSessionRegistry<StubSession> registry = this.registry(2, null, Duration.ofMinutes(1));
+        StubSession idle = new StubSession();
+        registry.put("idle", idle);
+        registry.put("active", new StubSession());
+        assertThat(registry.evictIdle()).isZero();
+
+        McpSessionRegistry<StubSession> shortLived = this.registry(2, null, Duration.ofMillis(50));
+        shortLived.put("idle", idle);
+        shortLived.put("active", new StubSession());
+        for (int i = 0; i < 10; i++) {
+            Thread.sleep(20);
+            shortLived.touch("active");
+        }
+        assertThat(shortLived.get("idle")).isNull();
+        assertThat(shortLived.get("active")).isNotNull();
+        assertThat(idle.closed.get()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep sessions that answer keep-alive pings without client messages")
+    void shouldKeepSessionsAnsweringPings() throws InterruptedException {
+        McpSessionRegistry<StubSession> registry = this.registry(1, Duration.ofMillis(20), Duration.ofMillis(100));
+        StubSession answering = new StubSession();
+        StubSession silent = new StubSession();
+        silent.answers = false;
+        registry.put("answering", answering);
+        registry.put("silent", silent);
+        Thread.sleep(400);
+        assertThat(registry.get("answering")).isNotNull();
+        assertThat(answering.closed.get()).isFalse();
+        assertThat(registry.get("silent")).isNull();
+        assertThat(silent.closed.get()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should ping every session from its own partition")
+    void shouldPingSessionsPerPartition() throws InterruptedException {
+        McpSessionRegistry<StubSession> registry = this.registry(3, Duration.ofMillis(50), null);
+        List<StubSession> sessions = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            StubSession session = new StubSession();
+            sessions.add(session);
+            registry.put("session-" + i, session);
+        }
+        Thread.sleep(300);
+        assertThat(sessions).allSatisfy(session -> assertThat(session.pings.get()).isPositive());
+        assertThat(sessions.stream().map(session -> session.pingThread).distinct().count()).isEqualTo(3);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "fel.benchmark.mcp.sessions", matches = "\\d+")
+    @DisplayName("Should keep the keep-alive cost of many registered sessions on the partition threads")
+    void benchmarkRegisteredSessions() throws InterruptedException {
+        int clients = Integer.getInteger("fel.benchmark.mcp.sessions");
+        int seconds = Integer.getInteger("fel.benchmark.mcp.seconds", 5);
+        this.runLoad(1, clients, seconds);
+        this.runLoad(Runtime.getRuntime().availableProcessors(), clients, seconds);
+    }
+
+    private void runLoad(int partitions, int clients, int seconds) throws InterruptedException {
+        McpSessionRegistry<StubSession> registry =
+                this.registry(partitions, Duration.ofMillis(200), Duration.ofSeconds(seconds * 2L));
+        List<String> ids = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            String id = "client-" + i;
+            ids.add(id);
+            registry.put(id, new StubSession());
+        }
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long cpuBefore = keepAliveCpuTime(threads);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong messages = new AtomicLong();
+        int workers = Math.max(2, Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        for (int i = 0; i < workers; i++) {
+            executor.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (running.get()) {
+                    registry.touch(ids.get(random.nextInt(clients)));
+                    messages.incrementAndGet();
+                }
+            });
+        }
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+        running.set(false);
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        long cpu = keepAliveCpuTime(threads) - cpuBefore;
+        long pings = registry.values().stream().mapToLong(session -> session.pings.get()).sum();
+        System.out.printf(Locale.ROOT,
+                "mcp: partitions=%d, clients=%d, messages=%.0f/s, pings=%.0f/s, keep-alive cpu=%.1f ms/s%n",
+                partitions, clients, messages.get() / (double) seconds, pings / (double) seconds,
+                cpu / 1e6 / seconds);
+        registry.shutdown();
+        assertThat(registry.size()).isEqualTo(clients);
+    }
+
+    private static long keepAliveCpuTime(ThreadMXBean threads) {
+        long total = 0;
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+            if (info != null && info.getThreadName().startsWith("mcp-session-")) {
+                total += Math.max(0, threads.getThreadCpuTime(info.getThreadId()));
+            }
+        }
+        return total;
+    }
+
+    private McpSessionRegistry<StubSession> registry(int partitions, Duration keepAlive, Duration idleTimeout) {
+        McpSessionRegistry<StubSession> registry = new McpSessionRegistry<>(partitions, keepAlive, idleTimeout,
+                session -> Mono.fromRunnable(() -> session.closed.set(true)));
+        this.registries.add(registry);
+        return registry;
+    }
+
+    /**
+     * A session that counts keep-alive pings and answers them unless told not to.
+     */
+    private static class StubSession implements McpSession {
+        private final AtomicInteger pings = new AtomicInteger();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile String pingThread;
+        private volatile boolean answers = true;
+
+        @Override
+        public <T> Mono<T> sendRequest(String method, Object requestParams, TypeRef<T> typeRef) {
+            this.pings.incrementAndGet();
+            this.pingThread = Thread.currentThread().getName();
+            return this.answers ? Mono.empty() : Mono.error(new IllegalStateException("No reply."));
+        }
+
+        @Override
+        public Mono<Void> sendNotification(String method, Object params) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> closeGracefully() {
+            return Mono.fromRunnable(this::close);
+        }
+
+        @Override
+        public void close() {
+            this.closed.set(true);
+        }
+    }
+}
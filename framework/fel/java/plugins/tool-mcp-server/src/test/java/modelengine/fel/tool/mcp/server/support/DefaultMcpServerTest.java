@@ -46,7 +46,9 @@ public class DefaultMcpServerTest {
         McpStreamableServerConfig streamableConfig = new McpStreamableServerConfig();
         this.mcpSyncServer =
                 streamableConfig.mcpSyncStreamableServer(streamableConfig.fitMcpStreamableServerTransportProvider(30,
-                        false), 10);
+                        false,
+                        1,
+                        0), 10);
     }
 
     @Nested
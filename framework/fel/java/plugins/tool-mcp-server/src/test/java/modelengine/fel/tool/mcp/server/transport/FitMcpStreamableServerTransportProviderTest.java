@@ -0,0 +1,131 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.tool.mcp.server.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.server.McpServer;
+import io.modelcontextprotocol.spec.HttpHeaders;
+import io.modelcontextprotocol.spec.McpSchema;
+import modelengine.fit.http.entity.TextEvent;
+import modelengine.fit.http.protocol.ConfigurableMessageHeaders;
+import modelengine.fit.http.protocol.HttpResponseStatus;
+import modelengine.fit.http.protocol.MessageHeaderNames;
+import modelengine.fit.http.server.HttpClassicServerRequest;
+import modelengine.fit.http.server.HttpClassicServerResponse;
+import modelengine.fitframework.flowable.Choir;
+import modelengine.fitframework.util.ObjectUtils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Unit test for JSON-RPC batches in {@link FitMcpStreamableServerTransportProvider}.
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+@DisplayName("Unit tests for FitMcpStreamableServerTransportProvider batches")
+public class FitMcpStreamableServerTransportProviderTest {
+    private static final String ACCEPT = "application/json, text/event-stream";
+
+    private final McpJsonMapper jsonMapper = McpJsonMapper.getDefault();
+    private FitMcpStreamableServerTransportProvider provider;
+    private String sessionId;
+
+    @BeforeEach
+    void setup() {
+        this.provider = FitMcpStreamableServerTransportProvider.builder().jsonMapper(this.jsonMapper).build();
+        McpServer.sync(this.provider)
+                .serverInfo("test", "1.0.0")
+                .capabilities(McpSchema.ServerCapabilities.builder().tools(true).build())
+                .build();
+        HttpClassicServerResponse response = response();
+        this.provider.handlePost(this.request(null,
+                "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"initialize\",\"params\":{\"protocolVersion\":"
+                        + "\"2025-06-18\",\"capabilities\":{},\"clientInfo\":{\"name\":\"test\",\"version\":\"1\"}}}"),
+                response);
+        this.sessionId = response.headers().first(HttpHeaders.MCP_SESSION_ID).orElseThrow();
+    }
+
+    @AfterEach
+    void teardown() {
+        this.provider.closeGracefully().block();
+    }
+
+    @Test
+    @DisplayName("Should answer all requests of a batch with one array event")
+    void shouldCoalesceBatchResponses() throws IOException {
+        Object result = this.provider.handlePost(this.request(this.sessionId,
+                "[{\"jsonrpc\":\"2.0\",\"method\":\"notifications/initialized\"},"
+                        + "{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"ping\"},"
+                        + "{\"jsonrpc\":\"2.0\",\"id\":3,\"method\":\"tools/list\"}]"), response());
+
+        List<TextEvent> events = ObjectUtils.<Choir<TextEvent>>cast(result).blockAll();
+        assertThat(events).hasSize(1);
+        List<Map<String, Object>> responses = this.jsonMapper.readValue(ObjectUtils.<String>cast(events.get(0).data()),
+                new TypeRef<List<Map<String, Object>>>() {});
+        assertThat(responses.stream().map(item -> String.valueOf(item.get("id"))).collect(Collectors.toList()))
+                .containsExactly("2", "3");
+        assertThat(responses).allSatisfy(item -> assertThat(item).containsKey("result"));
+    }
+
+    @Test
+    @DisplayName("Should accept a batch without requests")
+    void shouldAcceptNotificationOnlyBatch() {
+        HttpClassicServerResponse response = response();
+        Object result = this.provider.handlePost(this.request(this.sessionId,
+                "[{\"jsonrpc\":\"2.0\",\"method\":\"notifications/initialized\"}]"), response);
+        assertThat(result).isNull();
+        verify(response).statusCode(HttpResponseStatus.ACCEPTED.statusCode());
+    }
+
+    @Test
+    @DisplayName("Should reject an empty batch and an initialize request in a batch")
+    void shouldRejectInvalidBatch() {
+        HttpClassicServerResponse empty = response();
+        this.provider.handlePost(this.request(this.sessionId, "[]"), empty);
+        verify(empty).statusCode(HttpResponseStatus.BAD_REQUEST.statusCode());
+
+        HttpClassicServerResponse initialize = response();
+        this.provider.handlePost(this.request(this.sessionId,
+                "[{\"jsonrpc\":\"2.0\",\"id\":4,\"method\":\"initialize\",\"params\":{}}]"), initialize);
+        verify(initialize).statusCode(HttpResponseStatus.BAD_REQUEST.statusCode());
+    }
+
+    private HttpClassicServerRequest request(String sessionId, String body) {
+        ConfigurableMessageHeaders headers = ConfigurableMessageHeaders.create().set(MessageHeaderNames.ACCEPT, ACCEPT);
+        if (sessionId != null) {
+            headers.set(HttpHeaders.MCP_SESSION_ID, sessionId);
+        }
+        HttpClassicServerRequest request = mock(HttpClassicServerRequest.class);
+        when(request.headers()).thenReturn(headers);
+        when(request.entityBytes()).thenReturn(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static HttpClassicServerResponse response() {
+        HttpClassicServerResponse response = mock(HttpClassicServerResponse.class);
+        ConfigurableMessageHeaders headers = ConfigurableMessageHeaders.create();
+        when(response.headers()).thenReturn(headers);
+        when(response.isActive()).thenReturn(true);
+        return response;
+    }
+}
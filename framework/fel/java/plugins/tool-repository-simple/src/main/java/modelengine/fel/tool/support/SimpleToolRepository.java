@@ -6,37 +6,78 @@
 
 package modelengine.fel.tool.support;
 
+import static modelengine.fitframework.inspection.Validation.greaterThan;
 import static modelengine.fitframework.inspection.Validation.notBlank;
+import static modelengine.fitframework.inspection.Validation.notNull;
 import static modelengine.fitframework.util.ObjectUtils.cast;
 
+import modelengine.fel.core.embed.EmbedModel;
+import modelengine.fel.core.embed.EmbedOption;
+import modelengine.fel.core.embed.Embedding;
 import modelengine.fel.core.tool.ToolInfo;
+import modelengine.fel.core.util.MathUtils;
 import modelengine.fel.tool.ToolInfoEntity;
 import modelengine.fel.tool.service.ToolChangedObserver;
 import modelengine.fel.tool.service.ToolChangedObserverRegistry;
 import modelengine.fel.tool.service.ToolRepository;
+import modelengine.fel.tool.service.ToolRetriever;
 import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.ioc.BeanContainer;
+import modelengine.fitframework.ioc.BeanFactory;
 import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.util.StringUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * A simple implementation of the {@link ToolRepository} interface.
+ * <p>
+ * Tools are indexed by namespace and then by name. Lookups never lock, and each namespace keeps a listing snapshot
+ * that is rebuilt on the first listing after a change. An inverted index over tool names and descriptions backs
+ * {@link ToolRetriever}. When the container holds an {@link EmbedModel} and an {@link EmbedOption}, embedding
+ * similarity is blended into the ranking. Tool descriptions are not embedded on registration: they are queued and
+ * embedded in batches before the next search.
+ * </p>
  *
  * @author 易文渊
  * @author 杭潇
  * @since 2024-08-15
  */
 @Component
-public class SimpleToolRepository implements ToolRepository, ToolChangedObserverRegistry {
+public class SimpleToolRepository implements ToolRepository, ToolRetriever, ToolChangedObserverRegistry {
     private static final Logger log = Logger.get(SimpleToolRepository.class);
+    private static final int EMBED_BATCH_SIZE = 64;
 
-    private final Map<String, ToolInfoEntity> toolCache = new ConcurrentHashMap<>();
+    private final Map<String, Namespace> namespaces = new ConcurrentHashMap<>();
+    private final ToolIndex index = new ToolIndex();
     private final List<ToolChangedObserver> toolChangedObservers = new ArrayList<>();
+    private final Queue<ToolInfoEntity> unembedded = new ConcurrentLinkedQueue<>();
+    private final Object embedLock = new Object();
+    private final EmbedModel embedModel;
+    private final EmbedOption embedOption;
+
+    /**
+     * Creates a repository. Tool search blends keywords with embedding similarity when the container holds both an
+     * {@link EmbedModel} and an {@link EmbedOption}, and uses keywords only otherwise.
+     *
+     * @param container The bean container to look up the optional embed model and options, as a
+     * {@link BeanContainer}.
+     * @throws IllegalArgumentException when {@code container} is {@code null}.
+     */
+    public SimpleToolRepository(BeanContainer container) {
+        notNull(container, "The bean container cannot be null.");
+        EmbedModel model = container.lookup(EmbedModel.class).map(BeanFactory::<EmbedModel>get).orElse(null);
+        EmbedOption option = container.lookup(EmbedOption.class).map(BeanFactory::<EmbedOption>get).orElse(null);
+        this.embedModel = option == null ? null : model;
+        this.embedOption = option;
+    }
 
     @Override
     public void register(ToolChangedObserver observer) {
@@ -58,7 +99,11 @@ public class SimpleToolRepository implements ToolRepository, ToolChangedObserver
             return;
         }
         String uniqueName = ToolInfo.identify(tool);
-        this.toolCache.put(uniqueName, tool);
+        this.namespaces.compute(tool.namespace(), (key, old) -> Namespace.with(old, tool.name(), tool));
+        this.index.put(uniqueName, tool, null);
+        if (this.embedModel != null && !StringUtils.isBlank(tool.description())) {
+            this.unembedded.add(tool);
+        }
         log.info("Register tool[uniqueName={}] success.", uniqueName);
         Map<String, Object> parameters = cast(tool.schema().get("parameters"));
         this.toolChangedObservers.forEach(observer -> {
@@ -80,7 +125,8 @@ public class SimpleToolRepository implements ToolRepository, ToolChangedObserver
             return;
         }
         String uniqueName = ToolInfo.identify(namespace, toolName);
-        this.toolCache.remove(uniqueName);
+        this.namespaces.computeIfPresent(namespace, (key, old) -> old.remove(toolName) ? null : old);
+        this.index.remove(uniqueName);
         log.info("Unregister tool[uniqueName={}] success.", uniqueName);
         this.toolChangedObservers.forEach(observer -> {
             try {
@@ -99,17 +145,114 @@ public class SimpleToolRepository implements ToolRepository, ToolChangedObserver
     public ToolInfoEntity getTool(String namespace, String toolName) {
         notBlank(namespace, "The namespace cannot be blank.");
         notBlank(toolName, "The toll name cannot be blank.");
-        String uniqueName = modelengine.fel.core.tool.ToolInfo.identify(namespace, toolName);
-        return toolCache.get(uniqueName);
+        Namespace tools = this.namespaces.get(namespace);
+        return tools == null ? null : tools.get(toolName);
     }
 
     @Override
     public List<ToolInfoEntity> listTool(String namespace) {
         notBlank(namespace, "The namespace cannot be blank.");
-        return toolCache.entrySet()
-                .stream()
-                .filter(entry -> entry.getKey().startsWith(namespace))
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toList());
+        Namespace tools = this.namespaces.get(namespace);
+        return tools == null ? Collections.emptyList() : tools.list();
+    }
+
+    @Override
+    public List<ToolInfoEntity> searchTool(String namespace, String query, int limit) {
+        notBlank(query, "The query cannot be blank.");
+        greaterThan(limit, 0, "The limit must be positive. [limit={0}]", limit);
+        this.embedQueued();
+        return this.index.search(namespace, query, this.embed(query), limit);
+    }
+
+    private void embedQueued() {
+        if (this.unembedded.isEmpty()) {
+            return;
+        }
+        synchronized (this.embedLock) {
+            List<ToolInfoEntity> tools = new ArrayList<>();
+            ToolInfoEntity tool;
+            while ((tool = this.unembedded.poll()) != null) {
+                tools.add(tool);
+                if (tools.size() == EMBED_BATCH_SIZE || this.unembedded.isEmpty()) {
+                    this.embedBatch(tools);
+                    tools.clear();
+                }
+            }
+        }
+    }
+
+    private void embedBatch(List<ToolInfoEntity> tools) {
+        List<String> descriptions = tools.stream().map(ToolInfoEntity::description).toList();
+        List<Embedding> embeddings;
+        try {
+            embeddings = this.embedModel.generate(descriptions, this.embedOption);
+        } catch (Exception e) {
+            log.warn("Failed to embed tool descriptions, search them by keywords. [count={}, error={}]",
+                    tools.size(),
+                    e.getMessage());
+            return;
+        }
+        for (int i = 0; i < tools.size() && i < embeddings.size(); i++) {
+            ToolInfoEntity tool = tools.get(i);
+            this.index.embed(ToolInfo.identify(tool), tool, MathUtils.toArray(embeddings.get(i).embedding()));
+        }
+    }
+
+    private float[] embed(String text) {
+        if (this.embedModel == null || StringUtils.isBlank(text)) {
+            return null;
+        }
+        try {
+            return MathUtils.toArray(this.embedModel.generate(text, this.embedOption).embedding());
+        } catch (Exception e) {
+            log.warn("Failed to embed tool search text, fall back to keywords. [error={}]", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Represents the tools in one namespace, in registration order. Writes are serialized by the namespace map.
+     */
+    private static final class Namespace {
+        private final Map<String, ToolInfoEntity> tools = new ConcurrentHashMap<>();
+        private final Map<String, ToolInfoEntity> ordered = new LinkedHashMap<>();
+        private volatile List<ToolInfoEntity> list;
+
+        private static Namespace with(Namespace old, String name, ToolInfoEntity tool) {
+            Namespace namespace = old == null ? new Namespace() : old;
+            namespace.put(name, tool);
+            return namespace;
+        }
+
+        private ToolInfoEntity get(String name) {
+            return this.tools.get(name);
+        }
+
+        private synchronized void put(String name, ToolInfoEntity tool) {
+            this.ordered.put(name, tool);
+            this.tools.put(name, tool);
+            this.list = null;
+        }
+
+        private synchronized boolean remove(String name) {
+            if (this.ordered.remove(name) != null) {
+                this.tools.remove(name);
+                this.list = null;
+            }
+            return this.ordered.isEmpty();
+        }
+
+        private List<ToolInfoEntity> list() {
+            List<ToolInfoEntity> snapshot = this.list;
+            if (snapshot != null) {
+                return snapshot;
+            }
+            synchronized (this) {
+                if (this.list == null) {
+                    this.list = Collections.unmodifiableList(new ArrayList<>(this.ordered.values()));
+                }
+                return this.list;
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,193 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.tool.support;
+
+import modelengine.fel.core.retriever.support.Bm25Index;
+import modelengine.fel.core.util.MathUtils;
+import modelengine.fel.tool.ToolInfoEntity;
+import modelengine.fitframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 表示工具的内存检索索引。
+ * <p>
+ * 工具名称和描述被切分为词后存入 {@link Bm25Index}，检索时使用 BM25 计算关键词相关性；如果工具和查询都带有嵌入向量，
+ * 则再与余弦相似度按权重混合。写操作串行执行，读操作只在计分时持有索引的读锁。
+ * </p>
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+final class ToolIndex {
+    private static final double VECTOR_WEIGHT = 0.5;
+    private static final int NAME_WEIGHT = 2;
+
+    private static final Comparator<Hit> ORDER =
+            Comparator.comparingDouble((Hit hit) -> hit.score).thenComparing(hit -> hit.entry.uniqueName,
+                    Comparator.reverseOrder());
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Bm25Index keywords = new Bm25Index();
+
+    /**
+     * 添加或替换工具的索引。
+     *
+     * @param uniqueName 表示工具唯一名称的 {@link String}。
+     * @param tool 表示工具信息的 {@link ToolInfoEntity}。
+     * @param vector 表示工具嵌入向量的 {@code float[]}，为 {@code null} 时只参与关键词检索。
+     */
+    synchronized void put(String uniqueName, ToolInfoEntity tool, float[] vector) {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < NAME_WEIGHT; i++) {
+            tokens.addAll(tokenize(tool.name()));
+        }
+        tokens.addAll(tokenize(tool.description()));
+        this.entries.put(uniqueName, new Entry(uniqueName, tool, vector));
+        this.keywords.put(uniqueName, tokens);
+    }
+
+    /**
+     * 为已索引的工具设置嵌入向量，工具已经被删除或者替换时忽略。
+     *
+     * @param uniqueName 表示工具唯一名称的 {@link String}。
+     * @param tool 表示生成向量时的工具信息的 {@link ToolInfoEntity}。
+     * @param vector 表示工具嵌入向量的 {@code float[]}。
+     */
+    synchronized void embed(String uniqueName, ToolInfoEntity tool, float[] vector) {
+        Entry entry = this.entries.get(uniqueName);
+        if (entry != null && entry.tool == tool) {
+            this.entries.put(uniqueName, new Entry(uniqueName, tool, vector));
+        }
+    }
+
+    /**
+     * 删除工具的索引。
+     *
+     * @param uniqueName 表示工具唯一名称的 {@link String}。
+     */
+    synchronized void remove(String uniqueName) {
+        this.entries.remove(uniqueName);
+        this.keywords.remove(uniqueName);
+    }
+
+    /**
+     * 检索与查询内容最相关的工具。
+     *
+     * @param namespace 表示工具命名空间的 {@link String}，为空白时在所有命名空间中检索。
+     * @param query 表示查询内容的 {@link String}。
+     * @param vector 表示查询嵌入向量的 {@code float[]}，为 {@code null} 时只进行关键词检索。
+     * @param limit 表示返回工具最大数量的 {@code int}。
+     * @return 表示按相关性从高到低排列的工具的 {@link List}{@code <}{@link ToolInfoEntity}{@code >}。
+     */
+    List<ToolInfoEntity> search(String namespace, String query, float[] vector, int limit) {
+        int size = this.entries.size();
+        if (size == 0 || limit <= 0) {
+            return Collections.emptyList();
+        }
+        Map<String, Hit> hits = this.keywordHits(namespace, query);
+        if (vector != null) {
+            this.blend(namespace, hits, vector);
+        }
+        PriorityQueue<Hit> top = new PriorityQueue<>(Math.min(limit, hits.size()) + 1, ORDER);
+        for (Hit hit : hits.values()) {
+            if (hit.score <= 0) {
+                continue;
+            }
+            top.offer(hit);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<ToolInfoEntity> tools = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            tools.add(top.poll().entry.tool);
+        }
+        Collections.reverse(tools);
+        return tools;
+    }
+
+    private Map<String, Hit> keywordHits(String namespace, String query) {
+        Map<String, Hit> hits = new HashMap<>();
+        this.keywords.score(tokenize(query), uniqueName -> {
+            Entry entry = this.entries.get(uniqueName);
+            return entry != null && entry.isIn(namespace);
+        }).forEach((uniqueName, score) -> {
+            Entry entry = this.entries.get(uniqueName);
+            if (entry != null) {
+                hits.computeIfAbsent(uniqueName, key -> new Hit(entry)).score += score;
+            }
+        });
+        return hits;
+    }
+
+    private void blend(String namespace, Map<String, Hit> hits, float[] vector) {
+        double max = hits.values().stream().mapToDouble(hit -> hit.score).max().orElse(0D);
+        hits.values().forEach(hit -> hit.score = max > 0 ? (1 - VECTOR_WEIGHT) * hit.score / max : 0D);
+        double norm = MathUtils.norm(vector);
+        if (norm == 0) {
+            return;
+        }
+        for (Entry entry : this.entries.values()) {
+            if (entry.norm == 0 || entry.vector.length != vector.length || !entry.isIn(namespace)) {
+                continue;
+            }
+            double similarity = MathUtils.cosineSimilarity(vector, norm, entry.vector, entry.norm);
+            hits.computeIfAbsent(entry.uniqueName, key -> new Hit(entry)).score += VECTOR_WEIGHT * similarity;
+        }
+    }
+
+    /**
+     * 将文本切分为小写的词，按非字母数字字符和驼峰边界切分，表意文字按单字切分。
+     *
+     * @param text 表示待切分文本的 {@link String}。
+     * @return 表示切分结果的 {@link List}{@code <}{@link String}{@code >}。
+     */
+    static List<String> tokenize(String text) {
+        return Bm25Index.tokenize(text, true);
+    }
+
+    /**
+     * 表示已索引的工具。
+     */
+    private static final class Entry {
+        private final String uniqueName;
+        private final ToolInfoEntity tool;
+        private final float[] vector;
+        private final double norm;
+
+        private Entry(String uniqueName, ToolInfoEntity tool, float[] vector) {
+            this.uniqueName = uniqueName;
+            this.tool = tool;
+            this.vector = vector;
+            this.norm = vector == null ? 0D : MathUtils.norm(vector);
+        }
+
+        private boolean isIn(String namespace) {
+            return StringUtils.isBlank(namespace) || StringUtils.equals(namespace, this.tool.namespace());
+        }
+    }
+
+    /**
+     * 表示一次检索中命中的工具及其得分。
+     */
+    private static final class Hit {
+        private final Entry entry;
+        private double score;
+
+        private Hit(Entry entry) {
+            this.entry = entry;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.tool.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import modelengine.fel.core.embed.EmbedModel;
+import modelengine.fel.core.embed.EmbedOption;
+import modelengine.fel.core.embed.Embedding;
+import modelengine.fel.tool.ToolInfoEntity;
+import modelengine.fitframework.ioc.BeanContainer;
+import modelengine.fitframework.ioc.BeanFactory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * 表示 {@link SimpleToolRepository} 的单元测试。
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+@DisplayName("测试 SimpleToolRepository")
+public class SimpleToolRepositoryTest {
+    @Test
+    @DisplayName("按命名空间精确列出工具，不匹配前缀相同的命名空间")
+    void shouldListToolsOfExactNamespace() {
+        SimpleToolRepository repository = new SimpleToolRepository(mock(BeanContainer.class));
+        repository.addTool(tool("weather", "getWeather", "查询城市天气"));
+        repository.addTool(tool("weather-ext", "getAlert", "Get weather alerts"));
+        repository.addTool(tool("weather", "getForecast", "Get weather forecast"));
+
+        assertThat(names(repository.listTool("weather"))).containsExactly("getWeather", "getForecast");
+        assertThat(repository.getTool("weather-ext", "getAlert").name()).isEqualTo("getAlert");
+
+        repository.deleteTool("weather", "getWeather");
+        assertThat(names(repository.listTool("weather"))).containsExactly("getForecast");
+        assertThat(repository.getTool("weather", "getWeather")).isNull();
+        repository.deleteTool("weather", "getForecast");
+        assertThat(repository.listTool("weather")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("按关键词相关性检索工具，删除后不再命中")
+    void shouldSearchToolsByKeywords() {
+        SimpleToolRepository repository = new SimpleToolRepository(mock(BeanContainer.class));
+        repository.addTool(tool("weather", "getWeather", "Query the current weather of a city"));
+        repository.addTool(tool("weather", "getForecast", "Query the weather forecast for next days"));
+        repository.addTool(tool("mail", "sendMail", "Send an email to the given address"));
+        repository.addTool(tool("mail", "listMail", "List email messages in the inbox"));
+
+        assertThat(names(repository.searchTool(null, "send email", 2))).containsExactly("sendMail", "listMail");
+        assertThat(names(repository.searchTool("weather", "weather forecast", 1))).containsExactly("getForecast");
+        assertThat(repository.searchTool("mail", "weather", 5)).isEmpty();
+
+        repository.deleteTool("mail", "sendMail");
+        assertThat(names(repository.searchTool(null, "send email", 5))).containsExactly("listMail");
+    }
+
+    @Test
+    @DisplayName("设置嵌入模型后，没有关键词命中的工具也可以按向量相似度检索")
+    void shouldSearchToolsByEmbeddings() {
+        EmbedModel embedModel = mock(EmbedModel.class);
+        EmbedOption option = mock(EmbedOption.class);
+        when(embedModel.generate(List.of("Query the current weather of a city", "Send an email to the given address"),
+                option)).thenReturn(List.of(embedding(1f, 0f), embedding(0f, 1f)));
+        when(embedModel.generate("晴天还是下雨", option)).thenReturn(embedding(0.9f, 0.1f));
+        SimpleToolRepository repository = new SimpleToolRepository(container(embedModel, option));
+        repository.addTool(tool("weather", "getWeather", "Query the current weather of a city"));
+        repository.addTool(tool("mail", "sendMail", "Send an email to the given address"));
+
+        assertThat(names(repository.searchTool(null, "晴天还是下雨", 2))).containsExactly("getWeather", "sendMail");
+    }
+
+    @Test
+    @DisplayName("注册工具时不调用嵌入模型，检索前一次批量嵌入新注册的工具")
+    void shouldEmbedRegisteredToolsInOneBatchBeforeSearch() {
+        EmbedModel embedModel = mock(EmbedModel.class);
+        EmbedOption option = mock(EmbedOption.class);
+        when(embedModel.generate(List.of("Get weather alerts", "Get weather forecast"), option)).thenReturn(List.of(
+                embedding(1f, 0f),
+                embedding(0f, 1f)));
+        when(embedModel.generate(anyString(), any())).thenReturn(embedding(0f, 1f));
+        SimpleToolRepository repository = new SimpleToolRepository(container(embedModel, option));
+        repository.addTool(tool("weather", "getAlert", "Get weather alerts"));
+        repository.addTool(tool("weather", "getForecast", "Get weather forecast"));
+        verify(embedModel, never()).generate(any(List.class), any());
+
+        assertThat(names(repository.searchTool("weather", "明天", 1))).containsExactly("getForecast");
+        repository.searchTool("weather", "明天", 1);
+        verify(embedModel, times(1)).generate(any(List.class), any());
+    }
+
+    @Test
+    @DisplayName("容器中没有嵌入参数时只按关键词检索")
+    void shouldSearchByKeywordsWithoutEmbedOption() {
+        EmbedModel embedModel = mock(EmbedModel.class);
+        SimpleToolRepository repository = new SimpleToolRepository(container(embedModel, null));
+        repository.addTool(tool("weather", "getWeather", "Query the current weather of a city"));
+
+        assertThat(names(repository.searchTool(null, "weather", 1))).containsExactly("getWeather");
+        verify(embedModel, never()).generate(any(List.class), any());
+    }
+
+    private static BeanContainer container(EmbedModel embedModel, EmbedOption option) {
+        BeanContainer container = mock(BeanContainer.class);
+        BeanFactory modelFactory = factory(embedModel);
+        when(container.lookup(EmbedModel.class)).thenReturn(Optional.of(modelFactory));
+        if (option != null) {
+            BeanFactory optionFactory = factory(option);
+            when(container.lookup(EmbedOption.class)).thenReturn(Optional.of(optionFactory));
+        }
+        return container;
+    }
+
+    private static BeanFactory factory(Object bean) {
+        BeanFactory factory = mock(BeanFactory.class);
+        when(factory.get()).thenReturn(bean);
+        return factory;
+    }
+
+    private static ToolInfoEntity tool(String namespace, String name, String description) {
+        ToolInfoEntity tool = mock(ToolInfoEntity.class);
+        when(tool.namespace()).thenReturn(namespace);
+        when(tool.name()).thenReturn(name);
+        when(tool.description()).thenReturn(description);
+        return tool;
+    }
+
+    private static Embedding embedding(Float... vector) {
+        return () -> List.of(vector);
+    }
+
+    private static List<String> names(List<ToolInfoEntity> tools) {
+        return tools.stream().map(ToolInfoEntity::name).collect(Collectors.toList());
+    }
+}
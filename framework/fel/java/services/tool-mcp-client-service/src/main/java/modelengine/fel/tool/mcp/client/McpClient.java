@@ -11,6 +11,7 @@ import modelengine.fel.tool.mcp.entity.Tool;
 import java.io.Closeable;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The {@code McpClient} interface defines the contract for interacting with the MCP server.
@@ -49,4 +50,21 @@ public interface McpClient extends Closeable {
      * @return The tool result as a {@link Object}.
      */
     Object callTool(String name, Map<String, Object> arguments);
+
+    /**
+     * Calls MCP Server Tool without waiting for the result.
+     * <p>Implementations that pipeline requests keep several calls in flight at once, so the calls of one agent
+     * step complete in the time of the slowest call. The default implementation calls the tool synchronously.</p>
+     *
+     * @param name The tool name as a {@link String}.
+     * @param arguments The tool arguments as a {@link Map}{@code <}{@link String}{@code , }{@link Object}{@code >}.
+     * @return The tool result as a {@link CompletableFuture}{@code <}{@link Object}{@code >}.
+     */
+    default CompletableFuture<Object> callToolAsync(String name, Map<String, Object> arguments) {
+        try {
+            return CompletableFuture.completedFuture(this.callTool(name, arguments));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 }
\ No newline at end of file
@@ -76,4 +76,18 @@ public interface McpClientFactory {
     default McpClient createSse(String baseUri, String sseEndpoint) {
         return this.createSse(baseUri, sseEndpoint, null);
     }
+
+    /**
+     * Gets a client backed by the shared session pool of an MCP server with streamable HTTP transport.
+     * <p>Clients of the same server share their sessions and the concurrency limit of the pool, but each call returns
+     * its own client. Closing a client only ends the use of that caller, and the sessions are closed when the last
+     * client of the pool is closed. The default implementation creates a dedicated client.</p>
+     *
+     * @param baseUri The base URI of the MCP server.
+     * @param sseEndpoint The SSE endpoint of the MCP server.
+     * @return The {@link McpClient} instance backed by the pool.
+     */
+    default McpClient createPooled(String baseUri, String sseEndpoint) {
+        return this.createStreamable(baseUri, sseEndpoint, null);
+    }
 }
\ No newline at end of file
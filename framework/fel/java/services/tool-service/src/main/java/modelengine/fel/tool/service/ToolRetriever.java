@@ -0,0 +1,29 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.tool.service;
+
+import modelengine.fel.tool.ToolInfoEntity;
+
+import java.util.List;
+
+/**
+ * 提供按相关性检索工具的服务。
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+public interface ToolRetriever {
+    /**
+     * 检索与查询内容最相关的工具。
+     *
+     * @param namespace 表示工具命名空间的 {@link String}，为空白时在所有命名空间中检索。
+     * @param query 表示查询内容的 {@link String}。
+     * @param limit 表示返回工具最大数量的 {@code int}。
+     * @return 表示按相关性从高到低排列的工具的 {@link List}{@code <}{@link ToolInfoEntity}{@code >}。
+     */
+    List<ToolInfoEntity> searchTool(String namespace, String query, int limit);
+}
@@ -0,0 +1,33 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.runtime;
+
+import java.util.Map;
+
+/**
+ * 为运行环境提供可导出的运行指标。
+ * <p>注册为 Bean 后，监控插件会按名称收集所有实现的指标快照。</p>
+ *
+ * @author 季聿阶
+ * @since 2026-10-19
+ */
+public interface RuntimeMetrics {
+    /**
+     * 获取指标的名称。
+     *
+     * @return 表示指标名称的 {@link String}。
+     */
+    String name();
+
+    /**
+     * 获取当前的指标快照。
+     * <p>快照中的值应当是可以直接序列化的简单对象、列表或者映射。</p>
+     *
+     * @return 表示指标快照的 {@link Map}{@code <}{@link String}{@code , }{@link Object}{@code >}。
+     */
+    Map<String, Object> collect();
+}
@@ -28,12 +28,16 @@ import modelengine.fitframework.broker.client.BrokerClient;
 import modelengine.fitframework.broker.client.filter.route.FitableIdFilter;
 import modelengine.fitframework.conf.Config;
 import modelengine.fitframework.conf.ConfigValueSupplier;
+import modelengine.fitframework.ioc.BeanFactory;
 import modelengine.fitframework.plugin.Plugin;
 import modelengine.fitframework.plugin.PluginComparators;
 import modelengine.fitframework.runtime.FitRuntime;
+import modelengine.fitframework.runtime.RuntimeMetrics;
 import modelengine.fitframework.util.StringUtils;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -128,6 +132,25 @@ public class ActuatorController {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 获取所有已注册的运行指标。
+     * <p>当指定名称为空白字符串时，返回所有指标，否则只返回指定名称的指标。</p>
+     *
+     * @param name 表示指定指标名称的 {@link String}。
+     * @return 表示指标名称到指标快照的映射的 {@link Map}{@code <}{@link String}{@code , }{@link Object}{@code >}。
+     */
+    @GetMapping(path = "/metrics")
+    public Map<String, Object> getMetrics(@RequestQuery(name = "name", required = false) String name) {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        for (BeanFactory factory : this.fitRuntime.root().container().all(RuntimeMetrics.class)) {
+            RuntimeMetrics supplier = factory.get();
+            if (StringUtils.isBlank(name) || StringUtils.equals(name, supplier.name())) {
+                metrics.putIfAbsent(supplier.name(), supplier.collect());
+            }
+        }
+        return metrics;
+    }
+
     private PluginVo convert(Plugin plugin) {
         PluginVo vo = new PluginVo();
         vo.setGroup(plugin.metadata().group());
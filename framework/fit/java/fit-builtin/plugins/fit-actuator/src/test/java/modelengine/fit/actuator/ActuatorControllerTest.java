@@ -17,10 +17,14 @@ import modelengine.fitframework.broker.Fitable;
 import modelengine.fitframework.broker.Genericable;
 import modelengine.fitframework.broker.Tags;
 import modelengine.fitframework.broker.client.BrokerClient;
+import modelengine.fitframework.ioc.BeanContainer;
+import modelengine.fitframework.ioc.BeanFactory;
 import modelengine.fitframework.plugin.Plugin;
 import modelengine.fitframework.plugin.PluginCategory;
 import modelengine.fitframework.plugin.PluginMetadata;
+import modelengine.fitframework.plugin.RootPlugin;
 import modelengine.fitframework.runtime.FitRuntime;
+import modelengine.fitframework.runtime.RuntimeMetrics;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,6 +35,7 @@ import org.mockito.Mockito;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 表示 {@link ActuatorController} 的单元测试。
@@ -120,4 +125,29 @@ public class ActuatorControllerTest {
                 .returns(Collections.singleton("t1"), FitableVo::getTags)
                 .returns("d1", FitableVo::getDegradation);
     }
+
+    @Test
+    @DisplayName("返回按名称过滤的运行指标")
+    void shouldReturnMetrics() {
+        RootPlugin root = mock(RootPlugin.class);
+        BeanContainer container = mock(BeanContainer.class);
+        when(this.fitRuntime.root()).thenReturn(root);
+        when(root.container()).thenReturn(container);
+        BeanFactory f1 = mock(BeanFactory.class);
+        RuntimeMetrics m1 = mock(RuntimeMetrics.class);
+        when(m1.name()).thenReturn("waterflow");
+        when(m1.collect()).thenReturn(Collections.singletonMap("count", 1));
+        when(f1.get()).thenReturn(m1);
+        BeanFactory f2 = mock(BeanFactory.class);
+        RuntimeMetrics m2 = mock(RuntimeMetrics.class);
+        when(m2.name()).thenReturn("other");
+        when(m2.collect()).thenReturn(Collections.singletonMap("count", 2));
+        when(f2.get()).thenReturn(m2);
+        when(container.all(RuntimeMetrics.class)).thenReturn(Arrays.asList(f1, f2));
+
+        Map<String, Object> all = this.actuatorController.getMetrics(null);
+        assertThat(all).hasSize(2).containsEntry("waterflow", Collections.singletonMap("count", 1));
+        Map<String, Object> filtered = this.actuatorController.getMetrics("other");
+        assertThat(filtered).hasSize(1).containsEntry("other", Collections.singletonMap("count", 2));
+    }
 }
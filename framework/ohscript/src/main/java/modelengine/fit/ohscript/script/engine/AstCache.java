@@ -0,0 +1,152 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.ohscript.script.engine;
+
+import modelengine.fit.ohscript.script.parser.AST;
+import modelengine.fitframework.inspection.Validation;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 已完成语义分析的语法树缓存
+ * <p>以源码内容的 SHA-256 摘要为键，按最近最少使用的顺序淘汰，容量为 {@code 0} 时不缓存。</p>
+ * <p>命中时不加锁；未命中时只有第一个调用方解析，同一源码的其他调用方等待该结果，不同源码之间互不阻塞。</p>
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+public class AstCache {
+    private static final String ALGORITHM = "SHA-256";
+
+    private final int capacity;
+
+    private final Map<String, Entry> asts = new ConcurrentHashMap<>();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    /**
+     * 构造函数
+     *
+     * @param capacity 最多缓存的语法树数量
+     * @throws IllegalArgumentException 当容量为负数时
+     */
+    public AstCache(int capacity) {
+        this.capacity = Validation.greaterThanOrEquals(capacity, 0, "The AST cache capacity cannot be negative.");
+    }
+
+    /**
+     * 获取源码对应的语法树，未命中时解析并缓存
+     *
+     * @param code 源码
+     * @param parser 未命中时使用的解析方法
+     * @return 语法树
+     */
+    public AST get(String code, Function<String, AST> parser) {
+        if (this.capacity == 0) {
+            return parser.apply(code);
+        }
+        String key = digest(code);
+        Entry entry = this.asts.get(key);
+        if (entry == null) {
+            Entry created = new Entry();
+            created.lastAccess = this.clock.incrementAndGet();
+            entry = this.asts.putIfAbsent(key, created);
+            if (entry == null) {
+                entry = created;
+                this.parse(key, created, code, parser);
+            }
+        }
+        entry.lastAccess = this.clock.incrementAndGet();
+        return join(entry.ast);
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        this.asts.clear();
+    }
+
+    /**
+     * 获取已缓存的语法树数量
+     *
+     * @return 已缓存的语法树数量
+     */
+    public int size() {
+        return this.asts.size();
+    }
+
+    private void parse(String key, Entry entry, String code, Function<String, AST> parser) {
+        try {
+            entry.ast.complete(parser.apply(code));
+        } catch (RuntimeException | Error e) {
+            this.asts.remove(key, entry);
+            entry.ast.completeExceptionally(e);
+            throw e;
+        }
+        this.evict();
+    }
+
+    /**
+     * 超过容量时淘汰最久未使用的语法树，只在未命中时执行，扫描的开销相对解析可以忽略
+     */
+    private void evict() {
+        while (this.asts.size() > this.capacity) {
+            Map.Entry<String, Entry> eldest = null;
+            for (Map.Entry<String, Entry> candidate : this.asts.entrySet()) {
+                if (eldest == null || candidate.getValue().lastAccess < eldest.getValue().lastAccess) {
+                    eldest = candidate;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            this.asts.remove(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private static AST join(CompletableFuture<AST> ast) {
+        try {
+            return ast.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static String digest(String code) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(ALGORITHM);
+            return HexFormat.of().formatHex(digest.digest(code.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Digest algorithm not found. [algorithm=SHA-256]", e);
+        }
+    }
+
+    /**
+     * 缓存项，解析完成前其他调用方等待同一个结果
+     */
+    private static class Entry {
+        private final CompletableFuture<AST> ast = new CompletableFuture<>();
+
+        private volatile long lastAccess;
+    }
+}
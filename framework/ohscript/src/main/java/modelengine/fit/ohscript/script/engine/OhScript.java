@@ -8,76 +8,134 @@ package modelengine.fit.ohscript.script.engine;
 
 import modelengine.fit.ohscript.script.errors.OhPanic;
 import modelengine.fit.ohscript.script.interpreter.ASTEnv;
+import modelengine.fit.ohscript.script.interpreter.ExecutionBackend;
 import modelengine.fit.ohscript.script.parser.AST;
 import modelengine.fit.ohscript.script.parser.ParserBuilder;
-import modelengine.fit.ohscript.util.Serializer;
+import modelengine.fitframework.inspection.Validation;
 
 import java.io.IOException;
 
 /**
  * start class to run script
+ * <p>相同源码的语法树只解析和分析一次，之后从 {@link AstCache} 中取出共享。语法树在执行期间只读，
+ * 变量值等执行状态都保存在每次新建的 {@link ASTEnv} 中，因此创建环境不需要复制语法树。</p>
  *
  * @since 1.0
  */
 public class OhScript {
+    /**
+     * 默认最多缓存的语法树数量
+     */
+    public static final int DEFAULT_CACHE_CAPACITY = 256;
+
     private final ParserBuilder parserBuilder;
 
-    private AST ast;
+    private final AstCache cache;
+
+    private volatile AST ast;
 
-    private Serializer<AST> serializer;
+    private volatile ExecutionBackend backend = ExecutionBackend.defaultBackend();
 
     /**
      * 构造函数，创建一个新的OhScript实例
      * 初始化解析器构建器
      */
     public OhScript() {
+        this(DEFAULT_CACHE_CAPACITY);
+    }
+
+    /**
+     * 构造函数，创建一个指定语法树缓存容量的OhScript实例
+     *
+     * @param cacheCapacity 最多缓存的语法树数量，为 {@code 0} 时每次加载都重新解析
+     */
+    public OhScript(int cacheCapacity) {
         this.parserBuilder = new ParserBuilder();
+        this.cache = new AstCache(cacheCapacity);
     }
 
     /**
      * 加载一段ohscript代码，并返回一个可以执行的环境
+     * <p>命中缓存时不加锁，只有未命中时的解析在解析器上串行执行。</p>
      *
      * @param code ohscript代码
      * @return 返回一个可以执行的环境
      */
     public ASTEnv load(String code) {
-        this.serializer = null;
-        this.ast = this.parserBuilder.parseString("", code);
-        return new ASTEnv(ast);
+        AST loaded = this.cache.get(code, this::parse);
+        this.ast = loaded;
+        return this.newEnv(loaded);
     }
 
     /**
-     * 创建一个新的环境，用于执行脚本
+     * 为最近加载的代码创建一个新的环境，用于执行脚本
+     * <p>新环境与已有环境共享语法树，只新建执行状态。</p>
      *
      * @return 返回一个新的环境
-     * @throws IOException io异常
-     * @throws ClassNotFoundException 类找不到异常
+     * @throws IOException io异常，保留以兼容已有调用方
+     * @throws ClassNotFoundException 类找不到异常，保留以兼容已有调用方
      */
     public ASTEnv createEnv() throws IOException, ClassNotFoundException {
-        if (this.serializer == null) {
-            this.serializer = Serializer.serialize(ast);
+        return this.newEnv(this.ast);
+    }
+
+    private AST parse(String code) {
+        synchronized (this.parserBuilder) {
+            return this.parserBuilder.parseString("", code);
         }
-        return new ASTEnv(serializer.deSerialize());
+    }
+
+    private ASTEnv newEnv(AST ast) {
+        ASTEnv env = new ASTEnv(ast);
+        env.setBackend(this.backend);
+        return env;
+    }
+
+    /**
+     * 设置之后创建的环境使用的执行后端
+     *
+     * @param backend 执行后端
+     * @throws IllegalArgumentException 当 {@code backend} 为 {@code null} 时
+     */
+    public void setBackend(ExecutionBackend backend) {
+        this.backend = Validation.notNull(backend, "The execution backend cannot be null.");
     }
 
     /**
      * 向脚本引擎注册一个外部类，这样脚本就可以使用这个类的实例了
+     * <p>外部类在解析时绑定到语法树，因此会清空语法树缓存。</p>
      *
      * @param key 类的别名
      * @param clazz 要注册的类
      */
     public void grant(String key, Class<?> clazz) {
-        this.parserBuilder.addExternalClass(key, clazz);
+        synchronized (this.parserBuilder) {
+            this.parserBuilder.addExternalClass(key, clazz);
+            this.cache.clear();
+        }
     }
 
     /**
      * 向脚本引擎注册一个外部对象，这样脚本就可以使用这个对象了
+     * <p>外部对象在解析时绑定到语法树，因此会清空语法树缓存。</p>
      *
      * @param key 对象的别名
      * @param instance 要注册的对象
      */
     public void grant(String key, Object instance) {
-        this.parserBuilder.addExternalOh(key, instance);
+        synchronized (this.parserBuilder) {
+            this.parserBuilder.addExternalOh(key, instance);
+            this.cache.clear();
+        }
+    }
+
+    /**
+     * 获取语法树缓存
+     *
+     * @return 语法树缓存
+     */
+    public AstCache cache() {
+        return this.cache;
     }
 
     /**
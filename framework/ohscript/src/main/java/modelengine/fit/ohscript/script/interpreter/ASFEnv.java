@@ -10,6 +10,7 @@ import modelengine.fit.ohscript.script.errors.OhPanic;
 import modelengine.fit.ohscript.script.parser.ASF;
 import modelengine.fit.ohscript.script.parser.AST;
 import modelengine.fit.ohscript.util.Constants;
+import modelengine.fitframework.inspection.Validation;
 
 import java.util.Arrays;
 import java.util.HashMap;
@@ -24,12 +25,16 @@ import java.util.Map;
 public class ASFEnv {
     private final ASF asf;
 
+    private final List<AST> asts;
+
     private final Map<String, ASTEnv> envs = new HashMap<>();
 
     private final Map<String, Map<String, ReturnValue>> exportValues = new HashMap<>();
 
     private final ActivationContext context;
 
+    private ExecutionBackend backend = ExecutionBackend.defaultBackend();
+
     /**
      * 构造函数
      *
@@ -37,6 +42,7 @@ public class ASFEnv {
      */
     public ASFEnv(ASTEnv astEnv) {
         this.asf = astEnv.ast().asf();
+        this.asts = astEnv.ast().forest();
         this.envs.put(astEnv.ast().source(), astEnv);
         this.context = new ActivationContext(Constants.ROOT_SCOPE, null, astEnv);
         this.link0();
@@ -49,6 +55,7 @@ public class ASFEnv {
      */
     public ASFEnv(ASF asf) {
         this.asf = asf;
+        this.asts = asf.asts();
         this.context = new ActivationContext(Constants.ROOT_SCOPE, null, null);
         this.link0();
     }
@@ -67,11 +74,26 @@ public class ASFEnv {
      * 如果AST已经存在，则不进行任何操作
      */
     private void link0() {
-        for (AST ast : this.asf.asts()) {
-            this.envs.putIfAbsent(ast.source(), new ASTEnv(ast, this));
+        for (AST ast : this.asts) {
+            this.envs.computeIfAbsent(ast.source(), source -> {
+                ASTEnv env = new ASTEnv(ast, this);
+                env.useBackend(this.backend);
+                return env;
+            });
         }
     }
 
+    /**
+     * 设置所有语法树执行环境的执行后端，之后链接的语法树也使用该后端
+     *
+     * @param backend 执行后端
+     * @throws IllegalArgumentException 当 {@code backend} 为 {@code null} 时
+     */
+    public void setBackend(ExecutionBackend backend) {
+        this.backend = Validation.notNull(backend, "The execution backend cannot be null.");
+        this.envs.values().forEach(env -> env.useBackend(backend));
+    }
+
     /**
      * 执行指定的AST
      *
@@ -16,6 +16,7 @@ import modelengine.fit.ohscript.script.lexer.Terminal;
 import modelengine.fit.ohscript.script.lexer.Token;
 import modelengine.fit.ohscript.script.parser.AST;
 import modelengine.fit.ohscript.script.parser.NonTerminal;
+import modelengine.fit.ohscript.script.parser.nodes.BlockNode;
 import modelengine.fit.ohscript.script.parser.nodes.EntityDeclareNode;
 import modelengine.fit.ohscript.script.parser.nodes.FunctionDeclareNode;
 import modelengine.fit.ohscript.script.parser.nodes.SyntaxNode;
@@ -27,6 +28,7 @@ import modelengine.fit.ohscript.util.ExternalWrapper;
 import modelengine.fit.ohscript.util.OhUtil;
 import modelengine.fit.ohscript.util.Tool;
 import modelengine.fitframework.broker.client.BrokerClient;
+import modelengine.fitframework.inspection.Validation;
 import modelengine.fitframework.ioc.BeanContainer;
 import modelengine.fitframework.util.ArrayUtils;
 import modelengine.fitframework.util.ObjectUtils;
@@ -70,6 +72,11 @@ public class ASTEnv {
      */
     private List<SyntaxNode> runtimeNodes = new ArrayList<>();
 
+    /**
+     * 执行后端
+     */
+    private ExecutionBackend backend = ExecutionBackend.defaultBackend();
+
     /**
      * 通过抽象语法树（AST）和抽象语法森林（ASF）环境初始化 {@link ASTEnv} 的新实例。
      * 
@@ -94,6 +101,30 @@ public class ASTEnv {
         OhUtil.AST_ENV_THREAD_LOCAL.set(this);
     }
 
+    /**
+     * 获取执行后端。
+     *
+     * @return 表示执行后端的 {@link ExecutionBackend}。
+     */
+    public ExecutionBackend backend() {
+        return this.backend;
+    }
+
+    /**
+     * 设置执行后端，同一语法森林中链接的其他环境也使用该后端。
+     *
+     * @param backend 表示执行后端的 {@link ExecutionBackend}。
+     * @throws IllegalArgumentException 当 {@code backend} 为 {@code null} 时。
+     */
+    public void setBackend(ExecutionBackend backend) {
+        this.asfEnv.setBackend(Validation.notNull(backend, "The execution backend cannot be null."));
+        this.backend = backend;
+    }
+
+    void useBackend(ExecutionBackend backend) {
+        this.backend = backend;
+    }
+
     /**
      * 获取 FIT 调用的执行器。
      *
@@ -211,8 +242,15 @@ public class ASTEnv {
      */
     public Object eval(Object... args) throws OhPanic {
         this.ast.errors();
-        this.updateAst(args);
-        Object value = this.ast.interpret(this);
+        try {
+            this.updateAst(args);
+            return this.ast.interpret(this);
+        } finally {
+            this.clearRuntimeNodes();
+        }
+    }
+
+    private void clearRuntimeNodes() {
         while (this.runtimeNodes.size() > 0) {
             SyntaxNode node = this.runtimeNodes.remove(0);
             SyntaxNode parent = node.parent();
@@ -221,7 +259,6 @@ public class ASTEnv {
             }
             this.removeScope(node);
         }
-        return value;
     }
 
     private void removeScope(SyntaxNode node) {
@@ -414,6 +451,7 @@ public class ASTEnv {
      * 将新的执行参数添加到语法树中。
      * 这个方法将新的执行参数添加到语法树的根激活上下文中，并且将这些参数作为一个数组存储。
      * 这个方法用于在执行过程中更新语法树的参数。
+     * <p>每个参数挂在本环境独有的运行时作用域下，参数的符号不进入共享语法树的根作用域，执行结束后随运行时节点一起移除。</p>
      *
      * @param args 表示新的执行参数的 {@link Object} 数组。
      * @throws OhPanic 如果在更新过程中出现错误，将会抛出此异常。
@@ -422,18 +460,26 @@ public class ASTEnv {
         List<ReturnValue> argsValue = new ArrayList<>();
         TerminalNode argId = new TerminalNode(Terminal.ID);
         argId.setToken(new Token(Terminal.ID, Constants.ARGS, 1, 1, 1));
-        argId.setAst(this.ast);
-        if (this.ast.symbolTable().getSymbol(argId.lexeme(), this.root.scope()) == null) {
-            this.ast.symbolTable().getScope(this.root.scope()).addIdentifier(argId, false);
+        // 语法树由多个环境共享，修改符号表时需要互斥
+        synchronized (this.ast) {
+            argId.setAst(this.ast);
+            if (this.ast.symbolTable().getSymbol(argId.lexeme(), this.root.scope()) == null) {
+                this.ast.symbolTable().getScope(this.root.scope()).addIdentifier(argId, false);
+            }
         }
         this.root.put(argId, new ReturnValue(this.root, new ArrayTypeExpr(null), argsValue));
         for (int i = 0; i < args.length; i++) {
             Object arg = args[i];
-            EntityDeclareNode mockNode = this.ast.mockExternalOh("arg" + i, arg).first();
-            mockNode.setAst(this.ast);
-            this.ast.optimize(mockNode);
-            this.ast.symbolize(mockNode, true, true);
-            ReturnValue argValue = mockNode.interpret(this, this.rootContext());
+            BlockNode holder = new BlockNode();
+            EntityDeclareNode mockNode;
+            synchronized (this.ast) {
+                mockNode = this.ast.mockExternalOh("arg" + i, arg).first();
+                holder.addChild(mockNode);
+                holder.setAst(this.ast, this);
+                this.ast.optimize(mockNode);
+                this.ast.symbolize(mockNode, true, true);
+            }
+            ReturnValue argValue = mockNode.interpret(this, this.push(holder.scope(), this.rootContext()));
             argsValue.add(argValue);
         }
     }
@@ -16,23 +16,36 @@ import modelengine.fit.ohscript.util.Constants;
 import modelengine.fit.ohscript.util.Tool;
 import modelengine.fitframework.util.StringUtils;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * 一次函数调用或语句块的执行状态
+ * <p>语义分析阶段已分配槽位的符号存放在按槽位下标访问的数组中，其余符号（如 this、成员、运行期注入的符号）存放在符号表中。
+ * 上下文默认只由一个线程访问，被异步代码块捕获后，写入时才以上下文自身加锁。</p>
  *
  * @since 1.0
  */
 public class ActivationContext {
     private static final String MEMBER_FLAG = ".";
 
+    private static final ReturnValue[] EMPTY_SLOTS = new ReturnValue[0];
+
+    private static final String[] EMPTY_NAMES = new String[0];
+
     private final long id;
 
     private final long scope;
 
     private final Map<String, ReturnValue> symbolTable = new HashMap<>();
 
+    private ReturnValue[] slots = EMPTY_SLOTS;
+
+    private String[] slotNames = EMPTY_NAMES;
+
+    private volatile boolean shared;
+
     private final ActivationContext inClosure;
 
     private final ASTEnv env;
@@ -76,17 +89,78 @@ public class ActivationContext {
      * @param value 符号值
      * @throws OhPanic 抛出OhPanic异常
      */
-    public synchronized void put(TerminalNode node, ReturnValue value) throws OhPanic {
-        String name = node.lexeme();
-        ReturnValue current = this.get(node);
-        if (current == null || current == ReturnValue.UNKNOWN) {
-            ActivationContext context = this;
-            while (context.scope() != node.symbolEntry().scope() && context.inClosure != null) {
-                context = context.inClosure;
-            }
-            context.symbolTable.put(name, value);
-        } else {
+    public void put(TerminalNode node, ReturnValue value) throws OhPanic {
+        SymbolEntry entry = node.resolvedSymbolEntry();
+        ActivationContext context = this.frame(entry.scope());
+        ActivationContext target = context == null ? this.outermost() : context;
+        if (!target.shared) {
+            this.put(node, entry, context, target, value);
+            return;
+        }
+        synchronized (target) {
+            this.put(node, entry, context, target, value);
+        }
+    }
+
+    private void put(TerminalNode node, SymbolEntry entry, ActivationContext context, ActivationContext target,
+            ReturnValue value) throws OhPanic {
+        ReturnValue current = null;
+        if (StringUtils.equals(node.lexeme(), Constants.THIS)) {
+            current = this.get(Constants.THIS);
+        } else if (context != null) {
+            current = context.get(node, entry);
+        }
+        if (current != null && current != ReturnValue.UNKNOWN) {
             current.update(value);
+        } else if (entry.slot() >= 0 && target == context) {
+            target.store(entry.slot(), node.lexeme(), value);
+        } else {
+            target.symbolTable.put(node.lexeme(), value);
+        }
+    }
+
+    private void store(int slot, String name, ReturnValue value) {
+        if (slot >= this.slots.length) {
+            int length = Math.max(slot + 1, this.slots.length * 2);
+            this.slots = Arrays.copyOf(this.slots, length);
+            this.slotNames = Arrays.copyOf(this.slotNames, length);
+        }
+        this.slots[slot] = value;
+        this.slotNames[slot] = name;
+    }
+
+    private int slotOf(String name) {
+        String[] names = this.slotNames;
+        for (int i = 0; i < names.length; i++) {
+            if (StringUtils.equals(names[i], name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private ActivationContext frame(long scope) {
+        ActivationContext context = this;
+        while (context != null && context.scope != scope) {
+            context = context.inClosure;
+        }
+        return context;
+    }
+
+    private ActivationContext outermost() {
+        ActivationContext context = this;
+        while (context.inClosure != null) {
+            context = context.inClosure;
+        }
+        return context;
+    }
+
+    /**
+     * 标记当前上下文及其外部上下文会被其他线程访问，此后对这些上下文的写入都需要加锁
+     */
+    public void share() {
+        for (ActivationContext context = this; context != null && !context.shared; context = context.inClosure) {
+            context.shared = true;
         }
     }
 
@@ -105,7 +179,14 @@ public class ActivationContext {
      * @param all 符号和对应的值的映射
      */
     public void putAll(Map<String, ReturnValue> all) {
-        this.symbolTable.putAll(all);
+        all.forEach((name, value) -> {
+            int slot = this.slotOf(name);
+            if (slot >= 0) {
+                this.slots[slot] = value;
+            } else {
+                this.symbolTable.put(name, value);
+            }
+        });
     }
 
     private long getScope(SymbolEntry entry) {
@@ -130,15 +211,33 @@ public class ActivationContext {
             return this.get(Constants.THIS);
         }
         // find the symbol entry of terminal node, which has been defined in symbolize phase
-        SymbolEntry entry = node.symbolEntry();
-        long entryScope = entry.scope();
-        ReturnValue value = this.get(name, entryScope);
+        SymbolEntry entry = node.resolvedSymbolEntry();
+        ActivationContext context = this.frame(entry.scope());
+        return context == null ? null : context.get(node, entry);
+    }
+
+    private ReturnValue get(TerminalNode node, SymbolEntry entry) {
+        int slot = entry.slot();
+        ReturnValue[] values = this.slots;
+        if (slot >= 0 && slot < values.length && values[slot] != null) {
+            return values[slot];
+        }
+        ReturnValue value = this.lookup(node.lexeme());
         if (value == null) {
-            value = this.get(MEMBER_FLAG + name, entryScope);
+            value = this.lookup(MEMBER_FLAG + node.lexeme());
         }
         return value;
     }
 
+    private ReturnValue lookup(String name) {
+        ReturnValue value = this.symbolTable.get(name);
+        if (value != null || this.slotNames.length == 0) {
+            return value;
+        }
+        int slot = this.slotOf(name);
+        return slot < 0 ? null : this.slots[slot];
+    }
+
     /**
      * 根据名称和作用域获取符号表中的值
      *
@@ -147,15 +246,8 @@ public class ActivationContext {
      * @return 符号值
      */
     public ReturnValue get(String name, long scope) {
-        if (this.scope() != scope) {
-            if (this.inClosure == null) {
-                return null;
-            } else {
-                return this.inClosure.get(name, scope);
-            }
-        } else {
-            return this.symbolTable.get(name);
-        }
+        ActivationContext context = this.frame(scope);
+        return context == null ? null : context.lookup(name);
     }
 
     /**
@@ -165,7 +257,7 @@ public class ActivationContext {
      * @return 符号值
      */
     public ReturnValue get(String name) {
-        ReturnValue value = this.symbolTable.get(name);
+        ReturnValue value = this.lookup(name);
         if (value != null) {
             return value;
         }
@@ -198,7 +290,13 @@ public class ActivationContext {
      * @return 当前上下文的符号表
      */
     public Map<String, ReturnValue> all() {
-        return new HashMap<>(this.symbolTable);
+        Map<String, ReturnValue> all = new HashMap<>(this.symbolTable);
+        for (int i = 0; i < this.slots.length; i++) {
+            if (this.slots[i] != null) {
+                all.put(this.slotNames[i], this.slots[i]);
+            }
+        }
+        return all;
     }
 
     /**
@@ -0,0 +1,660 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.ohscript.script.interpreter;
+
+import modelengine.fit.ohscript.script.errors.OhPanic;
+import modelengine.fit.ohscript.script.errors.RuntimeError;
+import modelengine.fit.ohscript.script.errors.ScriptExecutionException;
+import modelengine.fit.ohscript.script.lexer.Terminal;
+import modelengine.fit.ohscript.script.parser.nodes.DoNode;
+import modelengine.fit.ohscript.script.parser.nodes.ForNode;
+import modelengine.fit.ohscript.script.parser.nodes.FunctionCallNode;
+import modelengine.fit.ohscript.script.parser.nodes.IfNode;
+import modelengine.fit.ohscript.script.parser.nodes.NonTerminalNode;
+import modelengine.fit.ohscript.script.parser.nodes.SyntaxNode;
+import modelengine.fit.ohscript.script.parser.nodes.TerminalNode;
+import modelengine.fit.ohscript.script.parser.nodes.WhileNode;
+import modelengine.fit.ohscript.script.semanticanalyzer.symbolentries.UnknownSymbolEntry;
+import modelengine.fit.ohscript.script.semanticanalyzer.type.expressions.TypeExprFactory;
+import modelengine.fit.ohscript.script.semanticanalyzer.type.expressions.concretes.NumberTypeExpr;
+import modelengine.fit.ohscript.script.semanticanalyzer.type.expressions.concretes.StringTypeExpr;
+import modelengine.fit.ohscript.util.Constants;
+import modelengine.fit.ohscript.util.EmptyValue;
+import modelengine.fit.ohscript.util.Tool;
+import modelengine.fitframework.util.ObjectUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 将完成语义分析的语法节点编译为闭包
+ * <p>每个节点只编译一次，结果缓存在节点上。闭包预先取出运算符和字面量，整数和浮点运算走类型特化的快速路径。
+ * 子节点在编译时就绑定为闭包直接调用，不再经过 {@link SyntaxNode#interpret(ASTEnv, ActivationContext)} 逐节点分派，
+ * 异常的位置信息仍补充到出错的节点上。不支持编译的子节点回退到 {@link Interpreter}。</p>
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+public final class ClosureCompiler {
+    private static final CompiledNode UNSUPPORTED = (env, current) -> {
+        throw new IllegalStateException("The node is not compiled.");
+    };
+
+    private static final NumericOp NUMERIC_OP = new NumericOp();
+
+    private static final TermOp TERM_OP = new TermOp();
+
+    /**
+     * 节点类型是否沿用默认的执行入口，重写了执行入口的节点只能通过自身的 {@code interpret} 执行
+     */
+    private static final ClassValue<Boolean> DIRECT = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                Class<?> declaring =
+                        type.getMethod("interpret", ASTEnv.class, ActivationContext.class).getDeclaringClass();
+                return declaring == TerminalNode.class || declaring == NonTerminalNode.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    private ClosureCompiler() {}
+
+    /**
+     * 获取节点在编译执行后端下的闭包，首次访问时编译
+     *
+     * @param node 语法节点
+     * @param env 执行环境
+     * @return 闭包，执行环境未启用编译后端或节点不支持编译时返回 {@code null}
+     */
+    public static CompiledNode compile(SyntaxNode node, ASTEnv env) {
+        if (env == null || env.backend() != ExecutionBackend.COMPILED) {
+            return null;
+        }
+        return of(node);
+    }
+
+    private static CompiledNode of(SyntaxNode node) {
+        CompiledNode compiled = node.compiled();
+        if (compiled == null) {
+            compiled = build(node);
+            node.setCompiled(compiled);
+        }
+        return compiled == UNSUPPORTED ? null : compiled;
+    }
+
+    /**
+     * 获取子节点的闭包，在编译时直接绑定子节点的闭包，子节点不支持编译时回退到解释执行
+     * <p>闭包外层补充与 {@link SyntaxNode#interpret(ASTEnv, ActivationContext)} 一致的异常处理，
+     * 正常执行时不再经过执行后端的判断和节点上闭包的读取。</p>
+     *
+     * @param node 子节点
+     * @return 子节点的闭包
+     */
+    private static CompiledNode child(SyntaxNode node) {
+        CompiledNode compiled = DIRECT.get(node.getClass()) ? of(node) : null;
+        if (compiled == null) {
+            return node::interpret;
+        }
+        if (node instanceof TerminalNode) {
+            return (env, current) -> {
+                try {
+                    return compiled.execute(env, current);
+                } catch (OhPanic ex) {
+                    throw ex;
+                } catch (Exception ex) {
+                    return ReturnValue.IGNORE;
+                }
+            };
+        }
+        NonTerminalNode located = ObjectUtils.cast(node);
+        return (env, current) -> {
+            try {
+                return compiled.execute(env, current);
+            } catch (OhPanic ex) {
+                if (ex.node() != null) {
+                    throw ex;
+                }
+                throw new OhPanic(ex.getMessage(), located, located.location().startLine(), ex.code());
+            } catch (ScriptExecutionException ex) {
+                if (ex.node() != null) {
+                    throw ex;
+                }
+                throw new ScriptExecutionException(ex, located, located.location().startLine());
+            } catch (Exception ex) {
+                throw new ScriptExecutionException(ex, located, located.location().startLine());
+            }
+        };
+    }
+
+    private static CompiledNode[] children(List<? extends SyntaxNode> nodes) {
+        CompiledNode[] children = new CompiledNode[nodes.size()];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = child(nodes.get(i));
+        }
+        return children;
+    }
+
+    private static CompiledNode build(SyntaxNode node) {
+        switch (node.interpreter()) {
+            case NUMBER:
+                return number(node);
+            case STRING:
+                String text = node.lexeme().substring(1, node.lexeme().length() - 1);
+                return (env, current) -> new ReturnValue(current, TypeExprFactory.createString(node), text);
+            case TRUE:
+                return (env, current) -> new ReturnValue(current, TypeExprFactory.createBool(node), true);
+            case FALSE:
+                return (env, current) -> new ReturnValue(current, TypeExprFactory.createBool(node), false);
+            case ID:
+                return id(ObjectUtils.cast(node));
+            case SCRIPT:
+            case STATEMENTS:
+            case BLOCK_STATEMENT:
+                return block(node);
+            case GENERAL:
+                return general(node);
+            case NUMERIC_EXPRESSION:
+                return arithmetic(node, false);
+            case TERM_EXPRESSION:
+                return arithmetic(node, true);
+            case RELATIONAL_CONDITION:
+                return relational(node);
+            case CONDITION_EXPRESSION:
+                return condition(node);
+            case TERNARY_EXPRESSION:
+                return ternary(node);
+            case NEGATION:
+                return negation(node);
+            case UNARY_EXPRESSION:
+                return unary(node);
+            case INITIAL_ASSIGNMENT:
+            case VAR_ASSIGNMENT:
+                return assignment(node);
+            case IF_STATEMENT:
+                return ifStatement(ObjectUtils.cast(node));
+            case IF_BRANCH:
+                return ifBranch(node);
+            case WHILE_STATEMENT:
+                return whileStatement(ObjectUtils.cast(node));
+            case DO_STATEMENT:
+                return doStatement(ObjectUtils.cast(node));
+            case FOR_STATEMENT:
+                return forStatement(ObjectUtils.cast(node));
+            case LOOP_CONTROL:
+                ReturnValue control =
+                        node.child(0).nodeType() == Terminal.BREAK ? ReturnValue.BREAK : ReturnValue.CONTINUE;
+                return (env, current) -> control;
+            case RETURN_STATEMENT:
+                return child(node.child(0).nodeType() == Terminal.RETURN ? node.child(1) : node.child(0));
+            case FUNC_CALL:
+                return functionCall(ObjectUtils.cast(node));
+            default:
+                return UNSUPPORTED;
+        }
+    }
+
+    private static CompiledNode number(SyntaxNode node) {
+        BigDecimal value = new BigDecimal(node.lexeme());
+        Number number;
+        if (value.scale() <= 0 || value.remainder(BigDecimal.ONE).compareTo(BigDecimal.ZERO) == 0) {
+            number = value.intValue();
+        } else {
+            number = value.doubleValue();
+        }
+        return (env, current) -> new ReturnValue(current, TypeExprFactory.createNumber(node), number);
+    }
+
+    private static CompiledNode id(TerminalNode id) {
+        SyntaxNode parent = id.parent();
+        if (parent.childCount() > 1 && parent.child(0) != id && parent.child(1) instanceof TerminalNode
+                && parent.child(1).nodeType() == Terminal.TYPE_OF) {
+            return UNSUPPORTED;
+        }
+        if (id.lexeme().equals(Constants.NULL)) {
+            return (env, current) -> ReturnValue.NULL;
+        }
+        return (env, current) -> {
+            ReturnValue value = current.get(id);
+            return value == null ? resolveMissing(id, current) : value;
+        };
+    }
+
+    private static ReturnValue resolveMissing(TerminalNode id, ActivationContext current) throws OhPanic {
+        ReturnValue value = null;
+        if (id.symbolEntry() instanceof UnknownSymbolEntry) {
+            value = current.get(id.lexeme());
+            if (value == null) {
+                RuntimeError.VAR_NOT_FOUND.raise();
+            }
+            return value;
+        }
+        ReturnValue entityValue = current.get(Constants.THIS);
+        if (entityValue != null) {
+            value = entityValue.tryGet(Constants.DOT + id.lexeme(), false);
+        }
+        if (value == null || value.value() == EmptyValue.ERROR || value.value() == EmptyValue.NULL) {
+            value = ReturnValue.IGNORE;
+        }
+        return value;
+    }
+
+    private static CompiledNode block(SyntaxNode node) {
+        CompiledNode[] children = new CompiledNode[node.childCount()];
+        boolean[] returnAble = new boolean[children.length];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = child(node.child(i));
+            returnAble[i] = node.child(i).returnAble();
+        }
+        return (env, current) -> {
+            ActivationContext newCurrent = env.push(node.scope(), current);
+            for (int i = 0; i < children.length; i++) {
+                ReturnValue value = children[i].execute(env, newCurrent);
+                if (returnAble[i] && value != ReturnValue.IGNORE) {
+                    return value;
+                }
+            }
+            return ReturnValue.IGNORE;
+        };
+    }
+
+    private static CompiledNode general(SyntaxNode node) {
+        CompiledNode[] children = children(node.children());
+        if (children.length == 1) {
+            return children[0];
+        }
+        return (env, current) -> {
+            for (CompiledNode child : children) {
+                ReturnValue value = child.execute(env, current);
+                if (value != ReturnValue.IGNORE) {
+                    return value;
+                }
+            }
+            return ReturnValue.IGNORE;
+        };
+    }
+
+    private static CompiledNode arithmetic(SyntaxNode node, boolean term) {
+        CompiledNode first = child(node.child(0));
+        int count = (node.childCount() - 1) / 2;
+        Terminal[] operators = new Terminal[count];
+        CompiledNode[] operands = new CompiledNode[count];
+        for (int i = 0; i < count; i++) {
+            operators[i] = ObjectUtils.cast(node.child(2 * i + 1).nodeType());
+            operands[i] = child(node.child(2 * i + 2));
+        }
+        return (env, current) -> {
+            ReturnValue value = first.execute(env, current);
+            for (int i = 0; i < count; i++) {
+                ReturnValue operand = operands[i].execute(env, current);
+                value = term ? term(value, operators[i], operand) : numeric(value, operators[i], operand);
+            }
+            return value;
+        };
+    }
+
+    /**
+     * 加减乘除取余运算，两侧都是整数或都是数值时直接计算，其余情况与 {@link NumericOp} 一致
+     *
+     * @param x 左操作数
+     * @param op 运算符
+     * @param y 右操作数
+     * @return 运算结果
+     */
+    static ReturnValue numeric(ReturnValue x, Terminal op, ReturnValue y) {
+        Object left = x.value();
+        Object right = y.value();
+        if (left instanceof Number && right instanceof Number && !(x.typeExpr() instanceof StringTypeExpr)
+                && !(y.typeExpr() instanceof StringTypeExpr)) {
+            Number result;
+            if (left instanceof Double || right instanceof Double) {
+                result = doubleOp(((Number) left).doubleValue(), op, ((Number) right).doubleValue());
+            } else {
+                result = intOp(((Number) left).intValue(), op, ((Number) right).intValue());
+            }
+            if (result != null) {
+                return new ReturnValue(x.context(), TypeExprFactory.createNumber(x.typeExpr().node()), result);
+            }
+        }
+        return NUMERIC_OP.op(x, op, y);
+    }
+
+    private static ReturnValue term(ReturnValue x, Terminal op, ReturnValue y) {
+        if (x.value() instanceof Integer && y.value() instanceof Integer
+                && (op == Terminal.STAR || op == Terminal.SLASH)) {
+            Integer result = intOp((Integer) x.value(), op, (Integer) y.value());
+            return new ReturnValue(x.context(), TypeExprFactory.createNumber(x.typeExpr().node()), result);
+        }
+        return TERM_OP.op(x, op, y);
+    }
+
+    private static Integer intOp(int x, Terminal op, int y) {
+        switch (op) {
+            case PLUS:
+                return x + y;
+            case MINUS:
+                return x - y;
+            case STAR:
+                return x * y;
+            case SLASH:
+                return x / y;
+            case MOD:
+                return x % y;
+            default:
+                return null;
+        }
+    }
+
+    private static Double doubleOp(double x, Terminal op, double y) {
+        switch (op) {
+            case PLUS:
+                return x + y;
+            case MINUS:
+                return x - y;
+            case STAR:
+                return x * y;
+            case SLASH:
+                return x / y;
+            case MOD:
+                return x % y;
+            default:
+                return null;
+        }
+    }
+
+    private static CompiledNode relational(SyntaxNode node) {
+        CompiledNode left = child(node.child(0));
+        if (node.childCount() == 1) {
+            return left;
+        }
+        Terminal op = ObjectUtils.cast(node.child(1).nodeType());
+        if (op != Terminal.GREATER && op != Terminal.GREATER_EQUAL && op != Terminal.LESS
+                && op != Terminal.LESS_EQUAL) {
+            return UNSUPPORTED;
+        }
+        CompiledNode right = child(node.child(2));
+        return (env, current) -> {
+            ReturnValue x = left.execute(env, current);
+            ReturnValue y = right.execute(env, current);
+            if (x.value() == null || y.value() == null) {
+                throw new OhPanic("can not compare with null", Constants.UNKNOWN_ERROR);
+            }
+            boolean result = false;
+            if (x.typeExpr() instanceof NumberTypeExpr || y.typeExpr() instanceof NumberTypeExpr) {
+                int compare = x.value() instanceof Integer && y.value() instanceof Integer
+                        ? Integer.compare((Integer) x.value(), (Integer) y.value())
+                        : compareDouble(ObjectUtils.<Number>cast(x.value()), ObjectUtils.<Number>cast(y.value()));
+                result = matches(op, compare);
+            }
+            return new ReturnValue(current, TypeExprFactory.createBool(node), result);
+        };
+    }
+
+    private static int compareDouble(Number x, Number y) {
+        double left = x.doubleValue();
+        double right = y.doubleValue();
+        if (left < right) {
+            return -1;
+        }
+        return left > right ? 1 : (left == right ? 0 : 2);
+    }
+
+    private static boolean matches(Terminal op, int compare) {
+        switch (op) {
+            case GREATER:
+                return compare == 1;
+            case GREATER_EQUAL:
+                return compare == 1 || compare == 0;
+            case LESS:
+                return compare == -1;
+            default:
+                return compare == -1 || compare == 0;
+        }
+    }
+
+    private static CompiledNode condition(SyntaxNode node) {
+        CompiledNode first = child(node.child(0));
+        int count = (node.childCount() - 1) / 2;
+        Terminal[] operators = new Terminal[count];
+        CompiledNode[] operands = new CompiledNode[count];
+        for (int i = 0; i < count; i++) {
+            operators[i] = ObjectUtils.cast(node.child(2 * i + 1).nodeType());
+            operands[i] = child(node.child(2 * i + 2));
+        }
+        return (env, current) -> {
+            boolean result = truth(first.execute(env, current));
+            for (int i = 0; i < count; i++) {
+                if (result && operators[i] == Terminal.OR_OR) {
+                    return new ReturnValue(current, TypeExprFactory.createNumber(node), true);
+                }
+                if (!result && operators[i] == Terminal.AND_AND) {
+                    return new ReturnValue(current, TypeExprFactory.createNumber(node), false);
+                }
+                boolean right = truth(operands[i].execute(env, current));
+                result = operators[i] == Terminal.OR_OR ? result || right
+                        : operators[i] == Terminal.AND_AND && result && right;
+            }
+            return new ReturnValue(current, TypeExprFactory.createNumber(node), result);
+        };
+    }
+
+    private static boolean truth(ReturnValue value) {
+        if (value.value() instanceof Boolean) {
+            return ObjectUtils.cast(value.value());
+        }
+        return (ObjectUtils.<Number>cast(value.value())).doubleValue() > 0;
+    }
+
+    private static CompiledNode ternary(SyntaxNode node) {
+        CompiledNode condition = child(node.child(0));
+        CompiledNode whenTrue = child(node.child(2));
+        CompiledNode whenFalse = child(node.child(4));
+        return (env, current) -> {
+            Boolean value = ObjectUtils.cast(condition.execute(env, current).value());
+            return value ? whenTrue.execute(env, current) : whenFalse.execute(env, current);
+        };
+    }
+
+    private static CompiledNode negation(SyntaxNode node) {
+        CompiledNode operand = child(node.child(1));
+        return (env, current) -> {
+            Object value = operand.execute(env, current).value();
+            boolean result = value instanceof Boolean
+                    ? !((Boolean) value)
+                    : !(value instanceof Number && ((Number) value).doubleValue() > 0);
+            return new ReturnValue(current, TypeExprFactory.createBool(node), result);
+        };
+    }
+
+    private static CompiledNode unary(SyntaxNode node) {
+        SyntaxNode second = node.child(1);
+        if (second.nodeType() == Terminal.PLUS_PLUS || second.nodeType() == Terminal.MINUS_MINUS) {
+            if (!(node.child(0) instanceof TerminalNode)) {
+                return UNSUPPORTED;
+            }
+            TerminalNode var = ObjectUtils.cast(node.child(0));
+            CompiledNode read = child(var);
+            Terminal op = second.nodeType() == Terminal.PLUS_PLUS ? Terminal.PLUS : Terminal.MINUS;
+            return (env, current) -> {
+                ReturnValue value = read.execute(env, current).clone();
+                current.put(var, numeric(value, op, new ReturnValue(current, TypeExprFactory.createNumber(var), 1)));
+                return value;
+            };
+        }
+        Terminal operator = ObjectUtils.cast(node.child(0).nodeType());
+        if (operator == Terminal.MINUS) {
+            CompiledNode operand = child(second);
+            return (env, current) -> numeric(operand.execute(env, current), Terminal.STAR,
+                    new ReturnValue(current, TypeExprFactory.createNumber(second), -1));
+        }
+        if (!(second instanceof TerminalNode)) {
+            return UNSUPPORTED;
+        }
+        TerminalNode var = ObjectUtils.cast(second);
+        CompiledNode read = child(var);
+        Terminal op = null;
+        if (operator == Terminal.PLUS_PLUS) {
+            op = Terminal.PLUS;
+        } else if (operator == Terminal.MINUS_MINUS) {
+            op = Terminal.MINUS;
+        }
+        Terminal step = op;
+        return (env, current) -> {
+            if (step != null) {
+                current.put(var, numeric(read.execute(env, current), step,
+                        new ReturnValue(current, TypeExprFactory.createNumber(var), 1)));
+            }
+            return read.execute(env, current);
+        };
+    }
+
+    private static CompiledNode assignment(SyntaxNode node) {
+        SyntaxNode var = node.child(0);
+        if (node.childCount() < 3) {
+            return (env, current) -> {
+                var.assignValue(new ReturnValue(current, TypeExprFactory.createUnknown(), null), env, current);
+                return ReturnValue.IGNORE;
+            };
+        }
+        Terminal op = compoundOperator(node.child(1).nodeType());
+        CompiledNode read = op == null ? null : child(var);
+        CompiledNode right = child(node.child(2));
+        return (env, current) -> {
+            ReturnValue value = right.execute(env, current);
+            if (op != null) {
+                value = numeric(read.execute(env, current), op, value);
+            }
+            var.assignValue(value, env, current);
+            return ReturnValue.IGNORE;
+        };
+    }
+
+    private static Terminal compoundOperator(Object operator) {
+        if (operator == Terminal.PLUS_EQUAL) {
+            return Terminal.PLUS;
+        }
+        if (operator == Terminal.MINUS_EQUAL) {
+            return Terminal.MINUS;
+        }
+        if (operator == Terminal.STAR_EQUAL) {
+            return Terminal.STAR;
+        }
+        return operator == Terminal.SLASH_EQUAL ? Terminal.SLASH : null;
+    }
+
+    private static CompiledNode ifStatement(IfNode node) {
+        CompiledNode[] branches = children(node.branches());
+        return (env, current) -> {
+            for (CompiledNode branch : branches) {
+                ReturnValue value = branch.execute(env, current);
+                if (value != ReturnValue.IGNORE) {
+                    return value == ReturnValue.DECLARED ? ReturnValue.IGNORE : value;
+                }
+            }
+            return ReturnValue.IGNORE;
+        };
+    }
+
+    private static CompiledNode ifBranch(SyntaxNode node) {
+        boolean always = node.child(0).nodeType() == Terminal.UNIT;
+        CompiledNode condition = always ? null : child(node.child(0));
+        CompiledNode branch = child(node.child(1));
+        boolean returnAble = node.child(1).returnAble();
+        return (env, current) -> {
+            ActivationContext newCurrent = env.push(node.scope(), current);
+            if (!always && !ObjectUtils.<Boolean>cast(condition.execute(env, newCurrent).value())) {
+                return ReturnValue.IGNORE;
+            }
+            ReturnValue result = branch.execute(env, newCurrent);
+            if (result == ReturnValue.IGNORE
+                    || (!returnAble && result != ReturnValue.BREAK && result != ReturnValue.CONTINUE)) {
+                result = ReturnValue.DECLARED;
+            }
+            return result;
+        };
+    }
+
+    private static CompiledNode whileStatement(WhileNode node) {
+        CompiledNode condition = child(node.condition());
+        CompiledNode body = child(node.body());
+        return (env, current) -> {
+            while (ObjectUtils.<Boolean>cast(condition.execute(env, current).value())) {
+                ReturnValue value = body.execute(env, current);
+                if (value == ReturnValue.BREAK) {
+                    break;
+                }
+                if (value != ReturnValue.CONTINUE && value != ReturnValue.IGNORE) {
+                    return value;
+                }
+            }
+            return ReturnValue.IGNORE;
+        };
+    }
+
+    private static CompiledNode doStatement(DoNode node) {
+        CompiledNode condition = child(node.condition());
+        CompiledNode body = child(node.body());
+        return (env, current) -> {
+            do {
+                ReturnValue value = body.execute(env, current);
+                if (value == ReturnValue.BREAK) {
+                    break;
+                }
+                if (value != ReturnValue.CONTINUE && value != ReturnValue.IGNORE) {
+                    return value;
+                }
+            } while (ObjectUtils.<Boolean>cast(condition.execute(env, current).value()));
+            return ReturnValue.IGNORE;
+        };
+    }
+
+    private static CompiledNode forStatement(ForNode node) {
+        CompiledNode initial = child(node.initial());
+        CompiledNode condition = child(node.condition());
+        CompiledNode expression = child(node.expression());
+        CompiledNode body = child(node.body());
+        return (env, current) -> {
+            ActivationContext newCurrent = env.push(node.scope(), env, current);
+            initial.execute(env, newCurrent);
+            while (ObjectUtils.<Boolean>cast(condition.execute(env, newCurrent).value())) {
+                ReturnValue value = body.execute(env, newCurrent);
+                if (value == ReturnValue.BREAK) {
+                    break;
+                }
+                if (value == ReturnValue.CONTINUE) {
+                    continue;
+                }
+                if (value != ReturnValue.IGNORE) {
+                    return value;
+                }
+                expression.execute(env, newCurrent);
+            }
+            return ReturnValue.IGNORE;
+        };
+    }
+
+    private static CompiledNode functionCall(FunctionCallNode node) {
+        CompiledNode name = child(node.functionName());
+        CompiledNode[] args = children(node.args());
+        return (env, current) -> {
+            ReturnValue function = name.execute(env, current);
+            List<ReturnValue> argValues = new ArrayList<>(args.length);
+            for (CompiledNode arg : args) {
+                argValues.add(arg.execute(env, current));
+            }
+            ActivationContext funcContext = function.context();
+            if (funcContext != current && funcContext != null && current.getThis() != null) {
+                funcContext.putThis(current.getThis());
+                current.removeThis();
+            }
+            return Tool.interpretFunction(ObjectUtils.cast(function.value()), argValues, funcContext);
+        };
+    }
+}
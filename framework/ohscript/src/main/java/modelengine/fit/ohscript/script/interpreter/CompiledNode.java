@@ -0,0 +1,28 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.ohscript.script.interpreter;
+
+import modelengine.fit.ohscript.script.errors.OhPanic;
+
+/**
+ * 语法节点编译后的闭包
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+@FunctionalInterface
+public interface CompiledNode {
+    /**
+     * 执行闭包
+     *
+     * @param env 执行环境
+     * @param current 激活上下文
+     * @return 执行结果
+     * @throws OhPanic Oh语言抛出的异常
+     */
+    ReturnValue execute(ASTEnv env, ActivationContext current) throws OhPanic;
+}
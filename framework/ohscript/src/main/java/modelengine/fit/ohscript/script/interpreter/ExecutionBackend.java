@@ -0,0 +1,61 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.ohscript.script.interpreter;
+
+import modelengine.fitframework.log.Logger;
+
+import java.util.Locale;
+
+/**
+ * 语法树的执行后端
+ * <p>默认后端可通过 {@code -Dohscript.backend=compiled} 指定。</p>
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+public enum ExecutionBackend {
+    /** 逐节点分派的解释执行 */
+    INTERPRETER,
+    /** 将语法节点编译为闭包执行，不支持编译的节点回退到解释执行 */
+    COMPILED;
+
+    /**
+     * 系统属性中指定默认后端的键
+     */
+    public static final String PROPERTY = "ohscript.backend";
+
+    private static final Logger log = Logger.get(ExecutionBackend.class);
+
+    private static final ExecutionBackend DEFAULT = parse(System.getProperty(PROPERTY));
+
+    /**
+     * 获取默认的执行后端，系统属性只在类加载时读取一次
+     *
+     * @return 系统属性指定的执行后端，未指定时为 {@link #INTERPRETER}
+     */
+    public static ExecutionBackend defaultBackend() {
+        return DEFAULT;
+    }
+
+    /**
+     * 解析执行后端的名称，无法识别时回退到解释执行
+     *
+     * @param backend 表示后端名称的 {@link String}，可以为 {@code null}
+     * @return 名称对应的执行后端，为空或者无法识别时为 {@link #INTERPRETER}
+     */
+    public static ExecutionBackend parse(String backend) {
+        if (backend == null || backend.isBlank()) {
+            return INTERPRETER;
+        }
+        try {
+            return ExecutionBackend.valueOf(backend.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            log.warn("Unknown ohscript backend, fall back to interpreter. [backend={}]", backend);
+            return INTERPRETER;
+        }
+    }
+}
@@ -332,33 +332,9 @@ public enum Interpreter {
      * <p>处理乘除运算，自动进行整型与浮点型运算的类型转换。</p>
      */
     TERM_EXPRESSION {
-        private ReturnValue termOp(ReturnValue x, Terminal op, ReturnValue y) {
-            boolean hasDouble = x.value() instanceof Double || y.value() instanceof Double;
-            Number result = null;
-            if (op == Terminal.STAR) {
-                if (hasDouble) {
-                    result = (ObjectUtils.<Number>cast(x.value())).doubleValue() * (ObjectUtils.<Number>cast(
-                            y.value())).doubleValue();
-                } else {
-                    result = (ObjectUtils.<Number>cast(x.value())).intValue() * (ObjectUtils.<Number>cast(
-                            y.value())).intValue();
-                }
-            }
-            if (op == Terminal.SLASH) {
-                if (hasDouble) {
-                    result = (ObjectUtils.<Number>cast(x.value())).doubleValue() / (ObjectUtils.<Number>cast(
-                            y.value())).doubleValue();
-                } else {
-                    result = (ObjectUtils.<Number>cast(x.value())).intValue() / (ObjectUtils.<Number>cast(
-                            y.value())).intValue();
-                }
-            }
-            return new ReturnValue(x.context(), TypeExprFactory.createNumber(x.typeExpr().node()), result);
-        }
-
         @Override
         public ReturnValue interpret(SyntaxNode node, ASTEnv env, ActivationContext current) throws OhPanic {
-            return threeAddressOp(node, env, this::termOp, current);
+            return threeAddressOp(node, env, new TermOp(), current);
         }
     },
 
@@ -1051,6 +1027,8 @@ public enum Interpreter {
         public ReturnValue interpret(SyntaxNode node, ASTEnv env, ActivationContext current) {
             AsyncBlockNode async = ObjectUtils.cast(node);
             BlockNode block = async.block();
+            // 异步代码块与当前线程共享外部上下文
+            current.share();
             CompletableFuture<ReturnValue> future = CompletableFuture.supplyAsync(() -> {
                 try {
                     return block.interpret(env, current);
@@ -1739,6 +1717,38 @@ interface Chain<T> {
     }
 }
 
+/**
+ * 乘除操作
+ *
+ * @since 1.0
+ */
+class TermOp implements ThreeAddressOp {
+    @Override
+    public ReturnValue op(ReturnValue x, Terminal op, ReturnValue y) {
+        boolean hasDouble = x.value() instanceof Double || y.value() instanceof Double;
+        Number result = null;
+        if (op == Terminal.STAR) {
+            if (hasDouble) {
+                result = (ObjectUtils.<Number>cast(x.value())).doubleValue() * (ObjectUtils.<Number>cast(
+                        y.value())).doubleValue();
+            } else {
+                result = (ObjectUtils.<Number>cast(x.value())).intValue() * (ObjectUtils.<Number>cast(
+                        y.value())).intValue();
+            }
+        }
+        if (op == Terminal.SLASH) {
+            if (hasDouble) {
+                result = (ObjectUtils.<Number>cast(x.value())).doubleValue() / (ObjectUtils.<Number>cast(
+                        y.value())).doubleValue();
+            } else {
+                result = (ObjectUtils.<Number>cast(x.value())).intValue() / (ObjectUtils.<Number>cast(
+                        y.value())).intValue();
+            }
+        }
+        return new ReturnValue(x.context(), TypeExprFactory.createNumber(x.typeExpr().node()), result);
+    }
+}
+
 /**
  * 数值型操作
  *
@@ -8,10 +8,13 @@ package modelengine.fit.ohscript.script.lexer;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Matcher;
 
 /**
  * 词法分析器。
  * <p>将源代码转换为一系列标记（tokens），这些标记是代码的基本组成单位。</p>
+ * <p>所有终结符合并为一个只编译一次的模式，扫描时不再按行切分源码，而是在整段源码上逐行设置匹配区域，一次遍历完成，
+ * 匹配到的终结符通过分组序号表直接确定。匹配区域使用不透明边界，因此每行的匹配结果与单独匹配该行完全一致。</p>
  *
  * @author 张群辉
  * @since 2023-05-01
@@ -24,19 +27,61 @@ public class Lexer {
      * @return 生产的token列表
      */
     public List<Token> scan(String codeSnap) {
-        List<Token> tokens = new ArrayList<>();
-        String[] lines = this.buildLines(codeSnap);
-        for (int i = 0; i < lines.length; i++) {
-            this.tokenize(tokens, lines[i], i);
-        }
+        List<Token> tokens = new ArrayList<>(codeSnap.length() / 4 + 1);
+        this.scan(codeSnap, tokens);
         return tokens;
     }
 
-    private String[] buildLines(String codeSnap) {
-        return codeSnap.split("\n");
+    /**
+     * 读取代码，将生成的token追加到给定的列表中，便于调用方复用列表
+     *
+     * @param codeSnap 待解析的代码
+     * @param tokens 用于接收token的列表
+     */
+    public void scan(String codeSnap, List<Token> tokens) {
+        // 与按换行符切分的语义保持一致：末尾的空行不产生token
+        int limit = codeSnap.length();
+        while (limit > 0 && codeSnap.charAt(limit - 1) == '\n') {
+            limit--;
+        }
+        if (limit == 0 && !codeSnap.isEmpty()) {
+            return;
+        }
+        Matcher matcher = Terminal.pattern().matcher(codeSnap);
+        int lineStart = 0;
+        for (int lineNum = 0; ; lineNum++) {
+            int lineEnd = codeSnap.indexOf('\n', lineStart);
+            if (lineEnd < 0 || lineEnd > limit) {
+                lineEnd = limit;
+            }
+            this.tokenize(tokens, matcher, codeSnap, lineStart, lineEnd, lineNum);
+            if (lineEnd == limit) {
+                return;
+            }
+            lineStart = lineEnd + 1;
+        }
     }
 
-    private void tokenize(List<Token> tokens, String line, int lineNum) {
-        tokens.addAll(Terminal.match(line, lineNum));
+    private void tokenize(List<Token> tokens, Matcher matcher, String code, int lineStart, int lineEnd, int lineNum) {
+        if (this.hasSpaceAfterQuestion(code, lineStart, lineEnd)) {
+            tokens.addAll(Terminal.match(code.substring(lineStart, lineEnd), lineNum));
+            return;
+        }
+        matcher.region(lineStart, lineEnd);
+        while (matcher.find()) {
+            tokens.add(Terminal.buildToken(matcher, lineNum, lineStart));
+        }
+    }
+
+    /**
+     * 判断行中是否存在后跟空白的问号，这类行需要先压缩空白再匹配
+     */
+    private boolean hasSpaceAfterQuestion(String code, int lineStart, int lineEnd) {
+        for (int i = code.indexOf('?', lineStart); i >= 0 && i < lineEnd - 1; i = code.indexOf('?', i + 1)) {
+            if (Character.isWhitespace(code.charAt(i + 1))) {
+                return true;
+            }
+        }
+        return false;
     }
 }
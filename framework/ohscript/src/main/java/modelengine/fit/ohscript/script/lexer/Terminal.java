@@ -12,7 +12,9 @@ import modelengine.fit.ohscript.util.Constants;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -634,6 +636,28 @@ public enum Terminal implements NodeType, Serializable {
 
     private static final long serialVersionUID = -3083743187191599816L;
 
+    private static final Terminal[] TYPES = Terminal.values();
+
+    /**
+     * 所有终结符正则表达式合并后的模式，只编译一次
+     */
+    private static final Pattern PATTERN = Pattern.compile(Terminal.buildRegex());
+
+    /**
+     * 每个终结符在 {@link #PATTERN} 中对应的命名分组序号，与 {@link #TYPES} 一一对应
+     */
+    private static final int[] GROUPS = Terminal.buildGroups();
+
+    /**
+     * 正则表达式为固定文本的终结符，以文本为键，值为在 {@link #TYPES} 中的序号，同一文本只对应一个终结符
+     */
+    private static final Map<String, Integer> LITERALS = new HashMap<>();
+
+    /**
+     * 正则表达式不是固定文本的终结符在 {@link #TYPES} 中的序号，按合并时的顺序排列
+     */
+    private static final int[] PATTERNS = Terminal.buildPatterns();
+
     private final String regex;
 
     private final boolean isKeyWord;
@@ -692,6 +716,80 @@ public enum Terminal implements NodeType, Serializable {
         return builder.toString();
     }
 
+    /**
+     * 计算每个终结符的命名分组在合并后的正则表达式中的序号
+     *
+     * @return 与 {@link #TYPES} 一一对应的分组序号
+     */
+    private static int[] buildGroups() {
+        int[] groups = new int[TYPES.length];
+        int group = 1;
+        for (int i = 0; i < TYPES.length; i++) {
+            groups[i] = group;
+            group += Pattern.compile(TYPES[i].regex()).matcher("").groupCount();
+        }
+        return groups;
+    }
+
+    /**
+     * 把终结符分为固定文本和一般正则两类，固定文本的终结符登记到 {@link #LITERALS}，文本重复的按一般正则处理
+     *
+     * @return 一般正则终结符的序号
+     */
+    private static int[] buildPatterns() {
+        Map<String, List<Integer>> literals = new HashMap<>();
+        List<Integer> patterns = new ArrayList<>();
+        for (int i = 0; i < TYPES.length; i++) {
+            String literal = Terminal.literal(TYPES[i].regex);
+            if (literal == null) {
+                patterns.add(i);
+            } else {
+                literals.computeIfAbsent(literal, key -> new ArrayList<>()).add(i);
+            }
+        }
+        literals.forEach((literal, indexes) -> {
+            if (indexes.size() == 1) {
+                LITERALS.put(literal, indexes.get(0));
+            } else {
+                patterns.addAll(indexes);
+            }
+        });
+        return patterns.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    /**
+     * 获取正则表达式匹配的固定文本
+     *
+     * @param regex 正则表达式
+     * @return 正则表达式只能匹配的文本，不是固定文本时返回 null
+     */
+    private static String literal(String regex) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < regex.length(); i++) {
+            char ch = regex.charAt(i);
+            if (ch == '\\') {
+                if (++i >= regex.length() || Character.isLetterOrDigit(regex.charAt(i))) {
+                    return null;
+                }
+                builder.append(regex.charAt(i));
+            } else if (".[]{}()*+?^$|".indexOf(ch) >= 0) {
+                return null;
+            } else {
+                builder.append(ch);
+            }
+        }
+        return builder.isEmpty() ? null : builder.toString();
+    }
+
+    /**
+     * 获取所有终结符合并后的预编译模式
+     *
+     * @return 预编译的模式
+     */
+    static Pattern pattern() {
+        return PATTERN;
+    }
+
     /**
      * 给定一行源码，构建token列表
      *
@@ -701,33 +799,37 @@ public enum Terminal implements NodeType, Serializable {
      */
     public static List<Token> match(String line, int lineNum) {
         List<Token> tokens = new ArrayList<>();
-        Pattern pattern = Pattern.compile(Terminal.buildRegex());
         String trimmed = line.replaceAll("\\?\\s+", "?");
-        Matcher matcher = pattern.matcher(trimmed);
+        Matcher matcher = PATTERN.matcher(trimmed);
         while (matcher.find()) {
-            tokens.add(buildToken(matcher, lineNum));
+            tokens.add(buildToken(matcher, lineNum, 0));
         }
         return tokens;
     }
 
     /**
-     * 整个正则匹配的情况下，找到特定的终结符，构建出token
+     * 整个正则匹配的情况下找到匹配的终结符，构建出token
+     * <p>匹配文本是某个固定文本终结符的文本时只需确认它的分组，否则只在一般正则终结符中查找，不需要逐个检查所有终结符。</p>
      *
      * @param matcher 整个正则匹配的结果
      * @param lineNum 行数
+     * @param lineStart 当前行在匹配文本中的起始偏移，用于换算列位置
      * @return 构建的token
      */
-    private static Token buildToken(Matcher matcher, int lineNum) {
-        Terminal[] types = Terminal.values();
-        for (Terminal type : types) {
-            String name = type.tokenName();
-            String value = matcher.group(name);
-            if (value != null) {
-                if (type == STRING) {
-                    value = value.replaceAll("\\\\\"", "\"");
-                }
-                return new Token(type, value, lineNum, matcher.start(name), matcher.end(name));
+    static Token buildToken(Matcher matcher, int lineNum, int lineStart) {
+        String value = matcher.group();
+        Integer literal = LITERALS.get(value);
+        if (literal != null && matcher.start(GROUPS[literal]) >= 0) {
+            return new Token(TYPES[literal], value, lineNum, matcher.start() - lineStart, matcher.end() - lineStart);
+        }
+        for (int i : PATTERNS) {
+            if (matcher.start(GROUPS[i]) < 0) {
+                continue;
+            }
+            if (TYPES[i] == STRING && value.indexOf('\\') >= 0) {
+                value = value.replace("\\\"", "\"");
             }
+            return new Token(TYPES[i], value, lineNum, matcher.start() - lineStart, matcher.end() - lineStart);
         }
         return null;
     }
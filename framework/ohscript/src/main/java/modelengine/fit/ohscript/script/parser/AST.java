@@ -40,8 +40,12 @@ import modelengine.fit.ohscript.util.Pair;
 import modelengine.fit.ohscript.util.Tool;
 import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.util.ObjectUtils;
+import modelengine.fitframework.util.StringUtils;
 
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
@@ -56,6 +60,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -75,6 +80,16 @@ public class AST implements Serializable {
 
     private static final Set<String> blackList = new HashSet<>();
 
+    /**
+     * 外部方法对应的方法句柄，按声明方法的类缓存，避免每次调用都走反射，类卸载时随之回收
+     */
+    private static final ClassValue<Map<Method, MethodHandle>> METHOD_HANDLES = new ClassValue<>() {
+        @Override
+        protected Map<Method, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     static {
         blackList.add("wait");
         blackList.add("toString");
@@ -108,6 +123,11 @@ public class AST implements Serializable {
      */
     private ASF asf;
 
+    /**
+     * 解析完成时语法森林中的语法树，为空时使用语法森林当前的语法树
+     */
+    private List<AST> forest;
+
     /**
      * 存储所有oh脚本节点的列表
      */
@@ -143,9 +163,7 @@ public class AST implements Serializable {
                     matchedArgs[i] = arg;
                 }
             }
-            Object obj = host.first();
-            method.setAccessible(true);
-            Object value = method.invoke(obj, matchedArgs);
+            Object value = invoke(method, host.first(), matchedArgs);
             return mockReturnValue(env, value, current);
         } catch (InvocationTargetException e) {
             if (e.getTargetException() instanceof OhPanic) {
@@ -210,6 +228,35 @@ public class AST implements Serializable {
         return this.externalFunction;
     }
 
+    private static Object invoke(Method method, Object obj, Object[] args) throws InvocationTargetException {
+        if (args.length != method.getParameterCount()) {
+            throw new IllegalArgumentException(StringUtils.format(
+                    "Wrong number of arguments. [method={0}, expected={1}, actual={2}]", method.getName(),
+                    method.getParameterCount(), args.length));
+        }
+        MethodHandle handle = METHOD_HANDLES.get(method.getDeclaringClass()).computeIfAbsent(method, AST::methodHandle);
+        try {
+            return handle.invokeExact(obj, args);
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    private static MethodHandle methodHandle(Method method) {
+        method.setAccessible(true);
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+            if (Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asType(MethodType.genericMethodType(method.getParameterCount() + 1))
+                    .asSpreader(Object[].class, method.getParameterCount());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(StringUtils.format("Failed to access method. [method={0}]",
+                    method.getName()), e);
+        }
+    }
+
     private void matchArrayArg(Object[] args, int i, List argValue) {
         List<ReturnValue> list = argValue;
         args[i] = new ArrayList<>();
@@ -587,6 +634,25 @@ public class AST implements Serializable {
         return this.asf;
     }
 
+    /**
+     * 固定解析完成时语法森林中的语法树
+     * <p>语法森林随之后的每次解析而变化，缓存的语法树创建执行环境时只链接自己解析时的语法树。</p>
+     *
+     * @param forest 解析完成时语法森林中的语法树
+     */
+    public void setForest(List<AST> forest) {
+        this.forest = forest;
+    }
+
+    /**
+     * 获取创建执行环境时需要链接的语法树
+     *
+     * @return 解析完成时固定的语法树，未固定时返回语法森林当前的语法树
+     */
+    public List<AST> forest() {
+        return this.forest == null ? this.asf.asts() : this.forest;
+    }
+
     /**
      * 添加一个fit oh
      *
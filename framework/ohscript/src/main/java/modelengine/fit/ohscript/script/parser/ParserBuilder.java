@@ -14,6 +14,7 @@ import modelengine.fit.ohscript.util.Constants;
 import modelengine.fit.ohscript.util.OhUtil;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * AST 解析器
@@ -404,6 +405,7 @@ public class ParserBuilder {
         AST ast = parser.done(this.inTransaction);
         if (isSingle) {
             this.done();
+            ast.setForest(List.copyOf(this.asf.asts()));
         }
         return ast;
     }
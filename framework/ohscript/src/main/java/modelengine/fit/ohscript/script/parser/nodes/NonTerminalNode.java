@@ -10,6 +10,8 @@ import modelengine.fit.ohscript.script.errors.OhPanic;
 import modelengine.fit.ohscript.script.errors.ScriptExecutionException;
 import modelengine.fit.ohscript.script.interpreter.ASTEnv;
 import modelengine.fit.ohscript.script.interpreter.ActivationContext;
+import modelengine.fit.ohscript.script.interpreter.ClosureCompiler;
+import modelengine.fit.ohscript.script.interpreter.CompiledNode;
 import modelengine.fit.ohscript.script.interpreter.Interpreter;
 import modelengine.fit.ohscript.script.interpreter.ReturnValue;
 import modelengine.fit.ohscript.script.parser.NonTerminal;
@@ -186,6 +188,10 @@ public abstract class NonTerminalNode extends SyntaxNode {
     @Override
     public ReturnValue interpret(ASTEnv env, ActivationContext context) throws OhPanic {
         try {
+            CompiledNode compiled = ClosureCompiler.compile(this, env);
+            if (compiled != null) {
+                return compiled.execute(env, context);
+            }
             Interpreter interpreter = getInterpreter();
             return interpreter.interpret(this, env, context);
         } catch (OhPanic ex) {
@@ -211,6 +217,11 @@ public abstract class NonTerminalNode extends SyntaxNode {
         interpreter.assignValue(this, value, env, current);
     }
 
+    @Override
+    public Interpreter interpreter() {
+        return this.getInterpreter();
+    }
+
     /**
      * 获取解释器实例
      *
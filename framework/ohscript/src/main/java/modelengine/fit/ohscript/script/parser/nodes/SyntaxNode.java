@@ -10,6 +10,7 @@ import modelengine.fit.ohscript.script.errors.OhPanic;
 import modelengine.fit.ohscript.script.errors.SyntaxError;
 import modelengine.fit.ohscript.script.interpreter.ASTEnv;
 import modelengine.fit.ohscript.script.interpreter.ActivationContext;
+import modelengine.fit.ohscript.script.interpreter.CompiledNode;
 import modelengine.fit.ohscript.script.interpreter.Interpreter;
 import modelengine.fit.ohscript.script.interpreter.ReturnValue;
 import modelengine.fit.ohscript.script.parser.AST;
@@ -85,6 +86,11 @@ public abstract class SyntaxNode implements Interpretable, Serializable {
      */
     private AST ast = null;
 
+    /**
+     * 编译执行后端为该节点生成的闭包，闭包不可变，多线程下重复编译也不影响结果
+     */
+    private transient CompiledNode compiled;
+
     /**
      * 获取当前节点的所有成员（变量），返回一个包含所有成员的列表。
      *
@@ -467,6 +473,33 @@ public abstract class SyntaxNode implements Interpretable, Serializable {
         return Interpreter.DEFAULT.interpret(this, env, context);
     }
 
+    /**
+     * 获取当前节点的解释器
+     *
+     * @return 解释器
+     */
+    public Interpreter interpreter() {
+        return Interpreter.DEFAULT;
+    }
+
+    /**
+     * 获取编译执行后端为当前节点生成的闭包
+     *
+     * @return 闭包，尚未编译时为 {@code null}
+     */
+    public CompiledNode compiled() {
+        return this.compiled;
+    }
+
+    /**
+     * 设置编译执行后端为当前节点生成的闭包
+     *
+     * @param compiled 闭包
+     */
+    public void setCompiled(CompiledNode compiled) {
+        this.compiled = compiled;
+    }
+
     /**
      * 为当前节点分配一个值，这通常在语义分析阶段使用，用于为变量、常量或其他需要赋值的节点分配一个值。
      *
@@ -10,6 +10,8 @@ import modelengine.fit.ohscript.script.errors.OhPanic;
 import modelengine.fit.ohscript.script.errors.SyntaxError;
 import modelengine.fit.ohscript.script.interpreter.ASTEnv;
 import modelengine.fit.ohscript.script.interpreter.ActivationContext;
+import modelengine.fit.ohscript.script.interpreter.ClosureCompiler;
+import modelengine.fit.ohscript.script.interpreter.CompiledNode;
 import modelengine.fit.ohscript.script.interpreter.Interpreter;
 import modelengine.fit.ohscript.script.interpreter.ReturnValue;
 import modelengine.fit.ohscript.script.lexer.Terminal;
@@ -58,6 +60,11 @@ public class TerminalNode extends SyntaxNode implements Serializable {
      */
     private Token token;
 
+    /**
+     * 运行期已解析的符号表项
+     */
+    private transient SymbolEntry resolvedEntry;
+
     /**
      * 构造函数
      *
@@ -238,6 +245,23 @@ public class TerminalNode extends SyntaxNode implements Serializable {
         return symbolEntry;
     }
 
+    /**
+     * 获取运行期访问使用的符号表项
+     * <p>解析成功的结果缓存在节点上，重复执行时不再逐级查找符号表。</p>
+     *
+     * @return 符号表项
+     */
+    public SymbolEntry resolvedSymbolEntry() {
+        SymbolEntry entry = this.resolvedEntry;
+        if (entry == null) {
+            entry = this.symbolEntry();
+            if (!(entry instanceof UnknownSymbolEntry) && !StringUtils.equals(this.lexeme(), Constants.THIS)) {
+                this.resolvedEntry = entry;
+            }
+        }
+        return entry;
+    }
+
     /**
      * 获取this关键字对应的符号表项
      *
@@ -294,6 +318,10 @@ public class TerminalNode extends SyntaxNode implements Serializable {
     @Override
     public ReturnValue interpret(ASTEnv env, ActivationContext current) throws OhPanic {
         try {
+            CompiledNode compiled = ClosureCompiler.compile(this, env);
+            if (compiled != null) {
+                return compiled.execute(env, current);
+            }
             return this.getInterpreter(this.nodeType.name()).interpret(this, env, current);
         } catch (OhPanic p) {
             throw p;
@@ -302,6 +330,11 @@ public class TerminalNode extends SyntaxNode implements Serializable {
         }
     }
 
+    @Override
+    public Interpreter interpreter() {
+        return this.getInterpreter(this.nodeType.name());
+    }
+
     /**
      * 通过名称获取解释器，增加了缓存
      *
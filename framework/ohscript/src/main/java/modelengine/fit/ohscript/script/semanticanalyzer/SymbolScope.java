@@ -24,6 +24,7 @@ import modelengine.fit.ohscript.script.semanticanalyzer.symbolentries.SymbolEntr
 import modelengine.fit.ohscript.script.semanticanalyzer.symbolentries.UnknownSymbolEntry;
 import modelengine.fit.ohscript.script.semanticanalyzer.type.expressions.TypeExprFactory;
 import modelengine.fit.ohscript.script.semanticanalyzer.type.expressions.abstracts.GenericTypeExpr;
+import modelengine.fit.ohscript.util.Constants;
 import modelengine.fitframework.util.ObjectUtils;
 
 import java.io.Serializable;
@@ -48,6 +49,11 @@ public class SymbolScope implements Serializable {
      */
     private final Map<String, SymbolEntry> symbols = new HashMap<>();
 
+    /**
+     * 已分配的活动记录槽位数量
+     */
+    private int slotCount;
+
     /**
      * 父符号范围的标识符
      */
@@ -90,7 +96,7 @@ public class SymbolScope implements Serializable {
             return null;
         }
         entry = new IdentifierEntry(node, this.id(), mutable, host);
-        this.symbols.put(node.lexeme(), entry);
+        this.define(node.lexeme(), entry);
         return entry;
     }
 
@@ -147,7 +153,7 @@ public class SymbolScope implements Serializable {
         GenericTypeExpr returnType = TypeExprFactory.createGeneric(node);
         FunctionEntry entry = new FunctionEntry(node.functionName(), this.id(),
                 TypeExprFactory.createFunction(node, argumentType, returnType));
-        this.symbols.put(node.functionName().lexeme(), entry);
+        this.define(node.functionName().lexeme(), entry);
         return entry;
     }
 
@@ -167,7 +173,7 @@ public class SymbolScope implements Serializable {
             return new UnknownSymbolEntry(node);
         }
         entry = new ArgumentEntry(node, this.id());
-        this.symbols.put(node.lexeme(), entry);
+        this.define(node.lexeme(), entry);
         return entry;
     }
 
@@ -184,7 +190,7 @@ public class SymbolScope implements Serializable {
             return new UnknownSymbolEntry(node.declaredName());
         }
         entry = new EntityEntry(node.declaredName(), this.id(), TypeExprFactory.createEntity(node, new HashMap<>()));
-        this.symbols.put(node.declaredName().lexeme(), entry);
+        this.define(node.declaredName().lexeme(), entry);
         return entry;
     }
 
@@ -202,7 +208,7 @@ public class SymbolScope implements Serializable {
         }
         entry = new ExtensionEntry(node.declaredName(), this.id(),
                 TypeExprFactory.createExtension(node, new HashMap<>()));
-        this.symbols.put(node.declaredName().lexeme(), entry);
+        this.define(node.declaredName().lexeme(), entry);
         return entry;
     }
 
@@ -214,7 +220,7 @@ public class SymbolScope implements Serializable {
      */
     public SymbolEntry addArray(SyntaxNode node) {
         ArrayEntry entry = new ArrayEntry(node.declaredName(), this.id());
-        this.symbols.put(node.declaredName().lexeme(), entry);
+        this.define(node.declaredName().lexeme(), entry);
         return entry;
     }
 
@@ -226,7 +232,21 @@ public class SymbolScope implements Serializable {
      */
     public SymbolEntry addMap(SyntaxNode node) {
         MapEntry entry = new MapEntry(node.declaredName(), this.id());
-        this.symbols.put(node.declaredName().lexeme(), entry);
+        this.define(node.declaredName().lexeme(), entry);
         return entry;
     }
+
+    /**
+     * 定义符号，并为本作用域内的非成员符号分配活动记录槽位
+     * <p>根作用域由多个语法树共享，其符号不分配槽位。</p>
+     *
+     * @param lexeme 符号名称
+     * @param entry 符号表项
+     */
+    private void define(String lexeme, SymbolEntry entry) {
+        this.symbols.put(lexeme, entry);
+        if (this.id != Constants.ROOT_SCOPE && entry.scope() == this.id && !lexeme.startsWith(Constants.DOT)) {
+            entry.setSlot(this.slotCount++);
+        }
+    }
 }
@@ -12,8 +12,8 @@ import modelengine.fit.ohscript.util.Constants;
 import modelengine.fitframework.log.Logger;
 
 import java.io.Serializable;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 符号表
@@ -26,11 +26,11 @@ public class SymbolTable implements Serializable {
     private static final Logger log = Logger.get(SymbolTable.class);
 
     /**
-     * 符号作用域映射表
+     * 符号作用域映射表，执行期间生成的运行时节点会并发地添加和移除作用域
      * key: 作用域ID
      * value: 符号作用域对象
      */
-    private final Map<Long, SymbolScope> scopes = new HashMap<>();
+    private final Map<Long, SymbolScope> scopes = new ConcurrentHashMap<>();
 
     /**
      * 添加一个新的符号作用域
@@ -63,6 +63,15 @@ public class SymbolTable implements Serializable {
         return scopes.computeIfAbsent(scope.id(), k -> scope);
     }
 
+    /**
+     * 获取符号作用域的数量
+     *
+     * @return 符号作用域的数量
+     */
+    public int size() {
+        return scopes.size();
+    }
+
     /**
      * 获取指定ID的符号作用域
      *
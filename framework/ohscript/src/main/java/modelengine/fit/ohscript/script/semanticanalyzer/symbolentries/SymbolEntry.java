@@ -32,6 +32,8 @@ public abstract class SymbolEntry implements Serializable {
      */
     private final TerminalNode node;
 
+    private int slot = -1;
+
     /**
      * 构造函数
      *
@@ -74,4 +76,22 @@ public abstract class SymbolEntry implements Serializable {
      * @return 符号的类型表达式
      */
     public abstract TypeExpr typeExpr();
+
+    /**
+     * 获取符号在所属作用域活动记录中的槽位
+     *
+     * @return 槽位下标，未分配槽位时为 {@code -1}
+     */
+    public int slot() {
+        return this.slot;
+    }
+
+    /**
+     * 设置符号在所属作用域活动记录中的槽位
+     *
+     * @param slot 槽位下标
+     */
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
 }
@@ -41,6 +41,16 @@ public class Tool {
 
     private static AtomicLong id = new AtomicLong(1);
 
+    /**
+     * 按类型缓存的实例化器，避免每次创建实例都重新生成序列化构造器
+     */
+    private static final ClassValue<ObjectInstantiator<?>> INSTANTIATORS = new ClassValue<>() {
+        @Override
+        protected ObjectInstantiator<?> computeValue(Class<?> type) {
+            return ObjectInstantiator.standard(type);
+        }
+    };
+
     /**
      * 打印警告信息
      *
@@ -112,7 +122,7 @@ public class Tool {
      * @return 返回创建的实例
      */
     public static <T> T createInstance(Class<T> clazz) {
-        return ObjectInstantiator.standard(clazz).newInstance();
+        return ObjectUtils.cast(INSTANTIATORS.get(clazz).newInstance());
     }
 
     /**
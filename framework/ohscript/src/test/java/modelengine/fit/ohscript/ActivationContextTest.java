@@ -0,0 +1,49 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.ohscript;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import modelengine.fit.ohscript.script.engine.OhScript;
+import modelengine.fit.ohscript.script.errors.OhPanic;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 按槽位访问变量的活动记录测试
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+class ActivationContextTest {
+    private final OhScript script = new OhScript();
+
+    @Test
+    void test_closure_updates_captured_variable() throws OhPanic {
+        assertThat(this.script.execute("var x=1; let inc=()=>{x=x+1; x}; inc(); inc(); x")).isEqualTo(3);
+        assertThat(this.script.execute("func counter(){var n=0; ()=>{n+=1; n}}; let c=counter(); c(); c()"))
+                .isEqualTo(2);
+    }
+
+    @Test
+    void test_shadowed_variables_use_their_own_frame() throws OhPanic {
+        assertThat(this.script.execute("let y=50; func f(x){let y=40; x+y}; f(10)+y")).isEqualTo(100);
+        assertThat(this.script.execute("var i=0; var sum=0; while(i<3){let i2=i*2; sum+=i2; i++;} sum"))
+                .isEqualTo(6);
+    }
+
+    @Test
+    void test_entity_members_are_visible_by_name() throws OhPanic {
+        assertThat(this.script.execute("let will = {age:48, add:()=>this.age+2}; will.age+=2; will.add()"))
+                .isEqualTo(52);
+    }
+
+    @Test
+    void test_async_block_writes_outer_variable() throws OhPanic {
+        assertThat(this.script.execute("var r=0; let p=async{r=5; 1}; p.await(); r")).isEqualTo(5);
+    }
+}
@@ -0,0 +1,78 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.ohscript;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import modelengine.fit.ohscript.script.engine.OhScript;
+import modelengine.fit.ohscript.script.errors.OhPanic;
+import modelengine.fit.ohscript.script.errors.ScriptExecutionException;
+import modelengine.fit.ohscript.script.interpreter.ASTEnv;
+import modelengine.fit.ohscript.script.interpreter.ExecutionBackend;
+
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * 编译执行后端测试
+ * <p>继承解释器测试，为每个执行环境指定编译执行后端后重新执行全部用例。</p>
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+class CompiledInterpreterTest extends InterpreterTest {
+    private static final String FIBONACCI = "func fib(n){if(n<2){return n;} fib(n-1)+fib(n-2)}; fib(15)";
+
+    @Override
+    protected ExecutionBackend backend() {
+        return ExecutionBackend.COMPILED;
+    }
+
+    @Test
+    void test_malformed_backend_falls_back_to_interpreter() {
+        assertThat(ExecutionBackend.parse(" compiled ")).isEqualTo(ExecutionBackend.COMPILED);
+        assertThat(ExecutionBackend.parse("jit")).isEqualTo(ExecutionBackend.INTERPRETER);
+        assertThat(ExecutionBackend.parse("")).isEqualTo(ExecutionBackend.INTERPRETER);
+        assertThat(ExecutionBackend.parse(null)).isEqualTo(ExecutionBackend.INTERPRETER);
+    }
+
+    @Test
+    void test_compiled_arithmetic_keeps_number_types() throws OhPanic {
+        OhScript script = this.newScript();
+        assertThat(script.execute("let a=7; let b=2; a/b")).isEqualTo(3);
+        assertThat(script.execute("let a=7.5; let b=2; a/b")).isEqualTo(3.75);
+        assertThat(script.execute("let a=\"x\"; a+1+2")).isEqualTo("x12");
+        assertThat(script.execute("var i=1; i+=2; i*=3; -i")).isEqualTo(-9);
+        assertThat(script.execute("let a=2.5; a>2 && a<=2.5")).isEqualTo(true);
+        assertThat(script.execute(FIBONACCI)).isEqualTo(610);
+    }
+
+    @Test
+    void test_compiled_errors_keep_node_location() {
+        OhScript script = this.newScript();
+        assertThatThrownBy(() -> script.execute("let a=null;\na>1")).isInstanceOf(ScriptExecutionException.class)
+                .hasMessageContaining("at RELATIONAL_CONDITION");
+    }
+
+    @Test
+    void test_backends_share_ast() throws Exception {
+        OhScript script = this.newScript();
+        ASTEnv compiled = script.load("var s=0; for(var i=0;i<5;i++){s+=i;} s");
+        ASTEnv interpreted = script.createEnv();
+        interpreted.setBackend(ExecutionBackend.INTERPRETER);
+        assertThat(compiled.backend()).isEqualTo(ExecutionBackend.COMPILED);
+        assertThat(compiled.execute()).isEqualTo(10);
+        assertThat(interpreted.execute()).isEqualTo(10);
+    }
+
+    private OhScript newScript() {
+        OhScript script = new OhScript();
+        script.setBackend(this.backend());
+        return script;
+    }
+}
@@ -0,0 +1,23 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.ohscript;
+
+import modelengine.fit.ohscript.script.interpreter.ExecutionBackend;
+
+/**
+ * 编译执行后端下的语法树缓存测试
+ * <p>继承语法树缓存测试，为每个脚本引擎指定编译执行后端后重新执行全部用例。</p>
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+class CompiledOhScriptCacheTest extends OhScriptCacheTest {
+    @Override
+    protected ExecutionBackend backend() {
+        return ExecutionBackend.COMPILED;
+    }
+}
@@ -22,6 +22,7 @@ import modelengine.fit.ohscript.script.engine.ScriptBuilder;
 import modelengine.fit.ohscript.script.errors.OhPanic;
 import modelengine.fit.ohscript.script.interpreter.ASFEnv;
 import modelengine.fit.ohscript.script.interpreter.ASTEnv;
+import modelengine.fit.ohscript.script.interpreter.ExecutionBackend;
 import modelengine.fit.ohscript.script.interpreter.Oh;
 import modelengine.fit.ohscript.script.interpreter.OhType;
 import modelengine.fit.ohscript.script.lexer.Lexer;
@@ -55,21 +56,55 @@ class InterpreterTest {
 
     private OhScript script;
 
+    /**
+     * 获取用例使用的执行后端，子类覆盖后在其他后端下执行全部用例
+     *
+     * @return 执行后端
+     */
+    protected ExecutionBackend backend() {
+        return ExecutionBackend.INTERPRETER;
+    }
+
+    /**
+     * 为语法树创建使用 {@link #backend()} 的执行环境
+     *
+     * @param ast 语法树
+     * @return 执行环境
+     */
+    protected ASTEnv newEnv(AST ast) {
+        ASTEnv env = new ASTEnv(ast);
+        env.setBackend(this.backend());
+        return env;
+    }
+
+    /**
+     * 为语法森林创建使用 {@link #backend()} 的执行环境
+     *
+     * @param asf 语法森林
+     * @return 执行环境
+     */
+    protected ASFEnv newEnv(ASF asf) {
+        ASFEnv env = new ASFEnv(asf);
+        env.setBackend(this.backend());
+        return env;
+    }
+
     @BeforeEach
     void setup() {
         script = new OhScript();
+        script.setBackend(this.backend());
         this.parserBuilder = new ParserBuilder();
     }
 
     @Test
     void test_interpret_operations() throws OhPanic {
         AST ast = this.parserBuilder.parseString("", "let a=true; !a");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         env.execute();
         assertEquals(false, env.execute());
 
         ast = this.parserBuilder.parseString("", "var a=1,c=1; let b = a++, d=c--; {a:a, b:b, c:c, d:d}");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         Oh result = ObjectUtils.cast(env.execute());
         assertEquals(2, result.get("a"));
         assertEquals(1, result.get("b"));
@@ -78,7 +113,7 @@ class InterpreterTest {
 
         ast = this.parserBuilder.parseString("",
                 "var a=1,c=1; let b = ++a, d=--c, e=-a; return {a:a, b:b, c:c, d:d, e:e};");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         result = ObjectUtils.cast(env.execute());
         assertEquals(2, result.get("a"));
         assertEquals(2, result.get("b"));
@@ -87,7 +122,7 @@ class InterpreterTest {
         assertEquals(-2, result.get("e"));
 
         ast = this.parserBuilder.parseString("", "let a=-100; -(a+1)");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(99, env.execute());
     }
 
@@ -101,7 +136,7 @@ class InterpreterTest {
         this.parserBuilder.parseString("m3", "let a=100; func f3(){a+=100}; export a,f3;");
         ASF asf = this.parserBuilder.done();
 
-        ASFEnv env = new ASFEnv(asf);
+        ASFEnv env = this.newEnv(asf);
         assertEquals(230, env.execute("m1"));
     }
 
@@ -110,7 +145,7 @@ class InterpreterTest {
         AST ast = this.parserBuilder.parseString("",
                 "let a=4, b=6,c=3; var d; if(a>b){d=\"a\";}else if(a>c){d=\"c\";}else{d=\"b\";}"
                         + System.lineSeparator() + " d");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals("c", env.execute());
     }
 
@@ -118,17 +153,17 @@ class InterpreterTest {
     void test_while_statement() throws OhPanic {
         AST ast = this.parserBuilder.parseString("",
                 "var a=4,b=0; while(a>0){b += 10;a--;}" + System.lineSeparator() + " b");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(40, env.execute());
 
         ast = this.parserBuilder.parseString("",
                 "var a=4; while(a>0){a--;if(a==1){break;}}" + System.lineSeparator() + " a");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(1, env.execute());
 
         ast = this.parserBuilder.parseString("",
                 "var a=4; while(a>0){a--;if(a>1){continue;}a=100; break;}" + System.lineSeparator() + " a");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(100, env.execute());
     }
 
@@ -136,82 +171,82 @@ class InterpreterTest {
     void test_do_statement() throws OhPanic {
         AST ast = this.parserBuilder.parseString("",
                 "var a=0, b=0; do{b+=1; a++;}while(a<10)" + System.lineSeparator() + " a");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(10, env.execute());
     }
 
     @Test
     void test_array() throws OhPanic {
         AST ast = this.parserBuilder.parseString("", "var a=[[10,20,30],[1,2],[100]]; a[0][0]+a[1][0]+a[2][0]");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(111, env.execute());
 
         ast = this.parserBuilder.parseString("", "var a=[1,2,(3+5)]; a[2]+a[1]");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(10, env.execute());
 
         ast = this.parserBuilder.parseString("", "let a=[{age:20}]; a[0].age");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(20, env.execute());
 
         ast = this.parserBuilder.parseString("",
                 "let a={books:[{name:\"book1\"}]}; a.books[0].name =\"my \" + a.books[0].name; a" + ".books[0].name");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals("my book1", env.execute());
 
         ast = this.parserBuilder.parseString("", "var a=[1,2,3]; a[1+1]");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(3, env.execute());
 
         ast = this.parserBuilder.parseString("", "var a=[],b=[1,2,3]; a.push(5); b[1]+a[0]");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(7, env.execute());
 
         ast = this.parserBuilder.parseString("", "var a=[1,2,3,8]; a.size()");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(4, env.execute());
 
         ast = this.parserBuilder.parseString("", "var a=[]; a.isEmpty()");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(true, env.execute());
 
         ast = this.parserBuilder.parseString("", "var a=[1,2,3,8]; a.isEmpty()");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(false, env.execute());
     }
 
     @Test
     void test_bool() throws OhPanic {
         AST ast = this.parserBuilder.parseString("", "true");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(true, env.execute());
 
         ast = this.parserBuilder.parseString("", "false");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(false, env.execute());
 
         ast = this.parserBuilder.parseString("", "true==false");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(false, env.execute());
 
         ast = this.parserBuilder.parseString("", "false==false && true==true");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(true, env.execute());
 
         ast = this.parserBuilder.parseString("", "let a = null; false==true && true==a.b");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(false, env.execute());
 
         ast = this.parserBuilder.parseString("", "let a = null; a==null || true==a.b");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(true, env.execute());
 
         ast = this.parserBuilder.parseString("", "if(true){1}else {2}");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(1, env.execute());
 
         ast = this.parserBuilder.parseString("", "if(false){1}else {2}");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(2, env.execute());
     }
 
@@ -261,29 +296,29 @@ class InterpreterTest {
 
     private void testBoolExpression(String expression, boolean expected) throws OhPanic {
         AST ast = this.parserBuilder.parseString("", expression);
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(expected, env.execute());
     }
 
     @Test
     void test_map() throws OhPanic {
         AST ast = this.parserBuilder.parseString("", "var a=[:]; a.put(\"name\",\"wi\\\"1\\\"ll\"); a.get(\"name\")");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals("wi\"1\"ll", env.execute());
 
         ast = this.parserBuilder.parseString("",
                 "var a=[:]; a.put(\"will\",[:]); a.get(\"will\").put(\"age\",47); a.get(\"will\").get(\"age\")");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(47, env.execute());
 
         ast = this.parserBuilder.parseString("",
                 "var a=[:]; a.put(\"people\",[\"will\",\"evan\"]); a.get(\"people\")[1]");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals("evan", env.execute());
 
         ast = this.parserBuilder.parseString("",
                 "var a=[]; a.push({map:[:]}); a[0].map.put(\"name\",\"will\"); a[0].map.get(\"name\")");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals("will", env.execute());
 
         Oh result = ObjectUtils.cast(script.load("[\"name\":\"Will\",\"age\":47]").execute());
@@ -297,20 +332,20 @@ class InterpreterTest {
     void test_tuple() throws OhPanic {
         AST ast = this.parserBuilder.parseString("",
                 "let c=(10), d=(\"oh\"); c+d"); // one item is not tuple, (10) will be 10;
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals("10oh", env.execute());
 
         ast = this.parserBuilder.parseString("", "let a=(10,20,30,40), (_,b,_,d) = a; b+d");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(60, env.execute());
 
         ast = this.parserBuilder.parseString("", "let will = {age:47, height:168}, (_,height) = will; height");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(168, env.execute());
 
         ast = this.parserBuilder.parseString("",
                 "let will = (47,168,\"male\",(\"will\",\"zhang\")), (age,..,(_,last)) = will; last+age");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals("zhang47", env.execute());
 
         ast = this.parserBuilder.parseString("",
@@ -320,29 +355,29 @@ class InterpreterTest {
                         + System.lineSeparator() + "}" + System.lineSeparator()
                         + "func birthday_to_age(year){2023-year}" + System.lineSeparator()
                         + "let me = someone(\"will\",\"zhang\",1976,birthday_to_age); me.1");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(47, env.execute());
     }
 
     @Test
     void test_each() throws OhPanic {
         AST ast = this.parserBuilder.parseString("", "let a=[1,2,3,4]; var c=0; each (b,i) in a {c+=b+i;} c");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(16, env.execute());
 
         ast = this.parserBuilder.parseString("", "let a=[1,2,3,4]; var c=0; each (b,i) in a {c+=b+i;if(c==4) {i}}");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(1, env.execute());
 
         ast = this.parserBuilder.parseString("", "let a=[1,2,3,4]; var c=0; each (b,i) in a {c+=b+i;if(c==4) {i}}");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(1, env.execute());
     }
 
     @Test
     void test_array_forEach() throws OhPanic {
         AST ast = this.parserBuilder.parseString("", "let a=[1,2,3,4]; var c=0; a.forEach(i=>{c+=i}); c");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(10, env.execute());
     }
 
@@ -350,7 +385,7 @@ class InterpreterTest {
     void test_array_parallel_with_lock() throws OhPanic {
         AST ast = this.parserBuilder.parseString("", "let a=[1,2,3,4]; var c=0; warning(\"parallel starts....\"); "
                 + "a.parallel(i=>{lock{c+=i}}); warning(\"parallel ends....\"); c");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(10, env.execute());
     }
 
@@ -369,80 +404,80 @@ class InterpreterTest {
     @Test
     void test_array_map() throws OhPanic {
         AST ast = this.parserBuilder.parseString("", "let a=[1,2,3,4]; var c = a.map(i=>i*10+\"abc\"); c[1]");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals("20abc", env.execute());
     }
 
     @Test
     void test_array_filter() throws OhPanic {
         AST ast = this.parserBuilder.parseString("", "let a=[1,2,3,4]; var c = a.filter(i=>i>1); c.size()");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(3, env.execute());
     }
 
     @Test
     void test_pipe_forward() throws OhPanic {
         AST ast = this.parserBuilder.parseString("", "func f1(x){x+1};func f2(x){x*2};func f3(x){x*3}; 3>>f1>>f2>>f3");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(24, env.execute());
 
         ast = this.parserBuilder.parseString("",
                 "func f1(x){x+1};func f2(x){x*2};func f3(x,y){x*3+y}; 3>>f1>>f2>>f3(10)");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(38, env.execute());
 
         ast = this.parserBuilder.parseString("",
                 "func f1(x){x+1};func f2(x){x*2};func f3(x,y){x*3+y}; (3>>f1>>f2>>f3)(10)");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(34, env.execute());
     }
 
     @Test
     void test_interpret_return_number_or_string() throws OhPanic {
         AST ast = this.parserBuilder.parseString("", "10");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(10, env.execute());
 
         ast = this.parserBuilder.parseString("", "\"result\"");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals("result", env.execute());
 
         ast = this.parserBuilder.parseString("",
                 "let me = \"   will zhang   \"; me.trim().split(\" \")[0].upper().lower().ends_with(\"ill\")");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(true, env.execute());
         ast = this.parserBuilder.parseString("", "let me = 10.111; me.ceil().to_str()");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals("11", env.execute());
     }
 
     @Test
     void test_interpret_return_expression() throws OhPanic {
         AST ast = this.parserBuilder.parseString("", "return 10+30/5;");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(16, env.execute());
 
         ast = this.parserBuilder.parseString("", "(10+30)/5");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(8, env.execute());
 
         ast = this.parserBuilder.parseString("", "\"abc\"+30/5");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals("abc6", env.execute());
     }
 
     @Test
     void test_interpret_return_variable() throws OhPanic {
         AST ast = this.parserBuilder.parseString("", "let x=10,y=x*3;let z=x+y; x*(10+y)+z+20.5");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(460.5, env.execute());
 
         ast = this.parserBuilder.parseString("", "let x=10,y=5; x>y?x:y");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(10, env.execute());
 
         ast = this.parserBuilder.parseString("", "let f1 = {let w=10; return ()=>{w+1};}; f1()");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(11, env.execute());
     }
 
@@ -450,22 +485,22 @@ class InterpreterTest {
     void test_function_call() throws OhPanic {
         AST ast = this.parserBuilder.parseString("",
                 "let x=50; func func1(x){x+10};" + System.lineSeparator() + " func1(x+10)");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(70, env.execute());
 
         ast = this.parserBuilder.parseString("",
                 "let y=50; func func1(x){x+y+10};" + System.lineSeparator() + " func1(10)");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(70, env.execute());
 
         ast = this.parserBuilder.parseString("",
                 "let y=50; func func1(x){let y=40;x+y+10};" + System.lineSeparator() + " func1(10)");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(60, env.execute());
 
         ast = this.parserBuilder.parseString("",
                 "let y=50; func func1(x){let y={let x=10;x};x+y+10};" + System.lineSeparator() + " func1(10)");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(30, env.execute());
     }
 
@@ -473,18 +508,18 @@ class InterpreterTest {
     void test_curry_function_call() throws OhPanic {
         AST ast = this.parserBuilder.parseString("", "func func1(x,y,z,w){x+y+z+w};" + System.lineSeparator()
                 + " let r1 = func1(10,20), r2=r1(10), r3=r2(\"abc\"); r3");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals("40abc", env.execute());
 
         ast = this.parserBuilder.parseString("", "func func1(x,y,z,w){x+y+z+w};" + System.lineSeparator()
                 + " let r1 = func1(20)(30), r2=r1(10), r3=r2(40); r3");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(100, env.execute());
 
         ast = this.parserBuilder.parseString("",
                 "func func1(x){let x1=x+1; (y,z,w)=>x1+y+z+w};" + System.lineSeparator()
                         + " let r1 = func1(1)(10), r2=r1(100), r3=r2(1000); " + "r3");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(1112, env.execute());
     }
 
@@ -493,7 +528,7 @@ class InterpreterTest {
         AST ast = this.parserBuilder.parseString("",
                 "func func2(y){func1(y)+10};" + System.lineSeparator() + " func func1(x){x+10};"
                         + System.lineSeparator() + " func2(10)");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(30, env.execute());
     }
 
@@ -502,7 +537,7 @@ class InterpreterTest {
         AST ast = this.parserBuilder.parseString("",
                 "let will = {age:{var age=47; age++; age},create:()=>{" + "let age=this.age; {get:func(){age+2}}}};"
                         + System.lineSeparator() + " will.create().get()");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(50, env.execute());
     }
 
@@ -512,20 +547,20 @@ class InterpreterTest {
                 "let will = {age:48, add:()=>this.age+2}; let son = will::{add:()=>this.base.add()+2}; "
                         + "let grand_son=son::{add:()=>base.base.add()+this.base.add()}; son.age+=2; grand_son"
                         + ".add()");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(106, env.execute());
 
         ast = this.parserBuilder.parseString("",
                 "let will = {age:{old:10, young:20}}; let son = will::{add:()=>age}; let grand = son::{add:func"
                         + "()=>age}; grand.add().old");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(10, env.execute());
     }
 
     @Test
     void test_for() throws OhPanic {
         AST ast = this.parserBuilder.parseString("", "var a=0; let b=\"will\"; for(var b=0; b<10; b++){a+=10;} a+b");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals("100will", env.execute());
     }
 
@@ -534,7 +569,7 @@ class InterpreterTest {
         AST ast = this.parserBuilder.parseString("",
                 "let will = {son:{ func born(){{age:2*8}}; born()}, age:48, run:()=>{this" + ".age/2+this.son.age}};"
                         + System.lineSeparator() + " will.run()");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(40, env.execute());
     }
 
@@ -546,7 +581,7 @@ class InterpreterTest {
                 + "let will = human(47,168), evan = human(18,175);" + System.lineSeparator()
                 + "will.age()+evan.age()+will.run()";
         AST ast = this.parserBuilder.parseString("", code);
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(67 + 346, env.execute());
     }
 
@@ -555,61 +590,61 @@ class InterpreterTest {
         AST ast = this.parserBuilder.parseString("",
                 "let will = {_age : 48, age:()=>{this._age = _age+10; (_age+this._age)/2}};" + System.lineSeparator()
                         + " will.age()");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(58, env.execute());
     }
 
     @Test
     void test_lambda() throws OhPanic {
         AST ast = this.parserBuilder.parseString("", "let fun1 = x=>x+10; fun1(10)");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(20, env.execute());
 
         ast = this.parserBuilder.parseString("", "let fun1 = f=>f(10,2,10)[0]+10; fun1((x,y,z)=>[x*y*10+z,1,1])");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(220, env.execute());
     }
 
     @Test
     void test_all_returns() throws OhPanic {
         AST ast = this.parserBuilder.parseString("", "let age = {let age=10; age+10}; age");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(20, env.execute());
 
         ast = this.parserBuilder.parseString("", "let age = {let age=10; }; age");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(EmptyValue.IGNORE, env.execute());
 
         ast = this.parserBuilder.parseString("", "var age = 10; let b=1; if(b==1){age = 30;} age");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(30, env.execute());
 
         ast = this.parserBuilder.parseString("", "var age = 10; let b=1; if(b==1){40}else{30} age");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(40, env.execute());
 
         ast = this.parserBuilder.parseString("", "var age = 10; let b=2; if(b==1){40}else{30} age");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(30, env.execute());
 
         ast = this.parserBuilder.parseString("", "var age = 10; let b=2; while(b>0){50} age");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(50, env.execute());
 
         ast = this.parserBuilder.parseString("", "var age = 10; let b=2; while(b>0){break;} age");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(10, env.execute());
 
         ast = this.parserBuilder.parseString("", "let b=2; let age = {while(b>0){30} 20}; age");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(30, env.execute());
 
         ast = this.parserBuilder.parseString("", "let b=2; let age = {while(b>2){30} 20}; age");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(20, env.execute());
 
         ast = this.parserBuilder.parseString("", "let b=2; let age = {while(b>0){break;} 20}; age");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(20, env.execute());
     }
 
@@ -641,7 +676,7 @@ class InterpreterTest {
         AST ast = this.parserBuilder.parseString("", "let m = [:]; m.put(\"me\",{strvalue:\"nest_map\"});"
                 + "b.run8({strvalue:\"ohscript\",numvalue:100,fix:5," + "nest:{strvalue:\"nest\",numvalue:200,fix:6}, "
                 + "list:[{strvalue:\"nest_list\"}]," + "map:m," + "set:[\"will\",\"zhang\"]" + "}); b");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         ExternalCall result = ObjectUtils.cast(env.execute());
         assertEquals("meohscript", result.getStringValue());
         assertEquals(205, result.getNumValue());
@@ -672,7 +707,7 @@ class InterpreterTest {
         ast = this.parserBuilder.parseString("",
                 "let source = ext::source, target = ext::target; var i=0; while(i<source.size()){target.add(source"
                         + ".get(i)); i++;} target.get(1)");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals("zhang", env.execute());
     }
 
@@ -682,33 +717,33 @@ class InterpreterTest {
         ExternalCall call = new ExternalCall(1);
         this.parserBuilder.addExternalOh("b", call);
         ast = this.parserBuilder.parseString("", "let a = b.run1().run2().get(\"a\"); a");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(200, env.execute());
 
         ast = this.parserBuilder.parseString("",
                 "b.run8({strvalue:\"ohscript\", numvalue:100, fix:5,}); b.getStringValue()" + "+b.getNumValue()");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals("meohscript205", env.execute());
 
         ast = this.parserBuilder.parseString("", "let a=[:];a.put(\"name\",\"will\"); b.run4(a); b.getStringValue()");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals("meohscriptwill", env.execute());
 
         ast = this.parserBuilder.parseString("", "b.run5([100,200]); b.getStringValue()");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals("meohscriptwill200", env.execute());
 
         ast = this.parserBuilder.parseString("", "let c = b.run10()>>b.run11; c.get(1)");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         Byte v = 10;
         assertEquals(v, env.execute());
 
         ast = this.parserBuilder.parseString("", "(b.run12()>>b.run13>>b.run14).get(0).getStringValue()");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals("ohscript", env.execute());
 
         ast = this.parserBuilder.parseString("", " b");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(call, env.execute());
     }
 
@@ -718,7 +753,7 @@ class InterpreterTest {
         this.parserBuilder.addExternalOh("context", map);
         AST ast1 = this.parserBuilder.parseString("",
                 "context.put(\"a\",200);context.put(\"b\",300); let a = context.get(\"a\"); a");
-        ASTEnv env1 = new ASTEnv(ast1);
+        ASTEnv env1 = this.newEnv(ast1);
         assertEquals(200, env1.execute());
         assertEquals(300, map.get("b").intValue());
 
@@ -728,7 +763,7 @@ class InterpreterTest {
         mapInEnv.put("a", 1);
         this.parserBuilder.addExternalOh("context", mapInAst);
         AST ast11 = this.parserBuilder.parseString("", "ext::context.put(\"a\",200);");
-        ASTEnv env11 = new ASTEnv(ast11);
+        ASTEnv env11 = this.newEnv(ast11);
         env11.grant("context", mapInEnv);
         env11.execute();
         assertEquals(1, mapInAst.get("a"));
@@ -737,7 +772,7 @@ class InterpreterTest {
         ASTEnv env;
 
         ast = this.parserBuilder.parseString("", "let as1 = context.put(\"a\"); as1(150); context.get(\"a\")");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(150, env.execute());
     }
 
@@ -750,17 +785,17 @@ class InterpreterTest {
         this.parserBuilder.addExternalOh("source", source);
         this.parserBuilder.addExternalOh("target", target);
         AST ast = this.parserBuilder.parseString("", "let source = ext::source; source.isEmpty()");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(false, env.execute());
 
         ast = this.parserBuilder.parseString("", "let target = ext::target; target.isEmpty()");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(true, env.execute());
 
         ast = this.parserBuilder.parseString("",
                 "let source = ext::source, target = ext::target; var i=0; while(i<source.size()){target.add(source"
                         + ".get(i)); i++;} target.get(1)");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals("zhang", env.execute());
     }
 
@@ -773,6 +808,7 @@ class InterpreterTest {
         builder.done();
         // for test deserializer
         ASFEnv env = builder.newEnv();
+        env.setBackend(this.backend());
 
         assertEquals(233, env.execute("handler1"));
         assertEquals("will zhang-47", env.execute("handler2"));
@@ -792,7 +828,7 @@ class InterpreterTest {
         this.parserBuilder.begin();
         AST ast1 = this.parserBuilder.parseFile("service", TestResource.getFilePath("fixture/functions.oh"));
         AST ast2 = this.parserBuilder.parseFile("handler1", TestResource.getFilePath("fixture/caller.oh"));
-        ASFEnv env = new ASFEnv(this.parserBuilder.done());
+        ASFEnv env = this.newEnv(this.parserBuilder.done());
         assertEquals(233, env.execute(ast2));
 
         AST ast3 = this.parserBuilder.parseFile("handler2", TestResource.getFilePath("fixture/someone_caller.oh"));
@@ -804,45 +840,45 @@ class InterpreterTest {
     void test_match_statement() throws OhPanic {
         AST ast = this.parserBuilder.parseString("",
                 "let a=(1,2,3); var c=0; match a{|(b,..,d)if(b>0)=>c=b |_=>c=100} c");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(1, env.execute());
 
         ast = this.parserBuilder.parseString("",
                 "let a=(-11,2,3); var c=0; match a{|(b,..,d)if(b>0)=>c=b |_=>c=100} c");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(100, env.execute());
 
         ast = this.parserBuilder.parseString("",
                 "let a=(-11,2,3); var c=0; match a{|(b,..,d)if(b>0)=>c=b |(..,b,d)if(b==2)=>c=d|_=>c=100} c");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(3, env.execute());
 
         ast = this.parserBuilder.parseString("", "let a=10; var c=0; match a{|10=>c=a|_=>c=100} c");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(10, env.execute());
 
         ast = this.parserBuilder.parseString("", "let e=(1,2,3);var c=0; match e{|(1,b,_)=>c=b|_=>c=100} c");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(2, env.execute());
 
         ast = this.parserBuilder.parseString("",
                 "let e=(1,2,5);var c=0; match e{|(2,b,_)=>c=b|(_,2,d)=>{c=d;}|_=>c=100} c");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(5, env.execute());
 
         ast = this.parserBuilder.parseString("",
                 "let e=(1,2,5);var c=0; match e{|(2,b,_)=>c=b|(_,2,d)=>{c=d;500}|_=>c=100} c");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(500, env.execute());
 
         ast = this.parserBuilder.parseString("",
                 "let e=(1,2,5);var c=0; match e{|(2,b,_)=>c=b|(_,2,d)=>500|_=>c=100} c");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(500, env.execute());
 
         ast = this.parserBuilder.parseString("",
                 "let type=\"2\"; var r=0; match type{|\"1\"=>r=1|\"2\"=>r=2|\"3\"=>r=3 |_=>r=10} r");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(2, env.execute());
 
         List<Map<String, Object>> data = new ArrayList<>();
@@ -857,7 +893,7 @@ class InterpreterTest {
         ast = this.parserBuilder.parseString("",
                 "var type = ext::context.get(0).get(\"passData\").get(\"meta\").get(\"fileType\"); match "
                         + "type{|\"doc\"=>\"word\"|\"xls\"=>\"excel\" |_=>\"other\" }");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals("word", env.execute());
     }
 
@@ -873,7 +909,7 @@ class InterpreterTest {
         m3.put("fileType", "doc");
         this.parserBuilder.addExternalOh("context", data);
         AST ast = this.parserBuilder.parseString("", "ext::context.get(0)");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         Assertions.assertThat(env.execute()).isNotNull();
     }
 
@@ -889,7 +925,7 @@ class InterpreterTest {
         m3.put("fileType", "doc");
         this.parserBuilder.addExternalOh("context", data);
         AST ast = this.parserBuilder.parseString("", "ext::context.get(0)");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         Assertions.assertThat(env.execute()).isNotNull();
     }
 
@@ -899,7 +935,7 @@ class InterpreterTest {
         AST ast = this.parserBuilder.parseString("",
                 "let json = ext::util.stringToJson(\"{'age':47,'name':{'last':'will','first':'zhang'}}\"); ext::util"
                         + ".jsonToEntity(json).name.last");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals("will", env.execute());
     }
 
@@ -908,7 +944,7 @@ class InterpreterTest {
         this.parserBuilder.addExternalOh("external", new ExternalCall(1));
         AST ast = this.parserBuilder.parseString("",
                 "let json = ext::util.stringToJson(\"{'test':true}\"); ext::util.jsonToEntity(json).test");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertTrue((boolean) env.execute());
     }
 
@@ -918,11 +954,11 @@ class InterpreterTest {
         arg.setStringValue("will");
         arg.setNumValue(200);
         AST ast = this.parserBuilder.parseString("", "args[0].getStringValue()");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals("will", env.execute(arg));
 
         ast = this.parserBuilder.parseString("", "args[0].external_value");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(10, env.execute(10));
     }
 
@@ -934,7 +970,7 @@ class InterpreterTest {
         arg.setNumValue(200);
         this.parserBuilder.addExternalOh("arg", arg);
         AST ast = this.parserBuilder.parseString("", "(ext::arg>>ext::external.run13).get(0).getStringValue()");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals("will", env.execute());
 
         arg = new ExternalCall(1);
@@ -948,7 +984,7 @@ class InterpreterTest {
     void test_log_warning_error_and_panic() {
         AST ast = this.parserBuilder.parseString("me",
                 "log(\"log test\"); warning(\"warning test\"); error(\"error test\"); panic(); 3");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         try {
             env.execute();
             fail();
@@ -960,48 +996,48 @@ class InterpreterTest {
     @Test
     void test_type_compare() throws IOException, OhPanic {
         AST ast = this.parserBuilder.parseString("me", "func f1(){}; f1()<:unit");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(true, env.execute());
 
         try {
             ast = this.parserBuilder.parseString("me", "func f1(){ext::a()}; f1()");
-            env = new ASTEnv(ast);
+            env = this.newEnv(ast);
             env.execute();
             assertTrue(false);
         } catch (OhPanic p) {
         }
 
         ast = this.parserBuilder.parseString("me", "let a = 3; a<:number");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(true, env.execute());
 
         ast = this.parserBuilder.parseString("me", "let a = null; a<:null");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(true, env.execute());
 
         ast = this.parserBuilder.parseString("me", "let a = \"someone\"; a<:string");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(true, env.execute());
 
         ast = this.parserBuilder.parseString("me", "func f(){}; f<:function");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(true, env.execute());
 
         ast = this.parserBuilder.parseString("me", "let a = {name:\"will\"}; a<:object");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(true, env.execute());
 
         ast = this.parserBuilder.parseString("me", "let a = []; a<:array");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(true, env.execute());
 
         ast = this.parserBuilder.parseString("me", "let a = (1,2); a<:tuple");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(true, env.execute());
 
         try {
             ast = this.parserBuilder.parseFile("me", TestResource.getFilePath("fixture/test.oh"));
-            env = new ASTEnv(ast);
+            env = this.newEnv(ast);
             env.execute();
             fail();
         } catch (OhPanic p) {
@@ -1034,19 +1070,19 @@ class InterpreterTest {
     @Test
     void test_extension() throws OhPanic {
         AST ast = this.parserBuilder.parseString("me", "let b = [1,2,3,4]; b.size()");
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(4, env.execute());
 
         ast = this.parserBuilder.parseString("me", "let b = [1,2,3,4]; b.insert(1,6); b[1]");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(6, env.execute());
 
         ast = this.parserBuilder.parseString("me", "let b = [1,2,3,4]; b.push(6); b[4]");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(6, env.execute());
 
         ast = this.parserBuilder.parseString("me", "let b = [1,2,3,4]; b.remove(1); b.size()");
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         assertEquals(3, env.execute());
     }
 
@@ -1194,7 +1230,7 @@ class InterpreterTest {
                 + "(businessData.get(\"_internal\").get(\"outputScope\").get(\"jadea0rbki\").get(\"output\")"
                 + ".get(\"groupBy\") == null)";
         AST ast = newParserBuilder.parseString("", code);
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(false, env.execute());
     }
 
@@ -1237,13 +1273,13 @@ class InterpreterTest {
 
     private void runCompareWithNull(ParserBuilder newParserBuilder, String code) throws OhPanic {
         AST ast = newParserBuilder.parseString("", code);
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         env.execute();
     }
 
     private void assertNullEquals(ParserBuilder newParserBuilder, boolean expected, String code) throws OhPanic {
         AST ast = newParserBuilder.parseString("", code);
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(expected, env.execute());
     }
 
@@ -1266,7 +1302,7 @@ class InterpreterTest {
         String code = "let businessDataJson = ext::util.stringToJson(ext::userData.get(\"businessData\")); "
                 + "(businessDataJson.get(\"key2\").get(\"Key21\"))";
         AST ast = newParserBuilder.parseString("", code);
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(result, env.execute());
     }
 
@@ -1366,14 +1402,14 @@ class InterpreterTest {
         String code = "let businessDataJson = ext::util.stringToJson(ext::userData.get(\"businessData\"));" + left
                 + " == " + right;
         AST ast = newParserBuilder.parseString("", code);
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         Object execute = env.execute();
         assertEquals(expected, execute);
 
         code = "let businessDataJson = ext::util.stringToJson(ext::userData.get(\"businessData\"));" + left
                 + " != " + right;
         ast = newParserBuilder.parseString("", code);
-        env = new ASTEnv(ast);
+        env = this.newEnv(ast);
         execute = env.execute();
         assertEquals(!expected, execute);
     }
@@ -1411,7 +1447,7 @@ class InterpreterTest {
     private void assertExecution(Object expected, String codeSuffix) throws OhPanic {
         String code = "let json = ext::util.stringToJson(context); " + codeSuffix;
         AST ast = this.parserBuilder.parseString("", code);
-        ASTEnv env = new ASTEnv(ast);
+        ASTEnv env = this.newEnv(ast);
         assertEquals(expected, env.execute());
     }
 }
\ No newline at end of file
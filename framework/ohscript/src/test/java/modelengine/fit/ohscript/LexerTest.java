@@ -11,10 +11,12 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import modelengine.fit.ohscript.script.lexer.Lexer;
 import modelengine.fit.ohscript.script.lexer.Terminal;
 import modelengine.fit.ohscript.script.lexer.Token;
+import modelengine.fit.ohscript.util.OhScriptReader;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -188,4 +190,44 @@ class LexerTest {
         assertEquals(1, token.start());
         assertEquals(10, token.end());
     }
+
+    @Test
+    void test_single_pass_scan_matches_line_by_line_match() {
+        List<String> sources = new ArrayList<>(List.of(ProductionCases.IF,
+                ProductionCases.ENTITY,
+                "let a = x ?  1 : -2;\r\n\nlet s = \"a\\\"b\";\n(x, y) => x+y;\n{\n  .name = 1}\n\n\n",
+                "",
+                "\n\n"));
+        sources.add(OhScriptReader.read("fixture/demo.oh"));
+        sources.add(OhScriptReader.read("fixture/functions.oh"));
+        for (String source : sources) {
+            List<Token> expected = new ArrayList<>();
+            String[] lines = source.split("\n");
+            for (int i = 0; i < lines.length; i++) {
+                expected.addAll(Terminal.match(lines[i], i));
+            }
+            List<Token> actual = new ArrayList<>();
+            lexer.scan(source, actual);
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).tokenType(), actual.get(i).tokenType());
+                assertEquals(expected.get(i).lexeme(), actual.get(i).lexeme());
+                assertEquals(expected.get(i).line(), actual.get(i).line());
+                assertEquals(expected.get(i).start(), actual.get(i).start());
+                assertEquals(expected.get(i).end(), actual.get(i).end());
+            }
+        }
+    }
+
+    @Test
+    void test_keyword_text_not_matched_as_keyword_falls_back_to_pattern() {
+        List<Token> tokens = Terminal.match("let b = a.if + \"x\\\"y\";", 0);
+        assertEquals(Terminal.LET, tokens.get(0).tokenType());
+        assertEquals(Terminal.DOT, tokens.get(4).tokenType());
+        assertEquals(Terminal.ID, tokens.get(5).tokenType());
+        assertEquals("if", tokens.get(5).lexeme());
+        assertEquals(Terminal.PLUS, tokens.get(6).tokenType());
+        assertEquals(Terminal.STRING, tokens.get(7).tokenType());
+        assertEquals("\"x\"y\"", tokens.get(7).lexeme());
+    }
 }
@@ -0,0 +1,76 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.ohscript;
+
+import modelengine.fit.ohscript.script.engine.OhScript;
+import modelengine.fit.ohscript.script.interpreter.ASTEnv;
+import modelengine.fit.ohscript.script.interpreter.ExecutionBackend;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Locale;
+
+/**
+ * 脚本引擎基准
+ * <p>默认不执行，通过 {@code -Dohscript.benchmark=<操作次数>} 开启。每个基准执行三轮，第一轮可视为预热，
+ * 输出每次操作的平均耗时。</p>
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+@EnabledIfSystemProperty(named = "ohscript.benchmark", matches = "\\d+")
+class OhScriptBenchmarkTest {
+    private static final int ROUNDS = 3;
+
+    private static final String LOOP = "var sum=0; var i=0; while(i<10){sum+=i; i++;} sum";
+
+    private final int operations = Integer.getInteger("ohscript.benchmark");
+
+    @Test
+    void benchmark_repeated_execute() throws Exception {
+        for (int capacity : new int[] {0, OhScript.DEFAULT_CACHE_CAPACITY}) {
+            OhScript script = new OhScript(capacity);
+            this.measure("execute, cache=" + capacity, () -> {
+                for (int i = 0; i < this.operations; i++) {
+                    script.execute(LOOP);
+                }
+            });
+        }
+    }
+
+    @Test
+    void benchmark_loop_iteration() throws Exception {
+        OhScript script = new OhScript();
+        script.load("var sum=0; var i=0; while(i<" + this.operations + "){sum+=i*2-1; i++;} sum");
+        for (ExecutionBackend backend : ExecutionBackend.values()) {
+            this.measure("loop, backend=" + backend, () -> {
+                ASTEnv env = script.createEnv();
+                env.setBackend(backend);
+                env.execute();
+            });
+        }
+    }
+
+    private void measure(String name, Task task) throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            task.run();
+            long elapsed = System.nanoTime() - start;
+            System.out.printf(Locale.ROOT, "ohscript: %s, round=%d, operations=%d, %.2f us/operation%n", name, round,
+                    this.operations, elapsed / 1e3 / this.operations);
+        }
+    }
+
+    /**
+     * 一轮基准中执行的操作
+     */
+    @FunctionalInterface
+    private interface Task {
+        void run() throws Exception;
+    }
+}
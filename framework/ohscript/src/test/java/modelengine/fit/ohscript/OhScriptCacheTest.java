@@ -0,0 +1,201 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.ohscript;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import modelengine.fit.ohscript.script.engine.AstCache;
+import modelengine.fit.ohscript.script.engine.OhScript;
+import modelengine.fit.ohscript.script.errors.OhPanic;
+import modelengine.fit.ohscript.script.interpreter.ASTEnv;
+import modelengine.fit.ohscript.script.interpreter.ExecutionBackend;
+import modelengine.fit.ohscript.script.parser.AST;
+import modelengine.fit.ohscript.script.parser.ParserBuilder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 语法树缓存测试
+ *
+ * @author 易文渊
+ * @since 2026-10-19
+ */
+class OhScriptCacheTest {
+    private static final String LOOP = "var sum=0; var i=0; while(i<10){sum+=i; i++;} sum";
+
+    private static final String ARRAY = "let arr=[1,2]; arr.push(3); arr.size()";
+
+    /**
+     * 获取用例使用的执行后端，子类覆盖后在其他后端下执行全部用例
+     *
+     * @return 执行后端
+     */
+    protected ExecutionBackend backend() {
+        return ExecutionBackend.INTERPRETER;
+    }
+
+    /**
+     * 创建使用 {@link #backend()} 的脚本引擎
+     *
+     * @param cacheCapacity 最多缓存的语法树数量
+     * @return 脚本引擎
+     */
+    protected OhScript newScript(int cacheCapacity) {
+        OhScript script = new OhScript(cacheCapacity);
+        script.setBackend(this.backend());
+        return script;
+    }
+
+    @Test
+    void test_repeated_execute_reuses_ast_and_isolates_state() throws OhPanic {
+        OhScript script = this.newScript(OhScript.DEFAULT_CACHE_CAPACITY);
+        for (int i = 0; i < 3; i++) {
+            assertThat(script.execute(LOOP)).isEqualTo(45);
+        }
+        assertThat(script.cache().size()).isEqualTo(1);
+    }
+
+    @Test
+    void test_interleaved_scripts_share_system_code() throws OhPanic {
+        OhScript script = this.newScript(OhScript.DEFAULT_CACHE_CAPACITY);
+        assertThat(script.execute(ARRAY)).isEqualTo(3);
+        assertThat(script.execute("let b=5; b*2")).isEqualTo(10);
+        assertThat(script.execute(ARRAY)).isEqualTo(3);
+        assertThat(script.cache().size()).isEqualTo(2);
+    }
+
+    @Test
+    void test_create_env_shares_ast_with_separate_grants() throws Exception {
+        OhScript script = this.newScript(OhScript.DEFAULT_CACHE_CAPACITY);
+        script.grant("context", new HashMap<String, Integer>());
+        ASTEnv first = script.load("let a = ext::context.get(\"a\"); a");
+        Map<String, Integer> firstContext = new HashMap<>();
+        firstContext.put("a", 1);
+        first.grant("context", firstContext);
+        ASTEnv second = script.createEnv();
+        Map<String, Integer> secondContext = new HashMap<>();
+        secondContext.put("a", 2);
+        second.grant("context", secondContext);
+
+        assertThat(second.ast()).isSameAs(first.ast());
+        assertThat(first.execute()).isEqualTo(1);
+        assertThat(second.execute()).isEqualTo(2);
+    }
+
+    @Test
+    void test_cache_is_bounded_and_cleared_by_grant() throws OhPanic {
+        OhScript script = this.newScript(2);
+        script.execute("1+1");
+        script.execute("2+2");
+        script.execute("3+3");
+        assertThat(script.cache().size()).isEqualTo(2);
+        script.grant("util2", new HashMap<>());
+        assertThat(script.cache().size()).isZero();
+
+        OhScript uncached = this.newScript(0);
+        assertThat(uncached.execute(LOOP)).isEqualTo(45);
+        assertThat(uncached.cache().size()).isZero();
+    }
+
+    @Test
+    void test_concurrent_execute_on_shared_ast() throws Exception {
+        OhScript script = this.newScript(OhScript.DEFAULT_CACHE_CAPACITY);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                String code = i % 2 == 0 ? LOOP : ARRAY;
+                results.add(executor.submit(() -> script.execute(code)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertThat(results.get(i).get()).isEqualTo(i % 2 == 0 ? 45 : 3);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void test_execute_with_args_keeps_symbol_table_bounded() throws Exception {
+        OhScript script = this.newScript(OhScript.DEFAULT_CACHE_CAPACITY);
+        String code = "args[0].get(\"a\")";
+        assertThat(script.load(code).execute(context(0))).isEqualTo(0);
+        int scopes = script.load(code).ast().symbolTable().size();
+        for (int i = 1; i < 20; i++) {
+            assertThat(script.load(code).execute(context(i))).isEqualTo(i);
+        }
+        assertThat(script.load(code).ast().symbolTable().size()).isEqualTo(scopes);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                Map<String, Integer> context = context(i);
+                results.add(executor.submit(() -> script.load(code).execute(context)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertThat(results.get(i).get()).isEqualTo(i);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(script.load(code).ast().symbolTable().size()).isEqualTo(scopes);
+    }
+
+    @Test
+    void test_cache_hit_is_not_blocked_by_parsing_miss() throws Exception {
+        AstCache cache = new AstCache(OhScript.DEFAULT_CACHE_CAPACITY);
+        ParserBuilder parserBuilder = new ParserBuilder();
+        AST cached = cache.get(LOOP, code -> parserBuilder.parseString("", code));
+        CountDownLatch parsing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger parses = new AtomicInteger();
+        Function<String, AST> slowParser = code -> {
+            parses.incrementAndGet();
+            parsing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return parserBuilder.parseString("", code);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<AST> miss = executor.submit(() -> cache.get(ARRAY, slowParser));
+            assertThat(parsing.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<AST> waiting = executor.submit(() -> cache.get(ARRAY, slowParser));
+
+            assertThat(executor.submit(() -> cache.get(LOOP, slowParser)).get(5, TimeUnit.SECONDS)).isSameAs(cached);
+            assertThat(miss.isDone()).isFalse();
+            release.countDown();
+            assertThat(waiting.get(5, TimeUnit.SECONDS)).isSameAs(miss.get(5, TimeUnit.SECONDS));
+            assertThat(parses.get()).isEqualTo(1);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static Map<String, Integer> context(int value) {
+        Map<String, Integer> context = new HashMap<>();
+        context.put("a", value);
+        return context;
+    }
+}
@@ -95,7 +95,7 @@ public class FlatMapSourceWindow extends Window {
      * @return 数据处理后的window token
      */
     @Override
-    public synchronized WindowToken acceptToken(WindowToken source) {
+    public WindowToken acceptToken(WindowToken source) {
         return from.acceptToken(source);
     }
 
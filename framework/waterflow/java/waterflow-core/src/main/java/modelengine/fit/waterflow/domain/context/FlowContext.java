@@ -88,6 +88,12 @@ public class FlowContext<T> extends IdGenerator implements StateContext {
     @Getter
     private String parallelMode;
 
+    /**
+     * 内存 repo 下所处平行分支组的汇聚状态，fork 时创建，同一组的 context 共享同一个对象。
+     */
+    @Getter
+    private ParallelGroup parallelGroup;
+
     /**
      * 来源于哪个 context。
      */
@@ -238,6 +244,17 @@ public class FlowContext<T> extends IdGenerator implements StateContext {
         return this;
     }
 
+    /**
+     * 设置所处平行分支组的汇聚状态，链式操作。
+     *
+     * @param parallelGroup 表示平行分支组汇聚状态的 {@link ParallelGroup}。
+     * @return 表示 context 自身的 {@link FlowContext}{@code <}{@link T}{@code >}。
+     */
+    public FlowContext<T> setParallelGroup(ParallelGroup parallelGroup) {
+        this.parallelGroup = parallelGroup;
+        return this;
+    }
+
     /**
      * 设置批次唯一标识，链式操作。
      *
@@ -278,6 +295,7 @@ public class FlowContext<T> extends IdGenerator implements StateContext {
                 this.parallelMode,
                 this.session);
         context.position = position;
+        context.parallelGroup = this.parallelGroup;
         context.previous = this.id;
         context.batchId = this.batchId;
         context.index = this.index;
@@ -313,6 +331,7 @@ public class FlowContext<T> extends IdGenerator implements StateContext {
                 this.parallel,
                 this.parallelMode,
                 this.session);
+        context.parallelGroup = this.parallelGroup;
         context.previous = this.previous;
         context.status = this.status;
         context.id = id;
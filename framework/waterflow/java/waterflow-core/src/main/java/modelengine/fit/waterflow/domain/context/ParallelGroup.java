@@ -0,0 +1,85 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.context;
+
+import modelengine.fitframework.util.ObjectUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 内存 repo 下一次平行分支的汇聚状态。
+ * <p>
+ * 在 parallel 节点 fork 时创建并随 context 传到各个分支，同一组的 context 共享同一个对象，
+ * 因此整组数据是否走内存快速通道在 fork 时就已经确定。汇聚状态随 context 一起回收，join 节点不需要登记和清理。
+ * </p>
+ *
+ * @author 高诗意
+ * @since 2026-10-19
+ */
+public class ParallelGroup {
+    private final Map<String, List<FlowContext<?>>> branches = new LinkedHashMap<>();
+
+    private boolean isClosed;
+
+    /**
+     * 登记一个分支送达的数据，所有分支都送达后返回整组数据并关闭该组，同一个分支可以送达多个 context。
+     *
+     * @param <T> 表示数据类型的泛型参数。
+     * @param branch 表示送达分支的 {@link String}。
+     * @param contexts 表示该分支送达的 {@link List}{@code <}{@link FlowContext}{@code <}{@link T}{@code >>}。
+     * @param total 表示分支总数的 {@code int}。
+     * @return 表示整组数据的 {@link List}{@code <}{@link FlowContext}{@code <}{@link T}{@code >>}，
+     * 尚有分支未送达或者该组已经关闭时返回空列表。
+     */
+    public synchronized <T> List<FlowContext<T>> arrive(String branch, List<FlowContext<T>> contexts, int total) {
+        if (this.isClosed) {
+            return Collections.emptyList();
+        }
+        this.branches.computeIfAbsent(branch, key -> new ArrayList<>()).addAll(contexts);
+        if (this.branches.size() < total) {
+            return Collections.emptyList();
+        }
+        List<FlowContext<T>> all = new ArrayList<>();
+        this.branches.values().forEach(cs -> cs.forEach(context -> all.add(ObjectUtils.cast(context))));
+        this.close();
+        return all;
+    }
+
+    /**
+     * 第一个送达的分支胜出并关闭该组，用于 either 模式。
+     *
+     * @return 表示是否胜出的 {@code boolean}。
+     */
+    public synchronized boolean win() {
+        if (this.isClosed) {
+            return false;
+        }
+        this.close();
+        return true;
+    }
+
+    /**
+     * 关闭该组并释放已经送达的数据，之后送达的数据都不再汇聚。
+     */
+    public synchronized void close() {
+        this.isClosed = true;
+        this.branches.clear();
+    }
+
+    /**
+     * 判断该组是否已经关闭。
+     *
+     * @return 表示是否已经关闭的 {@code boolean}。
+     */
+    public synchronized boolean isClosed() {
+        return this.isClosed;
+    }
+}
@@ -20,14 +20,15 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.stream.Collectors;
 
 /**
  * window与session相关，在没有keyby关键字介入情况下，一个window对应一个session
@@ -35,6 +36,7 @@ import java.util.stream.Collectors;
  * window对reduce聚合操作由两个因素因素决定：windowcondition和session边界
  * 满足一次windowcondition，一次聚合操作完成
  * 满足session边界，最后一次觉和操作完成
+ * token的状态通过原子计数器统计，空闲token保存在无锁队列中，流式场景下多个节点线程并发生产消费token时不会争用window的监视器
  *
  * @author 宋永坦
  * @since 1.0
@@ -57,12 +59,38 @@ public class Window implements Completable {
     protected Window from = null;
 
     private final UUID id;
-    private final List<WindowToken> tokens = new ArrayList<>(16);
+
+    /**
+     * 尚未被领取的token，按创建顺序排列，已被其他途径消费的token在出队时跳过
+     */
+    private final Queue<WindowToken> idleTokens = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 已开始消费但尚未聚合的token
+     */
+    private final Queue<WindowToken> unreducedTokens = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger tokenCount = new AtomicInteger(0);
+
+    private final AtomicInteger idleCount = new AtomicInteger(0);
+
+    private final AtomicInteger consumingCount = new AtomicInteger(0);
+
+    private final AtomicInteger unconsumedCount = new AtomicInteger(0);
+
+    private final AtomicInteger unreducedCount = new AtomicInteger(0);
+
+    /**
+     * 当前窗口及其所有后续窗口中尚未消费完成的token数量
+     */
+    private final AtomicInteger pendingCount = new AtomicInteger(0);
+
     @Getter
-    private final Set<Window> tos = new CopyOnWriteArraySet<>();
+    private final Set<Window> tos = ConcurrentHashMap.newKeySet();
     private final Map<String, Runnable> onDoneHandlers = new ConcurrentHashMap<>();
+    private final List<Runnable> onConsumedHandlers = new CopyOnWriteArrayList<>();
 
-    private Boolean isFinished = false;
+    private final AtomicBoolean isFinished = new AtomicBoolean(false);
     /**
      * accumulator for reduce
      */
@@ -74,9 +102,9 @@ public class Window implements Completable {
 
     private FlowSession session;
 
-    private CompleteContext completeContext;
+    private volatile CompleteContext completeContext;
 
-    private To node = null;
+    private volatile To node = null;
 
     /**
      * 创建窗口
@@ -119,11 +147,14 @@ public class Window implements Completable {
      *
      * @return 完成状态
      */
-    public synchronized boolean accept() {
+    public boolean accept() {
         if (this.fulfilled()) {
             this.now.set(LocalDateTime.now());
-            for (WindowToken token : this.tokens) {
-                token.reduce();
+            WindowToken token;
+            while ((token = this.unreducedTokens.poll()) != null) {
+                if (token.reduce()) {
+                    this.unreducedCount.decrementAndGet();
+                }
             }
             return true;
         }
@@ -148,8 +179,8 @@ public class Window implements Completable {
      */
     public boolean fulfilled() {
         WindowArg arg = new WindowArg(this.isComplete(),
-                this.tokens.size(),
-                this.tokens.stream().filter(t -> !t.initialized() && !t.isReduced()).count(),
+                this.tokenCount.get(),
+                this.unreducedCount.get(),
                 Duration.between(this.now.get(), LocalDateTime.now()));
         // consuming and consumed are all counted
         return this.condition.fulfilled(arg) || this.isOngoing();
@@ -170,14 +201,37 @@ public class Window implements Completable {
      * @param handlerId 表示监听者的唯一标识的 {@link String}。
      * @param handler 表示监听者接收处理的 {@link Runnable}。
      */
-    public synchronized void onDone(String handlerId, Runnable handler) {
-        synchronized (this) {
-            if (!this.isDone()) {
-                this.onDoneHandlers.put(handlerId, handler);
-                return;
-            }
+    public void onDone(String handlerId, Runnable handler) {
+        if (this.isDone()) {
+            handler.run();
+            return;
+        }
+        this.onDoneHandlers.put(handlerId, handler);
+        // 注册期间window可能已经结束，通过remove确保监听者只被执行一次
+        if (this.isFinished.get() && this.onDoneHandlers.remove(handlerId, handler)) {
+            handler.run();
+        }
+    }
+
+    /**
+     * 监听窗口内token被消费完成的事件，当前窗口及其所有后续窗口中每个token消费完成时通知一次。
+     * <p>用于数据源按照下游的消费进度补充请求，实现背压。</p>
+     *
+     * @param handler 表示监听者接收处理的 {@link Runnable}。
+     */
+    public void onTokenConsumed(Runnable handler) {
+        if (handler != null) {
+            this.onConsumedHandlers.add(handler);
         }
-        handler.run();
+    }
+
+    /**
+     * 获取当前窗口及其所有后续窗口中尚未消费完成的token数量，即流程中正在处理的数据数量。
+     *
+     * @return 表示尚未消费完成的token数量的 {@code int}。
+     */
+    public int pendingTokenCount() {
+        return this.pendingCount.get();
     }
 
     /**
@@ -206,9 +260,13 @@ public class Window implements Completable {
      *
      * @return window token
      */
-    public synchronized WindowToken createToken() {
+    public WindowToken createToken() {
         WindowToken token = new WindowToken(this);
-        this.tokens.add(token);
+        this.unconsumedCount.incrementAndGet();
+        this.idleCount.incrementAndGet();
+        this.tokenCount.incrementAndGet();
+        this.addPending(1);
+        this.idleTokens.offer(token);
         return token;
     }
 
@@ -218,7 +276,7 @@ public class Window implements Completable {
      * @param source window token
      * @return window token
      */
-    public synchronized WindowToken acceptToken(WindowToken source) {
+    public WindowToken acceptToken(WindowToken source) {
         WindowToken token = this.createToken();
         if (source != null) {
             source.finishConsume();
@@ -238,11 +296,8 @@ public class Window implements Completable {
 
     @Override
     public void complete() {
-        synchronized (this) {
-            if (this.isComplete()) {
-                return;
-            }
-            this.isComplete.set(true);
+        if (!this.isComplete.compareAndSet(false, true)) {
+            return;
         }
         this.fire();
         this.tryFinish();
@@ -272,8 +327,8 @@ public class Window implements Completable {
      *
      * @return 是否消费完成
      */
-    public synchronized boolean isDone() {
-        return this.isComplete.get() && !this.tokens.stream().anyMatch(t -> !t.isConsumed());
+    public boolean isDone() {
+        return this.isComplete.get() && this.unconsumedCount.get() == 0;
     }
 
     /**
@@ -282,9 +337,9 @@ public class Window implements Completable {
      *
      * @return 是否在消费最后一个数据
      */
-    public synchronized boolean isOngoing() {
-        boolean ongoing = this.isComplete.get() && !this.tokens.stream().anyMatch(t -> t.initialized())
-                && this.tokens.stream().filter(t -> t.isConsuming()).count() <= 1;
+    public boolean isOngoing() {
+        // token开始消费时先增加consuming计数再减少idle计数，按此顺序读取不会误判
+        boolean ongoing = this.isComplete.get() && this.idleCount.get() == 0 && this.consumingCount.get() <= 1;
         return ongoing || isDone();
     }
 
@@ -333,17 +388,43 @@ public class Window implements Completable {
      * totally consumed
      **/
     public void tryFinish() {
-        synchronized (this) {
-            if (this.isFinished) {
-                return;
+        if (!this.isDone() || !this.isFinished.compareAndSet(false, true)) {
+            return;
+        }
+        this.completed();
+        for (Map.Entry<String, Runnable> handler : this.onDoneHandlers.entrySet()) {
+            if (this.onDoneHandlers.remove(handler.getKey(), handler.getValue())) {
+                handler.getValue().run();
             }
-            if (!this.isDone()) {
-                return;
+        }
+    }
+
+    /**
+     * token状态迁移后更新计数
+     *
+     * @param from 迁移前状态
+     * @param to 迁移后状态
+     * @param token 发生迁移的token
+     */
+    void onTokenTransition(WindowToken.Status from, WindowToken.Status to, WindowToken token) {
+        if (to == WindowToken.Status.CONSUMING) {
+            this.consumingCount.incrementAndGet();
+        } else {
+            this.unconsumedCount.decrementAndGet();
+        }
+        if (from == WindowToken.Status.INITIALIZED) {
+            this.unreducedCount.incrementAndGet();
+            this.unreducedTokens.offer(token);
+            this.idleCount.decrementAndGet();
+        } else {
+            this.consumingCount.decrementAndGet();
+        }
+        if (to == WindowToken.Status.CONSUMED) {
+            this.addPending(-1);
+            for (Window window = this; window != null; window = window.from) {
+                window.onConsumedHandlers.forEach(Runnable::run);
             }
-            this.isFinished = true;
         }
-        this.completed();
-        this.onDoneHandlers.values().forEach(Runnable::run);
     }
 
     /**
@@ -352,7 +433,7 @@ public class Window implements Completable {
      * @return token数量
      */
     public Integer tokenCount() {
-        return this.tokens.size();
+        return this.tokenCount.get();
     }
 
     /**
@@ -360,10 +441,10 @@ public class Window implements Completable {
      *
      * @return token数量
      */
-    public synchronized String debugTokens() {
-        return this.tokens.hashCode() + "-" + this.tokens.stream()
-                .map(t -> t.getStatus().name() + "-" + t.hashCode())
-                .collect(Collectors.joining("|"));
+    public String debugTokens() {
+        return this.id() + "-" + WindowToken.Status.INITIALIZED.name() + ":" + this.idleCount.get() + "|"
+                + WindowToken.Status.CONSUMING.name() + ":" + this.consumingCount.get() + "|"
+                + WindowToken.Status.CONSUMED.name() + ":" + (this.tokenCount.get() - this.unconsumedCount.get());
     }
 
     /**
@@ -372,11 +453,12 @@ public class Window implements Completable {
      *
      * @return 闲置token
      */
-    public synchronized WindowToken peekAndConsume() {
-        Optional<WindowToken> peeked = this.tokens.stream().filter(WindowToken::initialized).findFirst();
-        if (peeked.isPresent()) {
-            peeked.get().beginConsume();
-            return peeked.get();
+    public WindowToken peekAndConsume() {
+        WindowToken peeked;
+        while ((peeked = this.idleTokens.poll()) != null) {
+            if (peeked.tryBeginConsume()) {
+                return peeked;
+            }
         }
         return null;
     }
@@ -419,7 +501,20 @@ public class Window implements Completable {
      * @param fromWindow from window
      */
     public void setFrom(Window fromWindow) {
+        int pending = this.pendingCount.get();
+        if (this.from != null) {
+            this.from.addPending(-pending);
+        }
         this.from = fromWindow;
+        if (fromWindow != null) {
+            fromWindow.addPending(pending);
+        }
+    }
+
+    private void addPending(int delta) {
+        for (Window window = this; window != null; window = window.from) {
+            window.pendingCount.addAndGet(delta);
+        }
     }
 
     /**
@@ -6,10 +6,14 @@
 
 package modelengine.fit.waterflow.domain.context;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * 用于计数session window中处理的数据
  * 至于session window中素有的数据都consumed，该session window才算结束
  * session window的解释，业务表达为某session数据在某节点处理完毕
+ * 状态迁移通过CAS完成，每次迁移成功后通知所属window更新计数，不需要对window加锁
  *
  * @author songyongtan
  * @since 1.0
@@ -37,18 +41,9 @@ public class WindowToken {
 
     private final Window window;
 
-    /**
-     * 状态
-     *
-     * @return 状态
-     */
-    public Status getStatus() {
-        return this.status;
-    }
-
-    private Status status = Status.INITIALIZED;
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.INITIALIZED);
 
-    private boolean reduced;
+    private final AtomicBoolean reduced = new AtomicBoolean(false);
 
     /**
      * 构造函数
@@ -59,21 +54,43 @@ public class WindowToken {
         this.window = window;
     }
 
+    /**
+     * 状态
+     *
+     * @return 状态
+     */
+    public Status getStatus() {
+        return this.status.get();
+    }
+
     /**
      * 结束消费
      */
     public void finishConsume() {
-        if (this.status == Status.CONSUMED) {
-            return;
+        Status previous = this.status.getAndSet(Status.CONSUMED);
+        if (previous != Status.CONSUMED) {
+            this.window.onTokenTransition(previous, Status.CONSUMED, this);
         }
-        this.status = Status.CONSUMED;
     }
 
     /**
      * 开始消费
      */
     public void beginConsume() {
-        this.status = Status.CONSUMING;
+        this.tryBeginConsume();
+    }
+
+    /**
+     * 尝试将token从初始化状态迁移到正在消费状态
+     *
+     * @return 迁移成功返回true，token已被其他线程领取或消费时返回false
+     */
+    boolean tryBeginConsume() {
+        if (this.status.compareAndSet(Status.INITIALIZED, Status.CONSUMING)) {
+            this.window.onTokenTransition(Status.INITIALIZED, Status.CONSUMING, this);
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -82,7 +99,7 @@ public class WindowToken {
      * @return 是
      */
     public boolean initialized() {
-        return this.status == Status.INITIALIZED;
+        return this.status.get() == Status.INITIALIZED;
     }
 
     /**
@@ -91,7 +108,7 @@ public class WindowToken {
      * @return 是
      */
     public boolean isConsuming() {
-        return this.status == Status.CONSUMING;
+        return this.status.get() == Status.CONSUMING;
     }
 
     /**
@@ -100,7 +117,7 @@ public class WindowToken {
      * @return 是
      */
     public boolean isConsumed() {
-        return this.status == Status.CONSUMED;
+        return this.status.get() == Status.CONSUMED;
     }
 
     /**
@@ -109,16 +126,16 @@ public class WindowToken {
      * @return true，是
      */
     public boolean isReduced() {
-        return this.reduced;
+        return this.reduced.get();
     }
 
     /**
      * 聚合
+     *
+     * @return 本次调用完成了聚合返回true，token尚未开始消费或已经聚合过返回false
      */
-    public void reduce() {
-        if (this.status != Status.INITIALIZED && !this.reduced) {
-            this.reduced = true;
-        }
+    public boolean reduce() {
+        return this.status.get() != Status.INITIALIZED && this.reduced.compareAndSet(false, true);
     }
 
     /**
@@ -0,0 +1,53 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.context.repo.flowlock;
+
+import java.time.Duration;
+
+/**
+ * 流程锁的租约
+ * 租约在到期后自动失效，不要求由获取租约的线程释放
+ * 每次成功获取租约都会得到一个单调递增的fencing token，下游资源可以据此拒绝过期持有者的写入
+ *
+ * @author 高诗意
+ * @since 2026-10-19
+ */
+public interface FlowLease {
+    /**
+     * 获取租约对应的key
+     *
+     * @return 租约key
+     */
+    String key();
+
+    /**
+     * 获取租约的fencing token，同一个key上后获取的租约token一定更大
+     *
+     * @return fencing token
+     */
+    long fencingToken();
+
+    /**
+     * 租约是否仍然有效，即未释放且未到期
+     *
+     * @return 是否有效
+     */
+    boolean isValid();
+
+    /**
+     * 续约，仅在租约仍然有效时成功
+     *
+     * @param ttl 从当前时刻起新的有效时长
+     * @return 续约是否成功
+     */
+    boolean renew(Duration ttl);
+
+    /**
+     * 释放租约
+     */
+    void release();
+}
@@ -6,9 +6,14 @@
 
 package modelengine.fit.waterflow.domain.context.repo.flowlock;
 
+import static modelengine.fit.waterflow.ErrorCodes.NOT_SUPPORT;
+
 import modelengine.fit.waterflow.domain.common.Constants;
+import modelengine.fit.waterflow.exceptions.WaterflowException;
 import modelengine.fitframework.util.StringUtils;
 
+import java.time.Duration;
+import java.util.Optional;
 import java.util.concurrent.locks.Lock;
 
 /**
@@ -40,6 +45,18 @@ public interface FlowLocks {
      */
     Lock getDistributeLock(String key);
 
+    /**
+     * 尝试获取租约，租约被其他持有者占用且未到期时立即返回
+     * 与锁不同，租约不绑定线程，到期后自动失效，适用于持有时间较长或跨进程的互斥场景
+     *
+     * @param key 租约的key值
+     * @param ttl 租约有效时长
+     * @return 获取成功时返回 {@link FlowLease}，否则返回 {@link Optional#empty()}
+     */
+    default Optional<FlowLease> tryLease(String key, Duration ttl) {
+        throw new WaterflowException(NOT_SUPPORT, "tryLease");
+    }
+
     /**
      * 获取节点分布式锁key值
      * 获取分布式锁的key值，一般是prefix-streamID-nodeID-type
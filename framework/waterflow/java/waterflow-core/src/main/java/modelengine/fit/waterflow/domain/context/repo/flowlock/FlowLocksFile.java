@@ -0,0 +1,604 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.context.repo.flowlock;
+
+import static modelengine.fit.waterflow.ErrorCodes.FLOW_SYSTEM_ERROR;
+import static modelengine.fit.waterflow.ErrorCodes.NOT_SUPPORT;
+
+import modelengine.fit.waterflow.exceptions.WaterflowException;
+import modelengine.fitframework.inspection.Validation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 流程锁，基于本地文件锁的实现，用于同一主机上多个进程部署的场景
+ * 本地锁与 {@link FlowLocksMemo} 一致，分布式锁和租约都按key区分，不同key即使落在同一个分段文件上也互不影响
+ * 分布式锁在进程内按key的可重入锁之上，再锁住分段文件中由key的64位hash决定的一个字节区间
+ * 租约记录保存在分段文件中，每个key一条：key的hash、fencing token、到期时间和持有者标识，fencing token由分段内统一递增
+ * 文件通道在线程被中断时会关闭并释放同一分段上的所有文件锁，因此文件操作前会暂时清除中断标志，等待时轮询而不阻塞在通道上
+ * 同一进程内同一目录只应创建一个实例，否则相同key的文件锁会在进程内重叠，只能按轮询等待
+ *
+ * @author 高诗意
+ * @since 2026-10-19
+ */
+public class FlowLocksFile implements FlowLocks {
+    /**
+     * 默认分段数量，每个分段对应一个文件，打开后保持句柄直到 {@link #close()}
+     */
+    public static final int DEFAULT_STRIPES = 64;
+
+    private static final int MAX_STRIPES = 4096;
+
+    private static final int HEADER_SIZE = Long.BYTES;
+
+    private static final int LEASE_RECORD_SIZE = Long.BYTES * 4;
+
+    private static final long TABLE_REGION = 0;
+
+    private static final long KEY_REGION_START = 1L << 32;
+
+    private static final long KEY_REGION_MASK = (1L << 62) - 1;
+
+    private static final long RETRY_MILLIS = 5;
+
+    private final FlowLocksMemo local;
+
+    private final StripeFile[] stripes;
+
+    private final int mask;
+
+    private final Map<String, KeyLock> keyLocks = new ConcurrentHashMap<>();
+
+    /**
+     * 使用默认分段数量创建文件流程锁
+     *
+     * @param directory 存放分段锁文件的目录，多个进程需要指向同一目录
+     */
+    public FlowLocksFile(Path directory) {
+        this(directory, DEFAULT_STRIPES);
+    }
+
+    /**
+     * 创建文件流程锁
+     *
+     * @param directory 存放分段锁文件的目录，多个进程需要指向同一目录
+     * @param stripes 分段数量，会向上取整为2的幂，多个进程必须使用相同的分段数量
+     */
+    public FlowLocksFile(Path directory, int stripes) {
+        Validation.notNull(directory, "The lock directory cannot be null.");
+        Validation.between(stripes, 1, MAX_STRIPES, "The stripes must be between 1 and {0}.", MAX_STRIPES);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException ex) {
+            throw new WaterflowException(ex, FLOW_SYSTEM_ERROR);
+        }
+        int size = FlowLocksMemo.tableSize(stripes);
+        this.local = new FlowLocksMemo(stripes);
+        this.stripes = new StripeFile[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new StripeFile(directory.resolve("stripe-" + i + ".lock"));
+        }
+        this.mask = size - 1;
+    }
+
+    @Override
+    public Lock getLocalLock(String key) {
+        return this.local.getLocalLock(key);
+    }
+
+    @Override
+    public Lock getDistributeLock(String key) {
+        return new DistributeLock(key);
+    }
+
+    @Override
+    public Optional<FlowLease> tryLease(String key, Duration ttl) {
+        StripeFile stripe = this.stripe(key);
+        long hash = keyHash(key);
+        return stripe.withTable(table -> {
+            long now = System.currentTimeMillis();
+            int index = table.find(hash);
+            if (index >= 0 && table.isActive(index, now)) {
+                return Optional.empty();
+            }
+            int slot = index >= 0 ? index : table.freeSlot(now);
+            long owner = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+            long deadline = now + ttl.toMillis();
+            long token = table.nextToken();
+            table.write(slot, hash, token, deadline, owner);
+            return Optional.of(new FileLease(key, hash, token, deadline, owner, stripe));
+        });
+    }
+
+    /**
+     * 关闭所有分段文件句柄，仍被持有的分布式锁对应的文件锁随之释放
+     */
+    public void close() {
+        for (StripeFile stripe : this.stripes) {
+            stripe.close();
+        }
+    }
+
+    private StripeFile stripe(String key) {
+        return this.stripes[FlowLocksMemo.stripeIndex(key, this.mask)];
+    }
+
+    private KeyLock retain(String key) {
+        return this.keyLocks.compute(key, (__, current) -> {
+            KeyLock keyLock = current == null ? new KeyLock(key, this.stripe(key)) : current;
+            keyLock.users++;
+            return keyLock;
+        });
+    }
+
+    private void release(KeyLock keyLock) {
+        this.keyLocks.computeIfPresent(keyLock.key, (__, current) -> --current.users == 0 ? null : current);
+    }
+
+    /**
+     * 计算key的64位FNV-1a hash，用于区分同一分段上的不同key
+     *
+     * @param key 锁的key值
+     * @return 64位hash
+     */
+    static long keyHash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * 进程内一个key的锁状态，有线程持有或等待时才存在
+     */
+    private static class KeyLock {
+        private final String key;
+        private final StripeFile stripe;
+        private final long region;
+        private final ReentrantLock target = new ReentrantLock();
+        private int users;
+        private FileLock fileLock;
+
+        private KeyLock(String key, StripeFile stripe) {
+            this.key = key;
+            this.stripe = stripe;
+            this.region = KEY_REGION_START + (keyHash(key) & KEY_REGION_MASK);
+        }
+
+        private boolean tryAcquireFileLock() {
+            this.fileLock = this.stripe.tryLockRegion(this.region);
+            return this.fileLock != null;
+        }
+
+        private void releaseFileLock() {
+            FileLock current = this.fileLock;
+            this.fileLock = null;
+            if (current != null) {
+                this.stripe.releaseRegion(current);
+            }
+        }
+    }
+
+    /**
+     * 一个key的分布式锁，进程内可重入，同一线程首次获取时才去获取文件锁
+     */
+    private class DistributeLock implements Lock {
+        private final String key;
+
+        private DistributeLock(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public void lock() {
+            KeyLock keyLock = FlowLocksFile.this.retain(this.key);
+            keyLock.target.lock();
+            if (keyLock.target.getHoldCount() > 1) {
+                return;
+            }
+            boolean isInterrupted = false;
+            try {
+                while (!keyLock.tryAcquireFileLock()) {
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(RETRY_MILLIS);
+                    } catch (InterruptedException ex) {
+                        isInterrupted = true;
+                    }
+                }
+            } catch (RuntimeException ex) {
+                this.abandon(keyLock);
+                throw ex;
+            } finally {
+                if (isInterrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            if (!this.tryLock(Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
+                throw new InterruptedException();
+            }
+        }
+
+        @Override
+        public boolean tryLock() {
+            KeyLock keyLock = FlowLocksFile.this.retain(this.key);
+            if (!keyLock.target.tryLock()) {
+                FlowLocksFile.this.release(keyLock);
+                return false;
+            }
+            try {
+                return this.acquireOrAbandon(keyLock, System.nanoTime());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            long deadline = System.nanoTime() + unit.toNanos(time);
+            KeyLock keyLock = FlowLocksFile.this.retain(this.key);
+            try {
+                if (!keyLock.target.tryLock(time, unit)) {
+                    FlowLocksFile.this.release(keyLock);
+                    return false;
+                }
+            } catch (InterruptedException ex) {
+                FlowLocksFile.this.release(keyLock);
+                throw ex;
+            }
+            return this.acquireOrAbandon(keyLock, deadline);
+        }
+
+        @Override
+        public void unlock() {
+            KeyLock keyLock = FlowLocksFile.this.keyLocks.get(this.key);
+            if (keyLock == null || !keyLock.target.isHeldByCurrentThread()) {
+                throw new IllegalMonitorStateException();
+            }
+            if (keyLock.target.getHoldCount() == 1) {
+                keyLock.releaseFileLock();
+            }
+            keyLock.target.unlock();
+            FlowLocksFile.this.release(keyLock);
+        }
+
+        @Override
+        public Condition newCondition() {
+            throw new WaterflowException(NOT_SUPPORT, "newCondition");
+        }
+
+        private boolean acquireOrAbandon(KeyLock keyLock, long deadline) throws InterruptedException {
+            if (keyLock.target.getHoldCount() > 1) {
+                return true;
+            }
+            try {
+                while (!keyLock.tryAcquireFileLock()) {
+                    if (System.nanoTime() - deadline >= 0) {
+                        this.abandon(keyLock);
+                        return false;
+                    }
+                    TimeUnit.MILLISECONDS.sleep(RETRY_MILLIS);
+                }
+                return true;
+            } catch (InterruptedException | RuntimeException ex) {
+                this.abandon(keyLock);
+                throw ex;
+            }
+        }
+
+        private void abandon(KeyLock keyLock) {
+            keyLock.target.unlock();
+            FlowLocksFile.this.release(keyLock);
+        }
+    }
+
+    /**
+     * 分段文件，头部是分段内最后发放的fencing token，其后是每个key一条的租约记录
+     */
+    private static class StripeFile {
+        private final ReentrantLock guard = new ReentrantLock();
+        private final Path path;
+        private volatile FileChannel channel;
+
+        private StripeFile(Path path) {
+            this.path = path;
+        }
+
+        private FileLock tryLockRegion(long region) {
+            try {
+                return this.io(current -> current.tryLock(region, 1, false));
+            } catch (OverlappingFileLockException ex) {
+                // 同一进程内另一个实例或者hash相同的key正持有该区间，按被占用处理
+                return null;
+            }
+        }
+
+        private void releaseRegion(FileLock fileLock) {
+            boolean isInterrupted = Thread.interrupted();
+            try {
+                fileLock.release();
+            } catch (IOException ex) {
+                // 通道关闭时文件锁随之释放，这里无需处理
+            } finally {
+                if (isInterrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private <T> T withTable(TableAction<T> action) {
+            boolean isInterrupted = Thread.interrupted();
+            this.guard.lock();
+            try {
+                FileLock tableLock;
+                while ((tableLock = this.io(current -> current.tryLock(TABLE_REGION, 1, false))) == null) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(RETRY_MILLIS));
+                }
+                try {
+                    return action.apply(this.io(LeaseTable::read));
+                } finally {
+                    this.releaseRegion(tableLock);
+                }
+            } finally {
+                this.guard.unlock();
+                if (isInterrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        /**
+         * 在清除中断标志的情况下执行文件操作，避免中断关闭共享的通道
+         *
+         * @param action 文件操作
+         * @return 操作结果
+         */
+        private <T> T io(ChannelAction<T> action) {
+            boolean isInterrupted = Thread.interrupted();
+            try {
+                return action.apply(this.channel());
+            } catch (IOException ex) {
+                throw new WaterflowException(ex, FLOW_SYSTEM_ERROR);
+            } finally {
+                if (isInterrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private FileChannel channel() throws IOException {
+            FileChannel current = this.channel;
+            if (current != null && current.isOpen()) {
+                return current;
+            }
+            synchronized (this) {
+                if (this.channel == null || !this.channel.isOpen()) {
+                    this.channel = FileChannel.open(this.path,
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.READ,
+                            StandardOpenOption.WRITE);
+                }
+                return this.channel;
+            }
+        }
+
+        private synchronized void close() {
+            try {
+                if (this.channel != null) {
+                    this.channel.close();
+                }
+            } catch (IOException ex) {
+                // 关闭失败时句柄随进程退出释放
+            }
+        }
+    }
+
+    /**
+     * 对共享通道的一次文件操作
+     *
+     * @param <T> 操作结果的类型
+     */
+    private interface ChannelAction<T> {
+        T apply(FileChannel channel) throws IOException;
+    }
+
+    /**
+     * 在持有租约表的锁时执行的操作
+     *
+     * @param <T> 操作结果的类型
+     */
+    private interface TableAction<T> {
+        T apply(LeaseTable table);
+    }
+
+    /**
+     * 读入内存的租约表，写操作直接落盘
+     */
+    private static class LeaseTable {
+        private final FileChannel channel;
+        private final ByteBuffer records;
+        private long lastToken;
+
+        private LeaseTable(FileChannel channel, ByteBuffer records, long lastToken) {
+            this.channel = channel;
+            this.records = records;
+            this.lastToken = lastToken;
+        }
+
+        private static LeaseTable read(FileChannel channel) throws IOException {
+            long size = Math.max(channel.size(), HEADER_SIZE);
+            ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(size));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, buffer.position()) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+            long lastToken = buffer.remaining() >= HEADER_SIZE ? buffer.getLong(0) : 0;
+            buffer.position(Math.min(buffer.limit(), HEADER_SIZE));
+            ByteBuffer records = buffer.slice();
+            records.limit(records.limit() - records.limit() % LEASE_RECORD_SIZE);
+            return new LeaseTable(channel, records, lastToken);
+        }
+
+        private int size() {
+            return this.records.limit() / LEASE_RECORD_SIZE;
+        }
+
+        private long get(int index, int field) {
+            return this.records.getLong(index * LEASE_RECORD_SIZE + field * Long.BYTES);
+        }
+
+        private int find(long hash) {
+            for (int i = 0; i < this.size(); i++) {
+                if (this.get(i, 0) == hash) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private int find(long hash, long token, long owner) {
+            int index = this.find(hash);
+            return index >= 0 && this.get(index, 1) == token && this.get(index, 3) == owner ? index : -1;
+        }
+
+        private boolean isActive(int index, long now) {
+            return this.get(index, 3) != 0 && this.get(index, 2) > now;
+        }
+
+        private int freeSlot(long now) {
+            for (int i = 0; i < this.size(); i++) {
+                if (!this.isActive(i, now)) {
+                    return i;
+                }
+            }
+            return this.size();
+        }
+
+        private long nextToken() {
+            this.lastToken++;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putLong(this.lastToken).flip();
+            this.writeAt(header, 0);
+            return this.lastToken;
+        }
+
+        private void write(int index, long hash, long token, long deadline, long owner) {
+            ByteBuffer buffer = ByteBuffer.allocate(LEASE_RECORD_SIZE);
+            buffer.putLong(hash).putLong(token).putLong(deadline).putLong(owner).flip();
+            this.writeAt(buffer, HEADER_SIZE + (long) index * LEASE_RECORD_SIZE);
+            try {
+                this.channel.force(false);
+            } catch (IOException ex) {
+                throw new WaterflowException(ex, FLOW_SYSTEM_ERROR);
+            }
+        }
+
+        private void writeAt(ByteBuffer buffer, long position) {
+            boolean isInterrupted = Thread.interrupted();
+            try {
+                while (buffer.hasRemaining()) {
+                    this.channel.write(buffer, position + buffer.position());
+                }
+            } catch (IOException ex) {
+                throw new WaterflowException(ex, FLOW_SYSTEM_ERROR);
+            } finally {
+                if (isInterrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private static class FileLease implements FlowLease {
+        private final String key;
+        private final long hash;
+        private final long token;
+        private final long owner;
+        private final StripeFile stripe;
+        private volatile long deadline;
+        private volatile boolean isReleased = false;
+
+        private FileLease(String key, long hash, long token, long deadline, long owner, StripeFile stripe) {
+            this.key = key;
+            this.hash = hash;
+            this.token = token;
+            this.deadline = deadline;
+            this.owner = owner;
+            this.stripe = stripe;
+        }
+
+        @Override
+        public String key() {
+            return this.key;
+        }
+
+        @Override
+        public long fencingToken() {
+            return this.token;
+        }
+
+        @Override
+        public boolean isValid() {
+            return !this.isReleased && this.deadline > System.currentTimeMillis();
+        }
+
+        @Override
+        public boolean renew(Duration ttl) {
+            return this.stripe.withTable(table -> {
+                long now = System.currentTimeMillis();
+                int index = table.find(this.hash, this.token, this.owner);
+                if (!this.isValid() || index < 0 || !table.isActive(index, now)) {
+                    return false;
+                }
+                long renewed = now + ttl.toMillis();
+                table.write(index, this.hash, this.token, renewed, this.owner);
+                this.deadline = renewed;
+                return true;
+            });
+        }
+
+        @Override
+        public void release() {
+            if (this.isReleased) {
+                return;
+            }
+            this.isReleased = true;
+            this.stripe.withTable(table -> {
+                int index = table.find(this.hash, this.token, this.owner);
+                if (index >= 0) {
+                    table.write(index, this.hash, this.token, 0, 0);
+                }
+                return null;
+            });
+        }
+    }
+}
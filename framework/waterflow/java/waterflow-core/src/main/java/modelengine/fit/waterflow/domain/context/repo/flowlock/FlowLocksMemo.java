@@ -6,31 +6,65 @@
 
 package modelengine.fit.waterflow.domain.context.repo.flowlock;
 
+import modelengine.fitframework.inspection.Validation;
+
+import java.time.Duration;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.Condition;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * 流程锁，内存版本的实现
+ * 锁按key的hash分布到固定大小的分段锁表上，获取锁不产生任何对象分配，也不需要引用计数回收
+ * 不同key可能落在同一个分段上，因此持有一个key的锁时不应再获取其他key的锁
  *
  * @author 高诗意
  * @since 1.0
  */
 public class FlowLocksMemo implements FlowLocks {
-    private final Map<String, MemLockWrapper> locks = new ConcurrentHashMap<>();
+    /**
+     * 默认分段数量
+     */
+    public static final int DEFAULT_STRIPES = 1024;
+
+    private static final int MAX_STRIPES = 1 << 16;
+
+    private final ReentrantLock[] stripes;
+
+    private final int mask;
+
+    private final Map<String, MemoLease> leases = new ConcurrentHashMap<>();
+
+    private final AtomicLong fencing = new AtomicLong(0);
+
+    /**
+     * 使用默认分段数量创建内存流程锁
+     */
+    public FlowLocksMemo() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * 创建内存流程锁
+     *
+     * @param stripes 分段数量，会向上取整为2的幂
+     */
+    public FlowLocksMemo(int stripes) {
+        Validation.between(stripes, 1, MAX_STRIPES, "The stripes must be between 1 and {0}.", MAX_STRIPES);
+        int size = tableSize(stripes);
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
 
     @Override
     public Lock getLocalLock(String key) {
-        return locks.compute(key, (__, value) -> {
-            if (value == null) {
-                return new MemLockWrapper(key, new ReentrantLock(), this);
-            }
-            return value;
-        });
+        return this.stripes[stripeIndex(key, this.mask)];
     }
 
     /**
@@ -46,68 +80,88 @@ public class FlowLocksMemo implements FlowLocks {
         return getLocalLock(key);
     }
 
-    private void tryCleanLocalLock(String key) {
-        this.locks.compute(key, (__, value) -> {
-            if (value == null) {
-                return null;
-            }
-            if (value.getRefCount() == 0) {
-                return null;
+    @Override
+    public Optional<FlowLease> tryLease(String key, Duration ttl) {
+        long deadline = System.nanoTime() + ttl.toNanos();
+        MemoLease[] created = new MemoLease[1];
+        this.leases.compute(key, (__, current) -> {
+            if (current != null && current.isValid()) {
+                return current;
             }
-            return value;
+            created[0] = new MemoLease(key, this.fencing.incrementAndGet(), deadline, this);
+            return created[0];
         });
+        return Optional.ofNullable(created[0]);
+    }
+
+    /**
+     * 计算分段表大小
+     *
+     * @param stripes 期望的分段数量
+     * @return 不小于期望数量的2的幂
+     */
+    static int tableSize(int stripes) {
+        return stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
     }
 
-    private static class MemLockWrapper implements Lock {
+    /**
+     * 计算key所在的分段下标
+     *
+     * @param key 锁的key值
+     * @param mask 分段表大小减一
+     * @return 分段下标
+     */
+    static int stripeIndex(String key, int mask) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private static class MemoLease implements FlowLease {
         private final String key;
-        private final AtomicInteger refCount = new AtomicInteger(1);
-        private final ReentrantLock target;
-        private final FlowLocksMemo locksMemo;
+        private final long token;
+        private final FlowLocksMemo owner;
+        private volatile long deadline;
+        private volatile boolean isReleased = false;
 
-        private MemLockWrapper(String key, ReentrantLock target, FlowLocksMemo locksMemo) {
+        private MemoLease(String key, long token, long deadline, FlowLocksMemo owner) {
             this.key = key;
-            this.target = target;
-            this.locksMemo = locksMemo;
-        }
-
-        @Override
-        public void lock() {
-            this.target.lock();
+            this.token = token;
+            this.deadline = deadline;
+            this.owner = owner;
         }
 
         @Override
-        public void lockInterruptibly() throws InterruptedException {
-            this.target.lockInterruptibly();
+        public String key() {
+            return this.key;
         }
 
         @Override
-        public boolean tryLock() {
-            return this.target.tryLock();
+        public long fencingToken() {
+            return this.token;
         }
 
         @Override
-        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
-            return this.target.tryLock(time, unit);
+        public boolean isValid() {
+            return !this.isReleased && System.nanoTime() - this.deadline < 0;
         }
 
         @Override
-        public void unlock() {
-            this.target.unlock();
-            this.refCount.decrementAndGet();
-            this.locksMemo.tryCleanLocalLock(this.key);
+        public boolean renew(Duration ttl) {
+            boolean[] isRenewed = new boolean[1];
+            this.owner.leases.computeIfPresent(this.key, (__, current) -> {
+                if (current == this && this.isValid()) {
+                    this.deadline = System.nanoTime() + ttl.toNanos();
+                    isRenewed[0] = true;
+                }
+                return current;
+            });
+            return isRenewed[0];
         }
 
         @Override
-        public Condition newCondition() {
-            return this.target.newCondition();
-        }
-
-        private void addRef() {
-            this.refCount.incrementAndGet();
-        }
-
-        private int getRefCount() {
-            return this.refCount.get();
+        public void release() {
+            this.isReleased = true;
+            this.owner.leases.remove(this.key, this);
         }
     }
 }
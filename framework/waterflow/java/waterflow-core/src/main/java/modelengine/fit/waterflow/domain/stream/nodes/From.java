@@ -29,6 +29,7 @@ import modelengine.fit.waterflow.domain.stream.reactive.Publisher;
 import modelengine.fit.waterflow.domain.stream.reactive.Subscriber;
 import modelengine.fit.waterflow.domain.stream.reactive.Subscription;
 import modelengine.fit.waterflow.domain.stream.reactive.When;
+import modelengine.fit.waterflow.domain.utils.FlowProfiler;
 import modelengine.fit.waterflow.domain.utils.IdGenerator;
 import modelengine.fit.waterflow.domain.utils.UUIDUtil;
 import modelengine.fit.waterflow.exceptions.WaterflowException;
@@ -256,6 +257,7 @@ public class From<I> extends IdGenerator implements Publisher<I> {
      * @return traceId
      */
     public String offer(I[] data, FlowSession session) {
+        long profileStart = FlowProfiler.global().isOpen() ? System.nanoTime() : 0L;
         FlowTrace trace = new FlowTrace();
         Set<String> traceId = new HashSet<>();
         traceId.add(trace.getId());
@@ -268,10 +270,36 @@ public class From<I> extends IdGenerator implements Publisher<I> {
         }).collect(Collectors.toList());
         List<FlowContext<I>> after = this.startNodeMarkAsHandled(contexts, trace);
         after.forEach(this::generateIndex);
+        long publishStart = this.profileStartNode(profileStart, contexts.size());
         this.offer(after);
+        this.profilePublishing(publishStart);
         return trace.getId();
     }
 
+    /**
+     * 剖析开启时把开始节点标记数据的耗时记为处理耗时
+     *
+     * @param profileStart 开始处理的纳秒时间，剖析关闭时为0
+     * @param size 批大小
+     * @return 开始发布的纳秒时间，剖析关闭时返回0
+     */
+    private long profileStartNode(long profileStart, int size) {
+        if (profileStart == 0L || !FlowProfiler.global().isOpen()) {
+            return 0L;
+        }
+        long now = System.nanoTime();
+        FlowProfiler.NodeProfile profile = FlowProfiler.global().node(this.streamId, this.getId());
+        profile.recordBatch(0L, size);
+        profile.recordProcessing(now - profileStart, false);
+        return now;
+    }
+
+    private void profilePublishing(long publishStart) {
+        if (publishStart != 0L && FlowProfiler.global().isOpen()) {
+            FlowProfiler.global().node(this.streamId, this.getId()).recordPublishing(System.nanoTime() - publishStart);
+        }
+    }
+
     /**
      * 生成一个index
      *
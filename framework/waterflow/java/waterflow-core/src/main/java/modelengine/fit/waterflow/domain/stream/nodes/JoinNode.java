@@ -7,15 +7,20 @@
 package modelengine.fit.waterflow.domain.stream.nodes;
 
 import modelengine.fit.waterflow.domain.context.FlowContext;
+import modelengine.fit.waterflow.domain.context.ParallelGroup;
 import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextMessenger;
 import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextRepo;
 import modelengine.fit.waterflow.domain.context.repo.flowlock.FlowLocks;
+import modelengine.fit.waterflow.domain.enums.FlowNodeStatus;
 import modelengine.fit.waterflow.domain.enums.FlowNodeType;
 import modelengine.fit.waterflow.domain.enums.ParallelMode;
 import modelengine.fit.waterflow.domain.stream.operators.Operators;
+import modelengine.fitframework.util.CollectionUtils;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -57,7 +62,9 @@ public class JoinNode<I, O> extends Node<I, O> {
                     return cs;
                 }
 
-                if (cs.get(0).getParallelMode().equals(ParallelMode.ALL.name()) && cs.size() == froms.size()) {
+                // 按分支计数，同一分支可以送达多条数据
+                long branches = cs.stream().map(FlowContext::getPosition).distinct().count();
+                if (cs.get(0).getParallelMode().equals(ParallelMode.ALL.name()) && branches == froms.size()) {
                     return cs;
                 }
             }
@@ -83,6 +90,50 @@ public class JoinNode<I, O> extends Node<I, O> {
         this.nodeType = nodeType;
     }
 
+    /**
+     * 快速通道下用fork时创建的汇聚状态代替轮询：all模式在每个分支都送达后处理整组数据，同一分支可以送达多条数据；
+     * either模式只处理第一个送达的分支，之后送达的分支直接归档
+     *
+     * @param contexts 送达本节点的contexts
+     */
+    @Override
+    protected void processParallel(List<FlowContext<I>> contexts) {
+        Map<String, List<FlowContext<I>>> groups = contexts.stream()
+                .collect(Collectors.groupingBy(FlowContext::getParallel, LinkedHashMap::new, Collectors.toList()));
+        groups.values().forEach(this::arrive);
+    }
+
+    private void arrive(List<FlowContext<I>> contexts) {
+        FlowContext<I> first = contexts.get(0);
+        ParallelGroup group = first.getParallelGroup();
+        if (CollectionUtils.isEmpty(this.filterTerminate(contexts))) {
+            group.close();
+            return;
+        }
+        if (ParallelMode.EITHER.name().equals(first.getParallelMode())) {
+            if (group.win()) {
+                this.processParallelReady(contexts);
+            } else {
+                this.archive(contexts);
+            }
+            return;
+        }
+        if (group.isClosed()) {
+            this.archive(contexts);
+            return;
+        }
+        List<FlowContext<I>> all = group.arrive(first.getPosition(), contexts, this.froms.size());
+        if (CollectionUtils.isNotEmpty(all)) {
+            this.processParallelReady(all);
+        }
+    }
+
+    private void archive(List<FlowContext<I>> contexts) {
+        contexts.forEach(context -> context.setStatus(FlowNodeStatus.ARCHIVED));
+        this.getFlowContextRepo()
+                .updateStatus(contexts, FlowNodeStatus.ARCHIVED.toString(), contexts.get(0).getPosition());
+    }
+
     /**
      * join节点做事后处理，从join节点出去后，context就只有一个了
      * join之后的上下文要立刻保存为archived状态，然后在生成一个新的为后续使用
@@ -93,7 +144,7 @@ public class JoinNode<I, O> extends Node<I, O> {
     @Override
     public void afterProcess(List<FlowContext<I>> preList, List<FlowContext<O>> afterList) {
         preList.forEach(c -> c.join(true));
-        afterList.forEach(c -> c.setParallel("").setParallelMode(""));
+        afterList.forEach(c -> c.setParallel("").setParallelMode("").setParallelGroup(null));
         super.afterProcess(preList, afterList);
     }
 }
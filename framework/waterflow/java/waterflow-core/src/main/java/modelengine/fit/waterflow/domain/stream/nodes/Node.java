@@ -20,6 +20,7 @@ import modelengine.fit.waterflow.domain.stream.reactive.Processor;
 import modelengine.fit.waterflow.domain.stream.reactive.Publisher;
 import modelengine.fit.waterflow.domain.stream.reactive.Subscriber;
 import modelengine.fit.waterflow.domain.stream.reactive.Subscription;
+import modelengine.fit.waterflow.domain.utils.FlowProfiler;
 import modelengine.fit.waterflow.domain.utils.Identity;
 import modelengine.fitframework.inspection.Validation;
 
@@ -218,7 +219,13 @@ public class Node<T, R> extends To<T, R> implements Processor<T, R>, Identity {
      */
     @Override
     public void onNext(String batchId) {
+        long profileStart = FlowProfiler.global().isOpen() ? System.nanoTime() : 0L;
         this.publisher.offer(this.nextContexts(batchId));
+        if (profileStart != 0L && FlowProfiler.global().isOpen()) {
+            FlowProfiler.global()
+                    .node(this.getStreamId(), this.getId())
+                    .recordPublishing(System.nanoTime() - profileStart);
+        }
     }
 
     /**
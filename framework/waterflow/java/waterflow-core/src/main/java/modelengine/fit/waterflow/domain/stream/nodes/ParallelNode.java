@@ -7,6 +7,8 @@
 package modelengine.fit.waterflow.domain.stream.nodes;
 
 import modelengine.fit.waterflow.domain.context.FlowContext;
+import modelengine.fit.waterflow.domain.context.ParallelGroup;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextMemoRepo;
 import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextMessenger;
 import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextRepo;
 import modelengine.fit.waterflow.domain.context.repo.flowlock.FlowLocks;
@@ -79,7 +81,11 @@ public class ParallelNode<I> extends Node<I, I> {
         return new From<I>(streamId, repo, messenger, locks) {
             @Override
             public void offer(List<FlowContext<I>> contexts) {
-                contexts.forEach(c -> c.setParallel(c.getId()).setParallelMode(mode.name()));
+                // 内存repo下在fork时确定整组数据走快速通道，各分支共享同一个汇聚状态
+                boolean isFastPath = repo instanceof FlowContextMemoRepo;
+                contexts.forEach(c -> c.setParallel(c.getId())
+                        .setParallelMode(mode.name())
+                        .setParallelGroup(isFastPath ? new ParallelGroup() : null));
                 super.offer(contexts);
             }
         };
@@ -9,6 +9,7 @@ package modelengine.fit.waterflow.domain.stream.nodes;
 import modelengine.fit.waterflow.domain.context.FlowContext;
 import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextRepo;
 import modelengine.fit.waterflow.domain.stream.reactive.Subscriber;
+import modelengine.fit.waterflow.domain.utils.FlowProfiler;
 
 import java.util.List;
 
@@ -51,6 +52,9 @@ public class Retryable<I> {
      * @param contexts 需要错误处理的context列表
      */
     public void retry(List<FlowContext<I>> contexts) {
+        if (FlowProfiler.global().isOpen()) {
+            FlowProfiler.global().node(this.to.getStreamId(), this.to.getId()).recordRetry();
+        }
         this.process(contexts);
         to.onProcess(null, contexts, false);
     }
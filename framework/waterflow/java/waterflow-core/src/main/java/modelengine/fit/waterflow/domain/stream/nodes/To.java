@@ -30,6 +30,7 @@ import modelengine.fit.waterflow.domain.stream.reactive.Callback;
 import modelengine.fit.waterflow.domain.stream.reactive.Subscriber;
 import modelengine.fit.waterflow.domain.stream.reactive.Subscription;
 import modelengine.fit.waterflow.domain.utils.FlowExecutors;
+import modelengine.fit.waterflow.domain.utils.FlowProfiler;
 import modelengine.fit.waterflow.domain.utils.IdGenerator;
 import modelengine.fit.waterflow.domain.utils.Identity;
 import modelengine.fit.waterflow.domain.utils.SleepUtil;
@@ -42,6 +43,8 @@ import modelengine.fitframework.util.CollectionUtils;
 import modelengine.fitframework.util.ObjectUtils;
 import modelengine.fitframework.util.StringUtils;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -49,8 +52,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -167,6 +172,11 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
      */
     private volatile int curConcurrency = 0;
 
+    /**
+     * 快速通道下因满负载暂存的批次，节点处理完一批数据后依次处理
+     */
+    private final Queue<List<FlowContext<I>>> deferredParallel = new ConcurrentLinkedQueue<>();
+
     /**
      * 当前节点预处理是否在运行中
      */
@@ -285,12 +295,108 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
             return;
         }
         if (type == ProcessType.PROCESS && inParallelMode(contexts)) {
+            if (this.isParallelFastPath(contexts)) {
+                this.processParallel(contexts);
+                return;
+            }
             this.process(type);
             return;
         }
         this.triggerNodeProcessor(type);
     }
 
+    /**
+     * 平行分支上的数据是否可以走内存快速通道
+     * 内存repo下fork时会给每组数据创建汇聚状态，送达节点的context就是全部待处理的数据，不需要再轮询repo查找
+     * 是否走快速通道只取决于fork时的决定和节点配置，不随节点负载变化，同一组数据不会一部分走快速通道、一部分走轮询
+     *
+     * @param contexts 送达本节点的contexts
+     * @return 是否走快速通道
+     */
+    protected boolean isParallelFastPath(List<FlowContext<I>> contexts) {
+        return this.isAuto && contexts.get(0).getParallelGroup() != null;
+    }
+
+    /**
+     * 快速通道下处理送达本节点的平行分支数据，默认送达即处理
+     *
+     * @param contexts 送达本节点的contexts
+     */
+    protected void processParallel(List<FlowContext<I>> contexts) {
+        this.processParallelReady(contexts);
+    }
+
+    /**
+     * 快速通道下处理给定的contexts，与轮询处理时的状态流转和加锁保持一致
+     * 与轮询处理一样提交到线程池执行，平行分支之间并发处理；线程池已满时在当前线程处理
+     * 节点满负载时暂存，等节点处理完一批数据后再处理，不切换到轮询
+     *
+     * @param contexts 待处理的contexts
+     */
+    protected synchronized void processParallelReady(List<FlowContext<I>> contexts) {
+        List<FlowContext<I>> batch;
+        Lock lock = this.locks.getDistributeLock(this.locks.lockKey(this.streamId, this.id, "RequestReady"));
+        lock.lock();
+        try {
+            batch = this.readyParallel(contexts);
+        } finally {
+            lock.unlock();
+        }
+        if (CollectionUtils.isEmpty(batch)) {
+            return;
+        }
+        Optional<FlowExecutors.ConcurrencyHolder> concurrencyHolder = FlowExecutors.incrementConcurrency();
+        if (!concurrencyHolder.isPresent()) {
+            this.onProcess(ProcessType.PROCESS, batch, false);
+            return;
+        }
+        try {
+            FlowExecutors.getThreadPool().execute(Task.builder().runnable(() -> {
+                try {
+                    this.onProcess(ProcessType.PROCESS, batch, false);
+                } finally {
+                    concurrencyHolder.get().release();
+                }
+            }).buildDisposable());
+        } catch (RuntimeException ex) {
+            concurrencyHolder.get().release();
+            LOG.warn("Failed to submit parallel batch, process it in current thread. [streamId={}, nodeId={}]",
+                    this.streamId, this.id);
+            this.onProcess(ProcessType.PROCESS, batch, false);
+        }
+    }
+
+    private List<FlowContext<I>> readyParallel(List<FlowContext<I>> contexts) {
+        List<FlowContext<I>> ready = this.filterTerminate(contexts);
+        if (CollectionUtils.isEmpty(ready)) {
+            return Collections.emptyList();
+        }
+        if (this.isOverLimit()) {
+            this.deferredParallel.add(ready);
+            return Collections.emptyList();
+        }
+        this.introduceToProcess(ready);
+        List<FlowContext<I>> batch = ready.stream()
+                .filter(context -> context.getStatus() == FlowNodeStatus.READY)
+                .collect(Collectors.toList());
+        if (CollectionUtils.isEmpty(batch)) {
+            return Collections.emptyList();
+        }
+        this.flowContextRepo.updateStatus(batch, batch.get(0).getStatus().toString(), batch.get(0).getPosition());
+        this.updateConcurrency(1);
+        return batch;
+    }
+
+    /**
+     * 节点处理完一批数据后，继续处理快速通道下因满负载暂存的一批数据
+     */
+    private synchronized void drainParallel() {
+        List<FlowContext<I>> deferred = this.deferredParallel.poll();
+        if (deferred != null) {
+            this.processParallelReady(deferred);
+        }
+    }
+
     @Override
     public void process(ProcessType type, List<FlowContext<I>> contexts) {
         Validation.isTrue(ProcessType.PROCESS.equals(type),
@@ -299,6 +405,8 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
     }
 
     private void directProcess(List<FlowContext<I>> preList) {
+        long profileStart = 0L;
+        boolean isFailed = false;
         try {
             if (CollectionUtils.isEmpty(preList)) {
                 return;
@@ -307,6 +415,7 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
                 this.afterProcess(preList, new ArrayList<>());
                 return;
             }
+            profileStart = this.startProfiling(preList);
             List<FlowContext<O>> afterList = this.getProcessMode().process(this, preList);
             this.afterProcess(preList, afterList);
             if (CollectionUtils.isNotEmpty(afterList)) {
@@ -319,7 +428,10 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
                     this.streamId, this.id, preList.get(0).getPosition(), preList.get(0).getTraceId(),
                     ex.getClass().getName());
             LOG.debug("Node process exception details: ", ex);
+            isFailed = true;
             this.fail(ex, preList);
+        } finally {
+            this.finishProfiling(profileStart, isFailed);
         }
     }
 
@@ -527,6 +639,8 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
 
     @Override
     public void onProcess(ProcessType type, List<FlowContext<I>> preList, boolean isInThread) {
+        long profileStart = 0L;
+        boolean isFailed = false;
         try {
             if (CollectionUtils.isEmpty(preList)) {
                 return;
@@ -535,6 +649,7 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
                 this.afterProcess(preList, new ArrayList<>());
                 return;
             }
+            profileStart = this.startProfiling(preList);
             List<FlowContext<O>> afterList = this.getProcessMode().process(this, preList);
             preList.forEach(context -> {
                 context.getWindow()
@@ -564,9 +679,12 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
                     ex.getClass().getName());
             LOG.debug("Error, message: {}.", ex.getMessage());
             LOG.debug("Node process exception details: ", ex);
+            isFailed = true;
             this.fail(ex, preList);
         } finally {
+            this.finishProfiling(profileStart, isFailed);
             updateConcurrency(-1);
+            this.drainParallel();
             if (isInThread) {
                 this.triggerNodeProcessor(type);
             }
@@ -591,7 +709,13 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
         return "ProcessingSession" + ctx.getSession().getId();
     }
 
-    private List<FlowContext<I>> filterTerminate(List<FlowContext<I>> contexts) {
+    /**
+     * 过滤掉所属trace已经终止的contexts，并把这些trace更新为终止
+     *
+     * @param contexts 待过滤的contexts
+     * @return 未终止的contexts，trace已经终止时返回空列表
+     */
+    protected List<FlowContext<I>> filterTerminate(List<FlowContext<I>> contexts) {
         if (CollectionUtils.isEmpty(contexts)) {
             return Collections.emptyList();
         }
@@ -632,6 +756,43 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
 
     private synchronized void updateConcurrency(int newConcurrency) {
         this.curConcurrency += newConcurrency;
+        if (newConcurrency > 0 && FlowProfiler.global().isOpen()) {
+            FlowProfiler.global().node(this.streamId, this.id).recordConcurrency(this.curConcurrency);
+        }
+    }
+
+    /**
+     * 剖析开启时记录一批数据的排队等待时间和批大小
+     *
+     * @param preList 待处理的context集合
+     * @return 开始处理的纳秒时间，剖析关闭时返回0
+     */
+    private long startProfiling(List<FlowContext<I>> preList) {
+        if (!FlowProfiler.global().isOpen()) {
+            return 0L;
+        }
+        LocalDateTime createAt = preList.get(0).getCreateAt();
+        long wait = createAt == null ? 0L : Duration.between(createAt, LocalDateTime.now()).toNanos();
+        FlowProfiler.global().node(this.streamId, this.id).recordBatch(wait, preList.size());
+        return System.nanoTime();
+    }
+
+    private void finishProfiling(long profileStart, boolean isFailed) {
+        if (profileStart == 0L || !FlowProfiler.global().isOpen()) {
+            return;
+        }
+        FlowProfiler.global()
+                .node(this.streamId, this.id)
+                .recordProcessing(System.nanoTime() - profileStart, isFailed);
+    }
+
+    /**
+     * 剖析开启时记录一次因达到并发上限而等待
+     */
+    void recordSaturation() {
+        if (FlowProfiler.global().isOpen()) {
+            FlowProfiler.global().node(this.streamId, this.id).recordSaturation();
+        }
     }
 
     /**
@@ -770,6 +931,15 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
         this.listeners.values().forEach(listener -> listener.handle(data, session));
     }
 
+    /**
+     * 获取节点同时处理数据的最大并发数量。
+     *
+     * @return 表示最大并发数量的 {@code int}。
+     */
+    public int getMaxConcurrency() {
+        return this.maxConcurrency;
+    }
+
     /**
      * Sets the maximum concurrency level for this state's processing pipeline.
      *
@@ -887,6 +1057,7 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
         public <T1, R1> void request(ProcessType type, To<T1, R1> to) {
             while (true) {
                 if (to.isOverLimit()) {
+                    to.recordSaturation();
                     SleepUtil.sleep(SLEEP_MILLS);
                     continue;
                 }
@@ -0,0 +1,335 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.utils;
+
+import modelengine.fit.waterflow.domain.common.Constants;
+import modelengine.fit.waterflow.domain.flow.Flow;
+import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.runtime.RuntimeMetrics;
+import modelengine.fitframework.util.StringUtils;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 流程执行剖析工具
+ * 按节点记录排队等待时间、处理时间、发布时间、批大小、重试次数和并发饱和情况，关闭时所有记录入口只做一次volatile读
+ * 记录的节点数量有上限，超出时淘汰最久没有记录的节点，流程不再使用时也可以按流程清除
+ * 作为 {@link RuntimeMetrics} 注册为Bean后可以通过fit-actuator的/actuator/metrics导出，也可以渲染为热力图形式的Mermaid
+ *
+ * @author xiafei
+ * @since 2026-10-19
+ */
+public class FlowProfiler implements RuntimeMetrics {
+    /**
+     * 默认最多记录的节点数量
+     */
+    public static final int DEFAULT_MAX_NODES = 4096;
+
+    private static final FlowProfiler GLOBAL = new FlowProfiler();
+
+    private final Map<String, NodeProfile> nodes = new ConcurrentHashMap<>();
+
+    private volatile boolean isOpen = false;
+
+    private volatile int maxNodes = DEFAULT_MAX_NODES;
+
+    /**
+     * 获取全局的流程剖析工具，流程节点的记录都写入该实例
+     *
+     * @return 全局实例
+     */
+    public static FlowProfiler global() {
+        return GLOBAL;
+    }
+
+    /**
+     * 开启记录
+     */
+    public void open() {
+        this.isOpen = true;
+    }
+
+    /**
+     * 关闭记录，已有的记录保留
+     */
+    public void close() {
+        this.isOpen = false;
+    }
+
+    /**
+     * 是否正在记录
+     *
+     * @return 是否开启
+     */
+    public boolean isOpen() {
+        return this.isOpen;
+    }
+
+    /**
+     * 清空所有节点的记录
+     */
+    public void reset() {
+        this.nodes.clear();
+    }
+
+    /**
+     * 清除一个流程所有节点的记录
+     *
+     * @param streamId 流程ID
+     */
+    public void evict(String streamId) {
+        this.nodes.values().removeIf(profile -> profile.streamId.equals(streamId));
+    }
+
+    /**
+     * 设置最多记录的节点数量，超出时淘汰最久没有记录的节点
+     *
+     * @param maxNodes 最多记录的节点数量
+     */
+    public void setMaxNodes(int maxNodes) {
+        this.maxNodes = Validation.greaterThan(maxNodes, 0, "The max nodes must be positive.");
+        this.evictIfFull();
+    }
+
+    /**
+     * 获取节点的记录，不存在时创建
+     *
+     * @param streamId 流程ID
+     * @param nodeId 节点ID
+     * @return 节点记录
+     */
+    public NodeProfile node(String streamId, String nodeId) {
+        String key = key(streamId, nodeId);
+        NodeProfile profile = this.nodes.get(key);
+        if (profile == null) {
+            profile = this.nodes.computeIfAbsent(key, __ -> new NodeProfile(streamId, nodeId));
+            this.evictIfFull();
+        }
+        profile.lastRecorded = System.nanoTime();
+        return profile;
+    }
+
+    /**
+     * 查找节点的记录
+     *
+     * @param streamId 流程ID
+     * @param nodeId 节点ID
+     * @return 节点记录，没有记录过时为空
+     */
+    public Optional<NodeProfile> find(String streamId, String nodeId) {
+        return Optional.ofNullable(this.nodes.get(key(streamId, nodeId)));
+    }
+
+    /**
+     * 渲染带有处理耗时热力着色的Mermaid
+     *
+     * @param flow 流程
+     * @return Mermaid文本
+     */
+    public String mermaid(Flow<?> flow) {
+        return new Mermaid(flow, this).get();
+    }
+
+    @Override
+    public String name() {
+        return "waterflow";
+    }
+
+    @Override
+    public Map<String, Object> collect() {
+        Map<String, Object> snapshot = new TreeMap<>();
+        this.nodes.forEach((key, profile) -> snapshot.put(key, profile.snapshot()));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    private void evictIfFull() {
+        while (this.nodes.size() > this.maxNodes) {
+            this.nodes.entrySet()
+                    .stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().lastRecorded))
+                    .ifPresent(eldest -> this.nodes.remove(eldest.getKey(), eldest.getValue()));
+        }
+    }
+
+    private static String key(String streamId, String nodeId) {
+        return StringUtils.join(Constants.STREAM_ID_SEPARATOR, streamId, nodeId);
+    }
+
+    /**
+     * 单个节点的剖析记录，时间单位为纳秒
+     */
+    public static class NodeProfile {
+        private final String streamId;
+
+        private final String nodeId;
+
+        private final FlowHistogram queueWait = new FlowHistogram();
+
+        private final FlowHistogram processing = new FlowHistogram();
+
+        private final FlowHistogram publishing = new FlowHistogram();
+
+        private final FlowHistogram batchSize = new FlowHistogram();
+
+        private final FlowHistogram concurrency = new FlowHistogram();
+
+        private final LongAdder retries = new LongAdder();
+
+        private final LongAdder failures = new LongAdder();
+
+        private final LongAdder saturations = new LongAdder();
+
+        private final AtomicInteger peakConcurrency = new AtomicInteger(0);
+
+        private volatile long lastRecorded = System.nanoTime();
+
+        NodeProfile(String streamId, String nodeId) {
+            this.streamId = streamId;
+            this.nodeId = nodeId;
+        }
+
+        /**
+         * 记录一批数据开始处理
+         *
+         * @param waitNanos 数据在边上排队等待的时间
+         * @param size 批大小
+         */
+        public void recordBatch(long waitNanos, int size) {
+            this.queueWait.record(waitNanos);
+            this.batchSize.record(size);
+        }
+
+        /**
+         * 记录一批数据的处理耗时
+         *
+         * @param nanos 处理耗时
+         * @param isFailed 是否处理失败
+         */
+        public void recordProcessing(long nanos, boolean isFailed) {
+            this.processing.record(nanos);
+            if (isFailed) {
+                this.failures.increment();
+            }
+        }
+
+        /**
+         * 记录一次把处理结果发布给下游的耗时，同步投递时包含下游节点的处理
+         *
+         * @param nanos 发布耗时
+         */
+        public void recordPublishing(long nanos) {
+            this.publishing.record(nanos);
+        }
+
+        /**
+         * 记录节点当前并发数
+         *
+         * @param current 当前并发数
+         */
+        public void recordConcurrency(int current) {
+            this.concurrency.record(current);
+            this.peakConcurrency.accumulateAndGet(current, Math::max);
+        }
+
+        /**
+         * 记录一次重试
+         */
+        public void recordRetry() {
+            this.retries.increment();
+        }
+
+        /**
+         * 记录一次因达到并发上限而等待
+         */
+        public void recordSaturation() {
+            this.saturations.increment();
+        }
+
+        /**
+         * 获取处理耗时直方图
+         *
+         * @return 处理耗时
+         */
+        public FlowHistogram processing() {
+            return this.processing;
+        }
+
+        /**
+         * 获取发布耗时直方图
+         *
+         * @return 发布耗时
+         */
+        public FlowHistogram publishing() {
+            return this.publishing;
+        }
+
+        /**
+         * 获取排队等待时间直方图
+         *
+         * @return 排队等待时间
+         */
+        public FlowHistogram queueWait() {
+            return this.queueWait;
+        }
+
+        /**
+         * 获取批大小直方图
+         *
+         * @return 批大小
+         */
+        public FlowHistogram batchSize() {
+            return this.batchSize;
+        }
+
+        /**
+         * 获取重试次数
+         *
+         * @return 重试次数
+         */
+        public long retries() {
+            return this.retries.sum();
+        }
+
+        /**
+         * 获取并发饱和次数
+         *
+         * @return 饱和次数
+         */
+        public long saturations() {
+            return this.saturations.sum();
+        }
+
+        /**
+         * 导出节点记录
+         *
+         * @return 节点记录快照
+         */
+        public Map<String, Object> snapshot() {
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("streamId", this.streamId);
+            snapshot.put("nodeId", this.nodeId);
+            snapshot.put("queueWaitNanos", this.queueWait.snapshot());
+            snapshot.put("processingNanos", this.processing.snapshot());
+            snapshot.put("publishingNanos", this.publishing.snapshot());
+            snapshot.put("batchSize", this.batchSize.snapshot());
+            snapshot.put("concurrency", this.concurrency.snapshot());
+            snapshot.put("peakConcurrency", this.peakConcurrency.get());
+            snapshot.put("retries", this.retries.sum());
+            snapshot.put("failures", this.failures.sum());
+            snapshot.put("saturations", this.saturations.sum());
+            return snapshot;
+        }
+    }
+}
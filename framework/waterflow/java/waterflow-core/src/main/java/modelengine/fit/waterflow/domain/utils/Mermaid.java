@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -46,8 +47,14 @@ public class Mermaid {
 
     private static final String END_NODE = "end";
 
+    private static final int[] COOL_COLOR = {0xe8, 0xf5, 0xe9};
+
+    private static final int[] HOT_COLOR = {0xef, 0x53, 0x50};
+
     private final String meta;
 
+    private String heat = StringUtils.EMPTY;
+
     private final List<String> subscriptions = new ArrayList<>();
 
     private final HashMap<Object, String> named = new HashMap<>();
@@ -70,13 +77,54 @@ public class Mermaid {
                 .collect(Collectors.joining(LINE_BREAK));
     }
 
+    /**
+     * 使用流程对象和剖析记录初始化 {@link Mermaid}，节点按平均处理耗时着色，耗时越长颜色越红。
+     *
+     * @param flow 表示流程对象的 {@link Flow}{@code <?>}。
+     * @param profiler 表示流程剖析记录的 {@link FlowProfiler}。
+     */
+    public Mermaid(Flow<?> flow, FlowProfiler profiler) {
+        this(flow);
+        Map<String, FlowProfiler.NodeProfile> profiles = new HashMap<>();
+        this.named.forEach((node, name) -> {
+            if (node instanceof Processor) {
+                Processor<?, ?> processor = ObjectUtils.cast(node);
+                profiler.find(processor.getStreamId(), processor.getId())
+                        .filter(profile -> profile.processing().count() > 0)
+                        .ifPresent(profile -> profiles.put(name, profile));
+            }
+        });
+        double hottest = profiles.values().stream().mapToDouble(p -> p.processing().mean()).max().orElse(0);
+        this.heat = profiles.entrySet()
+                .stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> heatStyle(entry.getKey(), entry.getValue(), hottest))
+                .collect(Collectors.joining());
+    }
+
     /**
      * 获取元数据。
      *
      * @return 元数据 {@link String}。
      */
     public String get() {
-        return meta;
+        return meta + heat;
+    }
+
+    private static String heatStyle(String name, FlowProfiler.NodeProfile profile, double hottest) {
+        double ratio = hottest <= 0 ? 0 : profile.processing().mean() / hottest;
+        StringBuilder color = new StringBuilder("#");
+        for (int i = 0; i < COOL_COLOR.length; i++) {
+            int channel = (int) Math.round(COOL_COLOR[i] + (HOT_COLOR[i] - COOL_COLOR[i]) * ratio);
+            color.append(String.format("%02x", channel));
+        }
+        return StringUtils.format("{0}%% {1} p50={2}ms p99={3}ms n={4}{0}style {1} fill:{5}",
+                LINE_BREAK,
+                name,
+                String.format("%.3f", profile.processing().percentile(0.5) / 1_000_000.0),
+                String.format("%.3f", profile.processing().percentile(0.99) / 1_000_000.0),
+                profile.processing().count(),
+                color);
     }
 
     private void buildMermaid(Flow<?> flow, Publisher<?> from) {
@@ -0,0 +1,170 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.context;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import modelengine.fit.waterflow.FlowsTestUtil;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextMemoMessenger;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextMemoRepo;
+import modelengine.fit.waterflow.domain.context.repo.flowlock.FlowLocksMemo;
+import modelengine.fit.waterflow.domain.flow.Flows;
+import modelengine.fit.waterflow.domain.flow.ProcessFlow;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@link Window} 的测试。
+ *
+ * @author 宋永坦
+ * @since 2026-10-19
+ */
+class WindowTest {
+    private static final int PRODUCERS = 16;
+
+    private static final int TOKENS_PER_PRODUCER = 5000;
+
+    @Test
+    @DisplayName("token按创建顺序被领取，全部消费后窗口结束")
+    void shouldBeDoneWhenAllTokensConsumedGivenCompletedWindow() {
+        Window window = new Window();
+        WindowToken first = window.createToken();
+        WindowToken second = window.createToken();
+        window.complete();
+
+        assertFalse(window.isDone());
+        assertFalse(window.isOngoing());
+        assertEquals(first, window.peekAndConsume());
+        assertFalse(window.isOngoing());
+        assertEquals(second, window.peekAndConsume());
+        assertNull(window.peekAndConsume());
+        first.finishConsume();
+        assertTrue(window.isOngoing());
+        second.finishConsume();
+        assertTrue(window.isDone());
+        assertEquals(2, window.tokenCount());
+    }
+
+    @Test
+    @DisplayName("已被直接消费的token不会再被领取")
+    void shouldSkipTokenWhenPeekGivenTokenConsumedDirectly() {
+        Window window = new Window();
+        WindowToken direct = window.createToken();
+        WindowToken idle = window.createToken();
+        direct.beginConsume();
+        direct.finishConsume();
+
+        assertEquals(idle, window.peekAndConsume());
+        assertNull(window.peekAndConsume());
+    }
+
+    @Test
+    @DisplayName("聚合后不再统计已聚合的token")
+    void shouldResetCountWhenAcceptGivenConsumedTokens() {
+        AtomicReference<Long> counted = new AtomicReference<>();
+        Window window = new Window(arg -> {
+            counted.set(arg.countToNow());
+            return arg.countToNow() >= 2;
+        });
+        window.createToken();
+        window.createToken();
+        window.peekAndConsume().finishConsume();
+        assertFalse(window.accept());
+        window.peekAndConsume().finishConsume();
+        assertTrue(window.accept());
+        assertEquals(2L, counted.get());
+        assertFalse(window.accept());
+        assertEquals(0L, counted.get());
+    }
+
+    @Test
+    @DisplayName("多个生产者并发向同一窗口生产并消费token时，计数准确且完成监听只执行一次")
+    void shouldFireDoneOnceWhenConcurrentProducersGivenSingleWindow() throws Exception {
+        Window window = new Window();
+        AtomicInteger doneCount = new AtomicInteger();
+        window.onDone("listener", doneCount::incrementAndGet);
+        ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < PRODUCERS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < TOKENS_PER_PRODUCER; j++) {
+                    window.createToken();
+                    WindowToken token = window.peekAndConsume();
+                    token.finishConsume();
+                    token.accepted();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        window.complete();
+
+        int total = PRODUCERS * TOKENS_PER_PRODUCER;
+        assertEquals(total, window.tokenCount());
+        assertTrue(window.isDone());
+        assertEquals(1, doneCount.get());
+        AtomicInteger lateCount = new AtomicInteger();
+        window.onDone("late", lateCount::incrementAndGet);
+        assertEquals(1, lateCount.get());
+    }
+
+    @Test
+    @DisplayName("多个生产者并发向同一会话投递数据时，会话完成后所有数据均被处理")
+    void shouldCompleteSessionWhenConcurrentOffersGivenSingleSession() throws Exception {
+        int producers = 4;
+        int perProducer = 50;
+        AtomicInteger received = new AtomicInteger();
+        AtomicReference<String> completed = new AtomicReference<>();
+        ProcessFlow<Integer> flow = Flows.<Integer>create(new FlowContextMemoRepo(),
+                        new FlowContextMemoMessenger(),
+                        new FlowLocksMemo())
+                .map(i -> i + 1)
+                .map(i -> i * 2)
+                .close(r -> received.addAndGet(r.getAll().size()))
+                .onComplete(completed::set);
+        FlowSession session = new FlowSession();
+        Window window = session.begin();
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < producers; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < perProducer; j++) {
+                    flow.offer(j, session);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        window.complete();
+
+        FlowsTestUtil.waitUntil(() -> completed.get() != null, 20000);
+        assertEquals(session.getId(), completed.get());
+        assertEquals(producers * perProducer, received.get());
+    }
+}
@@ -0,0 +1,189 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.context.repo.flowlock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * {@link FlowLocks} 实现的测试。
+ *
+ * @author 高诗意
+ * @since 2026-10-19
+ */
+class FlowLocksTest {
+    @Nested
+    @DisplayName("内存流程锁")
+    class Memo {
+        private final FlowLocksMemo locks = new FlowLocksMemo(16);
+
+        @Test
+        @DisplayName("同一个key每次获取的是同一把锁，且不产生新对象")
+        void shouldReturnSameLockWhenGetGivenSameKey() {
+            assertSame(this.locks.getLocalLock("key"), this.locks.getLocalLock("key"));
+            assertSame(this.locks.getLocalLock("key"), this.locks.getDistributeLock("key"));
+        }
+
+        @Test
+        @DisplayName("锁被其他线程持有时tryLock立即失败")
+        void shouldFailTryLockWhenHeldByOtherThread() throws Exception {
+            Lock lock = this.locks.getLocalLock("key");
+            lock.lock();
+            try {
+                assertFalse(CompletableFuture.supplyAsync(() -> this.locks.getLocalLock("key").tryLock())
+                        .get(5, TimeUnit.SECONDS));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Test
+        @DisplayName("租约到期或释放后可以重新获取，且fencing token递增")
+        void shouldIncreaseFencingTokenWhenLeaseReacquired() throws InterruptedException {
+            FlowLease first = this.locks.tryLease("key", Duration.ofMillis(50)).orElseThrow(IllegalStateException::new);
+            assertFalse(this.locks.tryLease("key", Duration.ofSeconds(1)).isPresent());
+            TimeUnit.MILLISECONDS.sleep(80);
+            assertFalse(first.isValid());
+            assertFalse(first.renew(Duration.ofSeconds(1)));
+
+            FlowLease second = this.locks.tryLease("key", Duration.ofSeconds(1)).orElseThrow(IllegalStateException::new);
+            assertTrue(second.fencingToken() > first.fencingToken());
+            assertTrue(second.renew(Duration.ofSeconds(1)));
+            second.release();
+            Optional<FlowLease> third = this.locks.tryLease("key", Duration.ofSeconds(1));
+            assertTrue(third.isPresent());
+            assertTrue(third.get().fencingToken() > second.fencingToken());
+        }
+    }
+
+    @Nested
+    @DisplayName("文件流程锁")
+    class File {
+        @TempDir
+        Path directory;
+
+        private FlowLocksFile locks;
+
+        private FlowLocksFile another;
+
+        @BeforeEach
+        void setUp() {
+            this.locks = new FlowLocksFile(this.directory, 4);
+            this.another = new FlowLocksFile(this.directory.resolve("other"), 4);
+        }
+
+        @AfterEach
+        void tearDown() {
+            this.locks.close();
+            this.another.close();
+        }
+
+        @Test
+        @DisplayName("分布式锁可重入，被其他线程持有时tryLock失败")
+        void shouldBeReentrantWhenLockGivenSameThread() throws Exception {
+            Lock lock = this.locks.getDistributeLock("key");
+            lock.lock();
+            try {
+                assertTrue(lock.tryLock());
+                lock.unlock();
+                assertFalse(CompletableFuture.supplyAsync(() -> this.locks.getDistributeLock("key").tryLock())
+                        .get(5, TimeUnit.SECONDS));
+            } finally {
+                lock.unlock();
+            }
+            assertTrue(CompletableFuture.supplyAsync(() -> {
+                Lock other = this.locks.getDistributeLock("key");
+                boolean isLocked = other.tryLock();
+                other.unlock();
+                return isLocked;
+            }).get(5, TimeUnit.SECONDS));
+        }
+
+        @Test
+        @DisplayName("同一分段上的不同key互不影响，不同实例之间相同key互斥")
+        void shouldLockKeysIndependentlyWhenGivenSameStripe() throws Exception {
+            FlowLocksFile single = new FlowLocksFile(this.directory.resolve("single"), 1);
+            FlowLocksFile twin = new FlowLocksFile(this.directory.resolve("single"), 1);
+            Lock lock = single.getDistributeLock("a");
+            lock.lock();
+            try {
+                assertTrue(CompletableFuture.supplyAsync(() -> {
+                    Lock other = single.getDistributeLock("b");
+                    boolean isLocked = other.tryLock();
+                    if (isLocked) {
+                        other.unlock();
+                    }
+                    return isLocked;
+                }).get(5, TimeUnit.SECONDS));
+                assertFalse(CompletableFuture.supplyAsync(() -> twin.getDistributeLock("a").tryLock())
+                        .get(5, TimeUnit.SECONDS));
+                Lock nested = single.getDistributeLock("b");
+                assertTrue(nested.tryLock(1, TimeUnit.SECONDS));
+                nested.unlock();
+            } finally {
+                lock.unlock();
+                single.close();
+                twin.close();
+            }
+        }
+
+        @Test
+        @DisplayName("同一分段上的不同key各自持有租约")
+        void shouldLeaseKeysIndependentlyWhenGivenSameStripe() {
+            FlowLocksFile single = new FlowLocksFile(this.directory.resolve("single"), 1);
+            try {
+                FlowLease first = single.tryLease("a", Duration.ofSeconds(10)).orElseThrow(IllegalStateException::new);
+                FlowLease second = single.tryLease("b", Duration.ofSeconds(10)).orElseThrow(IllegalStateException::new);
+                assertTrue(second.fencingToken() > first.fencingToken());
+                assertFalse(single.tryLease("a", Duration.ofSeconds(10)).isPresent());
+                assertTrue(first.renew(Duration.ofSeconds(10)));
+                first.release();
+                assertTrue(second.renew(Duration.ofSeconds(10)));
+                assertTrue(single.tryLease("a", Duration.ofSeconds(10)).isPresent());
+                assertFalse(single.tryLease("b", Duration.ofSeconds(10)).isPresent());
+            } finally {
+                single.close();
+            }
+        }
+
+        @Test
+        @DisplayName("租约记录持久化在文件中，重新打开后fencing token继续递增")
+        void shouldKeepFencingTokenWhenReopenGivenSameDirectory() {
+            FlowLease first = this.locks.tryLease("key", Duration.ofSeconds(10)).orElseThrow(IllegalStateException::new);
+            assertFalse(this.locks.tryLease("key", Duration.ofSeconds(10)).isPresent());
+            first.release();
+            this.locks.close();
+
+            FlowLocksFile reopened = new FlowLocksFile(this.directory, 4);
+            try {
+                FlowLease second =
+                        reopened.tryLease("key", Duration.ofSeconds(10)).orElseThrow(IllegalStateException::new);
+                assertEquals(first.fencingToken() + 1, second.fencingToken());
+                assertTrue(second.renew(Duration.ofSeconds(10)));
+                assertTrue(this.another.tryLease("key", Duration.ofSeconds(10)).isPresent());
+            } finally {
+                reopened.close();
+            }
+        }
+    }
+}
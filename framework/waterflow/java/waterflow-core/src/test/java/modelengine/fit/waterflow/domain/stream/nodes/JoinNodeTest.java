@@ -0,0 +1,168 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.stream.nodes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import modelengine.fit.waterflow.FlowsTestUtil;
+import modelengine.fit.waterflow.domain.context.FlowContext;
+import modelengine.fit.waterflow.domain.context.FlowSession;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextMemoMessenger;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextMemoRepo;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextMessenger;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextRepo;
+import modelengine.fit.waterflow.domain.context.repo.flowlock.FlowLocks;
+import modelengine.fit.waterflow.domain.context.repo.flowlock.FlowLocksMemo;
+import modelengine.fit.waterflow.domain.enums.FlowNodeType;
+import modelengine.fit.waterflow.domain.enums.ParallelMode;
+import modelengine.fit.waterflow.domain.flow.Flows;
+import modelengine.fit.waterflow.domain.flow.ProcessFlow;
+import modelengine.fit.waterflow.domain.stream.operators.Operators;
+import modelengine.fit.waterflow.domain.stream.reactive.Processor;
+import modelengine.fit.waterflow.domain.utils.SleepUtil;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * 内存repo下平行分支与join节点快速通道的测试用例。
+ *
+ * @author 高诗意
+ * @since 2026-10-19
+ */
+class JoinNodeTest {
+    private final FlowContextRepo repo = new FlowContextMemoRepo();
+    private final FlowContextMessenger messenger = new FlowContextMemoMessenger();
+    private final FlowLocks locks = new FlowLocksMemo();
+
+    @Test
+    @DisplayName("all模式下所有分支送达后才汇聚，多条数据互不干扰")
+    void shouldJoinAllBranchesForEachInput() {
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        ProcessFlow<Integer> flow = Flows.<Integer>create(this.repo, this.messenger, this.locks)
+                .parallel()
+                .fork(node -> node.map(i -> i))
+                .fork(node -> node.map(i -> i * 10))
+                .fork(node -> node.map(i -> i * 100))
+                .join(() -> 0, Integer::sum)
+                .close(r -> result.add(r.get().getData()));
+        int count = 200;
+        FlowSession session = new FlowSession();
+        IntStream.range(1, count + 1).forEach(i -> flow.offer(i, session));
+        FlowsTestUtil.waitUntil(() -> result.size() == count, 10000);
+
+        assertEquals(count, result.size());
+        assertEquals(IntStream.range(1, count + 1).map(i -> i * 111).sum(),
+                result.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    @DisplayName("快速通道下各平行分支并发处理")
+    void shouldProcessForkBranchesConcurrently() {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        Operators.Map<Integer, Integer> slow = i -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            SleepUtil.sleep(200);
+            active.decrementAndGet();
+            return i;
+        };
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        ProcessFlow<Integer> flow = Flows.<Integer>create(this.repo, this.messenger, this.locks)
+                .parallel()
+                .fork(node -> node.map(slow))
+                .fork(node -> node.map(slow))
+                .fork(node -> node.map(slow))
+                .join(() -> 0, Integer::sum)
+                .close(r -> result.add(r.get().getData()));
+        flow.offer(1, new FlowSession());
+        FlowsTestUtil.waitUntil(() -> !result.isEmpty(), 5000);
+
+        assertEquals(List.of(3), result);
+        assertTrue(maxActive.get() > 1, "max active branches: " + maxActive.get());
+    }
+
+    @Test
+    @DisplayName("either模式下只处理第一个送达的分支")
+    void shouldJoinFirstArrivedBranchInEitherMode() {
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        From<Integer> from = new From<>(this.repo, this.messenger, this.locks);
+        Processor<Integer, Integer> parallel = from.parallel(ParallelMode.EITHER, null);
+        Processor<Integer, Integer> fast = parallel.map(context -> context.getData() + 1, null);
+        Processor<Integer, Integer> slow = parallel.map(context -> {
+            SleepUtil.sleep(100);
+            return context.getData() + 2;
+        }, null);
+        Processor<Integer, Integer> join = fast.join(context -> context.getData(), null);
+        slow.subscribe(join);
+        join.register((data, session) -> result.add(data));
+
+        from.offer(new Integer[] {1}, new FlowSession());
+        FlowsTestUtil.waitUntil(() -> !result.isEmpty(), 5000);
+        SleepUtil.sleep(300);
+
+        assertEquals(List.of(2), result);
+    }
+
+    @Test
+    @DisplayName("join节点满负载时整组数据仍然在快速通道汇聚")
+    void shouldJoinAllBranchesWhenJoinIsOverLimit() {
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        ProcessFlow<Integer> flow = Flows.<Integer>create(this.repo, this.messenger, this.locks)
+                .parallel()
+                .fork(node -> node.map(i -> i))
+                .fork(node -> node.map(i -> i * 10))
+                .join(() -> 0, (acc, i) -> {
+                    SleepUtil.sleep(2);
+                    return acc + i;
+                })
+                .concurrency(1)
+                .close(r -> result.add(r.get().getData()));
+        int count = 50;
+        FlowSession session = new FlowSession();
+        IntStream.range(1, count + 1).forEach(i -> flow.offer(i, session));
+        FlowsTestUtil.waitUntil(() -> result.size() == count, 10000);
+
+        assertEquals(count, result.size());
+        assertEquals(IntStream.range(1, count + 1).map(i -> i * 11).sum(),
+                result.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    @DisplayName("all模式下一个分支送达多条数据时等待其他分支送达后再汇聚")
+    void shouldWaitOtherBranchesWhenBranchDeliversMultipleContexts() {
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        From<Integer> from = new From<>(this.repo, this.messenger, this.locks);
+        Processor<Integer, Integer> parallel = from.parallel(ParallelMode.ALL, null);
+        Operators.Produce<FlowContext<Integer>, Integer> twice = contexts -> contexts.stream()
+                .flatMap(context -> Stream.of(context.getData(), context.getData() + 1))
+                .collect(Collectors.toList());
+        Node<Integer, Integer> split = new Node<>(from.getStreamId(), "split", twice, this.repo, this.messenger,
+                this.locks, FlowNodeType.STATE);
+        parallel.subscribe(split);
+        Processor<Integer, Integer> slow = parallel.map(context -> {
+            SleepUtil.sleep(100);
+            return context.getData() * 10;
+        }, null);
+        Processor<Integer, Integer> join = split.join(context -> context.getData(), null);
+        slow.subscribe(join);
+        join.register((data, session) -> result.add(data));
+
+        from.offer(new Integer[] {1}, new FlowSession());
+        FlowsTestUtil.waitUntil(() -> result.size() == 3, 5000);
+
+        assertEquals(List.of(1, 2, 10), result.stream().sorted().collect(Collectors.toList()));
+    }
+}
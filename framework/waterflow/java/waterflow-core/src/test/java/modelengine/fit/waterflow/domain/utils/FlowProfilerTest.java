@@ -0,0 +1,142 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import modelengine.fit.waterflow.FlowsTestUtil;
+import modelengine.fit.waterflow.domain.flow.Flows;
+import modelengine.fit.waterflow.domain.flow.ProcessFlow;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@link FlowProfiler} 和 {@link FlowHistogram} 的测试。
+ *
+ * @author xiafei
+ * @since 2026-10-19
+ */
+class FlowProfilerTest {
+    @BeforeEach
+    void setUp() {
+        FlowProfiler.global().reset();
+        FlowProfiler.global().open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        FlowProfiler.global().close();
+        FlowProfiler.global().reset();
+    }
+
+    @Test
+    @DisplayName("直方图分位值的相对误差不超过一个子桶")
+    void shouldReturnBoundedPercentileWhenRecordGivenUniformValues() {
+        FlowHistogram histogram = new FlowHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertEquals(1000, histogram.count());
+        assertEquals(1_000_000L, histogram.max());
+        long p50 = histogram.percentile(0.5);
+        assertTrue(p50 >= 500_000L && p50 <= 500_000L * 1.125, "p50=" + p50);
+        long p99 = histogram.percentile(0.99);
+        assertTrue(p99 >= 990_000L && p99 <= 1_000_000L, "p99=" + p99);
+        assertEquals(0, new FlowHistogram().percentile(0.5));
+    }
+
+    @Test
+    @DisplayName("桶下标与桶上界一一对应")
+    void shouldContainValueWhenBucketIndexGivenValue() {
+        for (long value : new long[] {0, 1, 7, 8, 9, 15, 16, 17, 1023, 1024, Long.MAX_VALUE / 3}) {
+            int index = FlowHistogram.bucketIndex(value);
+            assertTrue(FlowHistogram.upperBound(index) >= value);
+            assertTrue(index == 0 || FlowHistogram.upperBound(index - 1) < value);
+        }
+    }
+
+    @Test
+    @DisplayName("开启剖析后记录每个节点的处理情况，并输出带热力着色的Mermaid")
+    void shouldRecordNodeProfileWhenFlowRunsGivenProfilerOpen() {
+        List<Integer> result = Collections.synchronizedList(new ArrayList<>());
+        ProcessFlow<Integer> flow = Flows.<Integer>create().map(i -> {
+            SleepUtil.sleep(5);
+            return i + 1;
+        }).map(i -> i * 2).close(r -> result.add(r.get().getData()));
+        flow.offer(new Integer[] {1, 2, 3});
+        FlowsTestUtil.waitUntil(() -> result.size() == 3);
+
+        Map<String, Object> metrics = FlowProfiler.global().collect();
+        assertEquals("waterflow", FlowProfiler.global().name());
+        assertTrue(metrics.size() >= 2);
+        long processed = flow.nodes()
+                .stream()
+                .map(node -> FlowProfiler.global().find(node.getStreamId(), node.getId()))
+                .filter(Optional::isPresent)
+                .mapToLong(profile -> profile.get().batchSize().count())
+                .sum();
+        assertTrue(processed >= 2);
+        String mermaid = FlowProfiler.global().mermaid(flow);
+        assertTrue(mermaid.contains("style node0 fill:#"), mermaid);
+        assertTrue(mermaid.contains("p99="), mermaid);
+    }
+
+    @Test
+    @DisplayName("开始节点记录处理耗时，开始节点和中间节点都记录发布耗时")
+    void shouldRecordStartAndPublishingWhenFlowRunsGivenProfilerOpen() {
+        List<Integer> result = Collections.synchronizedList(new ArrayList<>());
+        ProcessFlow<Integer> flow = Flows.<Integer>create().map(i -> i + 1).close(r -> result.add(r.get().getData()));
+        flow.offer(new Integer[] {1, 2});
+        FlowsTestUtil.waitUntil(() -> result.size() == 2);
+
+        FlowProfiler.NodeProfile start = FlowProfiler.global()
+                .find(flow.start().getStreamId(), flow.start().getId())
+                .orElseThrow(IllegalStateException::new);
+        assertEquals(1, start.processing().count());
+        assertEquals(2, start.batchSize().max());
+        assertEquals(1, start.publishing().count());
+        long published = flow.nodes()
+                .stream()
+                .map(node -> FlowProfiler.global().find(node.getStreamId(), node.getId()))
+                .filter(Optional::isPresent)
+                .mapToLong(profile -> profile.get().publishing().count())
+                .sum();
+        assertTrue(published >= 1);
+    }
+
+    @Test
+    @DisplayName("节点数量超出上限时淘汰最久没有记录的节点，也可以按流程清除")
+    void shouldEvictEldestNodeWhenFullGivenMaxNodes() {
+        FlowProfiler profiler = new FlowProfiler();
+        profiler.setMaxNodes(2);
+        profiler.node("s1", "a").recordRetry();
+        SleepUtil.sleep(1);
+        profiler.node("s1", "b").recordRetry();
+        SleepUtil.sleep(1);
+        profiler.node("s1", "a").recordRetry();
+        SleepUtil.sleep(1);
+        profiler.node("s2", "c").recordRetry();
+        assertTrue(profiler.find("s1", "a").isPresent());
+        assertFalse(profiler.find("s1", "b").isPresent());
+        assertTrue(profiler.find("s2", "c").isPresent());
+
+        profiler.evict("s1");
+        assertFalse(profiler.find("s1", "a").isPresent());
+        assertEquals(1, profiler.collect().size());
+    }
+}
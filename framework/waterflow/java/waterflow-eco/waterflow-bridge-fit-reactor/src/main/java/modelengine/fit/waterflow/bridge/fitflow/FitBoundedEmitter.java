@@ -6,7 +6,10 @@
 
 package modelengine.fit.waterflow.bridge.fitflow;
 
+import static modelengine.fitframework.inspection.Validation.greaterThan;
+
 import modelengine.fit.waterflow.domain.context.FlowSession;
+import modelengine.fit.waterflow.domain.context.Window;
 import modelengine.fit.waterflow.domain.emitters.FlowEmitter;
 import modelengine.fitframework.flowable.Publisher;
 import modelengine.fitframework.flowable.Subscriber;
@@ -16,12 +19,17 @@ import java.util.function.Function;
 
 /**
  * 用于对接FIT的有限流的发射源。
+ * <p>默认一次性请求全部数据；指定预取数量后，按照流程中所有节点对数据的消费进度分批向发布者请求数据，
+ * 保证发射到流程中尚未处理完成的数据不超过预取数量。</p>
  *
  * @author xiafei
  * @since 2024/8/16
  */
 public abstract class FitBoundedEmitter<O, D> extends FlowEmitter<D> {
+    private static final int UNBOUNDED = Integer.MAX_VALUE;
+
     private final Function<O, D> dataConverter;
+    private final int prefetch;
 
     private boolean isError = false;
     private Exception exception;
@@ -34,8 +42,22 @@ public abstract class FitBoundedEmitter<O, D> extends FlowEmitter<D> {
      * @param dataConverter 表示用于数据类型转换的 {@link Function}{@code <}{@link O}{@code >}。
      */
     public FitBoundedEmitter(Publisher<O> publisher, Function<O, D> dataConverter) {
+        this(publisher, dataConverter, UNBOUNDED);
+    }
+
+    /**
+     * 通过数据发布者、有限流数据构造器和预取数量初始化 {@link FitBoundedEmitter}{@code <}{@link O}{@code , }{@link D}{@code >}。
+     * <p>发布者需要遵循请求数量发送数据，如 {@link modelengine.fitframework.flowable.Choir#fromIterable(Iterable)}。</p>
+     *
+     * @param publisher 表示数据发布者的 {@link Publisher}{@code <}{@link O}{@code >}。
+     * @param dataConverter 表示用于数据类型转换的 {@link Function}{@code <}{@link O}{@code >}。
+     * @param prefetch 表示发射到流程中尚未处理完成的最大数据数量的 {@code int}。
+     */
+    public FitBoundedEmitter(Publisher<O> publisher, Function<O, D> dataConverter, int prefetch) {
+        greaterThan(prefetch, 0, "The prefetch must be positive. [prefetch={0}]", prefetch);
         this.dataConverter = dataConverter;
         this.publisher = publisher;
+        this.prefetch = prefetch;
     }
 
     @Override
@@ -86,6 +108,7 @@ public abstract class FitBoundedEmitter<O, D> extends FlowEmitter<D> {
      */
     private static class EmitterSubscriber<O, D> implements Subscriber<O> {
         private final FitBoundedEmitter<O, D> emitter;
+        private volatile FlowDemand demand;
 
         /**
          * 初始化订阅者。
@@ -98,13 +121,35 @@ public abstract class FitBoundedEmitter<O, D> extends FlowEmitter<D> {
 
         @Override
         public void onSubscribed(Subscription subscription) {
-            subscription.request(Long.MAX_VALUE);
+            int prefetch = this.emitter.prefetch;
+            FlowSession session = this.emitter.flowSession;
+            if (prefetch == UNBOUNDED || session == null || session.getWindow() == null) {
+                subscription.request(Long.MAX_VALUE);
+                return;
+            }
+            Window window = session.getWindow();
+            this.demand = new FlowDemand(prefetch);
+            window.onTokenConsumed(() -> this.replenish(subscription, window));
+            this.replenish(subscription, window);
+        }
+
+        private void replenish(Subscription subscription, Window window) {
+            if (subscription.isCancelled()) {
+                return;
+            }
+            long count = this.demand.refill(window.pendingTokenCount());
+            if (count > 0) {
+                subscription.request(count);
+            }
         }
 
         @Override
         public void consume(O source) {
             D target = this.emitter.dataConverter.apply(source);
             this.emitter.doEmit(target);
+            if (this.demand != null) {
+                this.demand.offered();
+            }
         }
 
         @Override
@@ -0,0 +1,280 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.bridge.fitflow;
+
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fit.waterflow.domain.context.FlowSession;
+import modelengine.fit.waterflow.domain.context.Window;
+import modelengine.fit.waterflow.domain.flow.ProcessFlow;
+import modelengine.fit.waterflow.domain.states.State;
+import modelengine.fitframework.flowable.FlowableException;
+import modelengine.fitframework.flowable.Publisher;
+import modelengine.fitframework.flowable.Subscriber;
+import modelengine.fitframework.flowable.Subscription;
+import modelengine.fitframework.flowable.choir.AbstractChoir;
+import modelengine.fitframework.flowable.subscription.AbstractSubscription;
+import modelengine.fitframework.inspection.Nonnull;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 以流程处理结果作为数据的响应式数据流。
+ * <p>每个订阅者对应流程中的一个 {@link FlowSession}。订阅者存在未满足的请求时，按照预取数量向上游的数据发布者请求数据，
+ * 并随着流程中各节点对数据的消费进度补充请求，因此流程中正在处理的数据数量不超过预取数量，
+ * 流程过滤或聚合数据导致输出少于输入时也会继续向上游请求。预取数量默认为流程中各节点最大并发数量的最小值。
+ * 流程产生的数据超出当前请求数量时暂存，待订阅者继续请求时再发送，暂存期间不再向上游请求数据。</p>
+ *
+ * @param <D> 表示流程输入数据类型的 {@link D}。
+ * @param <O> 表示流程输出数据类型的 {@link O}。
+ * @author xiafei
+ * @since 2026-10-19
+ */
+public class FlowChoir<D, O> extends AbstractChoir<O> {
+    private final Publisher<D> source;
+    private final ProcessFlow<D> flow;
+    private final int prefetch;
+    private final Map<String, FlowSubscription<D, O>> subscriptions = new ConcurrentHashMap<>();
+
+    /**
+     * 通过尚未结束的流程节点和上游数据发布者初始化 {@link FlowChoir}{@code <}{@link D}{@code , }{@link O}{@code >}。
+     * <p>该节点会在构造时被结束，流程的输出只能通过当前数据流订阅。</p>
+     *
+     * @param state 表示流程最后一个节点的 {@link State}{@code <}{@link O}{@code , }{@link D}{@code , ?, }
+     * {@link ProcessFlow}{@code <}{@link D}{@code >>}。
+     * @param source 表示上游数据发布者的 {@link Publisher}{@code <}{@link D}{@code >}。
+     */
+    public FlowChoir(State<O, D, ?, ProcessFlow<D>> state, Publisher<D> source) {
+        this(state, source, 0);
+    }
+
+    /**
+     * 通过尚未结束的流程节点、上游数据发布者和预取数量初始化 {@link FlowChoir}{@code <}{@link D}{@code , }{@link O}{@code >}。
+     *
+     * @param state 表示流程最后一个节点的 {@link State}{@code <}{@link O}{@code , }{@link D}{@code , ?, }
+     * {@link ProcessFlow}{@code <}{@link D}{@code >>}。
+     * @param source 表示上游数据发布者的 {@link Publisher}{@code <}{@link D}{@code >}。
+     * @param prefetch 表示流程中正在处理的最大数据数量的 {@code int}，不大于 {@code 0} 时使用流程的容量。
+     */
+    public FlowChoir(State<O, D, ?, ProcessFlow<D>> state, Publisher<D> source, int prefetch) {
+        notNull(state, "The flow state cannot be null.");
+        this.source = notNull(source, "The source publisher cannot be null.");
+        this.flow = state.close(this::onData, this::onComplete, this::onError);
+        this.prefetch = prefetch > 0 ? prefetch : FlowDemand.capacityOf(this.flow);
+    }
+
+    /**
+     * 获取当前数据流对应的流程。
+     *
+     * @return 表示流程的 {@link ProcessFlow}{@code <}{@link D}{@code >}。
+     */
+    public ProcessFlow<D> flow() {
+        return this.flow;
+    }
+
+    @Override
+    protected void subscribe0(@Nonnull Subscriber<O> subscriber) {
+        FlowSubscription<D, O> subscription = new FlowSubscription<>(this, subscriber);
+        this.subscriptions.put(subscription.session.getId(), subscription);
+        subscriber.onSubscribed(subscription);
+        this.source.subscribe(subscription);
+    }
+
+    private void onData(FlowSession session, O data) {
+        FlowSubscription<D, O> subscription = this.subscriptions.get(session.getId());
+        if (subscription != null) {
+            subscription.onOutput(data);
+        }
+    }
+
+    private void onComplete(FlowSession session) {
+        FlowSubscription<D, O> subscription = this.subscriptions.get(session.getId());
+        if (subscription != null) {
+            subscription.onFlowComplete();
+        }
+    }
+
+    private void onError(FlowSession session, Throwable cause) {
+        FlowSubscription<D, O> subscription = this.subscriptions.get(session.getId());
+        if (subscription != null) {
+            subscription.onFlowError(cause instanceof Exception ? (Exception) cause : new FlowableException(cause));
+        }
+    }
+
+    /**
+     * 连接上游数据发布者、流程和下游订阅者的订阅关系。
+     *
+     * @param <D> 表示流程输入数据类型的 {@link D}。
+     * @param <O> 表示流程输出数据类型的 {@link O}。
+     */
+    private static class FlowSubscription<D, O> extends AbstractSubscription implements Subscriber<D> {
+        private final FlowChoir<D, O> choir;
+        private final Subscriber<O> downstream;
+        private final FlowSession session = new FlowSession();
+        private final Window window;
+        private final FlowDemand demand;
+        private final Queue<O> outputs = new ConcurrentLinkedQueue<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicLong offered = new AtomicLong();
+        private final AtomicInteger draining = new AtomicInteger();
+        private final AtomicBoolean flowCompleted = new AtomicBoolean();
+        private final AtomicBoolean terminated = new AtomicBoolean();
+        private final Object upstreamLock = new Object();
+
+        private Subscription upstream;
+        private volatile boolean upstreamCompleted;
+        private volatile boolean failed;
+
+        FlowSubscription(FlowChoir<D, O> choir, Subscriber<O> downstream) {
+            this.choir = choir;
+            this.downstream = downstream;
+            this.window = this.session.begin();
+            this.demand = new FlowDemand(choir.prefetch);
+            this.window.onTokenConsumed(this::replenish);
+        }
+
+        @Override
+        protected void request0(long count) {
+            this.requested.getAndUpdate(current -> addCap(current, count));
+            this.drain();
+            this.replenish();
+        }
+
+        @Override
+        protected void cancel0() {
+            this.terminate();
+            synchronized (this.upstreamLock) {
+                if (this.upstream != null) {
+                    this.upstream.cancel();
+                }
+            }
+        }
+
+        /**
+         * 订阅者存在未满足的请求且流程中的在途数据降到低水位时，向上游补充请求。
+         */
+        private void replenish() {
+            if (this.terminated.get() || this.upstreamCompleted || this.requested.get() <= this.outputs.size()) {
+                return;
+            }
+            Subscription current;
+            synchronized (this.upstreamLock) {
+                current = this.upstream;
+            }
+            if (current == null) {
+                return;
+            }
+            long count = this.demand.refill(this.window.pendingTokenCount());
+            if (count > 0) {
+                current.request(count);
+            }
+        }
+
+        @Override
+        public void onSubscribed(Subscription subscription) {
+            synchronized (this.upstreamLock) {
+                this.upstream = subscription;
+            }
+            if (this.isCancelled()) {
+                subscription.cancel();
+                return;
+            }
+            this.replenish();
+        }
+
+        @Override
+        public void consume(D data) {
+            if (this.terminated.get()) {
+                return;
+            }
+            this.offered.incrementAndGet();
+            this.choir.flow.offer(data, this.session);
+            this.demand.offered();
+        }
+
+        @Override
+        public void complete() {
+            this.upstreamCompleted = true;
+            if (this.offered.get() == 0) {
+                this.onFlowComplete();
+                return;
+            }
+            this.session.getWindow().complete();
+        }
+
+        @Override
+        public boolean isCompleted() {
+            return this.upstreamCompleted;
+        }
+
+        @Override
+        public void fail(Exception cause) {
+            this.onFlowError(cause);
+        }
+
+        @Override
+        public boolean isFailed() {
+            return this.failed;
+        }
+
+        private void onOutput(O data) {
+            this.outputs.offer(data);
+            this.drain();
+        }
+
+        private void onFlowComplete() {
+            this.flowCompleted.set(true);
+            this.drain();
+        }
+
+        private void onFlowError(Exception cause) {
+            this.failed = true;
+            if (this.terminate()) {
+                this.downstream.fail(cause);
+            }
+        }
+
+        private boolean terminate() {
+            if (!this.terminated.compareAndSet(false, true)) {
+                return false;
+            }
+            this.choir.subscriptions.remove(this.session.getId());
+            return true;
+        }
+
+        private void drain() {
+            if (this.draining.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                while (!this.terminated.get() && this.requested.get() > 0 && !this.outputs.isEmpty()) {
+                    O data = this.outputs.poll();
+                    if (this.requested.get() != Long.MAX_VALUE) {
+                        this.requested.decrementAndGet();
+                    }
+                    this.downstream.consume(data);
+                }
+                if (this.flowCompleted.get() && this.outputs.isEmpty() && this.terminate()) {
+                    this.downstream.complete();
+                }
+                missed = this.draining.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private static long addCap(long current, long count) {
+            long result = current + count;
+            return result < 0 ? Long.MAX_VALUE : result;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.bridge.fitflow;
+
+import static modelengine.fitframework.inspection.Validation.greaterThan;
+
+import modelengine.fit.waterflow.domain.flow.Flow;
+import modelengine.fit.waterflow.domain.stream.nodes.To;
+import modelengine.fit.waterflow.domain.stream.reactive.Processor;
+
+/**
+ * 流程对上游数据的需求。
+ * <p>已向上游请求但尚未投递到流程中的数据，加上流程窗口中尚未消费完成的数据，即为流程中的在途数据。
+ * 在途数据降到预取数量的一半及以下时，补充请求到预取数量，保证在途数据不超过预取数量。</p>
+ *
+ * @author xiafei
+ * @since 2026-10-19
+ */
+final class FlowDemand {
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private final int prefetch;
+    private final int lowWater;
+    private long outstanding;
+
+    /**
+     * 通过预取数量初始化 {@link FlowDemand}。
+     *
+     * @param prefetch 表示流程中在途数据的最大数量的 {@code int}。
+     */
+    FlowDemand(int prefetch) {
+        this.prefetch = greaterThan(prefetch, 0, "The prefetch must be positive. [prefetch={0}]", prefetch);
+        this.lowWater = prefetch / 2;
+    }
+
+    /**
+     * 获取流程的容量，即流程中各节点最大并发数量的最小值。
+     *
+     * @param flow 表示流程的 {@link Flow}{@code <?>}。
+     * @return 表示流程容量的 {@code int}。
+     */
+    static int capacityOf(Flow<?> flow) {
+        int capacity = Integer.MAX_VALUE;
+        for (Processor<?, ?> node : flow.nodes()) {
+            if (node instanceof To) {
+                capacity = Math.min(capacity, ((To<?, ?>) node).getMaxConcurrency());
+            }
+        }
+        return capacity == Integer.MAX_VALUE ? DEFAULT_CAPACITY : capacity;
+    }
+
+    /**
+     * 记录一条数据已投递到流程中。
+     */
+    synchronized void offered() {
+        if (this.outstanding > 0) {
+            this.outstanding--;
+        }
+    }
+
+    /**
+     * 根据流程中尚未消费完成的数据数量计算需要补充请求的数量。
+     *
+     * @param pending 表示流程中尚未消费完成的数据数量的 {@code int}。
+     * @return 表示需要补充请求的数量的 {@code long}，无需补充时为 {@code 0}。
+     */
+    synchronized long refill(int pending) {
+        long inFlight = this.outstanding + pending;
+        if (inFlight > this.lowWater) {
+            return 0;
+        }
+        long count = this.prefetch - inFlight;
+        this.outstanding += count;
+        return count;
+    }
+}
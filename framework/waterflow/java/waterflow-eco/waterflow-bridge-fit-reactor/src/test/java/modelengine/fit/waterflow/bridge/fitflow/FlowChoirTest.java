@@ -0,0 +1,154 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2026 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.bridge.fitflow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import modelengine.fit.waterflow.domain.context.FlowSession;
+import modelengine.fit.waterflow.domain.flow.Flows;
+import modelengine.fit.waterflow.domain.flow.ProcessFlow;
+import modelengine.fit.waterflow.domain.utils.SleepUtil;
+import modelengine.fitframework.flowable.Choir;
+import modelengine.fitframework.flowable.Subscription;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * {@link FlowChoir} 和 {@link FitBoundedEmitter} 背压能力的测试用例。
+ *
+ * @author xiafei
+ * @since 2026-10-19
+ */
+class FlowChoirTest {
+    private static void waitUntil(Supplier<Boolean> stop, int most) {
+        int time = 0;
+        int step = 10;
+        while (!stop.get() && time < most) {
+            SleepUtil.sleep(step);
+            time += step;
+        }
+    }
+
+    private static List<Integer> range(int count) {
+        return IntStream.range(0, count).boxed().collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("订阅者的请求按照流程容量预取上游数据")
+    void shouldPrefetchSourceByFlowCapacity() {
+        AtomicInteger emitted = new AtomicInteger();
+        Choir<Integer> source = Choir.fromIterable(range(10)).map(i -> {
+            emitted.incrementAndGet();
+            return i;
+        });
+        FlowChoir<Integer, Integer> choir =
+                new FlowChoir<>(Flows.<Integer>create().map(i -> i * 10).concurrency(2), source);
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        AtomicReference<Subscription> subscription = new AtomicReference<>();
+        AtomicBoolean completed = new AtomicBoolean(false);
+        choir.subscribe(s -> {
+            subscription.set(s);
+            s.request(3);
+        }, (s, data) -> result.add(data), s -> completed.set(true), null);
+
+        waitUntil(() -> result.size() >= 3, 5000);
+        SleepUtil.sleep(100);
+        assertEquals(3, result.size());
+        assertTrue(emitted.get() <= 3 + 2, "emitted: " + emitted.get());
+
+        subscription.get().request(7);
+        waitUntil(completed::get, 5000);
+        assertTrue(completed.get());
+        assertEquals(10, emitted.get());
+        assertEquals(range(10).stream().map(i -> i * 10).collect(Collectors.toSet()), Set.copyOf(result));
+    }
+
+    @Test
+    @DisplayName("流程过滤数据导致输出少于输入时继续向上游请求")
+    void shouldKeepRequestingWhenFlowFilters() {
+        FlowChoir<Integer, Integer> choir = new FlowChoir<>(Flows.<Integer>create()
+                .map(i -> i % 3 == 0 ? i : null), Choir.fromIterable(range(30)), 2);
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        choir.subscribe(s -> s.request(5), (s, data) -> result.add(data), null, null);
+
+        waitUntil(() -> result.size() >= 5, 5000);
+        assertEquals(List.of(0, 3, 6, 9, 12), result.stream().sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("流程产生的多余数据暂存到下一次请求")
+    void shouldBufferOutputsBeyondDemand() {
+        FlowChoir<Integer, Integer> choir = new FlowChoir<>(Flows.<Integer>create()
+                .flatMap(i -> Flows.flux(i, i)), Choir.fromIterable(range(2)));
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        AtomicReference<Subscription> subscription = new AtomicReference<>();
+        AtomicBoolean completed = new AtomicBoolean(false);
+        choir.subscribe(s -> {
+            subscription.set(s);
+            s.request(1);
+        }, (s, data) -> result.add(data), s -> completed.set(true), null);
+
+        waitUntil(() -> !result.isEmpty(), 5000);
+        SleepUtil.sleep(100);
+        assertEquals(1, result.size());
+
+        subscription.get().request(1);
+        waitUntil(() -> result.size() >= 2, 5000);
+        subscription.get().request(Long.MAX_VALUE);
+        waitUntil(completed::get, 5000);
+        assertTrue(completed.get());
+        assertEquals(4, result.size());
+    }
+
+    @Test
+    @DisplayName("上游没有数据时直接结束")
+    void shouldCompleteWhenSourceIsEmpty() {
+        FlowChoir<Integer, Integer> choir = new FlowChoir<>(Flows.<Integer>create().map(i -> i), Choir.empty());
+        assertTrue(choir.blockAll().isEmpty());
+    }
+
+    @Test
+    @DisplayName("指定预取数量后，发射到流程中尚未处理完成的数据不超过预取数量")
+    void shouldBoundInFlightDataWithPrefetch() {
+        int prefetch = 4;
+        AtomicInteger emitted = new AtomicInteger();
+        AtomicInteger processed = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Choir<Integer> source = Choir.fromIterable(range(40)).map(i -> {
+            int inFlight = emitted.incrementAndGet() - processed.get();
+            maxInFlight.accumulateAndGet(inFlight, Math::max);
+            return i;
+        });
+        AtomicBoolean completed = new AtomicBoolean(false);
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        ProcessFlow<Integer> flow = Flows.<Integer>create().map(i -> i).map(i -> {
+            SleepUtil.sleep(5);
+            processed.incrementAndGet();
+            return i;
+        }).close((session, data) -> result.add(data), session -> completed.set(true), (session, error) -> {});
+        FitBoundedEmitter<Integer, Integer> emitter = new FitBoundedEmitter<>(source, i -> i, prefetch) {};
+        emitter.register(flow);
+        emitter.start(new FlowSession());
+
+        waitUntil(completed::get, 10000);
+        assertTrue(completed.get());
+        assertEquals(40, result.size());
+        assertTrue(maxInFlight.get() <= prefetch, "max in flight: " + maxInFlight.get());
+    }
+}